@@ -22,8 +22,11 @@
  */
 package org.semanticweb.elk.reasoner;
 
+import java.util.Collection;
+import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
@@ -36,8 +39,10 @@
 import org.semanticweb.elk.owl.interfaces.ElkObjectProperty;
 import org.semanticweb.elk.reasoner.completeness.IncompleteResult;
 import org.semanticweb.elk.reasoner.completeness.Incompleteness;
+import org.semanticweb.elk.reasoner.config.ConcurrentExecutorType;
 import org.semanticweb.elk.reasoner.config.ReasonerConfiguration;
 import org.semanticweb.elk.reasoner.indexing.model.OntologyIndex;
+import org.semanticweb.elk.reasoner.query.ClassExpressionQueryResult;
 import org.semanticweb.elk.reasoner.stages.AbstractReasonerState;
 import org.semanticweb.elk.reasoner.stages.ReasonerStageExecutor;
 import org.semanticweb.elk.reasoner.taxonomy.FreshInstanceNode;
@@ -50,7 +55,6 @@
 import org.semanticweb.elk.reasoner.taxonomy.model.TaxonomyNode;
 import org.semanticweb.elk.reasoner.taxonomy.model.TypeNode;
 import org.semanticweb.elk.util.concurrent.computation.ConcurrentExecutor;
-import org.semanticweb.elk.util.concurrent.computation.ConcurrentExecutors;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -62,6 +66,10 @@
  * results of the reasoning tasks, the reasoner will ensure that all necessary
  * reasoning stages, such as consistency checking, are performed.
  * 
+ * Queries about named classes, individuals and object properties are answered
+ * concurrently by several threads once the respective taxonomy is computed and
+ * no changes are pending; all other operations are executed one at a time.
+ * 
  * Reasoners are created (and pre-configured) by the {@link ReasonerFactory}.
  */
 public class Reasoner extends AbstractReasonerState {
@@ -85,8 +93,7 @@ public static boolean testing() {
 	/**
 	 * the executor used for concurrent tasks
 	 */
-	private final static ConcurrentExecutor EXECUTOR_ = ConcurrentExecutors
-			.create("elk-reasoner");
+	private volatile ConcurrentExecutor executor_;
 
 	/**
 	 * The progress monitor that is used for reporting progress.
@@ -111,7 +118,7 @@ public static boolean testing() {
 	 * setting). If false, a {@link ElkFreshEntitiesException} will be thrown
 	 * when encountering entities that did not occur in the ontology.
 	 */
-	protected boolean allowFreshEntities;
+	protected volatile boolean allowFreshEntities;
 
 	/**
 	 * Constructor. In most cases, Reasoners should be created by the
@@ -211,11 +218,20 @@ public synchronized void setConfigurationOptions(
 		setAllowIncrementalMode(config.getParameterAsBoolean(
 				ReasonerConfiguration.INCREMENTAL_MODE_ALLOWED));
 
+		setIncrementalMaxAffectedRatio((Double) config.getParameter(
+				ReasonerConfiguration.INCREMENTAL_MAX_AFFECTED_RATIO));
+
+		setTaxonomyOnlyMode(config.getParameterAsBoolean(
+				ReasonerConfiguration.TAXONOMY_ONLY));
+
+		this.executor_ = ((ConcurrentExecutorType) config.getParameter(
+				ReasonerConfiguration.CONCURRENT_EXECUTOR)).getExecutor();
+
 	}
 
 	@Override
 	protected ConcurrentExecutor getProcessExecutor() {
-		return EXECUTOR_;
+		return executor_;
 	}
 
 	@Override
@@ -279,18 +295,55 @@ public synchronized boolean shutdown() throws InterruptedException {
 	 */
 	protected IncompleteResult<? extends TaxonomyNode<ElkClass>> getTaxonomyNode(
 			ElkClass elkClass) throws ElkException {
-		return getTaxonomy().map(taxonomy -> {
-			TaxonomyNode<ElkClass> node = taxonomy.getNode(elkClass);
-			if (node != null) {
-				return node;
-			}
-			// else
-			if (allowFreshEntities) {
-				return new FreshTaxonomyNode<ElkClass>(elkClass, taxonomy);
-			}
-			// else
-			throw new ElkFreshEntitiesException(elkClass);
-		});
+		return getTaxonomy()
+				.map(taxonomy -> getTaxonomyNode(taxonomy, elkClass));
+	}
+
+	private TaxonomyNode<ElkClass> getTaxonomyNode(
+			final Taxonomy<ElkClass> taxonomy, final ElkClass elkClass)
+			throws ElkFreshEntitiesException {
+		TaxonomyNode<ElkClass> node = taxonomy.getNode(elkClass);
+		if (node != null) {
+			return node;
+		}
+		// else
+		if (allowFreshEntities) {
+			return new FreshTaxonomyNode<ElkClass>(elkClass, taxonomy);
+		}
+		// else
+		throw new ElkFreshEntitiesException(elkClass);
+	}
+
+	/**
+	 * Reads the {@link TaxonomyNode} for the given {@link ElkClass} if the
+	 * class taxonomy is computed for the current ontology. The monitor of this
+	 * {@link Reasoner} is released while reading, so that several threads can
+	 * read the taxonomy concurrently.
+	 * 
+	 * @param elkClass
+	 *            the {@link ElkClass} for which to read the
+	 *            {@link TaxonomyNode}
+	 * @param reader
+	 *            computes the result from the {@link TaxonomyNode}
+	 * @return the result computed by the reader, or {@code null} if the
+	 *         taxonomy needs to be computed first
+	 * @throws ElkException
+	 *             if the result cannot be computed
+	 */
+	private <O> IncompleteResult<O> readTaxonomyNode(final ElkClass elkClass,
+			final Function<? super TaxonomyNode<ElkClass>, ? extends O> reader)
+			throws ElkException {
+		final IncompleteResult<? extends Taxonomy<ElkClass>> taxonomy = lockTaxonomyForReading();
+		if (taxonomy == null) {
+			return null;
+		}
+		// else
+		try {
+			return taxonomy.map(
+					tax -> reader.apply(getTaxonomyNode(tax, elkClass)));
+		} finally {
+			unlockTaxonomyForReading();
+		}
 	}
 
 	/**
@@ -305,18 +358,56 @@ protected IncompleteResult<? extends TaxonomyNode<ElkClass>> getTaxonomyNode(
 	 */
 	protected IncompleteResult<? extends InstanceNode<ElkClass, ElkNamedIndividual>> getInstanceNode(
 			ElkNamedIndividual elkNamedIndividual) throws ElkException {
-		return getInstanceTaxonomy().map(tax -> {
-			InstanceNode<ElkClass, ElkNamedIndividual> node = tax
-					.getInstanceNode(elkNamedIndividual);
-			if (node != null)
-				return node;
-			// else
-			if (allowFreshEntities)
-				return new FreshInstanceNode<ElkClass, ElkNamedIndividual>(
-						elkNamedIndividual, tax);
-			// else
-			throw new ElkFreshEntitiesException(elkNamedIndividual);
-		});
+		return getInstanceTaxonomy()
+				.map(tax -> getInstanceNode(tax, elkNamedIndividual));
+	}
+
+	private InstanceNode<ElkClass, ElkNamedIndividual> getInstanceNode(
+			final InstanceTaxonomy<ElkClass, ElkNamedIndividual> tax,
+			final ElkNamedIndividual elkNamedIndividual)
+			throws ElkFreshEntitiesException {
+		InstanceNode<ElkClass, ElkNamedIndividual> node = tax
+				.getInstanceNode(elkNamedIndividual);
+		if (node != null)
+			return node;
+		// else
+		if (allowFreshEntities)
+			return new FreshInstanceNode<ElkClass, ElkNamedIndividual>(
+					elkNamedIndividual, tax);
+		// else
+		throw new ElkFreshEntitiesException(elkNamedIndividual);
+	}
+
+	/**
+	 * Reads the {@link InstanceNode} for the given {@link ElkNamedIndividual}
+	 * if the instance taxonomy is computed for the current ontology, see
+	 * {@link #readTaxonomyNode(ElkClass, Function)}.
+	 * 
+	 * @param elkNamedIndividual
+	 *            the {@link ElkNamedIndividual} for which to read the
+	 *            {@link InstanceNode}
+	 * @param reader
+	 *            computes the result from the {@link InstanceNode}
+	 * @return the result computed by the reader, or {@code null} if the
+	 *         taxonomy needs to be computed first
+	 * @throws ElkException
+	 *             if the result cannot be computed
+	 */
+	private <O> IncompleteResult<O> readInstanceNode(
+			final ElkNamedIndividual elkNamedIndividual,
+			final Function<? super InstanceNode<ElkClass, ElkNamedIndividual>, ? extends O> reader)
+			throws ElkException {
+		final IncompleteResult<? extends InstanceTaxonomy<ElkClass, ElkNamedIndividual>> taxonomy = lockInstanceTaxonomyForReading();
+		if (taxonomy == null) {
+			return null;
+		}
+		// else
+		try {
+			return taxonomy.map(tax -> reader
+					.apply(getInstanceNode(tax, elkNamedIndividual)));
+		} finally {
+			unlockTaxonomyForReading();
+		}
 	}
 
 	/**
@@ -330,18 +421,52 @@ protected IncompleteResult<? extends InstanceNode<ElkClass, ElkNamedIndividual>>
 	 */
 	protected IncompleteResult<? extends TypeNode<ElkClass, ElkNamedIndividual>> getTypeNode(
 			ElkClass elkClass) throws ElkException {
-		return getInstanceTaxonomy().map(tax -> {
-			final TypeNode<ElkClass, ElkNamedIndividual> node = tax
-					.getNode(elkClass);
-			if (node != null)
-				return node;
-			// else
-			if (allowFreshEntities)
-				return new FreshTypeNode<ElkClass, ElkNamedIndividual>(elkClass,
-						tax);
-			// else
-			throw new ElkFreshEntitiesException(elkClass);
-		});
+		return getInstanceTaxonomy().map(tax -> getTypeNode(tax, elkClass));
+	}
+
+	private TypeNode<ElkClass, ElkNamedIndividual> getTypeNode(
+			final InstanceTaxonomy<ElkClass, ElkNamedIndividual> tax,
+			final ElkClass elkClass) throws ElkFreshEntitiesException {
+		final TypeNode<ElkClass, ElkNamedIndividual> node = tax
+				.getNode(elkClass);
+		if (node != null)
+			return node;
+		// else
+		if (allowFreshEntities)
+			return new FreshTypeNode<ElkClass, ElkNamedIndividual>(elkClass,
+					tax);
+		// else
+		throw new ElkFreshEntitiesException(elkClass);
+	}
+
+	/**
+	 * Reads the {@link TypeNode} for the given {@link ElkClass} if the
+	 * instance taxonomy is computed for the current ontology, see
+	 * {@link #readTaxonomyNode(ElkClass, Function)}.
+	 * 
+	 * @param elkClass
+	 *            the {@link ElkClass} for which to read the {@link TypeNode}
+	 * @param reader
+	 *            computes the result from the {@link TypeNode}
+	 * @return the result computed by the reader, or {@code null} if the
+	 *         taxonomy needs to be computed first
+	 * @throws ElkException
+	 *             if the result cannot be computed
+	 */
+	private <O> IncompleteResult<O> readTypeNode(final ElkClass elkClass,
+			final Function<? super TypeNode<ElkClass, ElkNamedIndividual>, ? extends O> reader)
+			throws ElkException {
+		final IncompleteResult<? extends InstanceTaxonomy<ElkClass, ElkNamedIndividual>> taxonomy = lockInstanceTaxonomyForReading();
+		if (taxonomy == null) {
+			return null;
+		}
+		// else
+		try {
+			return taxonomy
+					.map(tax -> reader.apply(getTypeNode(tax, elkClass)));
+		} finally {
+			unlockTaxonomyForReading();
+		}
 	}
 
 	/**
@@ -357,20 +482,56 @@ protected IncompleteResult<? extends TypeNode<ElkClass, ElkNamedIndividual>> get
 	 */
 	protected IncompleteResult<? extends TaxonomyNode<ElkObjectProperty>> getObjectPropertyTaxonomyNode(
 			final ElkObjectProperty elkProperty) throws ElkException {
-		return getObjectPropertyTaxonomy().map(tax -> {
-			final TaxonomyNode<ElkObjectProperty> node = tax
-					.getNode(elkProperty);
-			if (node != null) {
-				return node;
-			}
-			// else
-			if (allowFreshEntities) {
-				return new FreshTaxonomyNode<ElkObjectProperty>(elkProperty,
-						tax);
-			}
-			// else
-			throw new ElkFreshEntitiesException(elkProperty);
-		});
+		return getObjectPropertyTaxonomy()
+				.map(tax -> getObjectPropertyTaxonomyNode(tax, elkProperty));
+	}
+
+	private TaxonomyNode<ElkObjectProperty> getObjectPropertyTaxonomyNode(
+			final Taxonomy<ElkObjectProperty> tax,
+			final ElkObjectProperty elkProperty)
+			throws ElkFreshEntitiesException {
+		final TaxonomyNode<ElkObjectProperty> node = tax.getNode(elkProperty);
+		if (node != null) {
+			return node;
+		}
+		// else
+		if (allowFreshEntities) {
+			return new FreshTaxonomyNode<ElkObjectProperty>(elkProperty, tax);
+		}
+		// else
+		throw new ElkFreshEntitiesException(elkProperty);
+	}
+
+	/**
+	 * Reads the {@link TaxonomyNode} for the given {@link ElkObjectProperty} if
+	 * the object property taxonomy is computed for the current ontology, see
+	 * {@link #readTaxonomyNode(ElkClass, Function)}.
+	 * 
+	 * @param elkProperty
+	 *            the {@link ElkObjectProperty} for which to read the
+	 *            {@link TaxonomyNode}
+	 * @param reader
+	 *            computes the result from the {@link TaxonomyNode}
+	 * @return the result computed by the reader, or {@code null} if the
+	 *         taxonomy needs to be computed first
+	 * @throws ElkException
+	 *             if the result cannot be computed
+	 */
+	private <O> IncompleteResult<O> readObjectPropertyTaxonomyNode(
+			final ElkObjectProperty elkProperty,
+			final Function<? super TaxonomyNode<ElkObjectProperty>, ? extends O> reader)
+			throws ElkException {
+		final IncompleteResult<? extends Taxonomy<ElkObjectProperty>> taxonomy = lockObjectPropertyTaxonomyForReading();
+		if (taxonomy == null) {
+			return null;
+		}
+		// else
+		try {
+			return taxonomy.map(tax -> reader
+					.apply(getObjectPropertyTaxonomyNode(tax, elkProperty)));
+		} finally {
+			unlockTaxonomyForReading();
+		}
 	}
 
 	/**
@@ -387,9 +548,17 @@ protected IncompleteResult<? extends TaxonomyNode<ElkObjectProperty>> getObjectP
 	 * @throws ElkException
 	 *             if the result cannot be computed
 	 */
-	public synchronized IncompleteResult<? extends TaxonomyNode<ElkObjectProperty>> getObjectPropertyNode(
+	public IncompleteResult<? extends TaxonomyNode<ElkObjectProperty>> getObjectPropertyNode(
 			final ElkObjectProperty property) throws ElkException {
-		return getObjectPropertyTaxonomyNode(property);
+		final IncompleteResult<? extends TaxonomyNode<ElkObjectProperty>> result = readObjectPropertyTaxonomyNode(
+				property, node -> node);
+		if (result != null) {
+			return result;
+		}
+		// else
+		synchronized (this) {
+			return getObjectPropertyTaxonomyNode(property);
+		}
 	}
 
 	/**
@@ -407,17 +576,27 @@ public synchronized IncompleteResult<? extends TaxonomyNode<ElkObjectProperty>>
 	 * @throws ElkException
 	 *             if the result cannot be computed
 	 */
-	public synchronized IncompleteResult<? extends Node<ElkClass>> getEquivalentClasses(
+	public IncompleteResult<? extends Node<ElkClass>> getEquivalentClasses(
 			ElkClassExpression classExpression)
 			throws ElkInconsistentOntologyException, ElkException {
 		if (classExpression instanceof ElkClass) {
-			return getTaxonomyNode((ElkClass) classExpression);
+			final IncompleteResult<? extends Node<ElkClass>> result = readTaxonomyNode(
+					(ElkClass) classExpression, node -> node);
+			if (result != null) {
+				return result;
+			}
 		}
 		// else
-		return queryEquivalentClasses(classExpression);
+		synchronized (this) {
+			if (classExpression instanceof ElkClass) {
+				return getTaxonomyNode((ElkClass) classExpression);
+			}
+			// else
+			return queryEquivalentClasses(classExpression);
+		}
 	}
 
-	public synchronized IncompleteResult<? extends Node<ElkClass>> getEquivalentClassesQuitely(
+	public IncompleteResult<? extends Node<ElkClass>> getEquivalentClassesQuitely(
 			ElkClassExpression classExpression) throws ElkException {
 		try {
 			return getEquivalentClasses(classExpression);
@@ -440,7 +619,7 @@ public synchronized IncompleteResult<? extends Node<ElkClass>> getEquivalentClas
 	 * @throws ElkException
 	 *             if the result cannot be computed
 	 */
-	public synchronized IncompleteResult<? extends Node<ElkClass>> getEquivalentClassesQuietly(
+	public IncompleteResult<? extends Node<ElkClass>> getEquivalentClassesQuietly(
 			ElkClassExpression classExpression) throws ElkException {
 		try {
 			return getEquivalentClasses(classExpression);
@@ -469,29 +648,42 @@ public synchronized IncompleteResult<? extends Node<ElkClass>> getEquivalentClas
 	 * @throws ElkException
 	 *             if the result cannot be computed
 	 */
-	public synchronized IncompleteResult<? extends Set<? extends Node<ElkClass>>> getSubClasses(
+	public IncompleteResult<? extends Set<? extends Node<ElkClass>>> getSubClasses(
 			ElkClassExpression classExpression, boolean direct)
 			throws ElkInconsistentOntologyException, ElkException {
 		if (classExpression instanceof ElkClass) {
-			return getTaxonomyNode((ElkClass) classExpression)
-					.map(node -> direct ? node.getDirectSubNodes()
+			final IncompleteResult<? extends Set<? extends Node<ElkClass>>> result = readTaxonomyNode(
+					(ElkClass) classExpression,
+					node -> direct ? node.getDirectSubNodes()
 							: node.getAllSubNodes());
+			if (result != null) {
+				return result;
+			}
 		}
 		// else
-		IncompleteResult<? extends Set<? extends Node<ElkClass>>> incompleteDirectSubNodes = queryDirectSubClasses(
-				classExpression);
-		if (direct) {
-			return incompleteDirectSubNodes;
-		}
+		synchronized (this) {
+			if (classExpression instanceof ElkClass) {
+				return getTaxonomyNode((ElkClass) classExpression)
+						.map(node -> direct ? node.getDirectSubNodes()
+								: node.getAllSubNodes());
+			}
+			// else
+			IncompleteResult<? extends Set<? extends Node<ElkClass>>> incompleteDirectSubNodes = queryDirectSubClasses(
+					classExpression);
+			if (direct) {
+				return incompleteDirectSubNodes;
+			}
 
-		// else expand under sub-nodes
-		return Incompleteness.compose(getTaxonomy(), incompleteDirectSubNodes,
-				(taxonomy, subNodes) -> {
-					return subNodes.stream()
-							.map(n -> taxonomy.getNode(n.getCanonicalMember()))
-							.flatMap(n -> n.getAllSubNodes().stream())
-							.collect(Collectors.toSet());
-				});
+			// else expand under sub-nodes
+			return Incompleteness.compose(getTaxonomy(),
+					incompleteDirectSubNodes, (taxonomy, subNodes) -> {
+						return subNodes.stream()
+								.map(n -> taxonomy
+										.getNode(n.getCanonicalMember()))
+								.flatMap(n -> n.getAllSubNodes().stream())
+								.collect(Collectors.toSet());
+					});
+		}
 
 	}
 
@@ -513,7 +705,7 @@ public synchronized IncompleteResult<? extends Set<? extends Node<ElkClass>>> ge
 	 * @throws ElkException
 	 *             if the result cannot be computed
 	 */
-	public synchronized IncompleteResult<? extends Set<? extends Node<ElkClass>>> getSubClassesQuietly(
+	public IncompleteResult<? extends Set<? extends Node<ElkClass>>> getSubClassesQuietly(
 			final ElkClassExpression classExpression, final boolean direct)
 			throws ElkException {
 		try {
@@ -548,29 +740,42 @@ public synchronized IncompleteResult<? extends Set<? extends Node<ElkClass>>> ge
 	 * @throws ElkException
 	 *             if the result cannot be computed
 	 */
-	public synchronized IncompleteResult<? extends Set<? extends Node<ElkClass>>> getSuperClasses(
+	public IncompleteResult<? extends Set<? extends Node<ElkClass>>> getSuperClasses(
 			ElkClassExpression classExpression, boolean direct)
 			throws ElkInconsistentOntologyException, ElkException {
 		if (classExpression instanceof ElkClass) {
-			return getTaxonomyNode((ElkClass) classExpression)
-					.map(n -> direct ? n.getDirectSuperNodes()
+			final IncompleteResult<? extends Set<? extends Node<ElkClass>>> result = readTaxonomyNode(
+					(ElkClass) classExpression,
+					n -> direct ? n.getDirectSuperNodes()
 							: n.getAllSuperNodes());
+			if (result != null) {
+				return result;
+			}
 		}
 		// else
-		IncompleteResult<? extends Set<? extends Node<ElkClass>>> incompleteSuperNodes = queryDirectSuperClasses(
-				classExpression);
-		if (direct) {
-			return incompleteSuperNodes;
-		}
+		synchronized (this) {
+			if (classExpression instanceof ElkClass) {
+				return getTaxonomyNode((ElkClass) classExpression)
+						.map(n -> direct ? n.getDirectSuperNodes()
+								: n.getAllSuperNodes());
+			}
+			// else
+			IncompleteResult<? extends Set<? extends Node<ElkClass>>> incompleteSuperNodes = queryDirectSuperClasses(
+					classExpression);
+			if (direct) {
+				return incompleteSuperNodes;
+			}
 
-		// else expand under super-nodes
-		return Incompleteness.compose(getTaxonomy(), incompleteSuperNodes,
-				(taxonomy, superNodes) -> {
-					return superNodes.stream()
-							.map(n -> taxonomy.getNode(n.getCanonicalMember()))
-							.flatMap(n -> n.getAllSuperNodes().stream())
-							.collect(Collectors.toSet());
-				});
+			// else expand under super-nodes
+			return Incompleteness.compose(getTaxonomy(), incompleteSuperNodes,
+					(taxonomy, superNodes) -> {
+						return superNodes.stream()
+								.map(n -> taxonomy
+										.getNode(n.getCanonicalMember()))
+								.flatMap(n -> n.getAllSuperNodes().stream())
+								.collect(Collectors.toSet());
+					});
+		}
 
 	}
 
@@ -592,7 +797,7 @@ public synchronized IncompleteResult<? extends Set<? extends Node<ElkClass>>> ge
 	 * @throws ElkException
 	 *             if the result cannot be computed
 	 */
-	public synchronized IncompleteResult<? extends Set<? extends Node<ElkClass>>> getSuperClassesQuietly(
+	public IncompleteResult<? extends Set<? extends Node<ElkClass>>> getSuperClassesQuietly(
 			ElkClassExpression classExpression, boolean direct)
 			throws ElkException {
 		try {
@@ -605,6 +810,30 @@ public synchronized IncompleteResult<? extends Set<? extends Node<ElkClass>>> ge
 		}
 	}
 
+	/**
+	 * Return the atomic classes equivalent to each of the given
+	 * {@link ElkClassExpression}s and the {@link Node}s of their direct super-
+	 * and sub-classes. All class expressions are indexed and saturated
+	 * together, which is faster than querying them one by one. Calling of this
+	 * method may trigger the computation of the taxonomy, if it has not been
+	 * done yet.
+	 * 
+	 * @param classExpressions
+	 *            the {@link ElkClassExpression}s for which to return the
+	 *            results
+	 * @return the map from the given {@link ElkClassExpression}s to their
+	 *         results
+	 * @throws ElkInconsistentOntologyException
+	 *             if the ontology is inconsistent
+	 * @throws ElkException
+	 *             if the result cannot be computed
+	 */
+	public synchronized Map<ElkClassExpression, IncompleteResult<? extends ClassExpressionQueryResult>> getClassExpressionQueryResults(
+			Collection<? extends ElkClassExpression> classExpressions)
+			throws ElkInconsistentOntologyException, ElkException {
+		return queryClassExpressions(classExpressions);
+	}
+
 	/**
 	 * Return the (direct or indirect) sub-properties of the given
 	 * {@link ElkObjectProperty} as specified by the parameter. The method
@@ -623,12 +852,21 @@ public synchronized IncompleteResult<? extends Set<? extends Node<ElkClass>>> ge
 	 * @throws ElkException
 	 *             if the result cannot be computed
 	 */
-	public synchronized IncompleteResult<? extends Set<? extends Node<ElkObjectProperty>>> getSubObjectProperties(
+	public IncompleteResult<? extends Set<? extends Node<ElkObjectProperty>>> getSubObjectProperties(
 			final ElkObjectProperty property, final boolean direct)
 			throws ElkException {
-		return getObjectPropertyNode(property)
-				.map(queryNode -> (direct) ? queryNode.getDirectSubNodes()
+		final IncompleteResult<? extends Set<? extends Node<ElkObjectProperty>>> result = readObjectPropertyTaxonomyNode(
+				property, queryNode -> (direct) ? queryNode.getDirectSubNodes()
 						: queryNode.getAllSubNodes());
+		if (result != null) {
+			return result;
+		}
+		// else
+		synchronized (this) {
+			return getObjectPropertyTaxonomyNode(property)
+					.map(queryNode -> (direct) ? queryNode.getDirectSubNodes()
+							: queryNode.getAllSubNodes());
+		}
 	}
 
 	/**
@@ -649,12 +887,21 @@ public synchronized IncompleteResult<? extends Set<? extends Node<ElkObjectPrope
 	 * @throws ElkException
 	 *             if the result cannot be computed
 	 */
-	public synchronized IncompleteResult<? extends Set<? extends Node<ElkObjectProperty>>> getSuperObjectProperties(
+	public IncompleteResult<? extends Set<? extends Node<ElkObjectProperty>>> getSuperObjectProperties(
 			final ElkObjectProperty property, final boolean direct)
 			throws ElkException {
-		return getObjectPropertyNode(property)
-				.map(queryNode -> direct ? queryNode.getDirectSuperNodes()
+		final IncompleteResult<? extends Set<? extends Node<ElkObjectProperty>>> result = readObjectPropertyTaxonomyNode(
+				property, queryNode -> direct ? queryNode.getDirectSuperNodes()
 						: queryNode.getAllSuperNodes());
+		if (result != null) {
+			return result;
+		}
+		// else
+		synchronized (this) {
+			return getObjectPropertyTaxonomyNode(property)
+					.map(queryNode -> direct ? queryNode.getDirectSuperNodes()
+							: queryNode.getAllSuperNodes());
+		}
 	}
 
 	/**
@@ -677,38 +924,51 @@ public synchronized IncompleteResult<? extends Set<? extends Node<ElkObjectPrope
 	 * @throws ElkException
 	 *             if the result cannot be computed
 	 */
-	public synchronized IncompleteResult<? extends Set<? extends Node<ElkNamedIndividual>>> getInstances(
+	public IncompleteResult<? extends Set<? extends Node<ElkNamedIndividual>>> getInstances(
 			ElkClassExpression classExpression, boolean direct)
 			throws ElkInconsistentOntologyException, ElkException {
 
 		if (classExpression instanceof ElkClass) {
-			return getTypeNode((ElkClass) classExpression).map(
+			final IncompleteResult<? extends Set<? extends Node<ElkNamedIndividual>>> result = readTypeNode(
+					(ElkClass) classExpression,
 					queryNode -> direct ? queryNode.getDirectInstanceNodes()
 							: queryNode.getAllInstanceNodes());
+			if (result != null) {
+				return result;
+			}
 		}
+		// else
+		synchronized (this) {
+			if (classExpression instanceof ElkClass) {
+				return getTypeNode((ElkClass) classExpression).map(
+						queryNode -> direct ? queryNode.getDirectInstanceNodes()
+								: queryNode.getAllInstanceNodes());
+			}
 
-		IncompleteResult<? extends Set<? extends Node<ElkNamedIndividual>>> incompleteInstances = queryDirectInstances(
-				classExpression);
+			IncompleteResult<? extends Set<? extends Node<ElkNamedIndividual>>> incompleteInstances = queryDirectInstances(
+					classExpression);
 
-		if (direct) {
-			return incompleteInstances;
-		}
-		// else collect all instances off direct sub classes
-		IncompleteResult<? extends InstanceTaxonomy<ElkClass, ElkNamedIndividual>> incompleteTaxonomy = getInstanceTaxonomy();
+			if (direct) {
+				return incompleteInstances;
+			}
+			// else collect all instances off direct sub classes
+			IncompleteResult<? extends InstanceTaxonomy<ElkClass, ElkNamedIndividual>> incompleteTaxonomy = getInstanceTaxonomy();
 
-		IncompleteResult<? extends Set<? extends Node<ElkClass>>> incompleteSubNodes = queryDirectSubClasses(
-				classExpression);
+			IncompleteResult<? extends Set<? extends Node<ElkClass>>> incompleteSubNodes = queryDirectSubClasses(
+					classExpression);
 
-		return Incompleteness.compose(incompleteTaxonomy, incompleteSubNodes,
-				incompleteInstances, (taxonomy, subNodes, instances) -> {
-					return Stream
-							.concat(instances.stream(), subNodes.stream()
-									.map(n -> taxonomy
-											.getNode(n.getCanonicalMember()))
-									.flatMap(n -> n.getAllInstanceNodes()
-											.stream()))
-							.collect(Collectors.toSet());
-				});
+			return Incompleteness.compose(incompleteTaxonomy,
+					incompleteSubNodes, incompleteInstances,
+					(taxonomy, subNodes, instances) -> {
+						return Stream.concat(instances.stream(),
+								subNodes.stream()
+										.map(n -> taxonomy.getNode(
+												n.getCanonicalMember()))
+										.flatMap(n -> n.getAllInstanceNodes()
+												.stream()))
+								.collect(Collectors.toSet());
+					});
+		}
 	}
 
 	/**
@@ -729,15 +989,17 @@ public synchronized IncompleteResult<? extends Set<? extends Node<ElkNamedIndivi
 	 * @throws ElkException
 	 *             if the result cannot be computed
 	 */
-	public synchronized IncompleteResult<? extends Set<? extends Node<ElkNamedIndividual>>> getInstancesQuietly(
+	public IncompleteResult<? extends Set<? extends Node<ElkNamedIndividual>>> getInstancesQuietly(
 			ElkClassExpression classExpression, boolean direct)
 			throws ElkException {
 		try {
 			return getInstances(classExpression, direct);
 		} catch (final ElkInconsistentOntologyException e) {
 			// All classes are equivalent to each other, so also to owl:Nothing.
-			return getInstanceTaxonomyQuietly()
-					.map(tax -> tax.getInstanceNodes());
+			synchronized (this) {
+				return getInstanceTaxonomyQuietly()
+						.map(tax -> tax.getInstanceNodes());
+			}
 		}
 	}
 
@@ -759,12 +1021,21 @@ public synchronized IncompleteResult<? extends Set<? extends Node<ElkNamedIndivi
 	 * @throws ElkException
 	 *             if the result cannot be computed
 	 */
-	public synchronized IncompleteResult<? extends Set<? extends Node<ElkClass>>> getTypes(
+	public IncompleteResult<? extends Set<? extends Node<ElkClass>>> getTypes(
 			ElkNamedIndividual elkNamedIndividual, boolean direct)
 			throws ElkException {
-		return getInstanceNode(elkNamedIndividual)
-				.map(node -> direct ? node.getDirectTypeNodes()
+		final IncompleteResult<? extends Set<? extends Node<ElkClass>>> result = readInstanceNode(
+				elkNamedIndividual, node -> direct ? node.getDirectTypeNodes()
 						: node.getAllTypeNodes());
+		if (result != null) {
+			return result;
+		}
+		// else
+		synchronized (this) {
+			return getInstanceNode(elkNamedIndividual)
+					.map(node -> direct ? node.getDirectTypeNodes()
+							: node.getAllTypeNodes());
+		}
 	}
 
 	/**
@@ -0,0 +1,84 @@
+/*
+ * #%L
+ * ELK Reasoner
+ * 
+ * $Id$
+ * $HeadURL$
+ * %%
+ * Copyright (C) 2011 - 2024 Department of Computer Science, University of Oxford
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package org.semanticweb.elk.reasoner.config;
+
+import org.semanticweb.elk.util.concurrent.computation.ConcurrentExecutor;
+import org.semanticweb.elk.util.concurrent.computation.ConcurrentExecutors;
+
+/**
+ * The strategies for running the concurrent jobs of a reasoner
+ */
+public enum ConcurrentExecutorType {
+	/**
+	 * a pool of platform threads that grows with the number of submitted jobs;
+	 * shared by all reasoners
+	 */
+	THREAD_POOL,
+	/**
+	 * a fork-join pool bounded by the number of available processors; shared
+	 * by all reasoners; the workers waiting for inputs are replaced by spare
+	 * threads, but the processors are shared between the reasoners only at
+	 * the granularity of job copies
+	 * 
+	 * @see ConcurrentExecutors#createForkJoin(String, int)
+	 */
+	FORK_JOIN,
+	/**
+	 * every job runs in a new virtual thread; suitable when the jobs are often
+	 * blocked, e.g., waiting for loaded axioms or queries
+	 */
+	VIRTUAL_THREADS;
+
+	/**
+	 * @return the {@link ConcurrentExecutor} using this strategy
+	 */
+	public ConcurrentExecutor getExecutor() {
+		switch (this) {
+		case FORK_JOIN:
+			return ForkJoinHolder.EXECUTOR_;
+		case VIRTUAL_THREADS:
+			return VirtualThreadsHolder.EXECUTOR_;
+		default:
+			return ThreadPoolHolder.EXECUTOR_;
+		}
+	}
+
+	// the executors are created only when used for the first time
+
+	private static class ThreadPoolHolder {
+		static final ConcurrentExecutor EXECUTOR_ = ConcurrentExecutors
+				.create("elk-reasoner");
+	}
+
+	private static class ForkJoinHolder {
+		static final ConcurrentExecutor EXECUTOR_ = ConcurrentExecutors
+				.createForkJoin("elk-reasoner-fj",
+						Runtime.getRuntime().availableProcessors());
+	}
+
+	private static class VirtualThreadsHolder {
+		static final ConcurrentExecutor EXECUTOR_ = ConcurrentExecutors
+				.createVirtual("elk-reasoner-virtual");
+	}
+
+}
@@ -26,6 +26,7 @@
 import java.util.Map;
 
 import org.semanticweb.elk.util.collections.CapacityBalancingEvictor;
+import org.semanticweb.elk.util.collections.CostAwareEvictor;
 import org.semanticweb.elk.util.collections.CountingEvictor;
 import org.semanticweb.elk.util.collections.Evictor;
 import org.semanticweb.elk.util.collections.NQEvictor;
@@ -44,6 +45,7 @@ public class EvictorBuilder {
 		put(builder, CapacityBalancingEvictor.class);
 		put(builder, CountingEvictor.class);
 		put(builder, NQEvictor.class);
+		put(builder, CostAwareEvictor.class);
 		EVICTOR_CLASS_SHORTCUT = builder.build();
 	}
 
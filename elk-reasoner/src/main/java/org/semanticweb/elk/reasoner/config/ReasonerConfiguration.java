@@ -49,15 +49,64 @@ public class ReasonerConfiguration extends BaseConfiguration {
 	@Parameter(type = "java.lang.Boolean", value = "true")
 	public static final String INCREMENTAL_MODE_ALLOWED = "elk.reasoner.incremental.allowed";
 
+	/**
+	 * if the changes are estimated to affect a larger fraction of the classes
+	 * than this value, the saturation is computed from scratch instead of
+	 * incrementally; a value of at least {@code 1} means that the changes are
+	 * always processed incrementally when the incremental mode is allowed
+	 */
+	@Parameter(type = "java.lang.Double", value = "0.5")
+	public static final String INCREMENTAL_MAX_AFFECTED_RATIO = "elk.reasoner.incremental.max_affected_ratio";
+
 	@Parameter(type = "org.semanticweb.elk.reasoner.config.EvictorBuilder", value = "RecencyEvictor(16896,0.75)")
 	public static final String TRACING_EVICTOR = "elk.reasoner.tracing.evictor";
 
-	@Parameter(type = "org.semanticweb.elk.reasoner.config.EvictorBuilder", value = "RecencyEvictor(512,0.75)")
+	/**
+	 * evicts the cached results of class expression queries; by default, the
+	 * queries that were cheap to compute are evicted first
+	 */
+	@Parameter(type = "org.semanticweb.elk.reasoner.config.EvictorBuilder", value = "CostAwareEvictor(512,0.75)")
 	public static final String CLASS_EXPRESSION_QUERY_EVICTOR = "elk.reasoner.classexpressionquery.evictor";
 
 	@Parameter(type = "org.semanticweb.elk.reasoner.config.EvictorBuilder", value = "RecencyEvictor(512,0.75)")
 	public static final String ENTAILMENT_QUERY_EVICTOR = "elk.reasoner.entailmentquery.evictor";
 
+	/**
+	 * if {@code true}, the subsumers of each context are stored as the dense
+	 * ordinals of indexed class expressions instead of references, which
+	 * reduces memory and speeds up membership tests for large ontologies
+	 */
+	@Parameter(type = "java.lang.Boolean", value = "false")
+	public static final String COMPACT_SUBSUMERS = "elk.reasoner.compact_subsumers";
+
+	/**
+	 * if {@code true}, the saturation is released after the class taxonomy is
+	 * computed, so that only the taxonomy is kept in memory; the saturation is
+	 * then computed again from scratch when it is needed for reasoning after
+	 * changes or for other queries
+	 */
+	@Parameter(type = "java.lang.Boolean", value = "false")
+	public static final String TAXONOMY_ONLY = "elk.reasoner.taxonomy_only";
+
+	/**
+	 * if {@code true}, every saturation worker keeps the contexts it activates
+	 * in its own queue and processes them first, stealing contexts from other
+	 * workers only when its queue is empty; otherwise all workers share one
+	 * queue of activated contexts
+	 */
+	@Parameter(type = "java.lang.Boolean", value = "false")
+	public static final String SATURATION_WORK_STEALING = "elk.reasoner.saturation.work_stealing";
+
+	/**
+	 * the strategy for running the concurrent jobs of the reasoner; the number
+	 * of workers of each job is still limited by
+	 * {@link #NUM_OF_WORKING_THREADS}
+	 * 
+	 * @see ConcurrentExecutorType
+	 */
+	@Parameter(type = "org.semanticweb.elk.reasoner.config.ConcurrentExecutorType", value = "THREAD_POOL")
+	public static final String CONCURRENT_EXECUTOR = "elk.reasoner.concurrent_executor";
+
 	public final static String REASONER_CONFIG_PREFIX = "elk.reasoner";
 
 	public static ReasonerConfiguration getConfiguration() {
@@ -0,0 +1,180 @@
+/*
+ * #%L
+ * ELK Reasoner
+ * 
+ * $Id$
+ * $HeadURL$
+ * %%
+ * Copyright (C) 2011 - 2024 Department of Computer Science, University of Oxford
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package org.semanticweb.elk.reasoner.incremental;
+
+import java.util.ArrayDeque;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+
+import org.semanticweb.elk.owl.interfaces.ElkClass;
+import org.semanticweb.elk.reasoner.indexing.classes.DifferentialIndex;
+import org.semanticweb.elk.reasoner.indexing.model.IndexedClass;
+import org.semanticweb.elk.reasoner.indexing.model.IndexedClassExpression;
+import org.semanticweb.elk.reasoner.saturation.rules.subsumers.ChainableSubsumerRule;
+import org.semanticweb.elk.reasoner.saturation.rules.subsumers.EquivalentClassFirstFromSecondRule;
+import org.semanticweb.elk.reasoner.saturation.rules.subsumers.EquivalentClassSecondFromFirstRule;
+import org.semanticweb.elk.reasoner.saturation.rules.subsumers.LinkedSubsumerRule;
+import org.semanticweb.elk.reasoner.saturation.rules.subsumers.SuperClassFromSubClassRule;
+import org.semanticweb.elk.reasoner.taxonomy.model.Taxonomy;
+import org.semanticweb.elk.reasoner.taxonomy.model.TaxonomyNode;
+import org.semanticweb.elk.util.collections.ArrayHashSet;
+
+/**
+ * Estimates how many classes are affected by the changes pending in a
+ * {@link DifferentialIndex} using the class taxonomy computed before the
+ * changes. The classes affected by changed told subsumptions, equivalences or
+ * definitions of a class are taken to be all its sub-classes in the taxonomy;
+ * changes of the context initialization rules affect all classes. Changes of
+ * other rules, e.g., for conjunctions or existential restrictions, are not
+ * taken into account since they typically apply only to few of the contexts in
+ * which they are triggered.
+ * <p>
+ * The counting stops as soon as the given limit is exceeded, so the estimation
+ * of a large change does not cost more than the limit.
+ * 
+ * @see #estimate(DifferentialIndex, Taxonomy, int)
+ */
+public class AffectedClassesEstimation {
+
+	private final Taxonomy<ElkClass> taxonomy_;
+
+	private final int limit_;
+
+	private final Set<TaxonomyNode<ElkClass>> visited_ = new ArrayHashSet<TaxonomyNode<ElkClass>>();
+
+	private final Queue<TaxonomyNode<ElkClass>> toVisit_ = new ArrayDeque<TaxonomyNode<ElkClass>>();
+
+	private int count_ = 0;
+
+	private AffectedClassesEstimation(Taxonomy<ElkClass> taxonomy,
+			int limit) {
+		this.taxonomy_ = taxonomy;
+		this.limit_ = limit;
+	}
+
+	/**
+	 * @param index
+	 *            the {@link DifferentialIndex} with the pending changes
+	 * @param taxonomy
+	 *            the class taxonomy computed before the changes
+	 * @param limit
+	 *            the number of classes after which the counting stops
+	 * @return the estimated number of classes whose subsumers can change due
+	 *         to the pending changes, or a number greater than {@code limit}
+	 *         if this number exceeds {@code limit}
+	 */
+	public static int estimate(DifferentialIndex index,
+			Taxonomy<ElkClass> taxonomy, int limit) {
+		if (index.getAddedContextInitRules() != null
+				|| index.getRemovedContextInitRules() != null) {
+			// all contexts are affected
+			return limit + 1;
+		}
+		AffectedClassesEstimation estimation = new AffectedClassesEstimation(
+				taxonomy, limit);
+		if (estimation.addRules(
+				index.getRemovedContextRulesByClassExpressions())
+				&& estimation.addRules(
+						index.getAddedContextRulesByClassExpressions())
+				&& estimation
+						.addClasses(index.getRemovedDefinitions().keySet())
+				&& estimation
+						.addClasses(index.getAddedDefinitions().keySet())) {
+			return estimation.count_;
+		}
+		// else the limit is exceeded
+		return limit + 1;
+	}
+
+	/**
+	 * @return {@code false} if the limit is exceeded
+	 */
+	private boolean addRules(
+			Map<? extends IndexedClassExpression, ChainableSubsumerRule> rulesByClassExpressions) {
+		for (Map.Entry<? extends IndexedClassExpression, ChainableSubsumerRule> entry : rulesByClassExpressions
+				.entrySet()) {
+			IndexedClassExpression key = entry.getKey();
+			if (key instanceof IndexedClass
+					&& hasToldRule(entry.getValue())
+					&& !addClass((IndexedClass) key)) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * @return {@code false} if the limit is exceeded
+	 */
+	private boolean addClasses(Iterable<? extends IndexedClass> classes) {
+		for (IndexedClass cls : classes) {
+			if (!addClass(cls)) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Counts the members of the nodes below the node of the given class that
+	 * were not counted yet
+	 * 
+	 * @return {@code false} if the limit is exceeded
+	 */
+	private boolean addClass(IndexedClass cls) {
+		TaxonomyNode<ElkClass> node = taxonomy_.getNode(cls.getElkEntity());
+		if (node == null || !visited_.add(node)) {
+			// a new class or already counted
+			return true;
+		}
+		toVisit_.add(node);
+		for (;;) {
+			node = toVisit_.poll();
+			if (node == null) {
+				return true;
+			}
+			count_ += node.size();
+			if (count_ > limit_) {
+				return false;
+			}
+			for (TaxonomyNode<ElkClass> subNode : node.getDirectSubNodes()) {
+				if (visited_.add(subNode)) {
+					toVisit_.add(subNode);
+				}
+			}
+		}
+	}
+
+	private static boolean hasToldRule(LinkedSubsumerRule rule) {
+		for (; rule != null; rule = rule.next()) {
+			if (rule instanceof SuperClassFromSubClassRule
+					|| rule instanceof EquivalentClassFirstFromSecondRule
+					|| rule instanceof EquivalentClassSecondFromFirstRule) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+}
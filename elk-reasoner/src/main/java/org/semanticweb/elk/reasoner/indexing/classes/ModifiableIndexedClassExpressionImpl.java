@@ -60,10 +60,20 @@
 	 */
 	private volatile ExtendedContext context_ = null;
 
+	/**
+	 * assigned by {@link ModifiableIndexedObjectCacheImpl}
+	 */
+	int ordinal = -1;
+
 	ModifiableIndexedClassExpressionImpl(int structuralHash) {
 		super(structuralHash);
 	}
 
+	@Override
+	public final int getOrdinal() {
+		return ordinal;
+	}
+
 	@Override
 	public final LinkedSubsumerRule getCompositionRuleHead() {
 		return compositionRuleHead;
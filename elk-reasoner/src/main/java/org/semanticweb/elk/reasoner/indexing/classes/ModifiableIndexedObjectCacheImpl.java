@@ -22,6 +22,7 @@
 package org.semanticweb.elk.reasoner.indexing.classes;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.List;
 
@@ -51,6 +52,7 @@
 import org.semanticweb.elk.reasoner.indexing.model.StructuralIndexedIndividualEntry;
 import org.semanticweb.elk.reasoner.indexing.model.StructuralIndexedObjectPropertyEntry;
 import org.semanticweb.elk.reasoner.indexing.model.StructuralIndexedSubObject;
+import org.semanticweb.elk.util.collections.IntArrayHashSet;
 import org.semanticweb.elk.util.collections.Operations;
 import org.semanticweb.elk.util.collections.entryset.EntryCollection;
 import org.slf4j.Logger;
@@ -85,6 +87,29 @@ class ModifiableIndexedObjectCacheImpl implements ModifiableIndexedObjectCache {
 
 	private final List<IndexedObjectCache.ChangeListener> listeners_;
 
+	/**
+	 * the {@link IndexedClassExpression}s by their ordinals, the first
+	 * {@link #classExpressionCount_} are assigned or free; {@code null} until
+	 * ordinals are enabled
+	 */
+	private volatile IndexedClassExpression[] classExpressions_ = null;
+
+	private int classExpressionCount_ = 0;
+
+	/**
+	 * the ordinals of removed {@link IndexedClassExpression}s which can still
+	 * be used by saturation
+	 */
+	private IntArrayHashSet releasedOrdinals_ = null;
+
+	/**
+	 * the stack of ordinals that can be assigned again, the first
+	 * {@link #freeOrdinalCount_} are used
+	 */
+	private int[] freeOrdinals_ = null;
+
+	private int freeOrdinalCount_ = 0;
+
 	public ModifiableIndexedObjectCacheImpl(
 			final PredefinedElkEntityFactory elkFactory, int initialSize) {
 		this.cachedComplexClassExpressions_ = new EntryCollection<StructuralIndexedComplexClassExpressionEntry<?>>(
@@ -180,6 +205,7 @@ public void add(StructuralIndexedSubObject<?> input) {
 			@Override
 			public <T extends StructuralIndexedClassEntry<T>> Void visit(T element) {
 				cachedClasses_.addStructural(element);
+				assignOrdinal(element);
 				for (int i = 0; i < listeners_.size(); i++) {
 					IndexedObjectCache.ChangeListener listener = listeners_
 							.get(i);
@@ -192,6 +218,7 @@ public <T extends StructuralIndexedClassEntry<T>> Void visit(T element) {
 			@Override
 			public <T extends StructuralIndexedComplexClassExpressionEntry<T>> Void visit(T element) {			
 				cachedComplexClassExpressions_.addStructural(element);
+				assignOrdinal(element);
 				for (int i = 0; i < listeners_.size(); i++) {
 					listeners_.get(i).classExpressionAddition(element);
 				}
@@ -202,6 +229,7 @@ public <T extends StructuralIndexedComplexClassExpressionEntry<T>> Void visit(T
 			@Override
 			public <T extends StructuralIndexedIndividualEntry<T>> Void visit(T element) {
 				cachedIndividuals_.addStructural(element);
+				assignOrdinal(element);
 				for (int i = 0; i < listeners_.size(); i++) {
 					IndexedObjectCache.ChangeListener listener = listeners_
 							.get(i);
@@ -312,6 +340,83 @@ public EntryCollection<?> visit(
 
 	}
 
+	/**
+	 * Assigns {@link IndexedClassExpression#getOrdinal()} to all
+	 * {@link IndexedClassExpression}s in this cache and to those added later.
+	 * The ordinals of removed {@link IndexedClassExpression}s are assigned
+	 * again only after {@link #reclaimOrdinals()}.
+	 */
+	public void enableOrdinals() {
+		if (classExpressions_ != null)
+			// already enabled
+			return;
+		classExpressions_ = new IndexedClassExpression[64];
+		releasedOrdinals_ = new IntArrayHashSet();
+		freeOrdinals_ = new int[16];
+		for (IndexedClassExpression ice : cachedClasses_)
+			assignOrdinal(ice);
+		for (IndexedClassExpression ice : cachedIndividuals_)
+			assignOrdinal(ice);
+		for (IndexedClassExpression ice : cachedComplexClassExpressions_)
+			assignOrdinal(ice);
+	}
+
+	/**
+	 * Makes the ordinals of the {@link IndexedClassExpression}s removed from
+	 * this cache available for assignment. Should be called only when the
+	 * saturation does not contain any removed {@link IndexedClassExpression}.
+	 */
+	public void reclaimOrdinals() {
+		if (releasedOrdinals_ == null || releasedOrdinals_.isEmpty())
+			return;
+		IndexedClassExpression[] classExpressions = classExpressions_;
+		for (int ordinal : releasedOrdinals_.toArray()) {
+			((ModifiableIndexedClassExpressionImpl<?, ?>) classExpressions[ordinal]).ordinal = -1;
+			classExpressions[ordinal] = null;
+			if (freeOrdinalCount_ == freeOrdinals_.length)
+				freeOrdinals_ = Arrays.copyOf(freeOrdinals_,
+						freeOrdinals_.length << 1);
+			freeOrdinals_[freeOrdinalCount_++] = ordinal;
+		}
+		releasedOrdinals_.clear();
+	}
+
+	private void assignOrdinal(IndexedClassExpression ice) {
+		IndexedClassExpression[] classExpressions = classExpressions_;
+		if (classExpressions == null)
+			// ordinals are not enabled
+			return;
+		ModifiableIndexedClassExpressionImpl<?, ?> impl = (ModifiableIndexedClassExpressionImpl<?, ?>) ice;
+		if (impl.ordinal >= 0) {
+			// added again before the ordinal is reclaimed
+			releasedOrdinals_.remove(impl.ordinal);
+			return;
+		}
+		int ordinal;
+		if (freeOrdinalCount_ > 0) {
+			ordinal = freeOrdinals_[--freeOrdinalCount_];
+		} else {
+			if (classExpressionCount_ == classExpressions.length)
+				classExpressions = Arrays.copyOf(classExpressions,
+						classExpressions.length << 1);
+			ordinal = classExpressionCount_++;
+		}
+		impl.ordinal = ordinal;
+		classExpressions[ordinal] = ice;
+		classExpressions_ = classExpressions;
+	}
+
+	private void releaseOrdinal(IndexedClassExpression ice) {
+		int ordinal = ice.getOrdinal();
+		if (ordinal >= 0)
+			releasedOrdinals_.add(ordinal);
+	}
+
+	@Override
+	public IndexedClassExpression getClassExpression(int ordinal) {
+		return classExpressions_[ordinal];
+	}
+
 	@Override
 	public <T extends StructuralIndexedSubObject<T>> T resolve(T input) {
 		return getResolver(input).findStructural(input);
@@ -327,6 +432,7 @@ public <T extends StructuralIndexedClassEntry<T>> Void visit(T element) {
 				if (removed == null) {
 					return null;
 				}
+				releaseOrdinal(removed);
 				for (int i = 0; i < listeners_.size(); i++) {
 					IndexedObjectCache.ChangeListener listener = listeners_.get(i);
 					listener.classRemoval(removed);
@@ -341,6 +447,7 @@ public <T extends StructuralIndexedComplexClassExpressionEntry<T>> Void visit(T
 				if (removed == null) {
 					return null;
 				}
+				releaseOrdinal(removed);
 				for (int i = 0; i < listeners_.size(); i++) {
 					listeners_.get(i).classExpressionRemoval(removed);
 				}
@@ -353,6 +460,7 @@ public <T extends StructuralIndexedIndividualEntry<T>> Void visit(T element) {
 				if (removed == null) {
 					return null;
 				}
+				releaseOrdinal(removed);
 				for (int i = 0; i < listeners_.size(); i++) {
 					IndexedObjectCache.ChangeListener listener = listeners_
 							.get(i);
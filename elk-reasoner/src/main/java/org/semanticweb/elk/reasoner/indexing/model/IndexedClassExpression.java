@@ -44,6 +44,16 @@
 	 *         {@link LinkRule#next()}
 	 */
 	LinkedSubsumerRule getCompositionRuleHead();
+
+	/**
+	 * @return the number assigned to this {@link IndexedClassExpression} when
+	 *         it is added to the {@link IndexedObjectCache} with enabled
+	 *         ordinals, or {@code -1} if it has no number; the numbers are
+	 *         dense and the numbers of removed objects are reused after they
+	 *         are reclaimed
+	 * @see IndexedObjectCache#getClassExpression(int)
+	 */
+	int getOrdinal();
 	
 	/**
 	 * The visitor pattern for instances
@@ -101,6 +101,16 @@ public interface IndexedObjectCache {
 	 */
 	public IndexedObjectProperty getOwlBottomObjectProperty();
 
+	/**
+	 * @param ordinal
+	 *            the number assigned to an {@link IndexedClassExpression}
+	 * @return the {@link IndexedClassExpression} with the given
+	 *         {@link IndexedClassExpression#getOrdinal()}, which may have been
+	 *         removed from this {@link IndexedObjectCache} if the ordinal is
+	 *         not yet reclaimed
+	 */
+	public IndexedClassExpression getClassExpression(int ordinal);
+
 	/**
 	 * Registers a given {@link ChangeListener} with this
 	 * {@link IndexedObjectCache}
@@ -0,0 +1,93 @@
+/*
+ * #%L
+ * ELK Reasoner
+ * 
+ * $Id$
+ * $HeadURL$
+ * %%
+ * Copyright (C) 2011 - 2024 Department of Computer Science, University of Oxford
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package org.semanticweb.elk.reasoner.query;
+
+import java.util.Set;
+
+import org.semanticweb.elk.owl.interfaces.ElkClass;
+import org.semanticweb.elk.owl.interfaces.ElkClassExpression;
+import org.semanticweb.elk.reasoner.taxonomy.model.Node;
+
+/**
+ * The atomic classes related to a queried {@link ElkClassExpression}: the
+ * classes equivalent to it and its direct super- and sub-classes. If the
+ * class expression is not satisfiable, these are the results for
+ * {@code owl:Nothing}.
+ */
+public class ClassExpressionQueryResult {
+
+	private final boolean satisfiable_;
+
+	private final Node<ElkClass> equivalentClasses_;
+
+	private final Set<? extends Node<ElkClass>> directSuperClasses_,
+			directSubClasses_;
+
+	public ClassExpressionQueryResult(final boolean satisfiable,
+			final Node<ElkClass> equivalentClasses,
+			final Set<? extends Node<ElkClass>> directSuperClasses,
+			final Set<? extends Node<ElkClass>> directSubClasses) {
+		this.satisfiable_ = satisfiable;
+		this.equivalentClasses_ = equivalentClasses;
+		this.directSuperClasses_ = directSuperClasses;
+		this.directSubClasses_ = directSubClasses;
+	}
+
+	/**
+	 * @return whether the queried class expression is satisfiable
+	 */
+	public boolean isSatisfiable() {
+		return satisfiable_;
+	}
+
+	/**
+	 * @return the {@link Node} with the atomic classes equivalent to the
+	 *         queried class expression
+	 */
+	public Node<ElkClass> getEquivalentClasses() {
+		return equivalentClasses_;
+	}
+
+	/**
+	 * @return the {@link Node}s of the atomic direct strict super-classes of
+	 *         the queried class expression
+	 */
+	public Set<? extends Node<ElkClass>> getDirectSuperClasses() {
+		return directSuperClasses_;
+	}
+
+	/**
+	 * @return the {@link Node}s of the atomic direct strict sub-classes of the
+	 *         queried class expression
+	 */
+	public Set<? extends Node<ElkClass>> getDirectSubClasses() {
+		return directSubClasses_;
+	}
+
+	@Override
+	public String toString() {
+		return getClass().getSimpleName() + "(" + equivalentClasses_ + ", "
+				+ directSuperClasses_ + ", " + directSubClasses_ + ")";
+	}
+
+}
@@ -34,12 +34,12 @@
 
 import org.semanticweb.elk.reasoner.indexing.model.IndexedContextRoot;
 import org.semanticweb.elk.reasoner.indexing.model.OntologyIndex;
-import org.semanticweb.elk.reasoner.saturation.conclusions.classes.DummyClassConclusionVisitor;
 import org.semanticweb.elk.reasoner.saturation.conclusions.classes.SaturationClassConclusionChecker;
 import org.semanticweb.elk.reasoner.saturation.conclusions.model.ClassConclusion;
 import org.semanticweb.elk.reasoner.saturation.conclusions.model.ContextInitialization;
 import org.semanticweb.elk.reasoner.saturation.context.Context;
 import org.semanticweb.elk.reasoner.saturation.inferences.ClassInference;
+import org.semanticweb.elk.util.concurrent.collections.WorkStealingQueue;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -64,7 +64,7 @@
 	 * The queue containing all activated contexts (whose todo queue is not
 	 * empty). Every activated context occurs exactly once.
 	 */
-	private final Queue<Context> activeContexts_ = new ConcurrentLinkedQueue<Context>();
+	private final Queue<Context> activeContexts_;
 
 	/**
 	 * The queue containing all {@link Context}s of this {@link SaturationState}
@@ -102,10 +102,32 @@
 
 	private final List<SaturationState.ChangeListener<? super EC>> listeners_ = new ArrayList<>();
 
+	/**
+	 * {@code true} if the contexts were removed by {@link #releaseContexts()}
+	 * and the listeners were not yet notified about this
+	 */
+	private volatile boolean contextsReleased_ = false;
+
 	public AbstractSaturationState(OntologyIndex index,
 			ContextFactory<EC> factory) {
+		this(index, factory, false);
+	}
+
+	/**
+	 * @param index
+	 * @param factory
+	 * @param workStealing
+	 *            if {@code true}, every worker keeps the contexts it activates
+	 *            in its own queue and takes contexts from queues of other
+	 *            workers only when its own queue is empty; otherwise all
+	 *            workers share one queue of activated contexts
+	 */
+	public AbstractSaturationState(OntologyIndex index,
+			ContextFactory<EC> factory, boolean workStealing) {
 		this.ontologyIndex = index;
 		this.contextFactory = factory;
+		this.activeContexts_ = workStealing ? new WorkStealingQueue<Context>()
+				: new ConcurrentLinkedQueue<Context>();
 	}
 
 	@Override
@@ -251,10 +273,29 @@ void notifySaturatedContextModified(EC context) {
 		}
 	}	
 
-	abstract void resetContexts();
+	/**
+	 * Removes all contexts from this {@link SaturationState} without notifying
+	 * the listeners
+	 * 
+	 * @return {@code true} if some contexts were removed
+	 */
+	abstract boolean clearContexts();
 
 	private void reset() {
-		resetContexts();
+		boolean cleared = clearContexts();
+		activeContexts_.clear();
+		notSaturatedContexts_.clear();
+		if (cleared || contextsReleased_) {
+			contextsReleased_ = false;
+			notifyContextsClear();
+		}
+	}
+
+	@Override
+	public void releaseContexts() {
+		if (clearContexts()) {
+			contextsReleased_ = true;
+		}
 		activeContexts_.clear();
 		notSaturatedContexts_.clear();
 	}
@@ -343,26 +384,18 @@ public SaturationState<EC> getSaturationState() {
 		@Override
 		public boolean addConclusion(ClassConclusion conclusion) {
 			EC context = getContext(conclusion.getDestination());
-			return conclusion
-					.accept(new DummyClassConclusionVisitor<Boolean>() {
-						@Override
-						protected Boolean defaultVisit(ClassConclusion c) {
-							return addConclusion(context, c);
-						}
-
-						@Override
-						public Boolean visit(ContextInitialization c) {
-							
-							if (context.containsConclusion(c)) {
-								return false;
-							}
-							// Mark context as non-saturated before we
-							// insert, otherwise the context could be found
-							// initialized and non-saturated
-							markAsNotSaturated(context);
-							return addConclusion(context, c);
-						}
-					});
+			// tested without a visitor to avoid creating one for every
+			// inserted conclusion
+			if (conclusion instanceof ContextInitialization) {
+				if (context.containsConclusion(conclusion)) {
+					return false;
+				}
+				// Mark context as non-saturated before we
+				// insert, otherwise the context could be found
+				// initialized and non-saturated
+				markAsNotSaturated(context);
+			}
+			return addConclusion(context, conclusion);
 		}
 
 		boolean addConclusion(EC context, ClassConclusion conclusion) {			
@@ -0,0 +1,141 @@
+/*
+ * #%L
+ * ELK Reasoner
+ * 
+ * $Id$
+ * $HeadURL$
+ * %%
+ * Copyright (C) 2011 - 2024 Department of Computer Science, University of Oxford
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package org.semanticweb.elk.reasoner.saturation;
+
+import java.util.AbstractSet;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.PrimitiveIterator;
+
+import org.semanticweb.elk.reasoner.indexing.model.IndexedClassExpression;
+import org.semanticweb.elk.reasoner.indexing.model.IndexedObjectCache;
+import org.semanticweb.elk.util.collections.ArrayHashSet;
+import org.semanticweb.elk.util.collections.IntArrayHashSet;
+
+/**
+ * A set of subsumers of a {@link ContextImpl} that stores
+ * {@link IndexedClassExpression}s by their
+ * {@link IndexedClassExpression#getOrdinal()}, which are resolved by the
+ * {@link IndexedObjectCache} during iteration. Membership tests do not access
+ * the stored objects, and large sets of subsumers with close ordinals are
+ * stored as bitmaps. {@link IndexedClassExpression}s without ordinals, which
+ * are not in the index, are stored by references.
+ * 
+ * @see IntArrayHashSet
+ */
+class CompactSubsumerSet extends AbstractSet<IndexedClassExpression> {
+
+	private final IndexedObjectCache index_;
+
+	private final IntArrayHashSet ordinals_;
+
+	/**
+	 * the elements without ordinals, created when needed
+	 */
+	private ArrayHashSet<IndexedClassExpression> others_ = null;
+
+	CompactSubsumerSet(IndexedObjectCache index, int initialCapacity) {
+		this.index_ = index;
+		this.ordinals_ = new IntArrayHashSet(initialCapacity);
+	}
+
+	@Override
+	public int size() {
+		return others_ == null ? ordinals_.size()
+				: ordinals_.size() + others_.size();
+	}
+
+	@Override
+	public boolean contains(Object o) {
+		if (o == null)
+			throw new NullPointerException();
+		if (!(o instanceof IndexedClassExpression))
+			return false;
+		int ordinal = ((IndexedClassExpression) o).getOrdinal();
+		if (ordinal >= 0)
+			return ordinals_.contains(ordinal);
+		// else
+		return others_ != null && others_.contains(o);
+	}
+
+	@Override
+	public boolean add(IndexedClassExpression e) {
+		int ordinal = e.getOrdinal();
+		if (ordinal >= 0)
+			return ordinals_.add(ordinal);
+		// else
+		if (others_ == null)
+			others_ = new ArrayHashSet<IndexedClassExpression>(4);
+		return others_.add(e);
+	}
+
+	@Override
+	public boolean remove(Object o) {
+		if (o == null)
+			throw new NullPointerException();
+		if (!(o instanceof IndexedClassExpression))
+			return false;
+		int ordinal = ((IndexedClassExpression) o).getOrdinal();
+		if (ordinal >= 0)
+			return ordinals_.remove(ordinal);
+		// else
+		return others_ != null && others_.remove(o);
+	}
+
+	@Override
+	public void clear() {
+		ordinals_.clear();
+		others_ = null;
+	}
+
+	@Override
+	public Iterator<IndexedClassExpression> iterator() {
+		return new Iterator<IndexedClassExpression>() {
+
+			private final PrimitiveIterator.OfInt ordinals_ = CompactSubsumerSet.this.ordinals_
+					.iterator();
+
+			private final Iterator<IndexedClassExpression> others_ = CompactSubsumerSet.this.others_ == null
+					? null
+					: CompactSubsumerSet.this.others_.iterator();
+
+			@Override
+			public boolean hasNext() {
+				return ordinals_.hasNext()
+						|| (others_ != null && others_.hasNext());
+			}
+
+			@Override
+			public IndexedClassExpression next() {
+				if (ordinals_.hasNext())
+					return index_.getClassExpression(ordinals_.nextInt());
+				if (others_ != null)
+					return others_.next();
+				// else
+				throw new NoSuchElementException();
+			}
+
+		};
+	}
+
+}
@@ -29,6 +29,7 @@
 import org.semanticweb.elk.reasoner.indexing.model.IndexedClassExpression;
 import org.semanticweb.elk.reasoner.indexing.model.IndexedClassExpressionList;
 import org.semanticweb.elk.reasoner.indexing.model.IndexedContextRoot;
+import org.semanticweb.elk.reasoner.indexing.model.IndexedObjectCache;
 import org.semanticweb.elk.reasoner.indexing.model.IndexedObjectProperty;
 import org.semanticweb.elk.reasoner.indexing.model.IndexedObjectSomeValuesFrom;
 import org.semanticweb.elk.reasoner.indexing.model.IndexedPropertyChain;
@@ -57,7 +58,7 @@
 import org.semanticweb.elk.util.collections.chains.AbstractChain;
 import org.semanticweb.elk.util.collections.chains.Chain;
 import org.semanticweb.elk.util.concurrent.collections.ActivationStack;
-import org.semanticweb.elk.util.concurrent.collections.SynchronizedArrayListActivationStack;
+import org.semanticweb.elk.util.concurrent.collections.SingleConsumerActivationStack;
 
 /**
  * Context implementation that is used for EL reasoning. It provides data
@@ -156,11 +157,30 @@ public class ContextImpl implements ExtendedContext {
 	 */
 	public ContextImpl(IndexedContextRoot root) {
 		this.root_ = root;
-		this.toDo_ = new SynchronizedArrayListActivationStack<ClassInference>();
+		this.toDo_ = new SingleConsumerActivationStack<ClassInference>();
 		this.composedSubsumers_ = new ArrayHashSet<IndexedClassExpression>(16);
 		this.decomposedSubsumers_ = new ArrayHashSet<IndexedClassExpression>(8);
 	}
 
+	/**
+	 * Construct a new {@link Context} for the given {@link IndexedContextRoot}
+	 * that stores the subsumers by their
+	 * {@link IndexedClassExpression#getOrdinal()}.
+	 * 
+	 * @param root
+	 *            the {@link IndexedContextRoot} for which to construct the
+	 *            {@link Context}
+	 * @param index
+	 *            the {@link IndexedObjectCache} that assigned the ordinals
+	 * @see CompactSubsumerSet
+	 */
+	public ContextImpl(IndexedContextRoot root, IndexedObjectCache index) {
+		this.root_ = root;
+		this.toDo_ = new SingleConsumerActivationStack<ClassInference>();
+		this.composedSubsumers_ = new CompactSubsumerSet(index, 16);
+		this.decomposedSubsumers_ = new CompactSubsumerSet(index, 8);
+	}
+
 	@Override
 	public boolean addConclusion(ClassConclusion conclusion) {
 		boolean success = conclusion.accept(new ConclusionInserter());
@@ -4,6 +4,7 @@
 package org.semanticweb.elk.reasoner.saturation;
 
 import org.semanticweb.elk.reasoner.indexing.model.IndexedContextRoot;
+import org.semanticweb.elk.reasoner.indexing.model.IndexedObjectCache;
 
 /*
  * #%L
@@ -36,8 +37,30 @@
  */
 public class MainContextFactory implements ContextFactory<ExtendedContext> {
 
+	/**
+	 * if not {@code null}, the created contexts store subsumers by ordinals
+	 * assigned by this index
+	 */
+	private final IndexedObjectCache compactSubsumersIndex_;
+
+	public MainContextFactory() {
+		this(null);
+	}
+
+	/**
+	 * @param compactSubsumersIndex
+	 *            if not {@code null}, the created contexts store subsumers
+	 *            using {@link CompactSubsumerSet} for this index
+	 */
+	public MainContextFactory(IndexedObjectCache compactSubsumersIndex) {
+		this.compactSubsumersIndex_ = compactSubsumersIndex;
+	}
+
 	@Override
 	public ExtendedContext createContext(IndexedContextRoot root) {
+		if (compactSubsumersIndex_ != null)
+			return new ContextImpl(root, compactSubsumersIndex_);
+		// else
 		return new ContextImpl(root);
 	}
 
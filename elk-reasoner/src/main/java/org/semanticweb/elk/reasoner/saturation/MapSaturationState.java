@@ -67,11 +67,13 @@ public EC getContext(IndexedContextRoot root) {
 	}
 
 	@Override
-	void resetContexts() {
-		if (!contextAssignment_.isEmpty()) {
-			contextAssignment_.clear();
-			notifyContextsClear();
+	boolean clearContexts() {
+		if (contextAssignment_.isEmpty()) {
+			return false;
 		}
+		// else
+		contextAssignment_.clear();
+		return true;
 	}
 
 	@Override
@@ -59,7 +59,35 @@
 	 * @param index
 	 */
 	public ReferenceSaturationState(OntologyIndex index) {
-		super(index, new MainContextFactory());
+		this(index, false);
+	}
+
+	/**
+	 * 
+	 * @param index
+	 * @param compactSubsumers
+	 *            if {@code true}, contexts store subsumers using
+	 *            {@link CompactSubsumerSet}
+	 */
+	public ReferenceSaturationState(OntologyIndex index,
+			boolean compactSubsumers) {
+		this(index, compactSubsumers, false);
+	}
+
+	/**
+	 * 
+	 * @param index
+	 * @param compactSubsumers
+	 *            if {@code true}, contexts store subsumers using
+	 *            {@link CompactSubsumerSet}
+	 * @param workStealing
+	 *            if {@code true}, activated contexts are scheduled using a
+	 *            separate queue for every worker
+	 */
+	public ReferenceSaturationState(OntologyIndex index,
+			boolean compactSubsumers, boolean workStealing) {
+		super(index, new MainContextFactory(compactSubsumers ? index : null),
+				workStealing);
 	}
 
 	@Override
@@ -145,18 +173,19 @@ public ExtendedContext getContext(IndexedContextRoot root) {
 	}
 
 	@Override
-	void resetContexts() {
+	boolean clearContexts() {
 		int cc = contextCount.get();
 		if (cc == 0)
 			// everything is already done
-			return;
+			return false;
 		// else
 		if (contextCount.compareAndSet(cc, 0)) {
 			for (ExtendedContext context : getContexts()) {
 				context.getRoot().resetContext();
 			}
-			notifyContextsClear();
+			return true;
 		}
+		return false;
 	}
 
 	@Override
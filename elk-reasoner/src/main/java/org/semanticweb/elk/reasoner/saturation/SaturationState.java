@@ -186,6 +186,18 @@ public ContextCreatingSaturationStateWriter<C> getContextCreatingWriter(
 	 */
 	public ContextCreatingSaturationStateWriter<C> getContextCreatingWriter();
 
+	/**
+	 * Removes all {@link Context}s from this {@link SaturationState} to free
+	 * the memory they occupy, but, unlike resetting the contexts using
+	 * {@link SaturationStateWriter#resetContexts()}, does not notify the
+	 * registered {@link ChangeListener}s. The results computed by the
+	 * listeners, such as the class taxonomy, therefore stay available. The
+	 * listeners are notified by {@link ChangeListener#contextsClear()} when
+	 * the contexts are reset next time, after which everything should be
+	 * computed from scratch.
+	 */
+	public void releaseContexts();
+
 	/**
 	 * Registers a given {@link ChangeListener} with this
 	 * {@link SaturationState}
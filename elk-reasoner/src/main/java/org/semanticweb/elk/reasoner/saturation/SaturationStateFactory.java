@@ -25,6 +25,8 @@
  * #L%
  */
 
+import org.semanticweb.elk.reasoner.config.ReasonerConfiguration;
+import org.semanticweb.elk.reasoner.indexing.model.IndexedClassExpression;
 import org.semanticweb.elk.reasoner.indexing.model.OntologyIndex;
 import org.semanticweb.elk.reasoner.saturation.context.Context;
 
@@ -47,7 +49,48 @@ public class SaturationStateFactory {
 	 */
 	public static SaturationState<? extends Context> createSaturationState(
 			OntologyIndex ontologyIndex) {
-		return new ReferenceSaturationState(ontologyIndex);
+		return createSaturationState(ontologyIndex, false);
+	}
+
+	/**
+	 * Creates a new {@link SaturationState}
+	 * 
+	 * @param ontologyIndex
+	 *            the {@link OntologyIndex} used by the new
+	 *            {@link SaturationState}
+	 * @param compactSubsumers
+	 *            if {@code true}, the subsumers of contexts are stored by the
+	 *            ordinals of {@link IndexedClassExpression}s
+	 * @return the new {@link SaturationState}
+	 * @see ReasonerConfiguration#COMPACT_SUBSUMERS
+	 */
+	public static SaturationState<? extends Context> createSaturationState(
+			OntologyIndex ontologyIndex, boolean compactSubsumers) {
+		return createSaturationState(ontologyIndex, compactSubsumers, false);
+	}
+
+	/**
+	 * Creates a new {@link SaturationState}
+	 * 
+	 * @param ontologyIndex
+	 *            the {@link OntologyIndex} used by the new
+	 *            {@link SaturationState}
+	 * @param compactSubsumers
+	 *            if {@code true}, the subsumers of contexts are stored by the
+	 *            ordinals of {@link IndexedClassExpression}s
+	 * @param workStealing
+	 *            if {@code true}, every worker processes the contexts it
+	 *            activates first and steals contexts from other workers when
+	 *            it runs out of them
+	 * @return the new {@link SaturationState}
+	 * @see ReasonerConfiguration#COMPACT_SUBSUMERS
+	 * @see ReasonerConfiguration#SATURATION_WORK_STEALING
+	 */
+	public static SaturationState<? extends Context> createSaturationState(
+			OntologyIndex ontologyIndex, boolean compactSubsumers,
+			boolean workStealing) {
+		return new ReferenceSaturationState(ontologyIndex, compactSubsumers,
+				workStealing);
 		// return new MapSaturationState<ExtendedContext>(ontologyIndex, new
 		// MainContextFactory(),
 		// ontologyIndex.getIndexedClassExpressions().size());
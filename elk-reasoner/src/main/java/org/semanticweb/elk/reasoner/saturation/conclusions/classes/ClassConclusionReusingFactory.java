@@ -0,0 +1,442 @@
+/*
+ * #%L
+ * ELK Reasoner
+ * 
+ * $Id$
+ * $HeadURL$
+ * %%
+ * Copyright (C) 2011 - 2024 Department of Computer Science, University of Oxford
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package org.semanticweb.elk.reasoner.saturation.conclusions.classes;
+
+import org.semanticweb.elk.reasoner.indexing.model.IndexedClassExpression;
+import org.semanticweb.elk.reasoner.indexing.model.IndexedClassExpressionList;
+import org.semanticweb.elk.reasoner.indexing.model.IndexedContextRoot;
+import org.semanticweb.elk.reasoner.indexing.model.IndexedObjectProperty;
+import org.semanticweb.elk.reasoner.indexing.model.IndexedObjectSomeValuesFrom;
+import org.semanticweb.elk.reasoner.indexing.model.IndexedPropertyChain;
+import org.semanticweb.elk.reasoner.saturation.conclusions.model.BackwardLink;
+import org.semanticweb.elk.reasoner.saturation.conclusions.model.ClassConclusion;
+import org.semanticweb.elk.reasoner.saturation.conclusions.model.ClassInconsistency;
+import org.semanticweb.elk.reasoner.saturation.conclusions.model.ContextInitialization;
+import org.semanticweb.elk.reasoner.saturation.conclusions.model.DisjointSubsumer;
+import org.semanticweb.elk.reasoner.saturation.conclusions.model.ForwardLink;
+import org.semanticweb.elk.reasoner.saturation.conclusions.model.InitializationConclusion;
+import org.semanticweb.elk.reasoner.saturation.conclusions.model.Propagation;
+import org.semanticweb.elk.reasoner.saturation.conclusions.model.SaturationConclusion;
+import org.semanticweb.elk.reasoner.saturation.conclusions.model.SubClassConclusion;
+import org.semanticweb.elk.reasoner.saturation.conclusions.model.SubClassInclusion;
+import org.semanticweb.elk.reasoner.saturation.conclusions.model.SubClassInclusionComposed;
+import org.semanticweb.elk.reasoner.saturation.conclusions.model.SubClassInclusionDecomposed;
+import org.semanticweb.elk.reasoner.saturation.conclusions.model.SubContextInitialization;
+import org.semanticweb.elk.reasoner.tracing.AbstractConclusion;
+import org.semanticweb.elk.reasoner.tracing.Conclusion;
+import org.semanticweb.elk.reasoner.tracing.ConclusionHash;
+
+/**
+ * A {@link ClassConclusion.Factory} that does not create new objects, but
+ * keeps one mutable {@link ClassConclusion} of every type and returns it after
+ * updating its parameters. A returned {@link ClassConclusion} is therefore
+ * valid only until the next call of this factory for a conclusion of the same
+ * type. This factory can be used when the {@link ClassConclusion}s are
+ * processed one after another and are never stored, as when they are inserted
+ * into contexts during saturation; it avoids creating a new object for every
+ * produced conclusion. This factory is not thread safe, so each worker should
+ * use its own instance.
+ */
+public class ClassConclusionReusingFactory implements ClassConclusion.Factory {
+
+	private final ReusableBackwardLink backwardLink_ = new ReusableBackwardLink();
+
+	private final ReusableContextInitialization contextInitialization_ = new ReusableContextInitialization();
+
+	private final ReusableClassInconsistency contradiction_ = new ReusableClassInconsistency();
+
+	private final ReusableDisjointSubsumer disjointSubsumer_ = new ReusableDisjointSubsumer();
+
+	private final ReusableForwardLink forwardLink_ = new ReusableForwardLink();
+
+	private final ReusablePropagation propagation_ = new ReusablePropagation();
+
+	private final ReusableSubClassInclusionComposed subClassInclusionComposed_ = new ReusableSubClassInclusionComposed();
+
+	private final ReusableSubClassInclusionDecomposed subClassInclusionDecomposed_ = new ReusableSubClassInclusionDecomposed();
+
+	private final ReusableSubContextInitialization subContextInitialization_ = new ReusableSubContextInitialization();
+
+	@Override
+	public BackwardLink getBackwardLink(IndexedContextRoot root,
+			IndexedObjectProperty relation, IndexedContextRoot source) {
+		backwardLink_.destination_ = root;
+		backwardLink_.subDestination_ = relation;
+		backwardLink_.source_ = source;
+		return backwardLink_;
+	}
+
+	@Override
+	public ContextInitialization getContextInitialization(
+			IndexedContextRoot root) {
+		contextInitialization_.destination_ = root;
+		return contextInitialization_;
+	}
+
+	@Override
+	public ClassInconsistency getContradiction(IndexedContextRoot destination) {
+		contradiction_.destination_ = destination;
+		return contradiction_;
+	}
+
+	@Override
+	public DisjointSubsumer getDisjointSubsumer(IndexedContextRoot root,
+			IndexedClassExpressionList disjointExpressions, int position) {
+		disjointSubsumer_.destination_ = root;
+		disjointSubsumer_.disjointExpressions_ = disjointExpressions;
+		disjointSubsumer_.position_ = position;
+		return disjointSubsumer_;
+	}
+
+	@Override
+	public ForwardLink getForwardLink(IndexedContextRoot root,
+			IndexedPropertyChain forwardChain, IndexedContextRoot target) {
+		forwardLink_.destination_ = root;
+		forwardLink_.forwardChain_ = forwardChain;
+		forwardLink_.target_ = target;
+		return forwardLink_;
+	}
+
+	@Override
+	public Propagation getPropagation(IndexedContextRoot root,
+			IndexedObjectProperty relation, IndexedObjectSomeValuesFrom carry) {
+		propagation_.destination_ = root;
+		propagation_.subDestination_ = relation;
+		propagation_.carry_ = carry;
+		return propagation_;
+	}
+
+	@Override
+	public SubClassInclusionComposed getSubClassInclusionComposed(
+			IndexedContextRoot subExpression,
+			IndexedClassExpression superExpression) {
+		subClassInclusionComposed_.destination_ = subExpression;
+		subClassInclusionComposed_.subsumer_ = superExpression;
+		return subClassInclusionComposed_;
+	}
+
+	@Override
+	public SubClassInclusionDecomposed getSubClassInclusionDecomposed(
+			IndexedContextRoot subExpression,
+			IndexedClassExpression superExpression) {
+		subClassInclusionDecomposed_.destination_ = subExpression;
+		subClassInclusionDecomposed_.subsumer_ = superExpression;
+		return subClassInclusionDecomposed_;
+	}
+
+	@Override
+	public SubContextInitialization getSubContextInitialization(
+			IndexedContextRoot root, IndexedObjectProperty subRoot) {
+		subContextInitialization_.destination_ = root;
+		subContextInitialization_.subDestination_ = subRoot;
+		return subContextInitialization_;
+	}
+
+	private static abstract class ReusableClassConclusion
+			extends AbstractConclusion implements ClassConclusion {
+
+		IndexedContextRoot destination_;
+
+		@Override
+		public IndexedContextRoot getDestination() {
+			return destination_;
+		}
+
+		@Override
+		public IndexedContextRoot getTraceRoot() {
+			return destination_;
+		}
+
+		@Override
+		public int hashCode() {
+			// the parameters can change, so the hash code cannot be cached
+			return ConclusionHash.hashCode(this);
+		}
+
+		@Override
+		public final <O> O accept(Conclusion.Visitor<O> visitor) {
+			return accept((ClassConclusion.Visitor<O>) visitor);
+		}
+
+		@Override
+		public final <O> O accept(SaturationConclusion.Visitor<O> visitor) {
+			return accept((ClassConclusion.Visitor<O>) visitor);
+		}
+
+	}
+
+	private static abstract class ReusableSubClassConclusion
+			extends ReusableClassConclusion implements SubClassConclusion {
+
+		IndexedObjectProperty subDestination_;
+
+		@Override
+		public IndexedObjectProperty getSubDestination() {
+			return subDestination_;
+		}
+
+		@Override
+		public IndexedObjectProperty getTraceSubRoot() {
+			return subDestination_;
+		}
+
+		@Override
+		public <O> O accept(ClassConclusion.Visitor<O> visitor) {
+			return accept((SubClassConclusion.Visitor<O>) visitor);
+		}
+
+	}
+
+	private static abstract class ReusableSubClassInclusion
+			extends ReusableClassConclusion implements SubClassInclusion {
+
+		IndexedClassExpression subsumer_;
+
+		@Override
+		public IndexedClassExpression getSubsumer() {
+			return subsumer_;
+		}
+
+		@Override
+		public <O> O accept(ClassConclusion.Visitor<O> visitor) {
+			return accept((SubClassInclusion.Visitor<O>) visitor);
+		}
+
+	}
+
+	private static class ReusableBackwardLink extends ReusableSubClassConclusion
+			implements BackwardLink {
+
+		IndexedContextRoot source_;
+
+		@Override
+		public IndexedContextRoot getSource() {
+			return source_;
+		}
+
+		@Override
+		public IndexedObjectProperty getRelation() {
+			return subDestination_;
+		}
+
+		@Override
+		public IndexedContextRoot getTraceRoot() {
+			return source_;
+		}
+
+		@Override
+		public IndexedObjectProperty getTraceSubRoot() {
+			return null;
+		}
+
+		@Override
+		public <O> O accept(ClassConclusion.Visitor<O> visitor) {
+			return visitor.visit(this);
+		}
+
+		@Override
+		public <O> O accept(SubClassConclusion.Visitor<O> visitor) {
+			return visitor.visit(this);
+		}
+
+		@Override
+		public <O> O accept(BackwardLink.Visitor<O> visitor) {
+			return visitor.visit(this);
+		}
+
+	}
+
+	private static class ReusableContextInitialization
+			extends ReusableClassConclusion implements ContextInitialization {
+
+		@Override
+		public <O> O accept(ClassConclusion.Visitor<O> visitor) {
+			return visitor.visit(this);
+		}
+
+		@Override
+		public <O> O accept(ContextInitialization.Visitor<O> visitor) {
+			return visitor.visit(this);
+		}
+
+		@Override
+		public <O> O accept(InitializationConclusion.Visitor<O> visitor) {
+			return visitor.visit(this);
+		}
+
+	}
+
+	private static class ReusableClassInconsistency
+			extends ReusableClassConclusion implements ClassInconsistency {
+
+		@Override
+		public <O> O accept(ClassConclusion.Visitor<O> visitor) {
+			return visitor.visit(this);
+		}
+
+		@Override
+		public <O> O accept(ClassInconsistency.Visitor<O> visitor) {
+			return visitor.visit(this);
+		}
+
+	}
+
+	private static class ReusableDisjointSubsumer
+			extends ReusableClassConclusion implements DisjointSubsumer {
+
+		IndexedClassExpressionList disjointExpressions_;
+
+		int position_;
+
+		@Override
+		public IndexedClassExpressionList getDisjointExpressions() {
+			return disjointExpressions_;
+		}
+
+		@Override
+		public int getPosition() {
+			return position_;
+		}
+
+		@Override
+		public <O> O accept(ClassConclusion.Visitor<O> visitor) {
+			return visitor.visit(this);
+		}
+
+		@Override
+		public <O> O accept(DisjointSubsumer.Visitor<O> visitor) {
+			return visitor.visit(this);
+		}
+
+	}
+
+	private static class ReusableForwardLink extends ReusableClassConclusion
+			implements ForwardLink {
+
+		IndexedPropertyChain forwardChain_;
+
+		IndexedContextRoot target_;
+
+		@Override
+		public IndexedPropertyChain getChain() {
+			return forwardChain_;
+		}
+
+		@Override
+		public IndexedContextRoot getTarget() {
+			return target_;
+		}
+
+		@Override
+		public <O> O accept(ClassConclusion.Visitor<O> visitor) {
+			return visitor.visit(this);
+		}
+
+		@Override
+		public <O> O accept(ForwardLink.Visitor<O> visitor) {
+			return visitor.visit(this);
+		}
+
+	}
+
+	private static class ReusablePropagation extends ReusableSubClassConclusion
+			implements Propagation {
+
+		IndexedObjectSomeValuesFrom carry_;
+
+		@Override
+		public IndexedObjectProperty getRelation() {
+			return subDestination_;
+		}
+
+		@Override
+		public IndexedObjectSomeValuesFrom getCarry() {
+			return carry_;
+		}
+
+		@Override
+		public <O> O accept(SubClassConclusion.Visitor<O> visitor) {
+			return visitor.visit(this);
+		}
+
+		@Override
+		public <O> O accept(Propagation.Visitor<O> visitor) {
+			return visitor.visit(this);
+		}
+
+	}
+
+	private static class ReusableSubClassInclusionComposed
+			extends ReusableSubClassInclusion
+			implements SubClassInclusionComposed {
+
+		@Override
+		public <O> O accept(SubClassInclusion.Visitor<O> visitor) {
+			return visitor.visit(this);
+		}
+
+		@Override
+		public <O> O accept(SubClassInclusionComposed.Visitor<O> visitor) {
+			return visitor.visit(this);
+		}
+
+	}
+
+	private static class ReusableSubClassInclusionDecomposed
+			extends ReusableSubClassInclusion
+			implements SubClassInclusionDecomposed {
+
+		@Override
+		public <O> O accept(SubClassInclusion.Visitor<O> visitor) {
+			return visitor.visit(this);
+		}
+
+		@Override
+		public <O> O accept(SubClassInclusionDecomposed.Visitor<O> visitor) {
+			return visitor.visit(this);
+		}
+
+	}
+
+	private static class ReusableSubContextInitialization
+			extends ReusableSubClassConclusion
+			implements SubContextInitialization {
+
+		@Override
+		public <O> O accept(SubClassConclusion.Visitor<O> visitor) {
+			return visitor.visit(this);
+		}
+
+		@Override
+		public <O> O accept(SubContextInitialization.Visitor<O> visitor) {
+			return visitor.visit(this);
+		}
+
+		@Override
+		public <O> O accept(InitializationConclusion.Visitor<O> visitor) {
+			return visitor.visit(this);
+		}
+
+	}
+
+}
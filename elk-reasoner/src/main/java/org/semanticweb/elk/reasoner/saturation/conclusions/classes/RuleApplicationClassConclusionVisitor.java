@@ -98,6 +98,13 @@
 	 */
 	final ClassInferenceProducer producer;
 
+	/**
+	 * the {@link SubsumerDecompositionVisitor} for the last
+	 * {@link ContextPremises}; reused while the conclusions of the same
+	 * context are processed
+	 */
+	private SubsumerDecompositionVisitor decompositionVisitor_ = null;
+
 	public RuleApplicationClassConclusionVisitor(
 			Reference<? extends ContextPremises> premisesRef,
 			LinkedContextInitRule contextInitRuleHead,
@@ -202,8 +209,13 @@ public Boolean visit(SubClassInclusionComposed conclusion) {
 	@Override
 	public Boolean visit(SubClassInclusionDecomposed conclusion) {
 		IndexedClassExpression subsumer = conclusion.getSubsumer();
-		subsumer.accept(new SubsumerDecompositionVisitor(ruleAppVisitor, get(),
-				producer));
+		ContextPremises premises = get();
+		if (decompositionVisitor_ == null
+				|| decompositionVisitor_.getPremises() != premises) {
+			decompositionVisitor_ = new SubsumerDecompositionVisitor(
+					ruleAppVisitor, premises, producer);
+		}
+		subsumer.accept(decompositionVisitor_);
 		return true;
 	}
 
@@ -27,6 +27,7 @@
 import org.semanticweb.elk.reasoner.saturation.SaturationStateWriter;
 import org.semanticweb.elk.reasoner.saturation.SaturationStatistics;
 import org.semanticweb.elk.reasoner.saturation.SaturationUtils;
+import org.semanticweb.elk.reasoner.saturation.conclusions.classes.ClassConclusionReusingFactory;
 import org.semanticweb.elk.reasoner.saturation.conclusions.classes.ClassConclusionTracingContextNotSaturatedCheckingVisitor;
 import org.semanticweb.elk.reasoner.saturation.conclusions.classes.ContextInitializingClassConclusionInsertionVisitor;
 import org.semanticweb.elk.reasoner.saturation.conclusions.classes.RuleApplicationClassConclusionVisitor;
@@ -77,6 +78,8 @@ protected ClassInference.Visitor<Boolean> getInferenceProcessor(
 			SaturationStateWriter<? extends Context> writer,
 			SaturationStatistics localStatistics) {
 		return new ClassInferenceConclusionVisitor<Boolean>(
+				// conclusions are not stored, so they can be reused
+				new ClassConclusionReusingFactory(),
 				// measuring time, if necessary
 				SaturationUtils.getTimedConclusionVisitor(
 						SaturationUtils.compose(
@@ -31,6 +31,7 @@
 import org.semanticweb.elk.reasoner.saturation.SaturationUtils;
 import org.semanticweb.elk.reasoner.saturation.conclusions.classes.ClassConclusionDeletionVisitor;
 import org.semanticweb.elk.reasoner.saturation.conclusions.classes.ClassConclusionOccurrenceCheckingVisitor;
+import org.semanticweb.elk.reasoner.saturation.conclusions.classes.ClassConclusionReusingFactory;
 import org.semanticweb.elk.reasoner.saturation.conclusions.classes.RuleApplicationClassConclusionVisitor;
 import org.semanticweb.elk.reasoner.saturation.conclusions.model.ClassConclusion;
 import org.semanticweb.elk.reasoner.saturation.context.Context;
@@ -85,6 +86,8 @@ protected Visitor<Boolean> getInferenceProcessor(
 			SaturationStateWriter<? extends Context> writer,
 			SaturationStatistics localStatistics) {
 		return new ClassInferenceConclusionVisitor<Boolean>(
+				// conclusions are not stored, so they can be reused
+				new ClassConclusionReusingFactory(),
 				// measuring time, if necessary
 				SaturationUtils
 						.getTimedConclusionVisitor(SaturationUtils.compose(
@@ -70,6 +70,13 @@ public SubsumerDecompositionVisitor(
 		this.producer_ = producer;
 	}
 
+	/**
+	 * @return the {@link ContextPremises} with which the rules are applied
+	 */
+	public ContextPremises getPremises() {
+		return premises_;
+	}
+
 	@Override
 	public Void visit(IndexedDefinedClass element) {
 		IndexedClassDecompositionRule.getInstance().accept(ruleVisitor_,
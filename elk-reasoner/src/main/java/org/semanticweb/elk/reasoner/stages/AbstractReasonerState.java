@@ -22,11 +22,18 @@
  */
 package org.semanticweb.elk.reasoner.stages;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
 import java.util.Map;
+import java.util.NoSuchElementException;
 import java.util.Set;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
 
 import org.semanticweb.elk.exceptions.ElkException;
 import org.semanticweb.elk.exceptions.ElkRuntimeException;
@@ -52,6 +59,7 @@
 import org.semanticweb.elk.reasoner.completeness.OccurrencesInOntology;
 import org.semanticweb.elk.reasoner.config.ReasonerConfiguration;
 import org.semanticweb.elk.reasoner.consistency.ConsistencyCheckingState;
+import org.semanticweb.elk.reasoner.incremental.AffectedClassesEstimation;
 import org.semanticweb.elk.reasoner.indexing.classes.DifferentialIndex;
 import org.semanticweb.elk.reasoner.indexing.conversion.ElkAxiomConverterImpl;
 import org.semanticweb.elk.reasoner.indexing.conversion.ElkPolarityExpressionConverter;
@@ -64,6 +72,8 @@
 import org.semanticweb.elk.reasoner.indexing.model.ModifiableIndexedPropertyChain;
 import org.semanticweb.elk.reasoner.indexing.model.ModifiableOntologyIndex;
 import org.semanticweb.elk.reasoner.indexing.model.OntologyIndex;
+import org.semanticweb.elk.reasoner.query.ClassExpressionQueryResult;
+import org.semanticweb.elk.reasoner.query.ElkQueryException;
 import org.semanticweb.elk.reasoner.query.QueryNode;
 import org.semanticweb.elk.reasoner.query.VerifiableQueryResult;
 import org.semanticweb.elk.reasoner.saturation.SaturationState;
@@ -80,14 +90,18 @@
 import org.semanticweb.elk.reasoner.taxonomy.OrphanTypeNode;
 import org.semanticweb.elk.reasoner.taxonomy.SingletoneInstanceTaxonomy;
 import org.semanticweb.elk.reasoner.taxonomy.SingletoneTaxonomy;
+import org.semanticweb.elk.reasoner.taxonomy.TaxonomyClosureIndex;
+import org.semanticweb.elk.reasoner.taxonomy.TaxonomySnapshot;
 import org.semanticweb.elk.reasoner.taxonomy.model.InstanceTaxonomy;
 import org.semanticweb.elk.reasoner.taxonomy.model.Node;
 import org.semanticweb.elk.reasoner.taxonomy.model.Taxonomy;
+import org.semanticweb.elk.reasoner.taxonomy.model.TaxonomyNode;
 import org.semanticweb.elk.reasoner.taxonomy.model.TaxonomyNodeFactory;
 import org.semanticweb.elk.reasoner.tracing.Conclusion;
 import org.semanticweb.elk.reasoner.tracing.TraceState;
 import org.semanticweb.elk.reasoner.tracing.TracingInference;
 import org.semanticweb.elk.reasoner.tracing.TracingProof;
+import org.semanticweb.elk.util.collections.ArrayHashMap;
 import org.semanticweb.elk.util.collections.ArrayHashSet;
 import org.semanticweb.elk.util.concurrent.computation.ConcurrentExecutor;
 import org.semanticweb.elk.util.statistics.NestedStats;
@@ -191,6 +205,76 @@ public abstract class AbstractReasonerState implements TracingProof {
 	 */
 	private boolean allowIncrementalMode_ = true;
 
+	/**
+	 * the largest fraction of classes that can be affected by changes for
+	 * which the changes are still processed incrementally
+	 * 
+	 * @see ReasonerConfiguration#INCREMENTAL_MAX_AFFECTED_RATIO
+	 */
+	private double incrementalMaxAffectedRatio_ = 0.5;
+
+	/**
+	 * the changes are always processed incrementally if they affect at most
+	 * so many classes; re-saturating them costs too little to be worth a
+	 * decision
+	 */
+	private static final int INCREMENTAL_MIN_AFFECTED_CLASSES_ = 4096;
+
+	/**
+	 * if {@code true}, the saturation is released after the class taxonomy is
+	 * computed
+	 */
+	private boolean taxonomyOnlyMode_ = false;
+
+	/**
+	 * {@code true} if the saturation was released after computing the class
+	 * taxonomy and was not computed again since then
+	 */
+	private boolean saturationReleased_ = false;
+
+	/**
+	 * held for writing while reasoner stages are executed and for reading
+	 * while queries are answered from the class, instance or object property
+	 * taxonomy without holding the monitor of this object
+	 */
+	private final ReadWriteLock taxonomyLock_ = new ReentrantReadWriteLock();
+
+	/**
+	 * {@code true} if the class taxonomy was computed and no stages were
+	 * executed since then, so that it can be read under {@link #taxonomyLock_}
+	 */
+	private volatile boolean taxonomyReadable_ = false;
+
+	/**
+	 * same as {@link #taxonomyReadable_} for the instance taxonomy
+	 */
+	private volatile boolean instanceTaxonomyReadable_ = false;
+
+	/**
+	 * same as {@link #taxonomyReadable_} for the object property taxonomy
+	 */
+	private volatile boolean objectPropertyTaxonomyReadable_ = false;
+
+	/**
+	 * the last snapshot of the class taxonomy created by
+	 * {@link #getTaxonomySnapshot()}
+	 */
+	private volatile TaxonomySnapshot<ElkClass> taxonomySnapshot_ = null;
+
+	/**
+	 * {@code true} if no stages were executed since
+	 * {@link #taxonomySnapshot_} was created
+	 */
+	private volatile boolean taxonomySnapshotCurrent_ = false;
+
+	/**
+	 * the last index created by {@link #getTaxonomyClosureIndex()} and the
+	 * snapshot of the class taxonomy from which it was created
+	 */
+	private TaxonomyClosureIndex<ElkClass> taxonomyClosureIndex_ = null;
+
+	private TaxonomySnapshot<ElkClass> indexedTaxonomySnapshot_ = null;
+
 	/**
 	 * creates conclusions for tracing
 	 */
@@ -204,9 +288,17 @@ protected AbstractReasonerState(ElkObject.Factory elkFactory,
 			final ReasonerConfiguration config) {
 		this.elkFactory_ = elkFactory;
 		this.ontologyIndex = new DifferentialIndex(elkFactory);
+		if (config.getParameterAsBoolean(
+				ReasonerConfiguration.COMPACT_SUBSUMERS)) {
+			ontologyIndex.enableOrdinals();
+		}
 		this.propertyHierarchyCompositionState_ = new PropertyHierarchyCompositionState();
-		this.saturationState = SaturationStateFactory
-				.createSaturationState(ontologyIndex);
+		this.saturationState = SaturationStateFactory.createSaturationState(
+				ontologyIndex,
+				config.getParameterAsBoolean(
+						ReasonerConfiguration.COMPACT_SUBSUMERS),
+				config.getParameterAsBoolean(
+						ReasonerConfiguration.SATURATION_WORK_STEALING));
 		this.consistencyCheckingState = ConsistencyCheckingState
 				.create(saturationState, propertyHierarchyCompositionState_);
 		this.instanceTaxonomyState = new InstanceTaxonomyState(saturationState,
@@ -237,7 +329,21 @@ public ElkObject.Factory getElkFactory() {
 	}
 
 	protected void complete(ReasonerStage stage) throws ElkException {
-		getStageExecutor().complete(stage);
+		if (stage.isCompleted()) {
+			return;
+		}
+		// else the stage may modify the taxonomies
+		taxonomyReadable_ = false;
+		instanceTaxonomyReadable_ = false;
+		objectPropertyTaxonomyReadable_ = false;
+		taxonomySnapshotCurrent_ = false;
+		final Lock lock = taxonomyLock_.writeLock();
+		lock.lock();
+		try {
+			getStageExecutor().complete(stage);
+		} finally {
+			lock.unlock();
+		}
 	}
 
 	/**
@@ -280,6 +386,35 @@ public synchronized boolean isAllowIncrementalMode() {
 		return allowIncrementalMode_;
 	}
 
+	/**
+	 * @param ratio
+	 *            the largest fraction of classes that can be affected by
+	 *            changes for which the changes are still processed
+	 *            incrementally
+	 * @see ReasonerConfiguration#INCREMENTAL_MAX_AFFECTED_RATIO
+	 */
+	public synchronized void setIncrementalMaxAffectedRatio(double ratio) {
+		incrementalMaxAffectedRatio_ = ratio;
+	}
+
+	public synchronized double getIncrementalMaxAffectedRatio() {
+		return incrementalMaxAffectedRatio_;
+	}
+
+	public synchronized void setTaxonomyOnlyMode(boolean taxonomyOnly) {
+		if (taxonomyOnlyMode_ == taxonomyOnly)
+			return;
+		if (LOGGER_.isInfoEnabled()) {
+			LOGGER_.debug("Taxonomy only mode is "
+					+ (taxonomyOnly ? "on" : "off"));
+		}
+		taxonomyOnlyMode_ = taxonomyOnly;
+	}
+
+	public synchronized boolean isTaxonomyOnlyMode() {
+		return taxonomyOnlyMode_;
+	}
+
 	public synchronized boolean isIncrementalMode() {
 		return ontologyIndex.isIncrementalMode();
 	}
@@ -291,6 +426,34 @@ void setNonIncrementalMode() {
 		ontologyIndex.setIncrementalMode(false);
 	}
 
+	/**
+	 * Releases the contexts of the saturation if the reasoner is in the
+	 * taxonomy only mode; the computed taxonomies remain available.
+	 */
+	private void releaseSaturation() {
+		if (!taxonomyOnlyMode_ || saturationReleased_) {
+			return;
+		}
+		LOGGER_.debug("Releasing saturation");
+		saturationState.releaseContexts();
+		saturationReleased_ = true;
+	}
+
+	/**
+	 * If the saturation was released, invalidates the stages so that the
+	 * saturation and everything computed from it is computed again from
+	 * scratch. Incremental reasoning is not possible without the saturation.
+	 */
+	private void restoreReleasedSaturation() {
+		if (!saturationReleased_) {
+			return;
+		}
+		LOGGER_.debug("Restoring released saturation");
+		saturationReleased_ = false;
+		setNonIncrementalMode();
+		stageManager.contextInitializationStage.invalidateRecursive();
+	}
+
 	boolean trySetIncrementalMode() {
 		if (!allowIncrementalMode_) {
 			// switching to incremental mode not allowed
@@ -369,6 +532,8 @@ public synchronized void ensureLoading() throws ElkException {
 			return;
 		}
 
+		restoreReleasedSaturation();
+
 		// ensure that all pending incremental stages are completed
 		complete(stageManager.incrementalAdditionStage);
 
@@ -384,6 +549,45 @@ public synchronized void ensureLoading() throws ElkException {
 
 		complete(stageManager.inputLoadingStage);
 
+		if (isIncrementalMode() && !isIncrementalProcessingCheaper()) {
+			setNonIncrementalMode();
+		}
+
+	}
+
+	/**
+	 * Compares the predicted costs of processing the loaded changes
+	 * incrementally and of computing the saturation from scratch. The
+	 * incremental cost is taken to be twice the number of classes affected by
+	 * the changes, since their conclusions are first deleted and then derived
+	 * again, and the full cost the number of all classes.
+	 * 
+	 * @return {@code true} if the changes should be processed incrementally
+	 * 
+	 * @see AffectedClassesEstimation
+	 */
+	private boolean isIncrementalProcessingCheaper() {
+		final Taxonomy<ElkClass> taxonomy = classTaxonomyState.getTaxonomy();
+		if (taxonomy == null) {
+			return true;
+		}
+		final int classCount = ontologyIndex.getClasses().size();
+		final int limit = Math.max(INCREMENTAL_MIN_AFFECTED_CLASSES_,
+				(int) Math.min(Integer.MAX_VALUE - 1,
+						incrementalMaxAffectedRatio_ * classCount));
+		final int affected = AffectedClassesEstimation.estimate(ontologyIndex,
+				taxonomy, limit);
+		if (affected <= limit) {
+			LOGGER_.debug(
+					"Incremental mode: {} of {} classes affected, predicted cost {} vs {} for full saturation",
+					affected, classCount, 2L * affected, classCount);
+			return true;
+		}
+		// else
+		LOGGER_.debug(
+				"Non-incremental mode: over {} of {} classes affected, predicted cost over {} vs {} for full saturation",
+				limit, classCount, 2L * limit, classCount);
+		return false;
 	}
 
 	/**
@@ -537,10 +741,152 @@ private void restoreTaxonomy()
 	public synchronized IncompleteResult<? extends Taxonomy<ElkClass>> getTaxonomy()
 			throws ElkInconsistentOntologyException, ElkException {
 		restoreTaxonomy();
+		releaseSaturation();
+		taxonomyReadable_ = true;
 		return new IncompleteResult<>(classTaxonomyState.getTaxonomy(),
 				incompletenessManager_.getClassTaxonomyMonitor());
 	}
 
+	/**
+	 * Compute the inferred taxonomy of the named classes for the given ontology
+	 * if it has not been done yet, and returns its immutable snapshot. If the
+	 * taxonomy changed since the previous call, the returned snapshot is the
+	 * next version of the previously returned snapshot; otherwise the previous
+	 * snapshot is returned. The snapshots can be read without synchronization
+	 * while the taxonomy is modified, e.g., after changes in the ontology.
+	 * 
+	 * @return the snapshot of the class taxonomy implied by the current
+	 *         ontology
+	 * @throws ElkInconsistentOntologyException
+	 *             if the ontology is inconsistent
+	 * @throws ElkException
+	 *             if the reasoning process cannot be completed successfully
+	 * @see TaxonomySnapshot#getChangedNodes(TaxonomySnapshot)
+	 */
+	public synchronized IncompleteResult<? extends TaxonomySnapshot<ElkClass>> getTaxonomySnapshot()
+			throws ElkInconsistentOntologyException, ElkException {
+		return getTaxonomy().map(taxonomy -> {
+			if (!taxonomySnapshotCurrent_) {
+				taxonomySnapshot_ = taxonomySnapshot_ == null
+						? TaxonomySnapshot.create(taxonomy)
+						: taxonomySnapshot_.update(taxonomy);
+				taxonomySnapshotCurrent_ = true;
+			}
+			return taxonomySnapshot_;
+		});
+	}
+
+	/**
+	 * Computes the class taxonomy if it has not been done yet and returns an
+	 * index of its transitive closure, which can be used for checking
+	 * subsumptions between named classes and enumerating all their sub- and
+	 * super-classes without computing sets of taxonomy nodes. The index is
+	 * created only when the taxonomy changes.
+	 * 
+	 * @return the closure index of the class taxonomy implied by the current
+	 *         ontology
+	 * @throws ElkInconsistentOntologyException
+	 *             if the ontology is inconsistent
+	 * @throws ElkException
+	 *             if the reasoning process cannot be completed successfully
+	 */
+	public synchronized IncompleteResult<? extends TaxonomyClosureIndex<ElkClass>> getTaxonomyClosureIndex()
+			throws ElkInconsistentOntologyException, ElkException {
+		return getTaxonomySnapshot().map(snapshot -> {
+			if (indexedTaxonomySnapshot_ != snapshot) {
+				taxonomyClosureIndex_ = new TaxonomyClosureIndex<ElkClass>(
+						snapshot.freeze());
+				indexedTaxonomySnapshot_ = snapshot;
+			}
+			return taxonomyClosureIndex_;
+		});
+	}
+
+	/**
+	 * Returns the snapshot of the class taxonomy that was last returned by
+	 * {@link #getTaxonomySnapshot()} without waiting for running computations.
+	 * The snapshot may not correspond to the current ontology.
+	 * 
+	 * @return the last created snapshot of the class taxonomy or {@code null}
+	 *         if no snapshot was created yet
+	 */
+	public TaxonomySnapshot<ElkClass> getLastTaxonomySnapshot() {
+		return taxonomySnapshot_;
+	}
+
+	/**
+	 * Locks the class taxonomy for reading if it is computed for the current
+	 * ontology. Several threads can read the taxonomy concurrently; reasoner
+	 * stages cannot be executed until all of them call
+	 * {@link #unlockTaxonomyForReading()}.
+	 * 
+	 * @return the locked class taxonomy, or {@code null} if the taxonomy is not
+	 *         computed yet or some changes are pending loading, in which case
+	 *         nothing is locked
+	 */
+	protected synchronized IncompleteResult<? extends Taxonomy<ElkClass>> lockTaxonomyForReading() {
+		if (!lockForReading(taxonomyReadable_)) {
+			return null;
+		}
+		// else
+		return new IncompleteResult<>(classTaxonomyState.getTaxonomy(),
+				incompletenessManager_.getClassTaxonomyMonitor());
+	}
+
+	/**
+	 * Locks the instance taxonomy for reading if it is computed for the
+	 * current ontology, see {@link #lockTaxonomyForReading()}.
+	 * 
+	 * @return the locked instance taxonomy, or {@code null} if the taxonomy is
+	 *         not computed yet or some changes are pending loading, in which
+	 *         case nothing is locked
+	 */
+	protected synchronized IncompleteResult<? extends InstanceTaxonomy<ElkClass, ElkNamedIndividual>> lockInstanceTaxonomyForReading() {
+		if (!lockForReading(instanceTaxonomyReadable_)) {
+			return null;
+		}
+		// else
+		return new IncompleteResult<>(instanceTaxonomyState.getTaxonomy(),
+				incompletenessManager_.getInstanceTaxonomyMonitor());
+	}
+
+	/**
+	 * Locks the object property taxonomy for reading if it is computed for the
+	 * current ontology, see {@link #lockTaxonomyForReading()}.
+	 * 
+	 * @return the locked object property taxonomy, or {@code null} if the
+	 *         taxonomy is not computed yet or some changes are pending loading,
+	 *         in which case nothing is locked
+	 */
+	protected synchronized IncompleteResult<? extends Taxonomy<ElkObjectProperty>> lockObjectPropertyTaxonomyForReading() {
+		if (!lockForReading(objectPropertyTaxonomyReadable_)) {
+			return null;
+		}
+		// else
+		return new IncompleteResult<>(objectPropertyTaxonomyState.getTaxonomy(),
+				incompletenessManager_.getObjectPropertyTaxonomyMonitor());
+	}
+
+	private synchronized boolean lockForReading(final boolean readable) {
+		if (!readable || !isLoadingFinished()) {
+			return false;
+		}
+		// else no stage can be running since we hold the monitor
+		taxonomyLock_.readLock().lock();
+		return true;
+	}
+
+	/**
+	 * Releases the lock acquired by a successful call of
+	 * {@link #lockTaxonomyForReading()},
+	 * {@link #lockInstanceTaxonomyForReading()} or
+	 * {@link #lockObjectPropertyTaxonomyForReading()}. The calling thread
+	 * should not compute anything in the reasoner before this.
+	 */
+	protected void unlockTaxonomyForReading() {
+		taxonomyLock_.readLock().unlock();
+	}
+
 	/**
 	 * Compute the inferred taxonomy of the named classes for the given ontology
 	 * if it has not been done yet.
@@ -606,6 +952,7 @@ private void restoreInstanceTaxonomy()
 			throws ElkInconsistentOntologyException, ElkException {
 
 		ruleAndConclusionStats.reset();
+		restoreReleasedSaturation();
 
 		// also restores saturation and cleans the taxonomy if necessary
 		restoreConsistencyCheck();
@@ -630,6 +977,7 @@ public synchronized IncompleteResult<? extends InstanceTaxonomy<ElkClass, ElkNam
 			throws ElkInconsistentOntologyException, ElkException {
 
 		restoreInstanceTaxonomy();
+		instanceTaxonomyReadable_ = true;
 
 		return new IncompleteResult<>(instanceTaxonomyState.getTaxonomy(),
 				incompletenessManager_.getInstanceTaxonomyMonitor());
@@ -703,6 +1051,7 @@ public synchronized IncompleteResult<? extends Taxonomy<ElkObjectProperty>> getO
 
 		LOGGER_.trace("Property hierarchy computation");
 		complete(stageManager.objectPropertyTaxonomyComputationStage);
+		objectPropertyTaxonomyReadable_ = true;
 
 		return new IncompleteResult<>(objectPropertyTaxonomyState.getTaxonomy(),
 				incompletenessManager_.getObjectPropertyTaxonomyMonitor());
@@ -765,6 +1114,37 @@ private boolean computeQuery(final ElkClassExpression classExpression,
 
 		// Load the query
 		classExpressionQueryState.registerQuery(classExpression);
+		computeRegisteredQueries(Collections.singleton(classExpression),
+				computeInstanceTaxonomy);
+		return classExpressionQueryState.isIndexed(classExpression);
+	}
+
+	/**
+	 * Loads the class expressions registered in
+	 * {@link #classExpressionQueryState} and computes the results of all
+	 * queries that are not cached yet together in one run of the query stage.
+	 * The stage is run again for the queries whose results are reset during
+	 * the run.
+	 * 
+	 * @param classExpressions
+	 *            the registered class expressions whose results should be
+	 *            ready after this call if they are indexed successfully
+	 * @param computeInstanceTaxonomy
+	 *            if {@code false}, only class taxonomy is computed, if
+	 *            {@code true}, also instance taxonomy is computed.
+	 * @throws ElkInconsistentOntologyException
+	 * @throws ElkQueryException
+	 *             if a run of the query stage computes none of the queries;
+	 *             the message lists the queries that are not computed
+	 * @throws ElkException
+	 */
+	private void computeRegisteredQueries(
+			final Collection<? extends ElkClassExpression> classExpressions,
+			final boolean computeInstanceTaxonomy)
+			throws ElkInconsistentOntologyException, ElkException {
+
+		// the query results are read from the saturation
+		restoreReleasedSaturation();
 		ensureLoading();
 
 		// Complete all stages
@@ -774,39 +1154,143 @@ private boolean computeQuery(final ElkClassExpression classExpression,
 			restoreTaxonomy();
 		}
 
-		if (!classExpressionQueryState.isIndexed(classExpression)) {
-			return false;
-		}
-
 		/*
 		 * If query result is cashed, but there were some changes to the
 		 * ontology, it may not be up to date. Whether it is is checked during
 		 * stages that clean contexts. These are run, if necessary, by the call
 		 * above.
 		 */
-		if (classExpressionQueryState.isComputed(classExpression)) {
-			return true;
+		List<ElkClassExpression> computing = getNotComputed(classExpressions);
+		while (!computing.isEmpty()) {
+			final long startTime = System.nanoTime();
+			stageManager.classExpressionQueryStage.invalidateRecursive();
+			try {
+				complete(stageManager.classExpressionQueryStage);
+			} catch (final ElkInterruptedException e) {
+				if (getNotComputed(computing).isEmpty()) {
+					/*
+					 * If the stage was interrupted, but the queries are
+					 * already computed, completing the stage will not be
+					 * attempted during the next call. We need to call
+					 * postExecute() manually, so that the stage wouldn't stay
+					 * initialized with computation that already processed all
+					 * its inputs (or at least the queried classes).
+					 */
+					stageManager.classExpressionQueryStage.postExecute();
+				} else {
+					throw e;
+				}
+			}
+			// the time of the run is split between the computed queries
+			final long time = (System.nanoTime() - startTime)
+					/ computing.size();
+			boolean progress = false;
+			for (final ElkClassExpression classExpression : computing) {
+				if (classExpressionQueryState.isComputed(classExpression)) {
+					classExpressionQueryState
+							.setComputationTime(classExpression, time);
+					progress = true;
+				}
+			}
+			/*
+			 * Saturation of some queries may add conclusions to the saturated
+			 * contexts of other queries computed before in the same run, e.g.,
+			 * saturation of ObjectSomeValuesFrom(R B) propagates it to the
+			 * contexts with R-successors that have subsumer B. Such queries
+			 * are computed again. This terminates, since each time such a
+			 * query gets a new conclusion.
+			 */
+			final List<ElkClassExpression> notComputed = getNotComputed(
+					classExpressions);
+			if (!progress && !notComputed.isEmpty()) {
+				throw new ElkQueryException(
+						"Queries were not computed: " + notComputed);
+			}
+			computing = notComputed;
 		}
-		stageManager.classExpressionQueryStage.invalidateRecursive();
-		try {
-			complete(stageManager.classExpressionQueryStage);
-		} catch (final ElkInterruptedException e) {
-			if (classExpressionQueryState.isComputed(classExpression)) {
-				/*
-				 * If the stage was interrupted, but the query is already
-				 * computed, completing the stage will not be attempted during
-				 * the next call. We need to call postExecute() manually, so
-				 * that the stage wouldn't stay initialized with computation
-				 * that already processed all its inputs (or at least the
-				 * queried class).
-				 */
-				stageManager.classExpressionQueryStage.postExecute();
-			} else {
-				throw e;
+	}
+
+	/**
+	 * @return the supplied class expressions that were indexed, but whose
+	 *         results are not computed
+	 */
+	private List<ElkClassExpression> getNotComputed(
+			final Collection<? extends ElkClassExpression> classExpressions) {
+		final List<ElkClassExpression> result = new ArrayList<ElkClassExpression>();
+		for (final ElkClassExpression classExpression : classExpressions) {
+			if (classExpressionQueryState.isIndexed(classExpression)
+					&& !classExpressionQueryState.isComputed(classExpression)) {
+				result.add(classExpression);
 			}
 		}
+		return result;
+	}
 
-		return true;
+	/**
+	 * Computes the atomic classes related to each of the supplied (possibly
+	 * complex) class expressions. All class expressions are indexed together
+	 * and saturated in one run of the query stage, which is much faster than
+	 * querying them one by one. The query state is updated accordingly.
+	 * 
+	 * @param classExpressions
+	 *            The queried class expressions.
+	 * @return the map from the supplied class expressions to the atomic
+	 *         classes equivalent to them and their direct super- and
+	 *         sub-classes
+	 * @throws ElkInconsistentOntologyException
+	 *             if the ontology is inconsistent
+	 * @throws ElkException
+	 *             if the reasoning process cannot be completed successfully
+	 */
+	protected Map<ElkClassExpression, IncompleteResult<? extends ClassExpressionQueryResult>> queryClassExpressions(
+			final Collection<? extends ElkClassExpression> classExpressions)
+			throws ElkInconsistentOntologyException, ElkException {
+
+		classExpressionQueryState.registerQueries(classExpressions);
+		computeRegisteredQueries(classExpressions, false);
+
+		final Taxonomy<ElkClass> taxonomy = classTaxonomyState.getTaxonomy();
+		final List<ElkClassExpression> satisfiable = new ArrayList<ElkClassExpression>();
+		for (final ElkClassExpression classExpression : classExpressions) {
+			if (classExpressionQueryState.isIndexed(classExpression)
+					&& classExpressionQueryState
+							.isSatisfiable(classExpression)) {
+				satisfiable.add(classExpression);
+			}
+		}
+		final Map<ElkClassExpression, Set<? extends Node<ElkClass>>> subClasses = classExpressionQueryState
+				.getDirectSubClasses(satisfiable, taxonomy);
+
+		final Map<ElkClassExpression, IncompleteResult<? extends ClassExpressionQueryResult>> results = new ArrayHashMap<ElkClassExpression, IncompleteResult<? extends ClassExpressionQueryResult>>(
+				classExpressions.size());
+		for (final ElkClassExpression classExpression : classExpressions) {
+			final ClassExpressionQueryResult result;
+			if (subClasses.containsKey(classExpression)) {
+				result = new ClassExpressionQueryResult(true,
+						classExpressionQueryState
+								.getEquivalentClasses(classExpression),
+						classExpressionQueryState
+								.getDirectSuperClasses(classExpression),
+						subClasses.get(classExpression));
+			} else if (classExpressionQueryState.isIndexed(classExpression)) {
+				// unsatisfiable
+				final TaxonomyNode<ElkClass> bottom = taxonomy.getBottomNode();
+				result = new ClassExpressionQueryResult(false, bottom,
+						bottom.getDirectSuperNodes(),
+						bottom.getDirectSubNodes());
+			} else {
+				// classExpression couldn't be indexed; pretend it is a fresh
+				// class
+				result = new ClassExpressionQueryResult(true,
+						new QueryNode<ElkClass>(ElkClassKeyProvider.INSTANCE),
+						Collections.singleton(taxonomy.getTopNode()),
+						Collections.singleton(taxonomy.getBottomNode()));
+			}
+			results.put(classExpression, new IncompleteResult<>(result,
+					classExpressionQueryState
+							.getIncompletenessMonitor(classExpression)));
+		}
+		return results;
 	}
 
 	/**
@@ -1013,6 +1497,7 @@ protected IncompleteResult<? extends Set<? extends Node<ElkNamedIndividual>>> qu
 	 *             if the reasoning process cannot be completed successfully
 	 */
 	private void restoreEntailmentCheck() throws ElkException {
+		restoreReleasedSaturation();
 		restoreConsistencyCheck();
 		complete(stageManager.entailmentQueryStage);
 	}
@@ -1036,6 +1521,108 @@ public synchronized Map<ElkAxiom, VerifiableQueryResult> checkEntailment(
 		return entailmentQueryState.isEntailed(axioms);
 	}
 
+	/**
+	 * Decides whether the supplied {@code axioms} are entailed by the
+	 * currently loaded ontology, taking them in batches of the given size. The
+	 * next batch is taken from the supplied iterator only when all results for
+	 * the previous batch are consumed; the axioms of each batch are loaded
+	 * together and the contexts needed to check their entailment are
+	 * saturated in parallel. The evidence of the results is computed only
+	 * when {@link VerifiableQueryResult#getEvidence(boolean)} is called. The
+	 * results of a batch are locked as by {@link #checkEntailment(Iterable)}
+	 * until the next batch is taken or the iteration ends; then they are
+	 * unlocked and can be evicted when further queries are loaded. Hence the
+	 * results should be used before the iterator is advanced past their batch
+	 * and should not be unlocked by the caller.
+	 * 
+	 * @param axioms
+	 *            the axioms whose entailment is queried
+	 * @param batchSize
+	 *            the maximal number of axioms checked together
+	 * @return the {@link VerifiableQueryResult}s for the queried axioms in the
+	 *         order of the axioms; an {@link ElkRuntimeException} is thrown
+	 *         when iterating over the results if the reasoning process cannot
+	 *         be completed successfully
+	 */
+	public Iterator<VerifiableQueryResult> checkEntailment(
+			final Iterator<? extends ElkAxiom> axioms, final int batchSize) {
+		if (batchSize <= 0) {
+			throw new IllegalArgumentException(
+					"Batch size must be positive: " + batchSize);
+		}
+		// else
+		return new Iterator<VerifiableQueryResult>() {
+
+			private List<ElkAxiom> batch_ = new ArrayList<ElkAxiom>(
+					batchSize);
+
+			/**
+			 * the previous batch, whose results are unlocked when the next
+			 * batch is checked
+			 */
+			private List<ElkAxiom> previousBatch_ = new ArrayList<ElkAxiom>(
+					batchSize);
+
+			private Map<ElkAxiom, VerifiableQueryResult> results_ = Collections
+					.emptyMap();
+
+			private int next_ = 0;
+
+			@Override
+			public boolean hasNext() {
+				if (next_ < batch_.size()) {
+					return true;
+				}
+				// else check the next batch
+				final List<ElkAxiom> tmp = previousBatch_;
+				previousBatch_ = batch_;
+				batch_ = tmp;
+				final Map<ElkAxiom, VerifiableQueryResult> previousResults = results_;
+				results_ = Collections.emptyMap();
+				next_ = 0;
+				try {
+					while (batch_.size() < batchSize && axioms.hasNext()) {
+						batch_.add(axioms.next());
+					}
+					if (batch_.isEmpty()) {
+						return false;
+					}
+					// else
+					try {
+						results_ = checkEntailment(batch_);
+					} catch (final ElkException e) {
+						throw new ElkRuntimeException(e);
+					}
+					return true;
+				} finally {
+					if (results_.isEmpty()) {
+						// nothing to return from this batch
+						batch_.clear();
+					}
+					/*
+					 * unlocked only now so that the axioms occurring also in
+					 * the new batch are not evicted; the results are locked
+					 * once per occurrence of their axioms
+					 */
+					for (final ElkAxiom axiom : previousBatch_) {
+						previousResults.get(axiom).unlock();
+					}
+					previousBatch_.clear();
+				}
+			}
+
+			@Override
+			public VerifiableQueryResult next() {
+				if (!hasNext()) {
+					throw new NoSuchElementException();
+				}
+				// else
+				return results_.get(batch_.get(next_++));
+			}
+
+		};
+	}
+
 	/**
 	 * Decides whether the supplied {@code axiom} is entailed by the currently
 	 * loaded ontology.
@@ -1164,7 +1751,7 @@ public Collection<? extends TracingInference> getInferences(
 		// else
 		try {
 			// Ensure that classes are saturated.
-			getTaxonomyQuietlyUninterruptibly();
+			restoreSaturatedTaxonomyUninterruptibly();
 			if (!traceState_.requestInferences((Conclusion) conclusion)) {
 				stageManager.inferenceTracingStage.invalidateRecursive();
 				completeUninterruptibly(stageManager.inferenceTracingStage);
@@ -1175,6 +1762,35 @@ public Collection<? extends TracingInference> getInferences(
 		return traceState_.getInferences(conclusion);
 	}
 
+	/**
+	 * Computes the class taxonomy despite interruptions, if it has not been
+	 * computed yet, so that the saturation is available afterwards even in the
+	 * taxonomy only mode.
+	 * 
+	 * @throws ElkException
+	 *             if the reasoning process cannot be completed successfully
+	 */
+	private synchronized void restoreSaturatedTaxonomyUninterruptibly()
+			throws ElkException {
+		restoreReleasedSaturation();
+		while (true) {
+			try {
+				restoreTaxonomy();
+				return;
+			} catch (final ElkInconsistentOntologyException e) {
+				LOGGER_.debug("Ontology is inconsistent");
+				return;
+			} catch (final ElkInterruptedException e) {
+				continue;
+			}
+		}
+	}
+
+	@NestedStats(name = "classExpressionQueryEvictor")
+	public Object getStatsNestedInClassExpressionQueryEvictor() {
+		return classExpressionQueryState.getEvictorStats();
+	}
+
 	@NestedStats(name = "traceState")
 	public Object getStatsNestedInTraceSate() {
 		return traceState_.getStats();
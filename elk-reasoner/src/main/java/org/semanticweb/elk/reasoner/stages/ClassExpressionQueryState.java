@@ -23,6 +23,7 @@
 
 import java.util.Collection;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
@@ -72,6 +73,7 @@
 import org.semanticweb.elk.reasoner.taxonomy.model.Taxonomy;
 import org.semanticweb.elk.reasoner.taxonomy.model.TaxonomyNode;
 import org.semanticweb.elk.reasoner.taxonomy.model.TypeNode;
+import org.semanticweb.elk.util.collections.ArrayHashMap;
 import org.semanticweb.elk.util.collections.ArrayHashSet;
 import org.semanticweb.elk.util.collections.Evictor;
 import org.semanticweb.elk.util.collections.Operations;
@@ -318,10 +320,35 @@ private QueryState markNotComputed(
 	 *         expression has already been registered.
 	 */
 	boolean registerQuery(final ElkClassExpression query) {
+		lastQueries_.clear();
+		return register(query);
+	}
+
+	/**
+	 * Registers all supplied class expressions for querying, so that they are
+	 * loaded and computed together by the next runs of the necessary stages.
+	 * None of these class expressions are evicted until the next call of this
+	 * method or {@link #registerQuery(ElkClassExpression)}.
+	 * 
+	 * @param queries
+	 * @return {@code true} if some of the class expressions have not been
+	 *         registered yet, {@code false} otherwise
+	 * @see #registerQuery(ElkClassExpression)
+	 */
+	boolean registerQueries(
+			final Collection<? extends ElkClassExpression> queries) {
+		lastQueries_.clear();
+		boolean result = false;
+		for (final ElkClassExpression query : queries) {
+			result |= register(query);
+		}
+		return result;
+	}
+
+	private boolean register(final ElkClassExpression query) {
 
 		LOGGER_.trace("class expression query registered {}", query);
 
-		lastQueries_.clear();
 		queriedEvictor_.add(query);
 		lastQueries_.add(query);
 
@@ -615,6 +642,37 @@ public Collection<IndexedClassExpression> getNotSaturatedQueriedClassExpressions
 		return Operations.map(indexed_.values(), notComputedIces_);
 	}
 
+	/**
+	 * Informs the evictor of the queries how long it took to compute the
+	 * supplied class expression, so that expensive queries are evicted later.
+	 * The query is weighted by the number of subsumers retained in its
+	 * context.
+	 * 
+	 * @param classExpression
+	 *            a class expression whose query was computed
+	 * @param nanos
+	 *            the time spent computing the query in nanoseconds
+	 */
+	void setComputationTime(final ElkClassExpression classExpression,
+			final long nanos) {
+		final QueryState state = queried_.get(classExpression);
+		if (state == null || state.indexed == null) {
+			return;
+		}
+		// else
+		final Context context = saturationState_.getContext(state.indexed);
+		final int size = context == null ? 1
+				: Math.max(1, context.getComposedSubsumers().size());
+		queriedEvictor_.setCost(classExpression, nanos, size);
+	}
+
+	/**
+	 * @return the statistics of the evictor of the queries
+	 */
+	Object getEvictorStats() {
+		return queriedEvictor_.getStats();
+	}
+
 	/**
 	 * @param classExpression
 	 *            the {@link ElkClassExpression} to be checked
@@ -766,6 +824,101 @@ Set<? extends Node<ElkClass>> getDirectSubClasses(
 			}
 		}
 
+		return getDirectSubNodes(strictSubclasses, taxonomy);
+	}
+
+	/**
+	 * Returns the results of {@link #getDirectSubClasses(ElkClassExpression,
+	 * Taxonomy)} for all supplied class expressions. The strict sub-classes of
+	 * the class expressions that are not equivalent to any atomic class are
+	 * found in one pass over all atomic classes.
+	 * 
+	 * @param classExpressions
+	 * @param taxonomy
+	 * @return the map from the supplied class expressions to their atomic
+	 *         direct strict sub-classes, or to {@code null} for the class
+	 *         expressions that are not satisfiable
+	 * @throws ElkQueryException
+	 *             if the result for some of the class expressions is not ready
+	 */
+	Map<ElkClassExpression, Set<? extends Node<ElkClass>>> getDirectSubClasses(
+			final Collection<? extends ElkClassExpression> classExpressions,
+			final Taxonomy<ElkClass> taxonomy) throws ElkQueryException {
+
+		final Map<ElkClassExpression, Set<? extends Node<ElkClass>>> result = new HashMap<ElkClassExpression, Set<? extends Node<ElkClass>>>(
+				2 * classExpressions.size());
+		// the strict sub-classes of queries without atomic equivalent classes
+		final Map<IndexedClassExpression, Set<IndexedClass>> strictSubclasses = new ArrayHashMap<IndexedClassExpression, Set<IndexedClass>>();
+
+		for (final ElkClassExpression classExpression : classExpressions) {
+			final QueryState state = checkComputed(classExpression);
+			if (state.node == null) {
+				result.put(classExpression, null);
+				continue;
+			}
+			// else
+			final Iterator<ElkClass> iter = state.node.iterator();
+			if (iter.hasNext()) {
+				result.put(classExpression,
+						taxonomy.getNode(iter.next()).getDirectSubNodes());
+			} else if (!strictSubclasses.containsKey(state.indexed)) {
+				strictSubclasses.put(state.indexed,
+						new ArrayHashSet<IndexedClass>());
+			}
+		}
+
+		if (!strictSubclasses.isEmpty()) {
+			for (final IndexedClass ic : saturationState_.getOntologyIndex()
+					.getClasses()) {
+				final Set<IndexedClassExpression> subsumers = ic.getContext()
+						.getComposedSubsumers();
+				if (subsumers.size() < strictSubclasses.size()) {
+					for (final IndexedClassExpression subsumer : subsumers) {
+						final Set<IndexedClass> subclasses = strictSubclasses
+								.get(subsumer);
+						if (subclasses != null && subsumer.getContext()
+								.getComposedSubsumers()
+								.size() != subsumers.size()) {
+							subclasses.add(ic);
+						}
+					}
+				} else {
+					for (final Map.Entry<IndexedClassExpression, Set<IndexedClass>> entry : strictSubclasses
+							.entrySet()) {
+						final IndexedClassExpression query = entry.getKey();
+						if (subsumers.contains(query) && query.getContext()
+								.getComposedSubsumers()
+								.size() != subsumers.size()) {
+							entry.getValue().add(ic);
+						}
+					}
+				}
+			}
+		}
+
+		for (final ElkClassExpression classExpression : classExpressions) {
+			if (result.containsKey(classExpression)) {
+				continue;
+			}
+			// else
+			result.put(classExpression, getDirectSubNodes(strictSubclasses
+					.get(queried_.get(classExpression).indexed), taxonomy));
+		}
+		return result;
+	}
+
+	/**
+	 * @param strictSubclasses
+	 *            the atomic strict sub-classes of some class expression that is
+	 *            not equivalent to any atomic class
+	 * @param taxonomy
+	 * @return the nodes of the supplied classes that are direct sub-classes of
+	 *         this class expression
+	 */
+	private Set<? extends Node<ElkClass>> getDirectSubNodes(
+			final Set<IndexedClass> strictSubclasses,
+			final Taxonomy<ElkClass> taxonomy) {
+
 		final Set<TaxonomyNode<ElkClass>> result = new ArrayHashSet<TaxonomyNode<ElkClass>>();
 
 		for (final IndexedClass strictSubclass : strictSubclasses) {
@@ -68,6 +68,8 @@ public void executeStage() throws ElkInterruptedException {
 		SaturationStateWriter<?> writer = reasoner.saturationState
 				.getContextModifyingWriter();
 		writer.resetContexts();
+		// no context refers to removed class expressions anymore
+		reasoner.ontologyIndex.reclaimOrdinals();
 	}
 
 	@Override
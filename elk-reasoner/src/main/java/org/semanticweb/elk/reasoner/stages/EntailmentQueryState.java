@@ -171,9 +171,14 @@ public boolean entailmentProved() throws ElkQueryException {
 				return false;
 			}
 			// else
-			// TODO: cache result?
-			return !getEvidence(true).getInferences(indexed.getQuery())
-					.isEmpty();
+			if (consistencyCheckingState_.isInconsistent()) {
+				// everything is entailed
+				return true;
+			}
+			// else the inconsistency evidence is not needed
+			return !indexed
+					.getEvidence(true, saturationState_, conclusionFactory_)
+					.getInferences(indexed.getQuery()).isEmpty();
 		}
 
 		@Override
@@ -81,6 +81,8 @@ public boolean postExecute() {
 					+ reasoner.saturationState.getNotSaturatedContexts().size());
 		}
 		desaturation_ = null;
+		// the conclusions about removed class expressions are deleted
+		reasoner.ontologyIndex.reclaimOrdinals();
 		return true;
 	}
 
@@ -0,0 +1,569 @@
+/*
+ * #%L
+ * ELK Reasoner
+ * 
+ * $Id$
+ * $HeadURL$
+ * %%
+ * Copyright (C) 2011 - 2024 Department of Computer Science, University of Oxford
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package org.semanticweb.elk.reasoner.taxonomy;
+
+import java.util.AbstractSet;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+import org.semanticweb.elk.owl.interfaces.ElkEntity;
+import org.semanticweb.elk.reasoner.taxonomy.impl.AbstractTaxonomy;
+import org.semanticweb.elk.reasoner.taxonomy.model.ComparatorKeyProvider;
+import org.semanticweb.elk.reasoner.taxonomy.model.NodeStore;
+import org.semanticweb.elk.reasoner.taxonomy.model.Taxonomy;
+import org.semanticweb.elk.reasoner.taxonomy.model.TaxonomyNode;
+import org.semanticweb.elk.util.collections.IntArrayHashSet;
+import org.semanticweb.elk.util.hashing.HashGenerator;
+
+/**
+ * A compact immutable {@link Taxonomy} optimized for reading, which is created
+ * by {@link AbstractTaxonomy#freeze()} from a taxonomy that is not modified
+ * any longer.
+ * <p>
+ * The nodes are identified by dense ids assigned in a topological order, i.e.,
+ * every node has a larger id than all its super-nodes. The members of all
+ * nodes are stored in one array, grouped by nodes and sorted within each node,
+ * and the direct super- and sub-nodes are stored in the compressed sparse row
+ * format, i.e., as slices of one array of ids for all nodes. Members are mapped
+ * to the ids of their nodes using an open addressing hash table. The
+ * {@link TaxonomyNode}s returned by this taxonomy are light-weight views of the
+ * ids that are created on demand and are equal if they have the same ids.
+ * 
+ * @param <T>
+ *            the type of objects stored in this taxonomy
+ */
+public class FrozenTaxonomy<T extends ElkEntity> extends AbstractTaxonomy<T> {
+
+	/**
+	 * value in {@link #keyNodes_} for empty entries of the hash table
+	 */
+	private static final int NO_NODE_ = -1;
+
+	private final ComparatorKeyProvider<? super T> keyProvider_;
+
+	/**
+	 * the members of all nodes; the members of the node with id {@code i} are
+	 * between {@code memberStart_[i]} (inclusive) and
+	 * {@code memberStart_[i + 1]} (exclusive) sorted by the comparator of the
+	 * key provider
+	 */
+	private final Object[] members_;
+
+	private final int[] memberStart_;
+
+	/**
+	 * the sorted ids of the direct super-nodes of the node with id {@code i}
+	 * are between {@code superStart_[i]} (inclusive) and
+	 * {@code superStart_[i + 1]} (exclusive); similarly for sub-nodes
+	 */
+	private final int[] superStart_, superNodes_, subStart_, subNodes_;
+
+	/**
+	 * the hash table of the keys of the members; {@code keyNodes_[j]} is the
+	 * id of the node for the key {@code keys_[j]}
+	 */
+	private final Object[] keys_;
+
+	private final int[] keyNodes_;
+
+	private final int topId_, bottomId_;
+
+	/**
+	 * used to compute hash codes of the nodes
+	 */
+	private final int hashSeed_ = HashGenerator.generateNextHashCode();
+
+	/**
+	 * Creates a compact copy of the given {@link Taxonomy}, which should not
+	 * be modified while it is copied.
+	 * 
+	 * @param taxonomy
+	 *            the {@link Taxonomy} to copy
+	 */
+	public FrozenTaxonomy(final Taxonomy<T> taxonomy) {
+		this.keyProvider_ = taxonomy.getKeyProvider();
+		final List<TaxonomyNode<T>> nodes = sortTopologically(taxonomy);
+		final int nodeCount = nodes.size();
+		final Map<TaxonomyNode<T>, Integer> ids = new HashMap<TaxonomyNode<T>, Integer>(
+				2 * nodeCount);
+		int memberCount = 0, superCount = 0, subCount = 0;
+		for (final TaxonomyNode<T> node : nodes) {
+			ids.put(node, ids.size());
+			memberCount += node.size();
+			superCount += node.getDirectSuperNodes().size();
+			subCount += node.getDirectSubNodes().size();
+		}
+		this.members_ = new Object[memberCount];
+		this.memberStart_ = new int[nodeCount + 1];
+		this.superStart_ = new int[nodeCount + 1];
+		this.superNodes_ = new int[superCount];
+		this.subStart_ = new int[nodeCount + 1];
+		this.subNodes_ = new int[subCount];
+		int capacity = 2;
+		while (capacity < 2 * memberCount) {
+			capacity <<= 1;
+		}
+		this.keys_ = new Object[capacity];
+		this.keyNodes_ = new int[capacity];
+		Arrays.fill(keyNodes_, NO_NODE_);
+		int memberPos = 0, superPos = 0, subPos = 0;
+		for (int id = 0; id < nodeCount; id++) {
+			final TaxonomyNode<T> node = nodes.get(id);
+			final List<T> members = new ArrayList<T>(node.size());
+			for (final T member : node) {
+				members.add(member);
+			}
+			Collections.sort(members, keyProvider_.getComparator());
+			for (final T member : members) {
+				members_[memberPos++] = member;
+				putKey(keyProvider_.getKey(member), id);
+			}
+			memberStart_[id + 1] = memberPos;
+			superPos = copyIds(node.getDirectSuperNodes(), ids, superNodes_,
+					superPos);
+			superStart_[id + 1] = superPos;
+			subPos = copyIds(node.getDirectSubNodes(), ids, subNodes_, subPos);
+			subStart_[id + 1] = subPos;
+		}
+		this.topId_ = ids.get(taxonomy.getTopNode());
+		this.bottomId_ = ids.get(taxonomy.getBottomNode());
+	}
+
+	/**
+	 * @return the nodes of the given {@link Taxonomy} in which every node
+	 *         occurs after all its super-nodes
+	 */
+	private static <T extends ElkEntity> List<TaxonomyNode<T>> sortTopologically(
+			final Taxonomy<T> taxonomy) {
+		final Set<? extends TaxonomyNode<T>> nodes = taxonomy.getNodes();
+		final List<TaxonomyNode<T>> result = new ArrayList<TaxonomyNode<T>>(
+				nodes.size());
+		// the number of direct super-nodes that are not yet in the result
+		final Map<TaxonomyNode<T>, Integer> pending = new HashMap<TaxonomyNode<T>, Integer>(
+				2 * nodes.size());
+		for (final TaxonomyNode<T> node : nodes) {
+			final int superCount = node.getDirectSuperNodes().size();
+			if (superCount == 0) {
+				result.add(node);
+			} else {
+				pending.put(node, superCount);
+			}
+		}
+		for (int i = 0; i < result.size(); i++) {
+			for (final TaxonomyNode<T> subNode : result.get(i)
+					.getDirectSubNodes()) {
+				final int superCount = pending.get(subNode) - 1;
+				if (superCount == 0) {
+					pending.remove(subNode);
+					result.add(subNode);
+				} else {
+					pending.put(subNode, superCount);
+				}
+			}
+		}
+		if (!pending.isEmpty()) {
+			throw new InvalidTaxonomyException(
+					"Cycle in the taxonomy through " + pending.keySet());
+		}
+		return result;
+	}
+
+	private static <T extends ElkEntity> int copyIds(
+			final Set<? extends TaxonomyNode<T>> nodes,
+			final Map<TaxonomyNode<T>, Integer> ids, final int[] target,
+			final int start) {
+		int pos = start;
+		for (final TaxonomyNode<T> node : nodes) {
+			target[pos++] = ids.get(node);
+		}
+		Arrays.sort(target, start, pos);
+		return pos;
+	}
+
+	private int getSlot(final Object key) {
+		final int hash = key.hashCode();
+		return (hash ^ (hash >>> 16)) & (keys_.length - 1);
+	}
+
+	private void putKey(final Object key, final int id) {
+		int slot = getSlot(key);
+		while (keyNodes_[slot] != NO_NODE_) {
+			slot = (slot + 1) & (keys_.length - 1);
+		}
+		keys_[slot] = key;
+		keyNodes_[slot] = id;
+	}
+
+	/**
+	 * @param member
+	 *            the member for which to find the node
+	 * @return the id of the node containing the given member or a negative
+	 *         value if there is no such node
+	 */
+	int getNodeId(final T member) {
+		final Object key = keyProvider_.getKey(member);
+		int slot = getSlot(key);
+		for (;;) {
+			final int id = keyNodes_[slot];
+			if (id == NO_NODE_ || key.equals(keys_[slot])) {
+				return id;
+			}
+			slot = (slot + 1) & (keys_.length - 1);
+		}
+	}
+
+	/**
+	 * @return the number of nodes in this taxonomy
+	 */
+	int getNodeCount() {
+		return memberStart_.length - 1;
+	}
+
+	/**
+	 * @param id
+	 *            the id of a node in this taxonomy
+	 * @return the node of this taxonomy with the given id
+	 */
+	TaxonomyNode<T> getNode(final int id) {
+		return new FrozenNode(id);
+	}
+
+	/**
+	 * @param node
+	 *            a node of this taxonomy
+	 * @return the id of the given node
+	 */
+	int getNodeId(final TaxonomyNode<T> node) {
+		return ((FrozenNode) node).id_;
+	}
+
+	/**
+	 * @return the array in which the ids of the direct super-nodes of the node
+	 *         with id {@code i} start at position {@code i} and end before
+	 *         position {@code i + 1}; the result should not be modified
+	 * @see #getSuperNodeIds()
+	 */
+	int[] getSuperNodeStarts() {
+		return superStart_;
+	}
+
+	/**
+	 * @return the array with the sorted ids of the direct super-nodes of all
+	 *         nodes; the result should not be modified
+	 * @see #getSuperNodeStarts()
+	 */
+	int[] getSuperNodeIds() {
+		return superNodes_;
+	}
+
+	/**
+	 * @return the array in which the ids of the direct sub-nodes of the node
+	 *         with id {@code i} start at position {@code i} and end before
+	 *         position {@code i + 1}; the result should not be modified
+	 * @see #getSubNodeIds()
+	 */
+	int[] getSubNodeStarts() {
+		return subStart_;
+	}
+
+	/**
+	 * @return the array with the sorted ids of the direct sub-nodes of all
+	 *         nodes; the result should not be modified
+	 * @see #getSubNodeStarts()
+	 */
+	int[] getSubNodeIds() {
+		return subNodes_;
+	}
+
+	@Override
+	public FrozenTaxonomy<T> freeze() {
+		return this;
+	}
+
+	@Override
+	public ComparatorKeyProvider<? super T> getKeyProvider() {
+		return keyProvider_;
+	}
+
+	@Override
+	public TaxonomyNode<T> getNode(final T elkEntity) {
+		final int id = getNodeId(elkEntity);
+		return id < 0 ? null : new FrozenNode(id);
+	}
+
+	@Override
+	public Set<? extends TaxonomyNode<T>> getNodes() {
+		return new NodeSet(null, 0, getNodeCount());
+	}
+
+	@Override
+	public TaxonomyNode<T> getTopNode() {
+		return new FrozenNode(topId_);
+	}
+
+	@Override
+	public TaxonomyNode<T> getBottomNode() {
+		return new FrozenNode(bottomId_);
+	}
+
+	@Override
+	public boolean addListener(final NodeStore.Listener<T> listener) {
+		// No events are ever fired.
+		return true;
+	}
+
+	@Override
+	public boolean removeListener(final NodeStore.Listener<T> listener) {
+		// No events are ever fired.
+		return true;
+	}
+
+	@Override
+	public boolean addListener(final Taxonomy.Listener<T> listener) {
+		// No events are ever fired.
+		return true;
+	}
+
+	@Override
+	public boolean removeListener(final Taxonomy.Listener<T> listener) {
+		// No events are ever fired.
+		return true;
+	}
+
+	/**
+	 * @return the sorted ids of the nodes reachable from the given node by the
+	 *         given (direct super- or sub-node) edges, excluding this node
+	 */
+	private int[] getAllReachable(final int id, final int[] start,
+			final int[] targets) {
+		// the memory should depend only on the number of reached nodes
+		final IntArrayHashSet reached = new IntArrayHashSet();
+		int[] todo = new int[16];
+		int todoSize = 0;
+		todo[todoSize++] = id;
+		while (todoSize > 0) {
+			final int next = todo[--todoSize];
+			for (int i = start[next]; i < start[next + 1]; i++) {
+				final int target = targets[i];
+				if (reached.add(target)) {
+					if (todoSize == todo.length) {
+						todo = Arrays.copyOf(todo, 2 * todoSize);
+					}
+					todo[todoSize++] = target;
+				}
+			}
+		}
+		final int[] result = reached.toArray();
+		Arrays.sort(result);
+		return result;
+	}
+
+	/**
+	 * An unmodifiable set of the nodes of this taxonomy whose ids are either
+	 * in a slice of a sorted array or in a range.
+	 */
+	private class NodeSet extends AbstractSet<TaxonomyNode<T>> {
+
+		/**
+		 * the sorted ids of the nodes or {@code null} if the ids are the
+		 * numbers between {@link #from_} and {@link #to_}
+		 */
+		private final int[] ids_;
+
+		private final int from_, to_;
+
+		NodeSet(final int[] ids, final int from, final int to) {
+			this.ids_ = ids;
+			this.from_ = from;
+			this.to_ = to;
+		}
+
+		private int getId(final int pos) {
+			return ids_ == null ? pos : ids_[pos];
+		}
+
+		@Override
+		public boolean contains(final Object o) {
+			if (!(o instanceof FrozenTaxonomy<?>.FrozenNode)) {
+				return false;
+			}
+			// else
+			final FrozenTaxonomy<?>.FrozenNode node = (FrozenTaxonomy<?>.FrozenNode) o;
+			if (node.getTaxonomy() != FrozenTaxonomy.this) {
+				return false;
+			}
+			// else
+			if (ids_ == null) {
+				return node.id_ >= from_ && node.id_ < to_;
+			}
+			// else
+			return Arrays.binarySearch(ids_, from_, to_, node.id_) >= 0;
+		}
+
+		@Override
+		public Iterator<TaxonomyNode<T>> iterator() {
+			return new Iterator<TaxonomyNode<T>>() {
+
+				private int pos_ = from_;
+
+				@Override
+				public boolean hasNext() {
+					return pos_ < to_;
+				}
+
+				@Override
+				public TaxonomyNode<T> next() {
+					if (pos_ >= to_) {
+						throw new NoSuchElementException();
+					}
+					// else
+					return new FrozenNode(getId(pos_++));
+				}
+
+			};
+		}
+
+		@Override
+		public int size() {
+			return to_ - from_;
+		}
+
+	}
+
+	/**
+	 * A node of a {@link FrozenTaxonomy} identified by its id.
+	 */
+	private class FrozenNode implements TaxonomyNode<T> {
+
+		private final int id_;
+
+		FrozenNode(final int id) {
+			this.id_ = id;
+		}
+
+		@Override
+		public ComparatorKeyProvider<? super T> getKeyProvider() {
+			return keyProvider_;
+		}
+
+		@Override
+		public boolean contains(final T member) {
+			return getNodeId(member) == id_;
+		}
+
+		@Override
+		public int size() {
+			return memberStart_[id_ + 1] - memberStart_[id_];
+		}
+
+		@SuppressWarnings("unchecked")
+		@Override
+		public T getCanonicalMember() {
+			return (T) members_[memberStart_[id_]];
+		}
+
+		@Override
+		public Iterator<T> iterator() {
+			return new Iterator<T>() {
+
+				private int pos_ = memberStart_[id_];
+
+				@Override
+				public boolean hasNext() {
+					return pos_ < memberStart_[id_ + 1];
+				}
+
+				@SuppressWarnings("unchecked")
+				@Override
+				public T next() {
+					if (!hasNext()) {
+						throw new NoSuchElementException();
+					}
+					// else
+					return (T) members_[pos_++];
+				}
+
+			};
+		}
+
+		@Override
+		public Taxonomy<T> getTaxonomy() {
+			return FrozenTaxonomy.this;
+		}
+
+		@Override
+		public Set<? extends TaxonomyNode<T>> getDirectSuperNodes() {
+			return new NodeSet(superNodes_, superStart_[id_],
+					superStart_[id_ + 1]);
+		}
+
+		@Override
+		public Set<? extends TaxonomyNode<T>> getAllSuperNodes() {
+			final int[] ids = getAllReachable(id_, superStart_, superNodes_);
+			return new NodeSet(ids, 0, ids.length);
+		}
+
+		@Override
+		public Set<? extends TaxonomyNode<T>> getDirectSubNodes() {
+			return new NodeSet(subNodes_, subStart_[id_], subStart_[id_ + 1]);
+		}
+
+		@Override
+		public Set<? extends TaxonomyNode<T>> getAllSubNodes() {
+			final int[] ids = getAllReachable(id_, subStart_, subNodes_);
+			return new NodeSet(ids, 0, ids.length);
+		}
+
+		@Override
+		public boolean equals(final Object obj) {
+			if (!(obj instanceof FrozenTaxonomy<?>.FrozenNode)) {
+				return false;
+			}
+			// else
+			final FrozenTaxonomy<?>.FrozenNode other = (FrozenTaxonomy<?>.FrozenNode) obj;
+			return other.getTaxonomy() == FrozenTaxonomy.this
+					&& other.id_ == id_;
+		}
+
+		@Override
+		public int hashCode() {
+			return HashGenerator.combineListHash(hashSeed_, id_);
+		}
+
+		@Override
+		public String toString() {
+			return Arrays.asList(members_)
+					.subList(memberStart_[id_], memberStart_[id_ + 1])
+					.toString();
+		}
+
+	}
+
+}
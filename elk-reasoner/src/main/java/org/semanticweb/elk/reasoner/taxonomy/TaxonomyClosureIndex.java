@@ -0,0 +1,328 @@
+/*
+ * #%L
+ * ELK Reasoner
+ * 
+ * $Id$
+ * $HeadURL$
+ * %%
+ * Copyright (C) 2011 - 2024 Department of Computer Science, University of Oxford
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package org.semanticweb.elk.reasoner.taxonomy;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+import org.semanticweb.elk.owl.interfaces.ElkEntity;
+import org.semanticweb.elk.reasoner.taxonomy.model.TaxonomyNode;
+import org.semanticweb.elk.util.collections.IntArrayHashSet;
+
+/**
+ * An index of the transitive closure of the direct super-node relation of a
+ * {@link FrozenTaxonomy} that answers whether one node is a (non-direct)
+ * sub-node of another one without computing all super-nodes, and enumerates
+ * all sub- and super-nodes of a node without creating sets of them.
+ * <p>
+ * The index labels every node by the pre-order and post-order numbers of a
+ * depth-first traversal along the direct sub-nodes, and by the smallest
+ * post-order number of its sub-nodes. The first two numbers decide in
+ * constant time whether one node is a descendant of another one in the
+ * spanning tree of the traversal, and the last two whether it cannot be a
+ * descendant of the other one at all. The remaining cases, which arise only
+ * for nodes with several direct super-nodes, are resolved by a search over
+ * the super-nodes pruned using the labels and the topological order of the
+ * node ids in the {@link FrozenTaxonomy}.
+ * 
+ * @param <T>
+ *            the type of objects stored in the taxonomy
+ */
+public class TaxonomyClosureIndex<T extends ElkEntity> {
+
+	private final FrozenTaxonomy<T> taxonomy_;
+
+	private final int[] superStart_, superNodes_, subStart_, subNodes_;
+
+	/**
+	 * the labels of the node with id {@code i} are {@code pre_[i]},
+	 * {@code post_[i]}, and {@code low_[i]}, which is the smallest value of
+	 * {@code post_[j]} for all sub-nodes {@code j} of {@code i} including
+	 * {@code i}
+	 */
+	private final int[] pre_, post_, low_;
+
+	/**
+	 * Creates the index for the given {@link FrozenTaxonomy}.
+	 * 
+	 * @param taxonomy
+	 *            the {@link FrozenTaxonomy} to index
+	 */
+	public TaxonomyClosureIndex(final FrozenTaxonomy<T> taxonomy) {
+		this.taxonomy_ = taxonomy;
+		this.superStart_ = taxonomy.getSuperNodeStarts();
+		this.superNodes_ = taxonomy.getSuperNodeIds();
+		this.subStart_ = taxonomy.getSubNodeStarts();
+		this.subNodes_ = taxonomy.getSubNodeIds();
+		final int nodeCount = taxonomy.getNodeCount();
+		this.pre_ = new int[nodeCount];
+		this.post_ = new int[nodeCount];
+		this.low_ = new int[nodeCount];
+		final BitSet visited = new BitSet(nodeCount);
+		// the traversed path and the positions of the next sub-nodes to visit
+		final int[] path = new int[nodeCount];
+		final int[] next = new int[nodeCount];
+		int preCount = 0, postCount = 0;
+		// the ids are topologically ordered, so roots are visited first
+		for (int root = 0; root < nodeCount; root++) {
+			if (visited.get(root)) {
+				continue;
+			}
+			visited.set(root);
+			pre_[root] = preCount++;
+			path[0] = root;
+			next[0] = subStart_[root];
+			int depth = 1;
+			while (depth > 0) {
+				final int id = path[depth - 1];
+				if (next[depth - 1] < subStart_[id + 1]) {
+					final int sub = subNodes_[next[depth - 1]++];
+					if (!visited.get(sub)) {
+						visited.set(sub);
+						pre_[sub] = preCount++;
+						path[depth] = sub;
+						next[depth] = subStart_[sub];
+						depth++;
+					}
+				} else {
+					post_[id] = postCount++;
+					depth--;
+				}
+			}
+		}
+		// sub-nodes have larger ids
+		for (int id = nodeCount - 1; id >= 0; id--) {
+			int low = post_[id];
+			for (int i = subStart_[id]; i < subStart_[id + 1]; i++) {
+				low = Math.min(low, low_[subNodes_[i]]);
+			}
+			low_[id] = low;
+		}
+	}
+
+	/**
+	 * @return the {@link FrozenTaxonomy} indexed by this
+	 *         {@link TaxonomyClosureIndex}
+	 */
+	public FrozenTaxonomy<T> getTaxonomy() {
+		return taxonomy_;
+	}
+
+	private int getId(final TaxonomyNode<T> node) {
+		return node.getTaxonomy() == taxonomy_ ? taxonomy_.getNodeId(node)
+				: taxonomy_.getNodeId(node.getCanonicalMember());
+	}
+
+	/**
+	 * @return {@code true} if the labels of the node with id {@code sub} are
+	 *         within the labels of the node with id {@code sup}, which is
+	 *         necessary for {@code sub} to be a sub-node of {@code sup}
+	 */
+	private boolean isWithin(final int sub, final int sup) {
+		return sub >= sup && low_[sup] <= low_[sub] && post_[sub] <= post_[sup];
+	}
+
+	/**
+	 * @return {@code true} if the node with id {@code sub} is a descendant of
+	 *         the node with id {@code sup} in the spanning tree of the
+	 *         traversal, which is sufficient for {@code sub} to be a sub-node
+	 *         of {@code sup}
+	 */
+	private boolean isTreeDescendant(final int sub, final int sup) {
+		return pre_[sup] <= pre_[sub] && post_[sub] <= post_[sup];
+	}
+
+	private boolean isSubNode(final int sub, final int sup) {
+		if (!isWithin(sub, sup)) {
+			return false;
+		}
+		// else
+		if (isTreeDescendant(sub, sup)) {
+			return true;
+		}
+		// else search the super-nodes of sub that can be sub-nodes of sup
+		final IntArrayHashSet visited = new IntArrayHashSet();
+		int[] todo = new int[16];
+		int todoSize = 0;
+		todo[todoSize++] = sub;
+		while (todoSize > 0) {
+			final int id = todo[--todoSize];
+			for (int i = superStart_[id]; i < superStart_[id + 1]; i++) {
+				final int next = superNodes_[i];
+				if (!isWithin(next, sup) || !visited.add(next)) {
+					continue;
+				}
+				// else
+				if (isTreeDescendant(next, sup)) {
+					return true;
+				}
+				// else
+				if (todoSize == todo.length) {
+					todo = Arrays.copyOf(todo, 2 * todoSize);
+				}
+				todo[todoSize++] = next;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Checks whether one node of the taxonomy is a sub-node of another one.
+	 * The nodes can also be nodes of a different taxonomy with the same
+	 * canonical members as nodes of the indexed taxonomy.
+	 * 
+	 * @param sub
+	 *            the node that should be a sub-node
+	 * @param sup
+	 *            the node that should be a super-node
+	 * @return {@code true} if {@code sub} is equal to {@code sup} or is one of
+	 *         its (possibly non-direct) sub-nodes
+	 */
+	public boolean isSubNode(final TaxonomyNode<T> sub,
+			final TaxonomyNode<T> sup) {
+		final int subId = getId(sub);
+		if (subId < 0) {
+			return false;
+		}
+		// else
+		final int supId = getId(sup);
+		return supId >= 0 && isSubNode(subId, supId);
+	}
+
+	/**
+	 * Checks whether one member of the taxonomy is subsumed by another one.
+	 * 
+	 * @param sub
+	 *            the member that should be subsumed
+	 * @param sup
+	 *            the member that should subsume
+	 * @return {@code true} if both members occur in the taxonomy and the node
+	 *         of {@code sub} is equal to or is a sub-node of the node of
+	 *         {@code sup}
+	 */
+	public boolean isSubsumedBy(final T sub, final T sup) {
+		final int subId = taxonomy_.getNodeId(sub);
+		if (subId < 0) {
+			return false;
+		}
+		// else
+		final int supId = taxonomy_.getNodeId(sup);
+		return supId >= 0 && isSubNode(subId, supId);
+	}
+
+	/**
+	 * @param node
+	 *            a node of the taxonomy or a node with the same canonical
+	 *            member as a node of the taxonomy
+	 * @return the stream of all (possibly non-direct) super-nodes of the
+	 *         given node, excluding the node itself, which are computed while
+	 *         the stream is consumed
+	 */
+	public Stream<TaxonomyNode<T>> streamAllSuperNodes(
+			final TaxonomyNode<T> node) {
+		return stream(getId(node), superStart_, superNodes_);
+	}
+
+	/**
+	 * @param node
+	 *            a node of the taxonomy or a node with the same canonical
+	 *            member as a node of the taxonomy
+	 * @return the stream of all (possibly non-direct) sub-nodes of the given
+	 *         node, excluding the node itself, which are computed while the
+	 *         stream is consumed
+	 */
+	public Stream<TaxonomyNode<T>> streamAllSubNodes(
+			final TaxonomyNode<T> node) {
+		return stream(getId(node), subStart_, subNodes_);
+	}
+
+	private Stream<TaxonomyNode<T>> stream(final int id, final int[] start,
+			final int[] targets) {
+		if (id < 0) {
+			return Stream.empty();
+		}
+		// else
+		return StreamSupport.stream(Spliterators.spliteratorUnknownSize(
+				new ReachableIterator(id, start, targets),
+				Spliterator.DISTINCT | Spliterator.NONNULL), false);
+	}
+
+	/**
+	 * Iterates over the nodes reachable from a node by the given (direct
+	 * super- or sub-node) edges in a depth-first order. The memory used grows
+	 * with the number of reached nodes.
+	 */
+	private class ReachableIterator implements Iterator<TaxonomyNode<T>> {
+
+		private final int[] start_, targets_;
+
+		private final IntArrayHashSet visited_ = new IntArrayHashSet();
+
+		private int[] todo_ = new int[16];
+
+		private int todoSize_ = 0;
+
+		ReachableIterator(final int id, final int[] start,
+				final int[] targets) {
+			this.start_ = start;
+			this.targets_ = targets;
+			push(id);
+		}
+
+		private void push(final int id) {
+			for (int i = start_[id + 1] - 1; i >= start_[id]; i--) {
+				final int target = targets_[i];
+				if (visited_.add(target)) {
+					if (todoSize_ == todo_.length) {
+						todo_ = Arrays.copyOf(todo_, 2 * todoSize_);
+					}
+					todo_[todoSize_++] = target;
+				}
+			}
+		}
+
+		@Override
+		public boolean hasNext() {
+			return todoSize_ > 0;
+		}
+
+		@Override
+		public TaxonomyNode<T> next() {
+			if (todoSize_ == 0) {
+				throw new NoSuchElementException();
+			}
+			// else
+			final int id = todo_[--todoSize_];
+			push(id);
+			return taxonomy_.getNode(id);
+		}
+
+	}
+
+}
@@ -0,0 +1,429 @@
+/*
+ * #%L
+ * ELK Reasoner
+ * 
+ * $Id$
+ * $HeadURL$
+ * %%
+ * Copyright (C) 2011 - 2024 Department of Computer Science, University of Oxford
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package org.semanticweb.elk.reasoner.taxonomy;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.semanticweb.elk.owl.interfaces.ElkEntity;
+import org.semanticweb.elk.reasoner.taxonomy.impl.AbstractTaxonomy;
+import org.semanticweb.elk.reasoner.taxonomy.impl.SimpleNode;
+import org.semanticweb.elk.reasoner.taxonomy.model.ComparatorKeyProvider;
+import org.semanticweb.elk.reasoner.taxonomy.model.Node;
+import org.semanticweb.elk.reasoner.taxonomy.model.NodeStore;
+import org.semanticweb.elk.reasoner.taxonomy.model.Taxonomy;
+import org.semanticweb.elk.reasoner.taxonomy.model.TaxonomyNode;
+import org.semanticweb.elk.util.collections.ArrayHashMap;
+import org.semanticweb.elk.util.collections.ArrayHashSet;
+import org.semanticweb.elk.util.hashing.HashGenerator;
+
+/**
+ * An immutable copy of a {@link Taxonomy} with a version number. A snapshot
+ * can be read by several threads without synchronization while the taxonomy
+ * from which it was created is modified.
+ * <p>
+ * A new version of a snapshot is created by {@link #update(Taxonomy)}. The
+ * members and the direct super- and sub-nodes of every node are kept in an
+ * immutable record, which is shared with the previous version if the node did
+ * not change. This saves memory for the versions that are kept at the same
+ * time and makes it cheap to find out which nodes have changed between two
+ * versions using {@link #getChangedNodes(TaxonomySnapshot)}.
+ * 
+ * @param <T>
+ *            the type of objects stored in this taxonomy
+ */
+public class TaxonomySnapshot<T extends ElkEntity> extends AbstractTaxonomy<T> {
+
+	private final ComparatorKeyProvider<? super T> keyProvider_;
+
+	private final long version_;
+
+	/**
+	 * the nodes of this snapshot indexed by the keys of their members
+	 */
+	private final Map<Object, SnapshotNode<T>> nodeLookup_;
+
+	private final Set<SnapshotNode<T>> nodes_;
+
+	private final SnapshotNode<T> topNode_, bottomNode_;
+
+	private TaxonomySnapshot(final Taxonomy<T> taxonomy,
+			final TaxonomySnapshot<T> previous) {
+		this.keyProvider_ = taxonomy.getKeyProvider();
+		this.version_ = previous == null ? 0 : previous.version_ + 1;
+		final Set<? extends TaxonomyNode<T>> nodes = taxonomy.getNodes();
+		this.nodeLookup_ = new ArrayHashMap<Object, SnapshotNode<T>>(
+				nodes.size());
+		final Set<SnapshotNode<T>> snapshotNodes = new ArrayHashSet<SnapshotNode<T>>(
+				nodes.size());
+		for (final TaxonomyNode<T> node : nodes) {
+			NodeData<T> data = null;
+			if (previous != null) {
+				final SnapshotNode<T> previousNode = previous
+						.getSnapshotNode(node.getCanonicalMember());
+				if (previousNode != null
+						&& previousNode.data_.describes(node)) {
+					data = previousNode.data_;
+				}
+			}
+			if (data == null) {
+				data = new NodeData<T>(node, keyProvider_);
+			}
+			final SnapshotNode<T> snapshotNode = new SnapshotNode<T>(data,
+					this);
+			snapshotNodes.add(snapshotNode);
+			for (final T member : data) {
+				nodeLookup_.put(keyProvider_.getKey(member), snapshotNode);
+			}
+		}
+		this.nodes_ = Collections.unmodifiableSet(snapshotNodes);
+		this.topNode_ = getSnapshotNode(
+				taxonomy.getTopNode().getCanonicalMember());
+		this.bottomNode_ = getSnapshotNode(
+				taxonomy.getBottomNode().getCanonicalMember());
+	}
+
+	/**
+	 * Creates the first version of a snapshot of the given {@link Taxonomy}.
+	 * The taxonomy should not be modified while the snapshot is created.
+	 * 
+	 * @param taxonomy
+	 *            the {@link Taxonomy} to copy
+	 * @return the snapshot of the given {@link Taxonomy} with version 0
+	 */
+	public static <T extends ElkEntity> TaxonomySnapshot<T> create(
+			final Taxonomy<T> taxonomy) {
+		return new TaxonomySnapshot<T>(taxonomy, null);
+	}
+
+	/**
+	 * Creates the next version of this snapshot from the given modified
+	 * {@link Taxonomy}, sharing the records of the nodes that did not change.
+	 * The taxonomy should not be modified while the snapshot is created.
+	 * 
+	 * @param taxonomy
+	 *            the {@link Taxonomy} to copy
+	 * @return the snapshot of the given {@link Taxonomy} whose version is the
+	 *         next after the version of this snapshot, or this snapshot if it
+	 *         is equal to the taxonomy
+	 */
+	public TaxonomySnapshot<T> update(final Taxonomy<T> taxonomy) {
+		final TaxonomySnapshot<T> next = new TaxonomySnapshot<T>(taxonomy,
+				this);
+		if (next.nodes_.size() == nodes_.size()
+				&& next.getChangedNodes(this).isEmpty()) {
+			return this;
+		}
+		// else
+		return next;
+	}
+
+	/**
+	 * @return the version of this snapshot; the versions of the snapshots
+	 *         created by {@link #update(Taxonomy)} increase by one
+	 */
+	public long getVersion() {
+		return version_;
+	}
+
+	/**
+	 * Returns the nodes of this snapshot that do not occur in the given other
+	 * snapshot with the same members and the same direct super- and sub-nodes.
+	 * If this snapshot was created from the other snapshot by (possibly
+	 * repeated) {@link #update(Taxonomy)}, only the nodes whose records are
+	 * not shared are compared, so the result is computed in time linear in the
+	 * number of nodes.
+	 * 
+	 * @param other
+	 *            the snapshot to compare with
+	 * @return the nodes of this snapshot that are different in the other
+	 *         snapshot
+	 */
+	public Set<? extends TaxonomyNode<T>> getChangedNodes(
+			final TaxonomySnapshot<T> other) {
+		final Set<SnapshotNode<T>> result = new ArrayHashSet<SnapshotNode<T>>();
+		for (final SnapshotNode<T> node : nodes_) {
+			final SnapshotNode<T> otherNode = other
+					.getSnapshotNode(node.getCanonicalMember());
+			if (otherNode == null
+					|| !node.data_.describesSame(otherNode.data_)) {
+				result.add(node);
+			}
+		}
+		return Collections.unmodifiableSet(result);
+	}
+
+	/**
+	 * Returns the members of the given other snapshot that do not occur in
+	 * this snapshot.
+	 * 
+	 * @param other
+	 *            the snapshot to compare with
+	 * @return the members of the other snapshot that are not in this snapshot
+	 */
+	public Set<T> getRemovedMembers(final TaxonomySnapshot<T> other) {
+		final Set<T> result = new ArrayHashSet<T>();
+		for (final SnapshotNode<T> otherNode : other.nodes_) {
+			for (final T member : otherNode) {
+				if (getNode(member) == null) {
+					result.add(member);
+				}
+			}
+		}
+		return Collections.unmodifiableSet(result);
+	}
+
+	@Override
+	public ComparatorKeyProvider<? super T> getKeyProvider() {
+		return keyProvider_;
+	}
+
+	private SnapshotNode<T> getSnapshotNode(final T member) {
+		return nodeLookup_.get(keyProvider_.getKey(member));
+	}
+
+	@Override
+	public TaxonomyNode<T> getNode(final T elkEntity) {
+		return getSnapshotNode(elkEntity);
+	}
+
+	@Override
+	public Set<? extends TaxonomyNode<T>> getNodes() {
+		return nodes_;
+	}
+
+	@Override
+	public TaxonomyNode<T> getTopNode() {
+		return topNode_;
+	}
+
+	@Override
+	public TaxonomyNode<T> getBottomNode() {
+		return bottomNode_;
+	}
+
+	@Override
+	public boolean addListener(final NodeStore.Listener<T> listener) {
+		// No events are ever fired.
+		return true;
+	}
+
+	@Override
+	public boolean removeListener(final NodeStore.Listener<T> listener) {
+		// No events are ever fired.
+		return true;
+	}
+
+	@Override
+	public boolean addListener(final Taxonomy.Listener<T> listener) {
+		// No events are ever fired.
+		return true;
+	}
+
+	@Override
+	public boolean removeListener(final Taxonomy.Listener<T> listener) {
+		// No events are ever fired.
+		return true;
+	}
+
+	/**
+	 * The immutable record of a node that can be shared between versions of a
+	 * snapshot. The direct super- and sub-nodes are represented by their
+	 * canonical members, so that the record remains valid if some other
+	 * members are added to or removed from these nodes.
+	 */
+	private static class NodeData<T extends ElkEntity> extends SimpleNode<T> {
+
+		/**
+		 * the canonical members of the direct super- and sub-nodes sorted
+		 * by the comparator of the key provider
+		 */
+		private final List<T> directSuperMembers_, directSubMembers_;
+
+		NodeData(final TaxonomyNode<T> node,
+				final ComparatorKeyProvider<? super T> keyProvider) {
+			super(node, node.size(), keyProvider);
+			this.directSuperMembers_ = getCanonicalMembers(
+					node.getDirectSuperNodes());
+			this.directSubMembers_ = getCanonicalMembers(
+					node.getDirectSubNodes());
+		}
+
+		private List<T> getCanonicalMembers(
+				final Set<? extends Node<T>> nodes) {
+			final List<T> result = new ArrayList<T>(nodes.size());
+			for (final Node<T> node : nodes) {
+				result.add(node.getCanonicalMember());
+			}
+			Collections.sort(result, getKeyProvider().getComparator());
+			return result;
+		}
+
+		private boolean same(final List<T> first, final List<T> second) {
+			if (first.size() != second.size()) {
+				return false;
+			}
+			// else
+			final Comparator<? super T> comparator = getKeyProvider()
+					.getComparator();
+			for (int i = 0; i < first.size(); i++) {
+				if (comparator.compare(first.get(i), second.get(i)) != 0) {
+					return false;
+				}
+			}
+			return true;
+		}
+
+		/**
+		 * @return {@code true} if this record has the same members and the
+		 *         same direct super- and sub-nodes as the given node
+		 */
+		boolean describes(final TaxonomyNode<T> node) {
+			if (node.size() != size()) {
+				return false;
+			}
+			for (final T member : node) {
+				if (!contains(member)) {
+					return false;
+				}
+			}
+			return same(directSuperMembers_,
+					getCanonicalMembers(node.getDirectSuperNodes()))
+					&& same(directSubMembers_,
+							getCanonicalMembers(node.getDirectSubNodes()));
+		}
+
+		/**
+		 * @return {@code true} if this record has the same members and the
+		 *         same direct super- and sub-nodes as the given record
+		 */
+		boolean describesSame(final NodeData<T> other) {
+			return this == other || (same(members_, other.members_)
+					&& same(directSuperMembers_, other.directSuperMembers_)
+					&& same(directSubMembers_, other.directSubMembers_));
+		}
+
+	}
+
+	/**
+	 * A node of a {@link TaxonomySnapshot}; the nodes of different versions are
+	 * different objects even if they share the same record.
+	 */
+	private static class SnapshotNode<T extends ElkEntity>
+			implements TaxonomyNode<T> {
+
+		private final NodeData<T> data_;
+
+		private final TaxonomySnapshot<T> taxonomy_;
+
+		private final int hashCode_ = HashGenerator.generateNextHashCode();
+
+		SnapshotNode(final NodeData<T> data,
+				final TaxonomySnapshot<T> taxonomy) {
+			this.data_ = data;
+			this.taxonomy_ = taxonomy;
+		}
+
+		private Set<SnapshotNode<T>> getNodes(final List<T> canonicalMembers) {
+			final Set<SnapshotNode<T>> result = new ArrayHashSet<SnapshotNode<T>>(
+					canonicalMembers.size());
+			for (final T member : canonicalMembers) {
+				result.add(taxonomy_.getSnapshotNode(member));
+			}
+			return result;
+		}
+
+		@Override
+		public ComparatorKeyProvider<? super T> getKeyProvider() {
+			return data_.getKeyProvider();
+		}
+
+		@Override
+		public boolean contains(final T member) {
+			return data_.contains(member);
+		}
+
+		@Override
+		public int size() {
+			return data_.size();
+		}
+
+		@Override
+		public T getCanonicalMember() {
+			return data_.getCanonicalMember();
+		}
+
+		@Override
+		public Iterator<T> iterator() {
+			return data_.iterator();
+		}
+
+		@Override
+		public Taxonomy<T> getTaxonomy() {
+			return taxonomy_;
+		}
+
+		@Override
+		public Set<? extends TaxonomyNode<T>> getDirectSuperNodes() {
+			return Collections
+					.unmodifiableSet(getNodes(data_.directSuperMembers_));
+		}
+
+		@Override
+		public Set<? extends TaxonomyNode<T>> getAllSuperNodes() {
+			return TaxonomyNodeUtils.getAllReachable(
+					getNodes(data_.directSuperMembers_),
+					node -> node.getNodes(node.data_.directSuperMembers_));
+		}
+
+		@Override
+		public Set<? extends TaxonomyNode<T>> getDirectSubNodes() {
+			return Collections
+					.unmodifiableSet(getNodes(data_.directSubMembers_));
+		}
+
+		@Override
+		public Set<? extends TaxonomyNode<T>> getAllSubNodes() {
+			return TaxonomyNodeUtils.getAllReachable(
+					getNodes(data_.directSubMembers_),
+					node -> node.getNodes(node.data_.directSubMembers_));
+		}
+
+		@Override
+		public final int hashCode() {
+			return hashCode_;
+		}
+
+		@Override
+		public String toString() {
+			return data_.toString();
+		}
+
+	}
+
+}
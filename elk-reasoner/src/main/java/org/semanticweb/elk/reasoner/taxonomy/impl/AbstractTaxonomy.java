@@ -22,6 +22,7 @@
 package org.semanticweb.elk.reasoner.taxonomy.impl;
 
 import org.semanticweb.elk.owl.interfaces.ElkEntity;
+import org.semanticweb.elk.reasoner.taxonomy.FrozenTaxonomy;
 import org.semanticweb.elk.reasoner.taxonomy.hashing.TaxonomyEqualator;
 import org.semanticweb.elk.reasoner.taxonomy.hashing.TaxonomyHasher;
 import org.semanticweb.elk.reasoner.taxonomy.model.Taxonomy;
@@ -35,6 +36,17 @@
 public abstract class AbstractTaxonomy<T extends ElkEntity>
 		implements Taxonomy<T> {
 
+	/**
+	 * Creates a compact immutable copy of the nodes of this taxonomy that is
+	 * faster to query. This taxonomy should not be modified while it is
+	 * copied; modifications done afterwards are not reflected in the copy.
+	 * 
+	 * @return the {@link FrozenTaxonomy} with the same nodes as this taxonomy
+	 */
+	public FrozenTaxonomy<T> freeze() {
+		return new FrozenTaxonomy<T>(this);
+	}
+
 	@Override
 	public int hashCode() {
 		return TaxonomyHasher.hash(this);
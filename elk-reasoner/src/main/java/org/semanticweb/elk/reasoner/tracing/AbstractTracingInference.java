@@ -36,7 +36,11 @@ public abstract class AbstractTracingInference implements TracingInference {
 	private final static Conclusion.Factory CONCLUSION_FACTORY_ = ConclusionBaseFactory
 			.getInstance();
 
-	private final TracingInference.Visitor<Conclusion> CONCLUSION_GETTER_ = new TracingInferenceConclusionGetter(
+	/**
+	 * stateless, so shared by all inferences instead of being created with
+	 * each of them
+	 */
+	private final static TracingInference.Visitor<Conclusion> CONCLUSION_GETTER_ = new TracingInferenceConclusionGetter(
 			CONCLUSION_FACTORY_);
 
 	public abstract int getPremiseCount();
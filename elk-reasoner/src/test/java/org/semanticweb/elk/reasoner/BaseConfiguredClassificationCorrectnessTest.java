@@ -0,0 +1,62 @@
+/*
+ * #%L
+ * ELK Reasoner
+ * 
+ * $Id$
+ * $HeadURL$
+ * %%
+ * Copyright (C) 2011 - 2024 Department of Computer Science, University of Oxford
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package org.semanticweb.elk.reasoner;
+
+import java.util.Map;
+
+/**
+ * Runs the classification tests with the reasoner configured by the given
+ * parameters, both when computing the output and when interrupting the
+ * reasoner.
+ */
+public abstract class BaseConfiguredClassificationCorrectnessTest
+		extends BaseClassificationCorrectnessTest {
+
+	public BaseConfiguredClassificationCorrectnessTest(
+			final ReasoningTestManifest<ElkClassTaxonomyTestOutput> testManifest,
+			final Map<String, String> config) {
+		super(testManifest,
+				new ElkReasoningTestDelegate<ElkClassTaxonomyTestOutput>(
+						testManifest) {
+
+					@Override
+					public ElkClassTaxonomyTestOutput getActualOutput()
+							throws Exception {
+						return new ElkClassTaxonomyTestOutput(
+								getReasoner().getTaxonomyQuietly());
+					}
+
+					@Override
+					protected Map<String, String> additionalConfigWithOutput() {
+						return config;
+					}
+
+					@Override
+					protected Map<String, String> additionalConfigWithInterrupts() {
+						return config;
+					}
+
+				});
+	}
+
+}
@@ -0,0 +1,198 @@
+/*
+ * #%L
+ * ELK Reasoner
+ * 
+ * $Id$
+ * $HeadURL$
+ * %%
+ * Copyright (C) 2011 - 2024 Department of Computer Science, University of Oxford
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package org.semanticweb.elk.reasoner;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.semanticweb.elk.exceptions.ElkException;
+import org.semanticweb.elk.loading.TestLoader;
+import org.semanticweb.elk.owl.interfaces.ElkClass;
+import org.semanticweb.elk.owl.interfaces.ElkNamedIndividual;
+import org.semanticweb.elk.owl.interfaces.ElkObject;
+import org.semanticweb.elk.owl.interfaces.ElkObjectProperty;
+import org.semanticweb.elk.owl.iris.ElkFullIri;
+import org.semanticweb.elk.owl.managers.ElkObjectEntityRecyclingFactory;
+import org.semanticweb.elk.reasoner.completeness.TestIncompleteness;
+import org.semanticweb.elk.reasoner.taxonomy.model.Node;
+
+/**
+ * Tests answering queries about named classes, individuals and object
+ * properties from several threads.
+ */
+public class ConcurrentClassQueryTest {
+
+	private static final int CHAIN_LENGTH_ = 64;
+
+	private static final int THREAD_COUNT_ = 4;
+
+	final ElkObject.Factory objectFactory = new ElkObjectEntityRecyclingFactory();
+
+	private TestLoader loader;
+	private Reasoner reasoner;
+	private final List<ElkClass> chain = new ArrayList<ElkClass>();
+	private final List<ElkNamedIndividual> individuals = new ArrayList<ElkNamedIndividual>();
+	private final List<ElkObjectProperty> properties = new ArrayList<ElkObjectProperty>();
+
+	@Before
+	public void initReasoner() {
+		loader = new TestLoader();
+		reasoner = TestReasonerUtils.createTestReasoner(loader);
+		// A0 ⊑ A1 ⊑ ... ⊑ An, Ai(ai), R0 ⊑ R1 ⊑ ... ⊑ Rn
+		for (int i = 0; i < CHAIN_LENGTH_; i++) {
+			chain.add(objectFactory.getClass(new ElkFullIri(":A" + i)));
+			individuals.add(
+					objectFactory.getNamedIndividual(new ElkFullIri(":a" + i)));
+			properties.add(
+					objectFactory.getObjectProperty(new ElkFullIri(":R" + i)));
+			loader.add(objectFactory.getClassAssertionAxiom(chain.get(i),
+					individuals.get(i)));
+			if (i > 0) {
+				loader.add(objectFactory.getSubClassOfAxiom(chain.get(i - 1),
+						chain.get(i)));
+				loader.add(objectFactory.getSubObjectPropertyOfAxiom(
+						properties.get(i - 1), properties.get(i)));
+			}
+		}
+	}
+
+	private void runConcurrently(Callable<Void> queries) throws Exception {
+		ExecutorService executor = Executors.newFixedThreadPool(THREAD_COUNT_);
+		try {
+			List<Future<?>> results = new ArrayList<Future<?>>();
+			for (int t = 0; t < THREAD_COUNT_; t++) {
+				results.add(executor.submit(queries));
+			}
+			for (Future<?> result : results) {
+				result.get();
+			}
+		} finally {
+			executor.shutdown();
+		}
+	}
+
+	private int countSuperClasses(ElkClass elkClass, boolean direct)
+			throws ElkException {
+		return TestIncompleteness
+				.getValue(reasoner.getSuperClasses(elkClass, direct)).size();
+	}
+
+	private int countSubClasses(ElkClass elkClass, boolean direct)
+			throws ElkException {
+		return TestIncompleteness
+				.getValue(reasoner.getSubClasses(elkClass, direct)).size();
+	}
+
+	@Test
+	public void testConcurrentQueries() throws Exception {
+		reasoner.getTaxonomy();
+		runConcurrently(() -> {
+			for (int i = 0; i < CHAIN_LENGTH_; i++) {
+				ElkClass elkClass = chain.get(i);
+				// the rest of the chain and owl:Thing
+				assertEquals(CHAIN_LENGTH_ - i,
+						countSuperClasses(elkClass, false));
+				// the previous classes and owl:Nothing
+				assertEquals(i + 1, countSubClasses(elkClass, false));
+				Node<ElkClass> node = TestIncompleteness
+						.getValue(reasoner.getEquivalentClasses(elkClass));
+				assertTrue(node.contains(elkClass));
+			}
+			return null;
+		});
+	}
+
+	@Test
+	public void testConcurrentInstanceQueries() throws Exception {
+		reasoner.getInstanceTaxonomy();
+		runConcurrently(() -> {
+			for (int i = 0; i < CHAIN_LENGTH_; i++) {
+				// the individuals of the previous classes
+				assertEquals(i + 1, TestIncompleteness
+						.getValue(reasoner.getInstances(chain.get(i), false))
+						.size());
+				assertEquals(1, TestIncompleteness
+						.getValue(reasoner.getInstances(chain.get(i), true))
+						.size());
+				// the rest of the chain and owl:Thing
+				assertEquals(CHAIN_LENGTH_ - i + 1, TestIncompleteness
+						.getValue(reasoner.getTypes(individuals.get(i), false))
+						.size());
+				assertEquals(1, TestIncompleteness
+						.getValue(reasoner.getTypes(individuals.get(i), true))
+						.size());
+			}
+			return null;
+		});
+	}
+
+	@Test
+	public void testConcurrentObjectPropertyQueries() throws Exception {
+		reasoner.getObjectPropertyTaxonomy();
+		runConcurrently(() -> {
+			for (int i = 0; i < CHAIN_LENGTH_; i++) {
+				ElkObjectProperty property = properties.get(i);
+				// the rest of the chain and owl:topObjectProperty
+				assertEquals(CHAIN_LENGTH_ - i, TestIncompleteness
+						.getValue(reasoner.getSuperObjectProperties(property,
+								false))
+						.size());
+				// the previous properties and owl:bottomObjectProperty
+				assertEquals(i + 1, TestIncompleteness
+						.getValue(reasoner.getSubObjectProperties(property,
+								false))
+						.size());
+				assertTrue(TestIncompleteness
+						.getValue(reasoner.getObjectPropertyNode(property))
+						.contains(property));
+			}
+			return null;
+		});
+	}
+
+	@Test
+	public void testChangesAfterTaxonomy() throws ElkException {
+		ElkClass first = chain.get(0);
+		ElkClass last = chain.get(CHAIN_LENGTH_ - 1);
+		reasoner.getTaxonomy();
+		assertEquals(1, countSuperClasses(last, true));
+		// the changes should be taken into account by queries
+		ElkClass top = objectFactory.getClass(new ElkFullIri(":B"));
+		loader.add(objectFactory.getSubClassOfAxiom(last, top));
+		assertEquals(1, countSuperClasses(last, true));
+		assertEquals(CHAIN_LENGTH_ + 1, countSuperClasses(first, false));
+		assertTrue(TestIncompleteness
+				.getValue(reasoner.getSuperClasses(last, true)).iterator()
+				.next().contains(top));
+	}
+
+}
@@ -0,0 +1,52 @@
+/*
+ * #%L
+ * ELK Reasoner
+ * 
+ * $Id$
+ * $HeadURL$
+ * %%
+ * Copyright (C) 2011 - 2024 Department of Computer Science, University of Oxford
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package org.semanticweb.elk.reasoner;
+
+import java.util.Map;
+
+import org.semanticweb.elk.reasoner.config.ConcurrentExecutorType;
+import org.semanticweb.elk.reasoner.config.ReasonerConfiguration;
+
+/**
+ * Runs the classification tests with
+ * {@link ConcurrentExecutorType#FORK_JOIN} executor.
+ */
+public class ElkForkJoinClassificationCorrectnessTest
+		extends BaseConfiguredClassificationCorrectnessTest {
+
+	/**
+	 * more workers than processors so that some of them wait for free threads
+	 * of the pool
+	 */
+	private static final Map<String, String> CONFIG_ = Map.of(
+			ReasonerConfiguration.CONCURRENT_EXECUTOR,
+			ConcurrentExecutorType.FORK_JOIN.name(),
+			ReasonerConfiguration.NUM_OF_WORKING_THREADS, String.valueOf(
+					Runtime.getRuntime().availableProcessors() + 2));
+
+	public ElkForkJoinClassificationCorrectnessTest(
+			final ReasoningTestManifest<ElkClassTaxonomyTestOutput> testManifest) {
+		super(testManifest, CONFIG_);
+	}
+
+}
@@ -0,0 +1,48 @@
+/*
+ * #%L
+ * ELK Reasoner
+ * 
+ * $Id$
+ * $HeadURL$
+ * %%
+ * Copyright (C) 2011 - 2024 Department of Computer Science, University of Oxford
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package org.semanticweb.elk.reasoner;
+
+import java.util.Map;
+
+import org.semanticweb.elk.reasoner.config.ReasonerConfiguration;
+
+/**
+ * Runs the classification tests with
+ * {@link ReasonerConfiguration#SATURATION_WORK_STEALING}.
+ */
+public class ElkWorkStealingClassificationCorrectnessTest
+		extends BaseConfiguredClassificationCorrectnessTest {
+
+	/**
+	 * several workers so that they steal contexts from each other
+	 */
+	private static final Map<String, String> CONFIG_ = Map.of(
+			ReasonerConfiguration.SATURATION_WORK_STEALING, "true",
+			ReasonerConfiguration.NUM_OF_WORKING_THREADS, "4");
+
+	public ElkWorkStealingClassificationCorrectnessTest(
+			final ReasoningTestManifest<ElkClassTaxonomyTestOutput> testManifest) {
+		super(testManifest, CONFIG_);
+	}
+
+}
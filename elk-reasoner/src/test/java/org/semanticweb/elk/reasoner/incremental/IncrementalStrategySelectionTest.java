@@ -0,0 +1,124 @@
+/*
+ * #%L
+ * ELK Reasoner
+ * 
+ * $Id$
+ * $HeadURL$
+ * %%
+ * Copyright (C) 2011 - 2024 Department of Computer Science, University of Oxford
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package org.semanticweb.elk.reasoner.incremental;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.semanticweb.elk.exceptions.ElkException;
+import org.semanticweb.elk.loading.TestAxiomLoaderFactory;
+import org.semanticweb.elk.loading.TestChangesLoader;
+import org.semanticweb.elk.owl.interfaces.ElkClass;
+import org.semanticweb.elk.owl.interfaces.ElkObject;
+import org.semanticweb.elk.owl.iris.ElkFullIri;
+import org.semanticweb.elk.owl.managers.ElkObjectEntityRecyclingFactory;
+import org.semanticweb.elk.reasoner.Reasoner;
+import org.semanticweb.elk.reasoner.TestReasonerUtils;
+import org.semanticweb.elk.reasoner.completeness.Incompleteness;
+import org.semanticweb.elk.reasoner.taxonomy.model.Taxonomy;
+import org.semanticweb.elk.reasoner.taxonomy.model.TaxonomyNode;
+
+/**
+ * Tests the choice between incremental and full re-saturation depending on
+ * the number of classes affected by the changes.
+ * 
+ * @see AffectedClassesEstimation
+ */
+public class IncrementalStrategySelectionTest {
+
+	private static final int SIZE_ = 5000;
+
+	final ElkObject.Factory objectFactory = new ElkObjectEntityRecyclingFactory();
+
+	private final ElkClass P = getClass("P");
+	private final ElkClass Q = getClass("Q");
+	private final ElkClass R = getClass("R");
+
+	private Reasoner reasoner;
+
+	private ElkClass getClass(String name) {
+		return objectFactory.getClass(new ElkFullIri(":" + name));
+	}
+
+	/**
+	 * Creates the ontology in which {@link #SIZE_} classes are sub-classes of
+	 * {@link #R}, which is a sub-class of {@link #P}
+	 */
+	@Before
+	public void initReasoner() throws ElkException {
+		TestChangesLoader loader = new TestChangesLoader();
+		reasoner = TestReasonerUtils.createTestReasoner(loader);
+		loader.add(objectFactory.getSubClassOfAxiom(R, P))
+				.add(objectFactory.getDeclarationAxiom(Q));
+		for (int i = 0; i < SIZE_; i++) {
+			loader.add(objectFactory.getSubClassOfAxiom(getClass("C" + i), R));
+		}
+		reasoner.getTaxonomy();
+	}
+
+	private void moveUnder(ElkClass sub, ElkClass from, ElkClass to) {
+		TestChangesLoader changeLoader = new TestChangesLoader();
+		reasoner.registerAxiomLoader(new TestAxiomLoaderFactory(changeLoader));
+		changeLoader.remove(objectFactory.getSubClassOfAxiom(sub, from))
+				.add(objectFactory.getSubClassOfAxiom(sub, to));
+	}
+
+	private void checkParent(ElkClass sub, ElkClass sup) throws ElkException {
+		Taxonomy<ElkClass> taxonomy = Incompleteness
+				.getValue(reasoner.getTaxonomyQuietly());
+		TaxonomyNode<ElkClass> node = taxonomy.getNode(sub);
+		assertEquals(1, node.getDirectSuperNodes().size());
+		assertTrue(node.getDirectSuperNodes().contains(taxonomy.getNode(sup)));
+	}
+
+	@Test
+	public void testSmallChangeIncremental() throws ElkException {
+		moveUnder(getClass("C0"), R, Q);
+		checkParent(getClass("C0"), Q);
+		assertTrue(reasoner.isIncrementalMode());
+	}
+
+	@Test
+	public void testLargeChangeFull() throws ElkException {
+		moveUnder(R, P, Q);
+		checkParent(R, Q);
+		checkParent(getClass("C0"), R);
+		assertFalse(reasoner.isIncrementalMode());
+		// the next small change is processed incrementally again
+		moveUnder(getClass("C0"), R, P);
+		checkParent(getClass("C0"), P);
+		assertTrue(reasoner.isIncrementalMode());
+	}
+
+	@Test
+	public void testLargeChangeIncrementalIfAllowed() throws ElkException {
+		reasoner.setIncrementalMaxAffectedRatio(1);
+		moveUnder(R, P, Q);
+		checkParent(R, Q);
+		assertTrue(reasoner.isIncrementalMode());
+	}
+
+}
@@ -0,0 +1,80 @@
+/*
+ * #%L
+ * ELK Reasoner
+ * $Id:$
+ * $HeadURL:$
+ * %%
+ * Copyright (C) 2011 - 2012 Department of Computer Science, University of Oxford
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package org.semanticweb.elk.reasoner.incremental;
+
+import java.util.Collections;
+import java.util.Map;
+
+import org.junit.runner.RunWith;
+import org.semanticweb.elk.owl.interfaces.ElkAxiom;
+import org.semanticweb.elk.reasoner.ElkClassTaxonomyTestOutput;
+import org.semanticweb.elk.reasoner.config.ReasonerConfiguration;
+import org.semanticweb.elk.testing.TestManifest;
+import org.semanticweb.elk.testing.UrlTestInput;
+import org.semanticweb.elk.testing4.PolySuite4;
+
+/**
+ * Runs the incremental classification tests with
+ * {@link ReasonerConfiguration#TAXONOMY_ONLY}, so that the saturation is
+ * released after every classification and is recomputed after the changes.
+ */
+@RunWith(PolySuite4.class)
+public class TaxonomyOnlyIncrementalClassificationCorrectnessTest
+		extends BaseIncrementalClassificationCorrectnessTest<ElkAxiom> {
+
+	private static final Map<String, String> CONFIG_ = Collections
+			.singletonMap(ReasonerConfiguration.TAXONOMY_ONLY, "true");
+
+	public TaxonomyOnlyIncrementalClassificationCorrectnessTest(
+			final TestManifest<UrlTestInput> testManifest) {
+		super(testManifest,
+				new ElkIncrementalReasoningTestDelegate<ElkClassTaxonomyTestOutput>(
+						testManifest) {
+
+					@Override
+					public ElkClassTaxonomyTestOutput getExpectedOutput()
+							throws Exception {
+						return new ElkClassTaxonomyTestOutput(
+								getStandardReasoner().getTaxonomyQuietly());
+					}
+
+					@Override
+					public ElkClassTaxonomyTestOutput getActualOutput()
+							throws Exception {
+						return new ElkClassTaxonomyTestOutput(
+								getIncrementalReasoner().getTaxonomyQuietly());
+					}
+
+					@Override
+					protected Map<String, String> additionalConfigIncremental() {
+						return CONFIG_;
+					}
+
+					@Override
+					protected Map<String, String> additionalConfigWithInterrupts() {
+						return CONFIG_;
+					}
+
+				});
+	}
+
+}
@@ -0,0 +1,179 @@
+/*
+ * #%L
+ * ELK Reasoner
+ * 
+ * $Id$
+ * $HeadURL$
+ * %%
+ * Copyright (C) 2011 - 2024 Department of Computer Science, University of Oxford
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package org.semanticweb.elk.reasoner.query;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.semanticweb.elk.exceptions.ElkException;
+import org.semanticweb.elk.loading.TestLoader;
+import org.semanticweb.elk.owl.interfaces.ElkClass;
+import org.semanticweb.elk.owl.interfaces.ElkClassExpression;
+import org.semanticweb.elk.owl.interfaces.ElkObject;
+import org.semanticweb.elk.owl.interfaces.ElkObjectProperty;
+import org.semanticweb.elk.owl.iris.ElkFullIri;
+import org.semanticweb.elk.owl.managers.ElkObjectEntityRecyclingFactory;
+import org.semanticweb.elk.reasoner.Reasoner;
+import org.semanticweb.elk.reasoner.TestReasonerUtils;
+import org.semanticweb.elk.reasoner.completeness.IncompleteResult;
+import org.semanticweb.elk.reasoner.completeness.TestIncompleteness;
+import org.semanticweb.elk.reasoner.taxonomy.model.Node;
+
+/**
+ * Tests that {@link Reasoner#getClassExpressionQueryResults} returns the same
+ * results as querying the class expressions one by one.
+ */
+public class ClassExpressionBatchQueryTest {
+
+	final ElkObject.Factory objectFactory = new ElkObjectEntityRecyclingFactory();
+
+	private final ElkClass A = objectFactory.getClass(new ElkFullIri(":A"));
+	private final ElkClass B = objectFactory.getClass(new ElkFullIri(":B"));
+	private final ElkClass C = objectFactory.getClass(new ElkFullIri(":C"));
+	private final ElkClass D = objectFactory.getClass(new ElkFullIri(":D"));
+	private final ElkObjectProperty R = objectFactory
+			.getObjectProperty(new ElkFullIri(":R"));
+
+	private Reasoner reasoner;
+
+	private List<ElkClassExpression> queries;
+
+	@Before
+	public void initReasoner() {
+		TestLoader loader = new TestLoader();
+		reasoner = TestReasonerUtils.createTestReasoner(loader);
+		loader.add(objectFactory.getSubClassOfAxiom(A, B))
+				.add(objectFactory.getSubClassOfAxiom(C,
+						objectFactory.getObjectSomeValuesFrom(R, A)))
+				.add(objectFactory.getSubClassOfAxiom(D,
+						objectFactory.getObjectIntersectionOf(B, C)))
+				.add(objectFactory.getDisjointClassesAxiom(
+						Arrays.asList(A, C)));
+		queries = Arrays.asList(
+				// equivalent to D
+				objectFactory.getObjectIntersectionOf(D, B),
+				// without equivalent classes
+				objectFactory.getObjectSomeValuesFrom(R, B),
+				objectFactory.getObjectIntersectionOf(B, C),
+				// unsatisfiable
+				objectFactory.getObjectIntersectionOf(A, C),
+				// not supported
+				objectFactory.getObjectComplementOf(A),
+				// named class
+				B);
+	}
+
+	private static Set<ElkClass> getCanonicalMembers(
+			Set<? extends Node<ElkClass>> nodes) {
+		Set<ElkClass> result = new HashSet<ElkClass>();
+		for (Node<ElkClass> node : nodes) {
+			result.add(node.getCanonicalMember());
+		}
+		return result;
+	}
+
+	private static Set<ElkClass> getMembers(Node<ElkClass> node) {
+		Set<ElkClass> result = new HashSet<ElkClass>();
+		for (ElkClass member : node) {
+			result.add(member);
+		}
+		return result;
+	}
+
+	@Test
+	public void testBatchEqualsSingleQueries() throws ElkException {
+		Map<ElkClassExpression, IncompleteResult<? extends ClassExpressionQueryResult>> results = reasoner
+				.getClassExpressionQueryResults(queries);
+		assertEquals(new HashSet<ElkClassExpression>(queries),
+				results.keySet());
+		for (ElkClassExpression query : queries) {
+			ClassExpressionQueryResult result = TestIncompleteness.getValue(results.get(query));
+			assertEquals(query.toString(),
+					TestIncompleteness.getValue(reasoner.isSatisfiable(query)),
+					result.isSatisfiable());
+			assertEquals(query.toString(),
+					getMembers(TestIncompleteness
+							.getValue(reasoner.getEquivalentClasses(query))),
+					getMembers(result.getEquivalentClasses()));
+			assertEquals(query.toString(),
+					getCanonicalMembers(
+							TestIncompleteness.getValue(reasoner.getSuperClasses(query, true))),
+					getCanonicalMembers(result.getDirectSuperClasses()));
+			assertEquals(query.toString(),
+					getCanonicalMembers(
+							TestIncompleteness.getValue(reasoner.getSubClasses(query, true))),
+					getCanonicalMembers(result.getDirectSubClasses()));
+		}
+	}
+
+	@Test
+	public void testResults() throws ElkException {
+		Map<ElkClassExpression, IncompleteResult<? extends ClassExpressionQueryResult>> results = reasoner
+				.getClassExpressionQueryResults(queries);
+		ClassExpressionQueryResult result = TestIncompleteness.getValue(
+				results.get(objectFactory.getObjectSomeValuesFrom(R, B)));
+		assertTrue(result.isSatisfiable());
+		assertEquals(new HashSet<ElkClass>(Arrays.asList(C)),
+				getCanonicalMembers(result.getDirectSubClasses()));
+		result = TestIncompleteness.getValue(
+				results.get(objectFactory.getObjectIntersectionOf(B, C)));
+		assertEquals(new HashSet<ElkClass>(Arrays.asList(B, C)),
+				getCanonicalMembers(result.getDirectSuperClasses()));
+		assertEquals(new HashSet<ElkClass>(Arrays.asList(D)),
+				getCanonicalMembers(result.getDirectSubClasses()));
+		result = TestIncompleteness.getValue(
+				results.get(objectFactory.getObjectIntersectionOf(A, C)));
+		assertFalse(result.isSatisfiable());
+	}
+
+	@Test
+	public void testQueryResetInSameRun() throws ElkException {
+		/*
+		 * Saturation of ObjectSomeValuesFrom(R B) adds it to the subsumers of
+		 * the context of ObjectIntersectionOf(D B), which may be saturated
+		 * before in the same run, so the latter has to be computed again.
+		 */
+		ElkClassExpression someRB = objectFactory.getObjectSomeValuesFrom(R,
+				B);
+		ElkClassExpression andDB = objectFactory.getObjectIntersectionOf(D, B);
+		Map<ElkClassExpression, IncompleteResult<? extends ClassExpressionQueryResult>> results = reasoner
+				.getClassExpressionQueryResults(Arrays.asList(someRB, andDB));
+		ClassExpressionQueryResult result = TestIncompleteness
+				.getValue(results.get(andDB));
+		assertEquals(new HashSet<ElkClass>(Arrays.asList(D)),
+				getMembers(result.getEquivalentClasses()));
+		result = TestIncompleteness.getValue(results.get(someRB));
+		assertEquals(new HashSet<ElkClass>(Arrays.asList(C)),
+				getCanonicalMembers(result.getDirectSubClasses()));
+	}
+
+}
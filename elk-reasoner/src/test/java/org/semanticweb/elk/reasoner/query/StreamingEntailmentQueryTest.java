@@ -0,0 +1,138 @@
+/*
+ * #%L
+ * ELK Reasoner
+ * 
+ * $Id$
+ * $HeadURL$
+ * %%
+ * Copyright (C) 2011 - 2024 Department of Computer Science, University of Oxford
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package org.semanticweb.elk.reasoner.query;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.semanticweb.elk.exceptions.ElkException;
+import org.semanticweb.elk.loading.TestLoader;
+import org.semanticweb.elk.owl.interfaces.ElkAxiom;
+import org.semanticweb.elk.owl.interfaces.ElkClass;
+import org.semanticweb.elk.owl.interfaces.ElkObject;
+import org.semanticweb.elk.owl.iris.ElkFullIri;
+import org.semanticweb.elk.owl.managers.ElkObjectEntityRecyclingFactory;
+import org.semanticweb.elk.reasoner.Reasoner;
+import org.semanticweb.elk.reasoner.TestReasonerUtils;
+
+/**
+ * Tests checking entailment of axioms in batches using
+ * {@link Reasoner#checkEntailment(Iterator, int)}.
+ */
+public class StreamingEntailmentQueryTest {
+
+	final ElkObject.Factory objectFactory = new ElkObjectEntityRecyclingFactory();
+
+	private final ElkClass A = objectFactory.getClass(new ElkFullIri(":A"));
+	private final ElkClass B = objectFactory.getClass(new ElkFullIri(":B"));
+	private final ElkClass C = objectFactory.getClass(new ElkFullIri(":C"));
+	private final ElkClass D = objectFactory.getClass(new ElkFullIri(":D"));
+
+	private Reasoner reasoner;
+
+	@Before
+	public void initReasoner() {
+		TestLoader loader = new TestLoader();
+		reasoner = TestReasonerUtils.createTestReasoner(loader);
+		loader.add(objectFactory.getSubClassOfAxiom(A, B))
+				.add(objectFactory.getSubClassOfAxiom(B, C));
+	}
+
+	@Test
+	public void testBatches() throws ElkException {
+		List<ElkAxiom> axioms = Arrays.<ElkAxiom> asList(
+				objectFactory.getSubClassOfAxiom(A, C),
+				objectFactory.getSubClassOfAxiom(C, A),
+				objectFactory.getSubClassOfAxiom(D, C),
+				objectFactory.getSubClassOfAxiom(B, C),
+				objectFactory.getSubClassOfAxiom(A,
+						objectFactory.getObjectIntersectionOf(B, C)));
+		List<Boolean> expected = Arrays.asList(true, false, false, true,
+				true);
+		Iterator<VerifiableQueryResult> results = reasoner
+				.checkEntailment(axioms.iterator(), 2);
+		int i = 0;
+		while (results.hasNext()) {
+			// results are checked before the iterator advances past them
+			VerifiableQueryResult result = results.next();
+			assertEquals(axioms.get(i), result.getQuery());
+			assertEquals(axioms.get(i).toString(), expected.get(i),
+					result.entailmentProved());
+			assertEquals(expected.get(i), !result.getEvidence(true)
+					.getInferences(result.getEntailment()).isEmpty());
+			i++;
+		}
+		assertEquals(axioms.size(), i);
+	}
+
+	@Test
+	public void testUnlocksPreviousBatch() throws ElkException {
+		ElkAxiom ac = objectFactory.getSubClassOfAxiom(A, C);
+		List<ElkAxiom> axioms = Arrays.<ElkAxiom> asList(ac,
+				objectFactory.getSubClassOfAxiom(C, A), ac);
+		Iterator<VerifiableQueryResult> results = reasoner
+				.checkEntailment(axioms.iterator(), 2);
+		VerifiableQueryResult first = results.next();
+		VerifiableQueryResult second = results.next();
+		// the first batch is unlocked only when the second one is taken
+		assertTrue(results.hasNext());
+		VerifiableQueryResult last = results.next();
+		// the axiom occurring in both batches is still locked by the second
+		assertTrue(last.entailmentProved());
+		assertFalse(results.hasNext());
+		// all results are unlocked when the iteration ends
+		assertFalse(second.unlock());
+		assertFalse(first.unlock());
+		assertFalse(last.unlock());
+	}
+
+	@Test
+	public void testEmpty() {
+		assertFalse(reasoner
+				.checkEntailment(new ArrayList<ElkAxiom>().iterator(), 1)
+				.hasNext());
+	}
+
+	@Test
+	public void testInconsistent() throws ElkException {
+		TestLoader loader = new TestLoader();
+		reasoner = TestReasonerUtils.createTestReasoner(loader);
+		loader.add(objectFactory.getSubClassOfAxiom(objectFactory.getOwlThing(),
+				objectFactory.getOwlNothing()));
+		Iterator<VerifiableQueryResult> results = reasoner.checkEntailment(
+				Arrays.<ElkAxiom> asList(objectFactory.getSubClassOfAxiom(C, A))
+						.iterator(),
+				10);
+		assertTrue(results.next().entailmentProved());
+		assertFalse(results.hasNext());
+	}
+
+}
@@ -0,0 +1,151 @@
+/*
+ * #%L
+ * ELK Reasoner
+ * 
+ * $Id$
+ * $HeadURL$
+ * %%
+ * Copyright (C) 2011 - 2024 Department of Computer Science, University of Oxford
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package org.semanticweb.elk.reasoner.taxonomy;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.semanticweb.elk.exceptions.ElkException;
+import org.semanticweb.elk.loading.TestLoader;
+import org.semanticweb.elk.owl.interfaces.ElkClass;
+import org.semanticweb.elk.owl.interfaces.ElkObject;
+import org.semanticweb.elk.owl.iris.ElkFullIri;
+import org.semanticweb.elk.owl.managers.ElkObjectEntityRecyclingFactory;
+import org.semanticweb.elk.reasoner.Reasoner;
+import org.semanticweb.elk.reasoner.TestReasonerUtils;
+import org.semanticweb.elk.reasoner.completeness.TestIncompleteness;
+import org.semanticweb.elk.reasoner.taxonomy.model.TaxonomyNode;
+
+/**
+ * Tests {@link TaxonomyClosureIndex} against the sub- and super-nodes
+ * computed by the {@link FrozenTaxonomy}.
+ */
+public class TaxonomyClosureIndexTest {
+
+	final ElkObject.Factory objectFactory = new ElkObjectEntityRecyclingFactory();
+
+	private final ElkClass A = objectFactory.getClass(new ElkFullIri(":A"));
+	private final ElkClass B = objectFactory.getClass(new ElkFullIri(":B"));
+	private final ElkClass C = objectFactory.getClass(new ElkFullIri(":C"));
+	private final ElkClass D = objectFactory.getClass(new ElkFullIri(":D"));
+	private final ElkClass E = objectFactory.getClass(new ElkFullIri(":E"));
+	private final ElkClass F = objectFactory.getClass(new ElkFullIri(":F"));
+	private final ElkClass G = objectFactory.getClass(new ElkFullIri(":G"));
+
+	private TestLoader loader;
+	private Reasoner reasoner;
+
+	@Before
+	public void initReasoner() {
+		loader = new TestLoader();
+		reasoner = TestReasonerUtils.createTestReasoner(loader);
+		// several diamonds so that not all subsumptions are in a tree
+		loader.add(objectFactory.getSubClassOfAxiom(A, B))
+				.add(objectFactory.getSubClassOfAxiom(A, C))
+				.add(objectFactory.getSubClassOfAxiom(B, D))
+				.add(objectFactory.getSubClassOfAxiom(C, D))
+				.add(objectFactory.getSubClassOfAxiom(E, C))
+				.add(objectFactory.getSubClassOfAxiom(F, A))
+				.add(objectFactory.getSubClassOfAxiom(F, E))
+				.add(objectFactory.getSubClassOfAxiom(G, D));
+	}
+
+	private TaxonomyClosureIndex<ElkClass> getIndex() throws ElkException {
+		return TestIncompleteness.getValue(reasoner.getTaxonomyClosureIndex());
+	}
+
+	private static Set<TaxonomyNode<ElkClass>> toSet(
+			Set<? extends TaxonomyNode<ElkClass>> nodes) {
+		return new HashSet<TaxonomyNode<ElkClass>>(nodes);
+	}
+
+	private static void checkIndex(TaxonomyClosureIndex<ElkClass> index) {
+		FrozenTaxonomy<ElkClass> taxonomy = index.getTaxonomy();
+		for (TaxonomyNode<ElkClass> sub : taxonomy.getNodes()) {
+			Set<? extends TaxonomyNode<ElkClass>> supers = sub
+					.getAllSuperNodes();
+			for (TaxonomyNode<ElkClass> sup : taxonomy.getNodes()) {
+				assertEquals(sub + " <= " + sup,
+						sub.equals(sup) || supers.contains(sup),
+						index.isSubNode(sub, sup));
+			}
+			assertEquals(toSet(supers), index.streamAllSuperNodes(sub)
+					.collect(Collectors.toSet()));
+			assertEquals(toSet(sub.getAllSubNodes()),
+					index.streamAllSubNodes(sub).collect(Collectors.toSet()));
+		}
+	}
+
+	@Test
+	public void testClosure() throws ElkException {
+		TaxonomyClosureIndex<ElkClass> index = getIndex();
+		checkIndex(index);
+		assertTrue(index.isSubsumedBy(F, D));
+		assertTrue(index.isSubsumedBy(E, E));
+		assertFalse(index.isSubsumedBy(E, B));
+		assertFalse(index.isSubsumedBy(G, C));
+		assertFalse(index.isSubsumedBy(D, A));
+		assertFalse(index.isSubsumedBy(
+				objectFactory.getClass(new ElkFullIri(":H")), D));
+		// nothing changed
+		assertSame(index, getIndex());
+	}
+
+	@Test
+	public void testChanges() throws ElkException {
+		TaxonomyClosureIndex<ElkClass> first = getIndex();
+		loader.add(objectFactory.getSubClassOfAxiom(G, E));
+		TaxonomyClosureIndex<ElkClass> second = getIndex();
+		checkIndex(second);
+		assertFalse(first.isSubsumedBy(G, C));
+		assertTrue(second.isSubsumedBy(G, C));
+	}
+
+	/**
+	 * Many nodes with several direct super-nodes, so that the searches have to
+	 * keep more nodes than initially expected
+	 */
+	@Test
+	public void testWide() throws ElkException {
+		ElkClass Y = objectFactory.getClass(new ElkFullIri(":Y"));
+		for (int i = 0; i < 40; i++) {
+			ElkClass X = objectFactory.getClass(new ElkFullIri(":X" + i));
+			loader.add(objectFactory.getSubClassOfAxiom(X, B))
+					.add(objectFactory.getSubClassOfAxiom(X, E))
+					.add(objectFactory.getSubClassOfAxiom(Y, X));
+		}
+		TaxonomyClosureIndex<ElkClass> index = getIndex();
+		checkIndex(index);
+		assertTrue(index.isSubsumedBy(Y, C));
+		assertFalse(index.isSubsumedBy(Y, A));
+	}
+
+}
@@ -0,0 +1,126 @@
+/*
+ * #%L
+ * ELK Reasoner
+ * 
+ * $Id$
+ * $HeadURL$
+ * %%
+ * Copyright (C) 2011 - 2024 Department of Computer Science, University of Oxford
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package org.semanticweb.elk.reasoner.taxonomy;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.semanticweb.elk.exceptions.ElkException;
+import org.semanticweb.elk.loading.TestLoader;
+import org.semanticweb.elk.owl.interfaces.ElkClass;
+import org.semanticweb.elk.owl.interfaces.ElkObject;
+import org.semanticweb.elk.owl.iris.ElkFullIri;
+import org.semanticweb.elk.owl.managers.ElkObjectEntityRecyclingFactory;
+import org.semanticweb.elk.reasoner.Reasoner;
+import org.semanticweb.elk.reasoner.TestReasonerUtils;
+import org.semanticweb.elk.reasoner.completeness.TestIncompleteness;
+import org.semanticweb.elk.reasoner.taxonomy.model.Node;
+import org.semanticweb.elk.reasoner.taxonomy.model.Taxonomy;
+import org.semanticweb.elk.reasoner.taxonomy.model.TaxonomyNode;
+
+/**
+ * Tests versions of {@link TaxonomySnapshot} created by the reasoner.
+ */
+public class TaxonomySnapshotTest {
+
+	final ElkObject.Factory objectFactory = new ElkObjectEntityRecyclingFactory();
+
+	private final ElkClass A = objectFactory.getClass(new ElkFullIri(":A"));
+	private final ElkClass B = objectFactory.getClass(new ElkFullIri(":B"));
+	private final ElkClass C = objectFactory.getClass(new ElkFullIri(":C"));
+	private final ElkClass D = objectFactory.getClass(new ElkFullIri(":D"));
+
+	private TestLoader loader;
+	private Reasoner reasoner;
+
+	@Before
+	public void initReasoner() {
+		loader = new TestLoader();
+		reasoner = TestReasonerUtils.createTestReasoner(loader);
+		loader.add(objectFactory.getSubClassOfAxiom(A, B))
+				.add(objectFactory.getSubClassOfAxiom(B, C))
+				.add(objectFactory.getSubClassOfAxiom(D, C));
+	}
+
+	private TaxonomySnapshot<ElkClass> getSnapshot() throws ElkException {
+		return TestIncompleteness.getValue(reasoner.getTaxonomySnapshot());
+	}
+
+	private Taxonomy<ElkClass> getTaxonomy() throws ElkException {
+		return TestIncompleteness.getValue(reasoner.getTaxonomy());
+	}
+
+	private static Set<ElkClass> getCanonicalMembers(
+			Set<? extends Node<ElkClass>> nodes) {
+		Set<ElkClass> result = new HashSet<ElkClass>();
+		for (Node<ElkClass> node : nodes) {
+			result.add(node.getCanonicalMember());
+		}
+		return result;
+	}
+
+	@Test
+	public void testSnapshotOfTaxonomy() throws ElkException {
+		TaxonomySnapshot<ElkClass> snapshot = getSnapshot();
+		assertEquals(0, snapshot.getVersion());
+		assertEquals(getTaxonomy(), snapshot);
+		TaxonomyNode<ElkClass> node = snapshot.getNode(A);
+		assertSame(snapshot, node.getTaxonomy());
+		assertEquals(new HashSet<ElkClass>(Arrays.asList(B)),
+				getCanonicalMembers(node.getDirectSuperNodes()));
+		// B, C, owl:Thing
+		assertEquals(3, node.getAllSuperNodes().size());
+		// nothing changed
+		assertSame(snapshot, getSnapshot());
+		assertSame(snapshot, reasoner.getLastTaxonomySnapshot());
+	}
+
+	@Test
+	public void testVersions() throws ElkException {
+		TaxonomySnapshot<ElkClass> first = getSnapshot();
+		loader.add(objectFactory.getSubClassOfAxiom(D, B));
+		TaxonomySnapshot<ElkClass> second = getSnapshot();
+		assertNotSame(first, second);
+		assertEquals(1, second.getVersion());
+		assertEquals(getTaxonomy(), second);
+		// the first version did not change
+		assertEquals(new HashSet<ElkClass>(Arrays.asList(C)),
+				getCanonicalMembers(first.getNode(D).getDirectSuperNodes()));
+		assertEquals(new HashSet<ElkClass>(Arrays.asList(B)),
+				getCanonicalMembers(second.getNode(D).getDirectSuperNodes()));
+		// the nodes whose direct super- or sub-nodes changed
+		assertEquals(new HashSet<ElkClass>(Arrays.asList(B, C, D)),
+				getCanonicalMembers(second.getChangedNodes(first)));
+		assertTrue(second.getChangedNodes(second).isEmpty());
+		assertTrue(second.getRemovedMembers(first).isEmpty());
+	}
+
+}
@@ -123,6 +123,7 @@ private void initConcepts() {
 			dependentOnConcepts.put(id, getDependentOnConcepts(concept));
 		}
 		isa = SnomedIsa.init(superConcepts);
+		isa.initAncestorIndex();
 //		isa.getConcepts().stream().map(id -> ontology.getOwlClass(id)).forEach(clazz -> concepts.add(clazz));
 		sortConcepts(dependentOnConcepts);
 		LOG.info("Concepts: " + concepts.size());
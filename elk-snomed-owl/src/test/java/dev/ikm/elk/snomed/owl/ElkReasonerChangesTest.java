@@ -0,0 +1,119 @@
+package dev.ikm.elk.snomed.owl;
+
+/*-
+ * #%L
+ * ELK Integration with SNOMED
+ * %%
+ * Copyright (C) 2023 Integrated Knowledge Management
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.semanticweb.elk.owl.interfaces.ElkAxiom;
+import org.semanticweb.elk.owl.interfaces.ElkClass;
+import org.semanticweb.elk.reasoner.completeness.Incompleteness;
+
+import dev.ikm.elk.snomed.owlapix.model.OwlxOntology;
+import dev.ikm.elk.snomed.owlapix.reasoner.InferenceType;
+import dev.ikm.elk.snomed.reasoner.ElkReasoner;
+
+public class ElkReasonerChangesTest {
+
+	private OwlxOntology ontology;
+
+	private ElkReasoner reasoner;
+
+	private ElkClass a, b, c;
+
+	private ElkAxiom ab, ca;
+
+	@BeforeEach
+	public void init() throws Exception {
+		ontology = new OwlxOntology();
+		a = ontology.getElkClass("A");
+		b = ontology.getElkClass("B");
+		c = ontology.getElkClass("C");
+		ab = ontology.getSubClassOfAxiom(a, b);
+		ca = ontology.getSubClassOfAxiom(c, a);
+		ontology.addAxiom(ab);
+		reasoner = ElkReasoner.createReasoner(ontology, ontology.getObjectFactory());
+		classify();
+	}
+
+	@AfterEach
+	public void dispose() {
+		reasoner.dispose();
+	}
+
+	private void classify() throws Exception {
+		reasoner.flush();
+		reasoner.precomputeInferences(InferenceType.CLASS_HIERARCHY);
+	}
+
+	@Test
+	public void addThenRemove() throws Exception {
+		ontology.addAxiom(ca);
+		ontology.removeAxiom(ca);
+		assertTrue(reasoner.getPendingChanges().isEmpty());
+		classify();
+		assertNull(Incompleteness.getValue(reasoner.getInternalReasoner().getTaxonomy()).getNode(c));
+		assertTrue(reasoner.isEntailed(ab));
+	}
+
+	@Test
+	public void removeThenAdd() throws Exception {
+		ontology.removeAxiom(ab);
+		ontology.addAxiom(ab);
+		assertTrue(reasoner.getPendingChanges().isEmpty());
+		classify();
+		assertTrue(reasoner.isEntailed(ab));
+	}
+
+	@Test
+	public void repeatedAdditions() throws Exception {
+		ontology.addAxiom(ca);
+		ontology.addAxioms(List.of(ca, ca));
+		assertEquals(1, reasoner.getPendingChanges().size());
+		classify();
+		assertTrue(reasoner.isEntailed(ca));
+		assertTrue(reasoner.isEntailed(ontology.getSubClassOfAxiom(c, b)));
+		// loaded once, so removed by a single removal
+		ontology.removeAxiom(ca);
+		classify();
+		assertFalse(reasoner.isEntailed(ca));
+		assertFalse(reasoner.isEntailed(ontology.getSubClassOfAxiom(c, b)));
+	}
+
+	@Test
+	public void batchChanges() throws Exception {
+		ontology.addAxioms(List.of(ca));
+		ontology.removeAxioms(List.of(ab, ca));
+		assertEquals(List.of(ab), List.copyOf(reasoner.getPendingAxiomRemovals()));
+		assertTrue(reasoner.getPendingAxiomAdditions().isEmpty());
+		classify();
+		assertFalse(reasoner.isEntailed(ab));
+		assertNull(Incompleteness.getValue(reasoner.getInternalReasoner().getTaxonomy()).getNode(c));
+	}
+
+}
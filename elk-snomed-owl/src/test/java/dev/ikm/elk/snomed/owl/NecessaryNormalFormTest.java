@@ -32,6 +32,7 @@
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import dev.ikm.elk.snomed.NNFSubsumption;
 import dev.ikm.elk.snomed.NecessaryNormalFormBuilder;
 import dev.ikm.elk.snomed.SnomedOntology;
 import dev.ikm.elk.snomed.SnomedOntologyReasoner;
@@ -83,6 +84,62 @@ private NecessaryNormalFormBuilder load(SnomedOwlOntology ontology, String file)
 		return nnfb;
 	}
 
+	private NecessaryNormalFormBuilder create(String file) throws Exception {
+		SnomedOwlOntology ontology = SnomedOwlOntology.createOntology();
+		ontology.loadOntology(Files.readAllLines(Paths.get("src/test/resources", file)));
+		ontology.classify();
+		SnomedOntology snomedOntology = new OwlTransformer().transform(ontology);
+		SnomedOntologyReasoner snomedOntologyReasoner = SnomedOntologyReasoner.create(snomedOntology);
+		return NecessaryNormalFormBuilder.create(snomedOntology, snomedOntologyReasoner.getSuperConcepts(),
+				snomedOntologyReasoner.getSuperRoleTypes(false));
+	}
+
+	@Test
+	public void parallel() throws Exception {
+		for (String file : List.of("NecessaryNormalForm.owl", "NecessaryNormalFormGrouped.owl",
+				"NecessaryNormalFormSubProperty.owl", "NecessaryNormalFormPropertyChain.owl",
+				"NecessaryNormalFormDataHasValue.owl")) {
+			NecessaryNormalFormBuilder nnfb = create(file);
+			nnfb.generate();
+			NecessaryNormalFormBuilder nnfb_parallel = create(file);
+			nnfb_parallel.generateParallel(null, 4);
+			assertEquals(nnfb.getConcepts().size(), nnfb_parallel.getNecessaryNormalForm().size());
+			for (Concept con : nnfb.getConcepts()) {
+				Definition expected = nnfb.getNecessaryNormalForm(con.getId());
+				Definition actual = nnfb_parallel.getNecessaryNormalForm(con.getId());
+				assertEquals(expected.getDefinitionType(), actual.getDefinitionType());
+				assertEquals(expected.getSuperConcepts(), actual.getSuperConcepts());
+				assertEquals(expected.getUngroupedRoles(), actual.getUngroupedRoles());
+				assertEquals(expected.getUngroupedConcreteRoles(), actual.getUngroupedConcreteRoles());
+				assertEquals(expected.getRoleGroups(), actual.getRoleGroups());
+			}
+		}
+	}
+
+	@Test
+	public void chainCache() throws Exception {
+		NecessaryNormalFormBuilder nnfb = create("NecessaryNormalFormPropertyChain.owl");
+		nnfb.generate();
+		NNFSubsumption.Stats stats = nnfb.getNNFSubsumption().getStats();
+		LOG.info("Chain cache: " + stats);
+		int misses = stats.nChainCacheMisses;
+		assertTrue(misses > 0);
+		assertEquals(0, stats.nChainCacheInvalidations);
+		// same NNF again, answered from the cache
+		Concept con = nnfb.getConcepts().stream().filter(x -> x.getId() == 202).findFirst().get();
+		nnfb.generateNNF(con, false);
+		assertEquals(misses, stats.nChainCacheMisses);
+		assertTrue(stats.nChainCacheHits > 0);
+		// new NNF of a filler, the expansions through it are recomputed
+		Concept filler = nnfb.getNecessaryNormalForm(con).getUngroupedRoles().iterator().next().getConcept();
+		nnfb.generateNNF(filler, false);
+		assertTrue(stats.nChainCacheInvalidations > 0);
+		Definition nnf = nnfb.generateNNF(con, false);
+		assertTrue(stats.nChainCacheMisses > misses);
+		assertEquals(1, nnf.getUngroupedRoles().size());
+		assertEquals(102, nnf.getUngroupedRoles().iterator().next().getConcept().getId());
+	}
+
 	@Test
 	public void ungrouped() throws Exception {
 		SnomedOwlOntology ontology = SnomedOwlOntology.createOntology();
@@ -0,0 +1,63 @@
+package dev.ikm.elk.snomed.owl;
+
+/*-
+ * #%L
+ * ELK Integration with SNOMED
+ * %%
+ * Copyright (C) 2023 Integrated Knowledge Management
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import org.junit.jupiter.api.Test;
+import org.semanticweb.elk.owl.interfaces.ElkClass;
+import org.semanticweb.elk.owl.interfaces.ElkObjectProperty;
+
+import dev.ikm.elk.snomed.owlapix.model.OwlxOntology;
+
+public class OwlxOntologyTest {
+
+	@Test
+	public void interning() {
+		OwlxOntology ontology = new OwlxOntology();
+		int n = 100000;
+		ElkClass[] classes = new ElkClass[n];
+		for (int i = 0; i < n; i++)
+			classes[i] = ontology.getElkClass(100000000000000L + 1000 * i);
+		for (int i = 0; i < n; i++) {
+			ElkClass clazz = ontology.getElkClass(100000000000000L + 1000 * i);
+			assertSame(classes[i], clazz);
+			assertEquals(100000000000000L + 1000 * i, OwlxOntology.getId(clazz));
+		}
+		ElkObjectProperty prop = ontology.getElkObjectProperty(738774007);
+		assertSame(prop, ontology.getElkObjectProperty(738774007));
+		assertEquals(738774007, OwlxOntology.getId(prop));
+	}
+
+	@Test
+	public void sameAsIri() {
+		OwlxOntology ontology = new OwlxOntology();
+		ElkClass byId = ontology.getElkClass(404684003);
+		ElkClass byName = ontology.getElkClass("404684003");
+		assertEquals(byName.getIri(), byId.getIri());
+		assertEquals(byName, byId);
+		assertEquals(byName.hashCode(), byId.hashCode());
+		assertEquals(404684003, OwlxOntology.getId(byName));
+		assertEquals(ontology.getElkDataProperty("3264475007"), ontology.getElkDataProperty(3264475007L));
+	}
+
+}
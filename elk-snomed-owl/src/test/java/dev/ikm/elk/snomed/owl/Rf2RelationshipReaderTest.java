@@ -0,0 +1,129 @@
+package dev.ikm.elk.snomed.owl;
+
+/*-
+ * #%L
+ * ELK Integration with SNOMED
+ * %%
+ * Copyright (C) 2023 Integrated Knowledge Management
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import dev.ikm.elk.snomed.Rf2RelationshipReader;
+import dev.ikm.elk.snomed.SnomedConcreteRoles;
+import dev.ikm.elk.snomed.SnomedIds;
+import dev.ikm.elk.snomed.SnomedIsa;
+import dev.ikm.elk.snomed.SnomedRoles;
+
+public class Rf2RelationshipReaderTest {
+
+	@TempDir
+	Path dir;
+
+	private static final String header = "id\teffectiveTime\tactive\tmoduleId\tsourceId\tdestinationId\trelationshipGroup\ttypeId\tcharacteristicTypeId\tmodifierId";
+
+	private Path writeRelationships() throws IOException {
+		List<String> lines = new ArrayList<>();
+		lines.add(header);
+		lines.add("1\t20210301\t1\t900000000000207008\t101\t" + SnomedIds.root + "\t0\t" + SnomedIds.isa
+				+ "\t900000000000011006\t900000000000451002");
+		lines.add("2\t20210301\t1\t900000000000207008\t102\t101\t0\t" + SnomedIds.isa
+				+ "\t900000000000011006\t900000000000451002");
+		lines.add("3\t20210301\t0\t900000000000207008\t102\t" + SnomedIds.root + "\t0\t" + SnomedIds.isa
+				+ "\t900000000000011006\t900000000000451002");
+		lines.add("4\t20210301\t1\t900000000000207008\t102\t103\t1\t201\t900000000000011006\t900000000000451002");
+		lines.add("5\t20210301\t1\t900000000000207008\t102\t104\t0\t202\t900000000000011006\t900000000000451002");
+		lines.add("6\t20210301\t0\t900000000000207008\t102\t105\t0\t202\t900000000000011006\t900000000000451002");
+		for (int i = 0; i < 100; i++) {
+			lines.add((10 + i) + "\t20210301\t1\t900000000000207008\t" + (1000 + i) + "\t101\t0\t" + SnomedIds.isa
+					+ "\t900000000000011006\t900000000000451002");
+		}
+		Path file = dir.resolve("rels.txt");
+		// RF2 files are CRLF terminated
+		Files.writeString(file, String.join("\r\n", lines) + "\r\n");
+		return file;
+	}
+
+	private List<String> read(Path file, int chunks) throws IOException {
+		List<String> rows = new ArrayList<>();
+		new Rf2RelationshipReader(file, chunks)
+				.read((source, destination, group, type) -> rows.add(source + " " + destination + " " + group + " " + type));
+		return rows;
+	}
+
+	@Test
+	public void read() throws Exception {
+		Path file = writeRelationships();
+		List<String> rows = read(file, 1);
+		assertEquals(104, rows.size());
+		assertEquals("101 " + SnomedIds.root + " 0 " + SnomedIds.isa, rows.get(0));
+		assertEquals("102 103 1 201", rows.get(2));
+		assertEquals("102 104 0 202", rows.get(3));
+		for (int chunks : List.of(2, 3, 7, 64)) {
+			assertEquals(rows, read(file, chunks));
+		}
+	}
+
+	@Test
+	public void isaAndRoles() throws Exception {
+		Path file = writeRelationships();
+		SnomedRoles roles = new SnomedRoles();
+		SnomedIsa isa = SnomedIsa.init(file, roles);
+		assertEquals(Set.of(101l), isa.getParents(102));
+		assertEquals(Set.of(SnomedIds.root), isa.getAncestors(101));
+		assertEquals(103, isa.getOrderedConcepts().size());
+		assertEquals(2, roles.getRoles(102).size());
+		assertEquals(1, roles.getGroupedRoles(102).size());
+		assertEquals(104, roles.getUngroupedRoles(102).getFirst().destinationId);
+		assertEquals(isa.getParentsMap(), SnomedIsa.init(file).getParentsMap());
+		assertEquals(2, SnomedRoles.init(file).getRoles(102).size());
+	}
+
+	@Test
+	public void concreteValues() throws Exception {
+		Path file = dir.resolve("values.txt");
+		Files.writeString(file,
+				header.replace("destinationId", "value") + "\n"
+						+ "1\t20210301\t1\t900000000000207008\t102\t#10\t1\t301\t900000000000011006\t900000000000451002\n"
+						+ "2\t20210301\t1\t900000000000207008\t102\t#2.5\t0\t302\t900000000000011006\t900000000000451002\n"
+						+ "3\t20210301\t0\t900000000000207008\t102\t#3\t0\t303\t900000000000011006\t900000000000451002\n");
+		SnomedConcreteRoles values = SnomedConcreteRoles.init(file);
+		assertEquals(2, values.getConcreteRoles(102).size());
+		assertEquals("#10", values.getGroupedConcreteRoles(102).getFirst().value);
+		assertEquals("#2.5", values.getUngroupedConcreteRoles(102).getFirst().value);
+	}
+
+	@Test
+	public void malformed() throws Exception {
+		Path file = dir.resolve("malformed.txt");
+		Files.writeString(file, header + "\n" + "1\t20210301\t1\t900000000000207008\t10x\t101\t0\t202\n");
+		assertThrows(IOException.class, () -> read(file, 1));
+		Files.writeString(file, header + "\n" + "1\t20210301\t1\t900000000000207008\t102\t101\n");
+		assertThrows(IOException.class, () -> read(file, 1));
+	}
+
+}
@@ -0,0 +1,154 @@
+package dev.ikm.elk.snomed.owl;
+
+/*-
+ * #%L
+ * ELK Integration with SNOMED
+ * %%
+ * Copyright (C) 2023 Integrated Knowledge Management
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+
+import dev.ikm.elk.snomed.SnomedIsa;
+
+public class SnomedIsaTest {
+
+	private static final long root = SnomedIsa.root;
+
+	// root <- 1 <- 3 <- 5
+	// root <- 2 <- 3
+	// root <- 2 <- 4 <- 5
+	private HashMap<Long, Set<Long>> getIsas() {
+		HashMap<Long, Set<Long>> isas = new HashMap<>();
+		isas.put(root, Set.of());
+		isas.put(1l, Set.of(root));
+		isas.put(2l, Set.of(root));
+		isas.put(3l, Set.of(1l, 2l));
+		isas.put(4l, Set.of(2l));
+		isas.put(5l, Set.of(3l, 4l));
+		return isas;
+	}
+
+	@Test
+	public void parents() {
+		SnomedIsa isas = SnomedIsa.init(getIsas());
+		assertEquals(Set.of(), isas.getParents(root));
+		assertEquals(Set.of(1l, 2l), isas.getParents(3));
+		assertArrayEquals(new long[] { 1, 2 }, isas.getParentIds(3));
+		assertTrue(isas.hasParent(5, 4));
+		assertFalse(isas.hasParent(5, 2));
+		assertFalse(isas.hasParent(42, 2));
+		assertEquals(Set.of(), isas.getParents(42));
+		assertArrayEquals(new long[0], isas.getParentIds(42));
+	}
+
+	@Test
+	public void children() {
+		SnomedIsa isas = SnomedIsa.init(getIsas());
+		assertEquals(Set.of(1l, 2l), isas.getChildren(root));
+		assertEquals(Set.of(3l, 4l), isas.getChildren(2));
+		assertArrayEquals(new long[] { 3, 4 }, isas.getChildIds(2));
+		assertTrue(isas.hasChild(4, 5));
+		assertFalse(isas.hasChild(5, 4));
+		assertEquals(Set.of(), isas.getChildren(5));
+	}
+
+	@Test
+	public void ancestors() {
+		SnomedIsa isas = SnomedIsa.init(getIsas());
+		assertEquals(Set.of(), isas.getAncestors(root));
+		assertEquals(Set.of(root, 1l, 2l, 3l, 4l), isas.getAncestors(5));
+		assertEquals(5, isas.getAncestorIds(5).length);
+		assertTrue(isas.hasAncestor(5, root));
+		assertTrue(isas.hasAncestor(5, 1));
+		assertTrue(isas.hasAncestor(4, 2));
+		assertFalse(isas.hasAncestor(4, 1));
+		assertFalse(isas.hasAncestor(1, 5));
+		assertFalse(isas.hasAncestor(5, 5));
+	}
+
+	@Test
+	public void descendants() {
+		SnomedIsa isas = SnomedIsa.init(getIsas());
+		assertEquals(Set.of(1l, 2l, 3l, 4l, 5l), isas.getDescendants(root));
+		assertEquals(Set.of(3l, 4l, 5l), isas.getDescendants(2));
+		assertArrayEquals(new long[] { 3, 5 }, isas.getDescendantIds(1));
+		assertTrue(isas.hasDescendant(1, 5));
+		assertFalse(isas.hasDescendant(1, 4));
+		assertFalse(isas.hasDescendant(5, 1));
+	}
+
+	@Test
+	public void orderedConcepts() {
+		SnomedIsa isas = SnomedIsa.init(getIsas());
+		List<Long> ordered = isas.getOrderedConcepts();
+		assertEquals(6, ordered.size());
+		assertEquals(root, ordered.getFirst());
+		HashSet<Long> priors = new HashSet<>();
+		for (long con : isas.getOrderedConceptIds()) {
+			assertTrue(priors.containsAll(isas.getParents(con)));
+			priors.add(con);
+		}
+	}
+
+	@Test
+	public void ancestorIndex() {
+		SnomedIsa isas = SnomedIsa.init(getIsas());
+		SnomedIsa indexed = SnomedIsa.init(getIsas());
+		indexed.initAncestorIndex();
+		assertFalse(isas.hasAncestorIndex());
+		assertTrue(indexed.hasAncestorIndex());
+		List<Long> cons = List.of(root, 1l, 2l, 3l, 4l, 5l, 42l);
+		for (long con1 : cons) {
+			assertEquals(isas.getAncestors(con1), indexed.getAncestors(con1));
+			assertArrayEquals(isas.getAncestorIds(con1), indexed.getAncestorIds(con1));
+			for (long con2 : cons) {
+				assertEquals(isas.hasAncestor(con1, con2), indexed.hasAncestor(con1, con2));
+				assertEquals(isas.hasDescendant(con1, con2), indexed.hasDescendant(con1, con2));
+			}
+		}
+	}
+
+	@Test
+	public void ancestorIndexCycle() {
+		HashMap<Long, Set<Long>> isas = getIsas();
+		isas.put(6l, Set.of(5l, 7l));
+		isas.put(7l, Set.of(6l));
+		SnomedIsa indexed = SnomedIsa.init(isas);
+		indexed.initAncestorIndex();
+		assertTrue(indexed.hasAncestor(6, root));
+		assertTrue(indexed.hasAncestor(7, 5));
+		assertTrue(indexed.hasAncestor(7, 7));
+		assertTrue(indexed.hasDescendant(root, 7));
+		assertEquals(Set.of(root, 1l, 2l, 3l, 4l, 5l, 6l, 7l), indexed.getAncestors(7));
+	}
+
+	@Test
+	public void parentsMap() {
+		assertEquals(getIsas(), SnomedIsa.init(getIsas()).getParentsMap());
+	}
+
+}
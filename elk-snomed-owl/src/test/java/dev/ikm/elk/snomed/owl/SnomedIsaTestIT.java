@@ -20,11 +20,13 @@
  * #L%
  */
 
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import java.util.HashSet;
+import java.util.List;
 
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.Test;
@@ -114,6 +116,33 @@ public void hasChild() {
 		}
 	}
 
+	@Test
+	public void ancestorIndex() {
+		SnomedIsa indexed = SnomedIsa.init(isas.getParentsMap());
+		long beg = System.currentTimeMillis();
+		indexed.initAncestorIndex();
+		LOG.info("Index in " + (System.currentTimeMillis() - beg) + " ms");
+		long[] cons = isas.getOrderedConceptIds();
+		for (long con : cons) {
+			assertArrayEquals(isas.getAncestorIds(con), indexed.getAncestorIds(con));
+		}
+		// every concept against its own ancestors and against the ancestors of the
+		// next concept in the ordering, so both hits and misses are measured
+		for (SnomedIsa isa : List.of(isas, indexed, isas, indexed)) {
+			int hits = 0;
+			beg = System.currentTimeMillis();
+			for (int i = 0; i < cons.length; i++) {
+				long con = cons[i];
+				for (long anc : indexed.getAncestorIds(cons[(i + 1) % cons.length])) {
+					if (isa.hasAncestor(con, anc))
+						hits++;
+				}
+			}
+			LOG.info((isa.hasAncestorIndex() ? "Indexed" : "DFS") + " hasAncestor in "
+					+ (System.currentTimeMillis() - beg) + " ms" + " hits " + hits);
+		}
+	}
+
 	@Test
 	public void checkPriors() {
 		HashSet<Long> priors = new HashSet<>();
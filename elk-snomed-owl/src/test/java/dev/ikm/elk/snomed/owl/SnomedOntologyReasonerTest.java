@@ -0,0 +1,153 @@
+package dev.ikm.elk.snomed.owl;
+
+/*-
+ * #%L
+ * ELK Integration with SNOMED
+ * %%
+ * Copyright (C) 2023 Integrated Knowledge Management
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+import org.semanticweb.elk.owl.interfaces.ElkAxiom;
+
+import dev.ikm.elk.snomed.SnomedIsa;
+import dev.ikm.elk.snomed.SnomedOntology;
+import dev.ikm.elk.snomed.SnomedOntologyReasoner;
+import dev.ikm.elk.snomed.model.Concept;
+import dev.ikm.elk.snomed.model.Definition;
+import dev.ikm.elk.snomed.model.DefinitionType;
+import dev.ikm.elk.snomed.model.RoleType;
+
+public class SnomedOntologyReasonerTest {
+
+	private SnomedOntology load(String file) throws Exception {
+		SnomedOwlOntology ontology = SnomedOwlOntology.createOntology();
+		ontology.loadOntology(Files.readAllLines(Paths.get("src/test/resources", file)));
+		return new OwlTransformer().transform(ontology);
+	}
+
+	private void incremental(String file) throws Exception {
+		SnomedOntology ontology = load(file);
+		SnomedOntologyReasoner sor = SnomedOntologyReasoner.create(ontology);
+		for (Concept con : ontology.getConcepts()) {
+			if (con.getDefinitions().isEmpty())
+				continue;
+			assertEquals(con.getDefinitions().size(), sor.getConceptAxioms(con.getId()).size());
+			List<Definition> defs = List.copyOf(con.getDefinitions());
+			con.removeAllDefinitions();
+			sor.process(con);
+			sor.flush();
+			assertTrue(sor.getConceptAxioms(con.getId()).isEmpty());
+			assertEquals(SnomedOntologyReasoner.create(ontology).getSuperConcepts(), sor.getSuperConcepts());
+			defs.forEach(con::addDefinition);
+			sor.process(con);
+			sor.flush();
+			assertEquals(SnomedOntologyReasoner.create(ontology).getSuperConcepts(), sor.getSuperConcepts());
+		}
+	}
+
+	@Test
+	public void incremental() throws Exception {
+		incremental("NecessaryNormalForm.owl");
+	}
+
+	@Test
+	public void incrementalGrouped() throws Exception {
+		incremental("NecessaryNormalFormGrouped.owl");
+	}
+
+	@Test
+	public void incrementalDataHasValue() throws Exception {
+		incremental("NecessaryNormalFormDataHasValue.owl");
+	}
+
+	@Test
+	public void incrementalOverlapping() throws Exception {
+		SnomedOntology ontology = load("NecessaryNormalForm.owl");
+		SnomedOntologyReasoner sor = SnomedOntologyReasoner.create(ontology);
+		List<Concept> concepts = ontology.getConcepts().stream().filter(con -> !con.getDefinitions().isEmpty())
+				.toList();
+		Concept sup = concepts.getFirst();
+		for (Concept con : concepts.subList(1, concepts.size())) {
+			List<ElkAxiom> axioms = List.copyOf(sor.getConceptAxioms(con.getId()));
+			// the new axioms keep the previous ones
+			Definition def = new Definition();
+			def.setDefinitionType(DefinitionType.SubConcept);
+			def.addSuperConcept(sup);
+			con.addDefinition(def);
+			sor.process(con);
+			sor.flush();
+			assertTrue(sor.getConceptAxioms(con.getId()).containsAll(axioms));
+			assertEquals(axioms.size() + 1, sor.getConceptAxioms(con.getId()).size());
+			assertEquals(SnomedOntologyReasoner.create(ontology).getSuperConcepts(), sor.getSuperConcepts());
+			// and the previous axioms keep all but the added one
+			List<Definition> defs = List.copyOf(con.getDefinitions());
+			con.removeAllDefinitions();
+			defs.stream().filter(x -> x != def).forEach(con::addDefinition);
+			sor.process(con);
+			sor.flush();
+			assertEquals(axioms, sor.getConceptAxioms(con.getId()));
+			assertEquals(SnomedOntologyReasoner.create(ontology).getSuperConcepts(), sor.getSuperConcepts());
+		}
+	}
+
+	private void bulk(String file) throws Exception {
+		SnomedOntology ontology = load(file);
+		SnomedOntologyReasoner sor = SnomedOntologyReasoner.create(ontology);
+		HashMap<Long, Set<Long>> superConcepts = new HashMap<>();
+		for (Concept con : ontology.getConcepts()) {
+			superConcepts.put(con.getId(), sor.getSuperConcepts(con.getId()));
+		}
+		assertEquals(superConcepts, sor.getSuperConcepts());
+		SnomedIsa isa = sor.getSuperConceptsIsa();
+		for (Concept con : ontology.getConcepts()) {
+			assertEquals(superConcepts.get(con.getId()), new HashSet<>(isa.getParents(con.getId())));
+		}
+		for (boolean direct : List.of(true, false)) {
+			HashMap<Long, Set<Long>> superRoleTypes = new HashMap<>();
+			for (RoleType rt : ontology.getRoleTypes()) {
+				superRoleTypes.put(rt.getId(), sor.getSuperRoleTypes(rt.getId(), direct));
+			}
+			assertEquals(superRoleTypes, sor.getSuperRoleTypes(direct));
+		}
+	}
+
+	@Test
+	public void bulk() throws Exception {
+		bulk("NecessaryNormalForm.owl");
+	}
+
+	@Test
+	public void bulkGrouped() throws Exception {
+		bulk("NecessaryNormalFormGrouped.owl");
+	}
+
+	@Test
+	public void bulkPropertyChain() throws Exception {
+		bulk("NecessaryNormalFormPropertyChain.owl");
+	}
+
+}
@@ -0,0 +1,163 @@
+package dev.ikm.elk.snomed.owl;
+
+/*-
+ * #%L
+ * ELK Integration with SNOMED
+ * %%
+ * Copyright (C) 2023 Integrated Knowledge Management
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.HashSet;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import dev.ikm.elk.snomed.SnomedOntology;
+import dev.ikm.elk.snomed.SnomedOntologySnapshot;
+import dev.ikm.elk.snomed.model.Concept;
+import dev.ikm.elk.snomed.model.ConcreteRoleType;
+import dev.ikm.elk.snomed.model.Definition;
+import dev.ikm.elk.snomed.model.RoleGroup;
+import dev.ikm.elk.snomed.model.RoleType;
+
+public class SnomedOntologySnapshotTest {
+
+	@TempDir
+	Path dir;
+
+	public static void assertSameOntology(SnomedOntology expected, SnomedOntology actual) {
+		assertEquals(expected.getRoleTypes().size(), actual.getRoleTypes().size());
+		for (RoleType rt : expected.getRoleTypes()) {
+			RoleType act = actual.getRoleType(rt.getId());
+			assertEquals(rt.getName(), act.getName());
+			assertEquals(rt.isTransitive(), act.isTransitive());
+			assertEquals(rt.isReflexive(), act.isReflexive());
+			assertEquals(rt.getChained(), act.getChained());
+			assertEquals(rt.getSuperRoleTypes(), act.getSuperRoleTypes());
+		}
+		assertEquals(expected.getConcreteRoleTypes().size(), actual.getConcreteRoleTypes().size());
+		for (ConcreteRoleType crt : expected.getConcreteRoleTypes()) {
+			ConcreteRoleType act = actual.getConcreteRoleType(crt.getId());
+			assertEquals(crt.getName(), act.getName());
+			assertEquals(crt.getSuperConcreteRoleTypes(), act.getSuperConcreteRoleTypes());
+		}
+		assertEquals(expected.getConcepts().size(), actual.getConcepts().size());
+		for (Concept con : expected.getConcepts()) {
+			Concept act = actual.getConcept(con.getId());
+			assertEquals(con.getName(), act.getName());
+			assertSameDefinitions(con.getDefinitions(), act.getDefinitions());
+			assertSameDefinitions(con.getGciDefinitions(), act.getGciDefinitions());
+		}
+	}
+
+	private static void assertSameDefinitions(List<Definition> expected, List<Definition> actual) {
+		assertEquals(expected.size(), actual.size());
+		for (int i = 0; i < expected.size(); i++) {
+			Definition exp = expected.get(i);
+			Definition act = actual.get(i);
+			assertEquals(exp.getDefinitionType(), act.getDefinitionType());
+			assertEquals(exp.getSuperConcepts(), act.getSuperConcepts());
+			assertEquals(exp.getUngroupedRoles(), act.getUngroupedRoles());
+			assertEquals(exp.getUngroupedConcreteRoles(), act.getUngroupedConcreteRoles());
+			// role groups may be filled after being added, rehash before comparing
+			assertEquals(new HashSet<>(exp.getRoleGroups()), new HashSet<>(act.getRoleGroups()));
+			// role groups are equal by their roles only
+			assertEquals(exp.getRoleGroups().stream().map(RoleGroup::getConcreteRoles).collect(Collectors.toSet()),
+					act.getRoleGroups().stream().map(RoleGroup::getConcreteRoles).collect(Collectors.toSet()));
+		}
+	}
+
+	private SnomedOntology load(String file) throws Exception {
+		SnomedOwlOntology ontology = SnomedOwlOntology.createOntology();
+		ontology.loadOntology(Files.readAllLines(Paths.get("src/test/resources", file)));
+		return new OwlTransformer().transform(ontology);
+	}
+
+	private void roundTrip(String file) throws Exception {
+		SnomedOntology ontology = load(file);
+		Path snapshot = dir.resolve("ontology.bin");
+		SnomedOntologySnapshot.write(ontology, snapshot);
+		assertSameOntology(ontology, SnomedOntologySnapshot.read(snapshot));
+	}
+
+	@Test
+	public void roundTrip() throws Exception {
+		roundTrip("NecessaryNormalForm.owl");
+	}
+
+	@Test
+	public void roundTripGrouped() throws Exception {
+		roundTrip("NecessaryNormalFormGrouped.owl");
+	}
+
+	@Test
+	public void roundTripPropertyChain() throws Exception {
+		roundTrip("NecessaryNormalFormPropertyChain.owl");
+	}
+
+	@Test
+	public void roundTripDataHasValue() throws Exception {
+		roundTrip("NecessaryNormalFormDataHasValue.owl");
+	}
+
+	@Test
+	public void concurrentDefinitions() throws Exception {
+		SnomedOntology ontology = load("NecessaryNormalFormGrouped.owl");
+		Path snapshot = dir.resolve("ontology.bin");
+		SnomedOntologySnapshot.write(ontology, snapshot);
+		// the definitions of every concept are first loaded by several threads
+		for (int n = 0; n < 100; n++) {
+			SnomedOntology read = SnomedOntologySnapshot.read(snapshot);
+			ExecutorService executor = Executors.newFixedThreadPool(4);
+			try {
+				Callable<Void> reader = () -> {
+					for (Concept con : ontology.getConcepts()) {
+						Concept act = read.getConcept(con.getId());
+						assertEquals(con.getDefinitions().size(), act.getDefinitions().size());
+						assertEquals(con.getGciDefinitions().size(), act.getGciDefinitions().size());
+					}
+					return null;
+				};
+				for (Future<Void> result : executor.invokeAll(List.of(reader, reader, reader, reader)))
+					result.get();
+			} finally {
+				executor.shutdown();
+			}
+			assertSameOntology(ontology, read);
+		}
+	}
+
+	@Test
+	public void notSnapshot() throws Exception {
+		Path file = dir.resolve("ontology.bin");
+		Files.writeString(file, "Ontology(<http://snomed.info/sct/900000000000207008>)");
+		assertThrows(IOException.class, () -> SnomedOntologySnapshot.read(file));
+	}
+
+}
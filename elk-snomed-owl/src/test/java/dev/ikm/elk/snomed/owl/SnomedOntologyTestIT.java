@@ -25,6 +25,8 @@
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.List;
 import java.util.Set;
 import java.util.TreeSet;
@@ -43,6 +45,8 @@
 import org.slf4j.LoggerFactory;
 
 import dev.ikm.elk.snomed.SnomedIsa;
+import dev.ikm.elk.snomed.SnomedOntology;
+import dev.ikm.elk.snomed.SnomedOntologySnapshot;
 
 public class SnomedOntologyTestIT extends SnomedTestBase {
 
@@ -132,6 +136,25 @@ public void classify() throws Exception {
 		ontology.classify();
 	}
 
+	@Test
+	public void snapshot() throws Exception {
+		SnomedOwlOntology ontology = SnomedOwlOntology.createOntology();
+		ontology.loadOntology(axioms_file);
+		SnomedOntology snomedOntology = new OwlTransformer().transform(ontology);
+		Path file = Files.createTempFile("snomed-ontology", ".bin");
+		try {
+			long beg = System.currentTimeMillis();
+			SnomedOntologySnapshot.write(snomedOntology, file);
+			LOG.info("Write: " + (System.currentTimeMillis() - beg) + " ms " + Files.size(file) + " bytes");
+			beg = System.currentTimeMillis();
+			SnomedOntology snapshot = SnomedOntologySnapshot.read(file);
+			LOG.info("Read: " + (System.currentTimeMillis() - beg) + " ms");
+			SnomedOntologySnapshotTest.assertSameOntology(snomedOntology, snapshot);
+		} finally {
+			Files.delete(file);
+		}
+	}
+
 	@Test
 	public void isas() throws Exception {
 		TreeSet<Long> misses = new TreeSet<>();
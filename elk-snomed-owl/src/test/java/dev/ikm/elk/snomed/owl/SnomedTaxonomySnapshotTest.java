@@ -0,0 +1,157 @@
+package dev.ikm.elk.snomed.owl;
+
+/*-
+ * #%L
+ * ELK Integration with SNOMED
+ * %%
+ * Copyright (C) 2023 Integrated Knowledge Management
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Arrays;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import dev.ikm.elk.snomed.SnomedOntology;
+import dev.ikm.elk.snomed.SnomedOntologyReasoner;
+import dev.ikm.elk.snomed.SnomedOntologySnapshot;
+import dev.ikm.elk.snomed.SnomedTaxonomySnapshot;
+import dev.ikm.elk.snomed.model.Concept;
+import dev.ikm.elk.snomed.model.RoleType;
+
+public class SnomedTaxonomySnapshotTest {
+
+	@TempDir
+	Path dir;
+
+	private SnomedOntology load(String file) throws Exception {
+		SnomedOwlOntology ontology = SnomedOwlOntology.createOntology();
+		ontology.loadOntology(Files.readAllLines(Paths.get("src/test/resources", file)));
+		return new OwlTransformer().transform(ontology);
+	}
+
+	public static void assertSameTaxonomy(SnomedOntology ontology, SnomedOntologyReasoner expected,
+			SnomedOntologyReasoner actual) {
+		assertEquals(expected.getSuperConcepts(), actual.getSuperConcepts());
+		for (Concept con : ontology.getConcepts()) {
+			assertEquals(expected.getSubConcepts(con.getId()), actual.getSubConcepts(con.getId()));
+			assertEquals(expected.getSubConcepts(con.getId(), false), actual.getSubConcepts(con.getId(), false));
+			assertEquals(expected.getEquivalentConcepts(con.getId()), actual.getEquivalentConcepts(con.getId()));
+		}
+		assertEquals(expected.getSuperRoleTypes(true), actual.getSuperRoleTypes(true));
+		assertEquals(expected.getSuperRoleTypes(false), actual.getSuperRoleTypes(false));
+	}
+
+	private void restore(String file) throws Exception {
+		SnomedOntology ontology = load(file);
+		SnomedOntologyReasoner sor = SnomedOntologyReasoner.create(ontology);
+		Path taxonomy = dir.resolve("taxonomy.bin");
+		sor.writeTaxonomy(taxonomy);
+		SnomedOntologyReasoner restored = SnomedOntologyReasoner.create(load(file), taxonomy);
+		assertTrue(restored.isTaxonomyRestored());
+		assertSameTaxonomy(ontology, sor, restored);
+		// flushing an unchanged ontology keeps the restored taxonomy
+		restored.flush();
+		assertTrue(restored.isTaxonomyRestored());
+	}
+
+	@Test
+	public void restore() throws Exception {
+		restore("NecessaryNormalForm.owl");
+	}
+
+	@Test
+	public void restoreSubProperty() throws Exception {
+		restore("NecessaryNormalFormSubProperty.owl");
+	}
+
+	@Test
+	public void restorePropertyChain() throws Exception {
+		restore("NecessaryNormalFormPropertyChain.owl");
+	}
+
+	@Test
+	public void differentOntology() throws Exception {
+		Path taxonomy = dir.resolve("taxonomy.bin");
+		SnomedOntologyReasoner.create(load("NecessaryNormalForm.owl")).writeTaxonomy(taxonomy);
+		SnomedOntology ontology = load("NecessaryNormalFormGrouped.owl");
+		SnomedOntologyReasoner sor = SnomedOntologyReasoner.create(ontology, taxonomy);
+		assertFalse(sor.isTaxonomyRestored());
+		assertSameTaxonomy(ontology, SnomedOntologyReasoner.create(ontology), sor);
+	}
+
+	@Test
+	public void change() throws Exception {
+		SnomedOntology ontology = load("NecessaryNormalForm.owl");
+		Path taxonomy = dir.resolve("taxonomy.bin");
+		SnomedOntologyReasoner.create(ontology).writeTaxonomy(taxonomy);
+		SnomedOntologyReasoner sor = SnomedOntologyReasoner.create(ontology, taxonomy);
+		assertTrue(sor.isTaxonomyRestored());
+		// remove the definitions of the most specific concept
+		Concept con = ontology.getConcepts().stream().filter(x -> sor.getSubConcepts(x.getId()).isEmpty())
+				.filter(x -> !x.getDefinitions().isEmpty()).findFirst().get();
+		con.removeAllDefinitions();
+		sor.process(con);
+		sor.flush();
+		assertFalse(sor.isTaxonomyRestored());
+		assertEquals(SnomedOntologyReasoner.create(ontology).getSuperConcepts(), sor.getSuperConcepts());
+	}
+
+	@Test
+	public void verify() throws Exception {
+		SnomedOntology ontology = load("NecessaryNormalFormPropertyChain.owl");
+		Path taxonomy = dir.resolve("taxonomy.bin");
+		SnomedOntologyReasoner.create(ontology).writeTaxonomy(taxonomy);
+		SnomedOntologyReasoner sor = SnomedOntologyReasoner.create(ontology, taxonomy);
+		assertTrue(sor.verifyTaxonomy());
+		assertFalse(sor.isTaxonomyRestored());
+	}
+
+	@Test
+	public void verifyMismatch() throws Exception {
+		SnomedOntology ontology = load("NecessaryNormalForm.owl");
+		Path taxonomy = dir.resolve("taxonomy.bin");
+		SnomedOntologyReasoner.create(ontology).writeTaxonomy(taxonomy);
+		SnomedTaxonomySnapshot read = SnomedTaxonomySnapshot.read(taxonomy);
+		new SnomedTaxonomySnapshot(read.getOntologyHash(), read.getClassTaxonomyHash() + 1,
+				read.getObjectPropertyTaxonomyHash(), read.getSuperConcepts(), read.getSubConcepts(),
+				read.getEquivalentConcepts(), read.getSuperRoleTypes(true), read.getSuperRoleTypes(false))
+				.write(taxonomy);
+		SnomedOntologyReasoner sor = SnomedOntologyReasoner.create(ontology, taxonomy);
+		assertTrue(sor.isTaxonomyRestored());
+		assertFalse(sor.verifyTaxonomy());
+	}
+
+	@Test
+	public void ontologyHash() throws Exception {
+		SnomedOntology ontology = load("NecessaryNormalFormGrouped.owl");
+		Path snapshot = dir.resolve("ontology.bin");
+		SnomedOntologySnapshot.write(ontology, snapshot);
+		SnomedOntology read = SnomedOntologySnapshot.read(snapshot);
+		assertTrue(Arrays.equals(SnomedTaxonomySnapshot.hash(ontology), SnomedTaxonomySnapshot.hash(read)));
+		RoleType rt = read.getRoleTypes().getFirst();
+		rt.setTransitive(!rt.isTransitive());
+		assertFalse(Arrays.equals(SnomedTaxonomySnapshot.hash(ontology), SnomedTaxonomySnapshot.hash(read)));
+	}
+
+}
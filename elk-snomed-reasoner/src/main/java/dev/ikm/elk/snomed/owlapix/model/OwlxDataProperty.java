@@ -0,0 +1,62 @@
+package dev.ikm.elk.snomed.owlapix.model;
+
+/*-
+ * #%L
+ * ELK Reasoner for SNOMED
+ * %%
+ * Copyright (C) 2023 - 2024 Integrated Knowledge Management
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import org.semanticweb.elk.owl.interfaces.ElkDataProperty;
+import org.semanticweb.elk.owl.iris.ElkIri;
+import org.semanticweb.elk.owl.predefined.ElkEntityType;
+import org.semanticweb.elk.owl.visitors.ElkDataPropertyExpressionVisitor;
+import org.semanticweb.elk.owl.visitors.ElkDataPropertyVisitor;
+import org.semanticweb.elk.owl.visitors.ElkEntityVisitor;
+import org.semanticweb.elk.owl.visitors.ElkObjectVisitor;
+
+public class OwlxDataProperty extends OwlxEntity implements ElkDataProperty {
+
+	OwlxDataProperty(long id, ElkIri iri) {
+		super(id, iri);
+	}
+
+	@Override
+	public ElkEntityType getEntityType() {
+		return ElkEntityType.DATA_PROPERTY;
+	}
+
+	@Override
+	public <O> O accept(ElkDataPropertyExpressionVisitor<O> visitor) {
+		return accept((ElkDataPropertyVisitor<O>) visitor);
+	}
+
+	@Override
+	public <O> O accept(ElkEntityVisitor<O> visitor) {
+		return accept((ElkDataPropertyVisitor<O>) visitor);
+	}
+
+	@Override
+	public <O> O accept(ElkObjectVisitor<O> visitor) {
+		return accept((ElkDataPropertyVisitor<O>) visitor);
+	}
+
+	@Override
+	public <O> O accept(ElkDataPropertyVisitor<O> visitor) {
+		return visitor.visit(this);
+	}
+
+}
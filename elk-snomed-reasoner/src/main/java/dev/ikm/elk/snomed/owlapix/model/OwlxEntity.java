@@ -0,0 +1,56 @@
+package dev.ikm.elk.snomed.owlapix.model;
+
+/*-
+ * #%L
+ * ELK Reasoner for SNOMED
+ * %%
+ * Copyright (C) 2023 - 2024 Integrated Knowledge Management
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import org.semanticweb.elk.owl.interfaces.ElkEntity;
+import org.semanticweb.elk.owl.iris.ElkIri;
+import org.semanticweb.elk.owl.predefined.AbstractElkObject;
+
+/**
+ * An entity named by a SNOMED id. The id is kept with the entity so that it
+ * need not be parsed from the IRI.
+ */
+public abstract class OwlxEntity extends AbstractElkObject implements ElkEntity {
+
+	private final long id;
+
+	private final ElkIri iri;
+
+	OwlxEntity(long id, ElkIri iri) {
+		this.id = id;
+		this.iri = iri;
+	}
+
+	public long getId() {
+		return id;
+	}
+
+	@Override
+	public ElkIri getIri() {
+		return iri;
+	}
+
+	@Override
+	public String toString() {
+		return iri.toString();
+	}
+
+}
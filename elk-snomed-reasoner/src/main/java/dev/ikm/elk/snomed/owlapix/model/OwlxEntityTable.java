@@ -0,0 +1,83 @@
+package dev.ikm.elk.snomed.owlapix.model;
+
+/*-
+ * #%L
+ * ELK Reasoner for SNOMED
+ * %%
+ * Copyright (C) 2023 - 2024 Integrated Knowledge Management
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import java.util.function.LongFunction;
+
+/**
+ * Interns entities by SNOMED id in an open addressing table with primitive
+ * keys, so finding an entity neither boxes the id nor builds an IRI.
+ * 
+ * @param <E> the type of the entities
+ */
+class OwlxEntityTable<E extends OwlxEntity> {
+
+	private final LongFunction<E> factory;
+
+	private long[] ids = new long[16];
+
+	private OwlxEntity[] entities = new OwlxEntity[16];
+
+	private int size = 0;
+
+	OwlxEntityTable(LongFunction<E> factory) {
+		this.factory = factory;
+	}
+
+	private static int hash(long id) {
+		long h = id * 0x9E3779B97F4A7C15L;
+		return (int) (h ^ (h >>> 32));
+	}
+
+	@SuppressWarnings("unchecked")
+	E get(long id) {
+		int mask = ids.length - 1;
+		int i = hash(id) & mask;
+		for (OwlxEntity entity; (entity = entities[i]) != null; i = (i + 1) & mask) {
+			if (ids[i] == id)
+				return (E) entity;
+		}
+		E entity = factory.apply(id);
+		ids[i] = id;
+		entities[i] = entity;
+		if (++size > ids.length / 2)
+			resize();
+		return entity;
+	}
+
+	private void resize() {
+		long[] oldIds = ids;
+		OwlxEntity[] oldEntities = entities;
+		ids = new long[oldIds.length * 2];
+		entities = new OwlxEntity[oldIds.length * 2];
+		int mask = ids.length - 1;
+		for (int j = 0; j < oldIds.length; j++) {
+			if (oldEntities[j] == null)
+				continue;
+			int i = hash(oldIds[j]) & mask;
+			while (entities[i] != null)
+				i = (i + 1) & mask;
+			ids[i] = oldIds[j];
+			entities[i] = oldEntities[j];
+		}
+	}
+
+}
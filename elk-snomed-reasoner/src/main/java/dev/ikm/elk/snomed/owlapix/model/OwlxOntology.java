@@ -1,5 +1,7 @@
 package dev.ikm.elk.snomed.owlapix.model;
 
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
@@ -10,6 +12,7 @@
 import org.semanticweb.elk.owl.interfaces.ElkClassExpression;
 import org.semanticweb.elk.owl.interfaces.ElkDataHasValue;
 import org.semanticweb.elk.owl.interfaces.ElkDataProperty;
+import org.semanticweb.elk.owl.interfaces.ElkEntity;
 import org.semanticweb.elk.owl.interfaces.ElkEquivalentClassesAxiom;
 import org.semanticweb.elk.owl.interfaces.ElkLiteral;
 import org.semanticweb.elk.owl.interfaces.ElkObject;
@@ -58,6 +61,14 @@ public class OwlxOntology implements OWLOntology, OWLOntologyManager {
 
 	private HashSet<ElkAxiom> axioms = new HashSet<>();
 
+	private OwlxEntityTable<OwlxClass> classTable = new OwlxEntityTable<>(id -> new OwlxClass(id, getIri(id)));
+
+	private OwlxEntityTable<OwlxObjectProperty> objectPropertyTable = new OwlxEntityTable<>(
+			id -> new OwlxObjectProperty(id, getIri(id)));
+
+	private OwlxEntityTable<OwlxDataProperty> dataPropertyTable = new OwlxEntityTable<>(
+			id -> new OwlxDataProperty(id, getIri(id)));
+
 	public ElkObject.Factory getObjectFactory() {
 		return objectFactory;
 	}
@@ -68,28 +79,58 @@ public Set<ElkAxiom> getAxioms() {
 
 	public boolean addAxiom(ElkAxiom axiom) {
 		boolean ret = axioms.add(axiom);
-		OWLOntologyChange change = OWLOntologyChange.createAdded(this, axiom);
-		for (OWLOntologyChangeListener listener : change_listeners) {
-			try {
-				listener.ontologiesChanged(List.of(change));
-			} catch (Exception ex) {
-				throw new RuntimeException(ex);
-			}
-		}
+		fireChanges(List.of(OWLOntologyChange.createAdded(this, axiom)));
 		return ret;
 	}
 
 	public boolean removeAxiom(ElkAxiom axiom) {
 		boolean ret = axioms.remove(axiom);
-		OWLOntologyChange change = OWLOntologyChange.createRemoved(this, axiom);
+		fireChanges(List.of(OWLOntologyChange.createRemoved(this, axiom)));
+		return ret;
+	}
+
+	/**
+	 * Adds the axioms notifying the listeners once about all changes
+	 * 
+	 * @param toAdd the axioms to add
+	 * @return {@code true} if the axioms of the ontology changed
+	 */
+	public boolean addAxioms(Collection<? extends ElkAxiom> toAdd) {
+		List<OWLOntologyChange> changes = new ArrayList<>(toAdd.size());
+		for (ElkAxiom axiom : toAdd)
+			changes.add(OWLOntologyChange.createAdded(this, axiom));
+		boolean ret = axioms.addAll(toAdd);
+		fireChanges(changes);
+		return ret;
+	}
+
+	/**
+	 * Removes the axioms notifying the listeners once about all changes
+	 * 
+	 * @param toRemove the axioms to remove
+	 * @return {@code true} if the axioms of the ontology changed
+	 */
+	public boolean removeAxioms(Collection<? extends ElkAxiom> toRemove) {
+		List<OWLOntologyChange> changes = new ArrayList<>(toRemove.size());
+		for (ElkAxiom axiom : toRemove)
+			changes.add(OWLOntologyChange.createRemoved(this, axiom));
+		boolean ret = false;
+		for (ElkAxiom axiom : toRemove)
+			ret |= axioms.remove(axiom);
+		fireChanges(changes);
+		return ret;
+	}
+
+	private void fireChanges(List<OWLOntologyChange> changes) {
+		if (changes.isEmpty())
+			return;
 		for (OWLOntologyChangeListener listener : change_listeners) {
 			try {
-				listener.ontologiesChanged(List.of(change));
+				listener.ontologiesChanged(changes);
 			} catch (Exception ex) {
 				throw new RuntimeException(ex);
 			}
 		}
-		return ret;
 	}
 
 	public OwlxOntology() {
@@ -118,6 +159,78 @@ private ElkAbbreviatedIri getIri(String name) {
 		return new ElkAbbreviatedIri(prefix, name);
 	}
 
+	private ElkAbbreviatedIri getIri(long id) {
+		return getIri(Long.toString(id));
+	}
+
+	public ElkClass getElkClass(long id) {
+		return classTable.get(id);
+	}
+
+	public ElkObjectProperty getElkObjectProperty(long id) {
+		return objectPropertyTable.get(id);
+	}
+
+	public ElkDataProperty getElkDataProperty(long id) {
+		return dataPropertyTable.get(id);
+	}
+
+	/**
+	 * @param entity an entity named by a SNOMED id
+	 * @return the id, taken from the entity if it was created by id
+	 */
+	public static long getId(ElkEntity entity) {
+		if (entity instanceof OwlxEntity x)
+			return x.getId();
+		return Long.parseLong(entity.getIri().toString().substring(1));
+	}
+
+	public ElkAxiom getElkSubObjectPropertyOfAxiom(long sub, long sup) {
+		return objectFactory.getSubObjectPropertyOfAxiom(getElkObjectProperty(sub), getElkObjectProperty(sup));
+	}
+
+	public ElkTransitiveObjectPropertyAxiom getElkTransitiveObjectPropertyAxiom(long id) {
+		return objectFactory.getTransitiveObjectPropertyAxiom(getElkObjectProperty(id));
+	}
+
+	public ElkAxiom getElkSubObjectPropertyChainOfAxiom(long id, long chain) {
+		ElkObjectPropertyChain ch = objectFactory
+				.getObjectPropertyChain(List.of(getElkObjectProperty(id), getElkObjectProperty(chain)));
+		return objectFactory.getSubObjectPropertyOfAxiom(ch, getElkObjectProperty(id));
+	}
+
+	public ElkReflexiveObjectPropertyAxiom getElkReflexiveObjectPropertyAxiom(long id) {
+		return objectFactory.getReflexiveObjectPropertyAxiom(getElkObjectProperty(id));
+	}
+
+	public ElkAxiom getElkSubDataPropertyOfAxiom(long sub, long sup) {
+		return objectFactory.getSubDataPropertyOfAxiom(getElkDataProperty(sub), getElkDataProperty(sup));
+	}
+
+	public ElkObjectSomeValuesFrom getElkObjectSomeValuesFrom(long prop, long filler) {
+		return getElkObjectSomeValuesFrom(prop, getElkClass(filler));
+	}
+
+	public ElkObjectSomeValuesFrom getElkObjectSomeValuesFrom(long prop, ElkClassExpression expr) {
+		return objectFactory.getObjectSomeValuesFrom(getElkObjectProperty(prop), expr);
+	}
+
+	public ElkEquivalentClassesAxiom getEquivalentClassesAxiom(long id, ElkClassExpression expr) {
+		return objectFactory.getEquivalentClassesAxiom(getElkClass(id), expr);
+	}
+
+	public ElkSubClassOfAxiom getSubClassOfAxiom(long id, ElkClassExpression expr) {
+		return getSubClassOfAxiom(getElkClass(id), expr);
+	}
+
+	public ElkSubClassOfAxiom getSubClassOfAxiom(ElkClassExpression expr, long id) {
+		return getSubClassOfAxiom(expr, getElkClass(id));
+	}
+
+	public ElkDataHasValue getDataHasValue(long id, ElkLiteral value) {
+		return objectFactory.getDataHasValue(getElkDataProperty(id), value);
+	}
+
 	public ElkClass getElkClass(String name) {
 		return elkClasses.computeIfAbsent(name, k -> objectFactory.getClass(getIri(name)));
 	}
@@ -34,6 +34,7 @@
 
 import org.semanticweb.elk.exceptions.ElkException;
 import org.semanticweb.elk.exceptions.ElkRuntimeException;
+import org.semanticweb.elk.loading.AxiomLoader;
 import org.semanticweb.elk.owl.interfaces.ElkAxiom;
 import org.semanticweb.elk.owl.interfaces.ElkClass;
 import org.semanticweb.elk.owl.interfaces.ElkClassExpression;
@@ -121,6 +122,11 @@ public class ElkReasoner {
 	private final boolean isAllowFreshEntities;
 	/** the ELK reasoner instance used for reasoning */
 	private Reasoner reasoner_;
+
+	/**
+	 * loads axioms in addition to those of the ontology, may be {@code null}
+	 */
+	private final AxiomLoader.Factory axiomLoaderFactory_;
 	/** listeners that monitor changes in some of the methods */
 	private final List<ChangeListener> changeListeners_ = new ArrayList<ChangeListener>();
 
@@ -136,8 +142,9 @@ public class ElkReasoner {
 	private boolean ontologyReloadRequired_;
 
 	private ElkReasoner(OWLOntology ontology, boolean isBufferingMode, ElkReasonerConfiguration elkConfig,
-			final Reasoner internalReasoner) {
+			final Reasoner internalReasoner, AxiomLoader.Factory axiomLoaderFactory) {
 		this.owlOntology_ = ontology;
+		this.axiomLoaderFactory_ = axiomLoaderFactory;
 		this.owlOntologymanager_ = ontology.getOWLOntologyManager();
 		this.mainProgressMonitor_ = elkConfig.getProgressMonitor() == null ? new DummyProgressMonitor()
 				: new ElkReasonerProgressMonitor(elkConfig.getProgressMonitor());
@@ -171,9 +178,26 @@ private ElkReasoner(OWLOntology ontology, boolean isBufferingMode, ElkReasonerCo
 //	}
 
 	public static ElkReasoner createReasoner(OWLOntology ontology, ElkObject.Factory factory) {
+		return createReasoner(ontology, factory, null);
+	}
+
+	/**
+	 * Creates a reasoner that initially loads the axioms of the given loader
+	 * together with those of the ontology. This way axioms can be passed to ELK
+	 * without storing them in the ontology, later changes are still taken from
+	 * the ontology.
+	 * 
+	 * @param ontology           the ontology
+	 * @param factory            the factory of the ontology objects
+	 * @param axiomLoaderFactory creates the loader of the additional axioms, may
+	 *                           be {@code null}
+	 * @return the reasoner
+	 */
+	public static ElkReasoner createReasoner(OWLOntology ontology, ElkObject.Factory factory,
+			AxiomLoader.Factory axiomLoaderFactory) {
 		ElkReasonerConfiguration elkConfig = new ElkReasonerConfiguration();
 		Reasoner reasoner = new ReasonerFactory().createReasoner(factory, elkConfig.getElkConfiguration());
-		return new ElkReasoner(ontology, true, elkConfig, reasoner);
+		return new ElkReasoner(ontology, true, elkConfig, reasoner, axiomLoaderFactory);
 	}
 
 	OWLOntology getOWLOntology() {
@@ -187,6 +211,8 @@ ElkObject.Factory getElkObjectFactory() {
 	private void initReasoner(final Reasoner reasoner) {
 		this.reasoner_ = reasoner;
 		this.reasoner_.registerAxiomLoader(new OwlOntologyLoader.Factory(owlOntology_, this.mainProgressMonitor_));
+		if (axiomLoaderFactory_ != null)
+			this.reasoner_.registerAxiomLoader(axiomLoaderFactory_);
 		this.reasoner_.setAllowFreshEntities(isAllowFreshEntities);
 		// use the secondary progress monitor by default, when necessary, we
 		// switch to the primary progress monitor; this is to avoid bugs with
@@ -22,8 +22,10 @@
  */
 package dev.ikm.elk.snomed.reasoner;
 
+import java.util.ArrayList;
 import java.util.HashSet;
-import java.util.LinkedList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Set;
 
@@ -43,6 +45,11 @@
  * An {@link AxiomLoader} that accumulates the {@link OWLOntologyChange} and
  * provides them by converting through {@link OwlConverter}.
  * <p>
+ * The changes are coalesced by axiom when they are registered: a change
+ * cancels a pending opposite change of the same axiom, and repeated changes of
+ * the same kind are registered only once. Thus, an axiom that is removed and
+ * added again before the changes are loaded is not processed at all.
+ * <p>
  * One instance of this class may be registered with the reasoner only
  * <strong>once</strong>!
  * 
@@ -57,14 +64,17 @@ class OwlChangesLoaderFactory implements AxiomLoader.Factory {
 
 	private final ProgressMonitor progressMonitor;
 
-	/** list to accumulate the unprocessed changes to the ontology */
-	private final LinkedList<OWLOntologyChange> pendingChanges_;
+	/**
+	 * the unprocessed changes to the ontology, at most one for every axiom, in
+	 * the order of registration
+	 */
+	private final LinkedHashMap<ElkAxiom, OWLOntologyChange> pendingChanges_;
 
 	private Loader loader_ = null;
 
 	OwlChangesLoaderFactory(final ProgressMonitor progressMonitor) {
 		this.progressMonitor = progressMonitor;
-		this.pendingChanges_ = new LinkedList<OWLOntologyChange>();
+		this.pendingChanges_ = new LinkedHashMap<ElkAxiom, OWLOntologyChange>();
 	}
 
 	private synchronized void load(final InterruptMonitor interrupter,
@@ -77,13 +87,16 @@ private synchronized void load(final InterruptMonitor interrupter,
 			
 			LOGGER_.trace("{}: {}", status, changesCount);
 			
+			OwlOntologyChangeProcessorVisitor loader = new OwlOntologyChangeProcessorVisitor(
+					axiomInserter, axiomDeleter);
+			Iterator<OWLOntologyChange> changes = pendingChanges_.values()
+					.iterator();
 			int currentAxiom = 0;
-			for (;;) {
+			while (changes.hasNext()) {
 				if (interrupter.isInterrupted())
 					break;
-				OWLOntologyChange change = pendingChanges_.poll();
-				if (change == null)
-					break;
+				OWLOntologyChange change = changes.next();
+				changes.remove();
 				if (!change.isAxiomChange()) {
 					ElkLoadingException exception = new ElkLoadingException(
 							"Cannot apply non-axiom change!");
@@ -91,9 +104,6 @@ private synchronized void load(final InterruptMonitor interrupter,
 					throw exception;
 				}
 
-				OwlOntologyChangeProcessorVisitor loader = new OwlOntologyChangeProcessorVisitor(
-						axiomInserter, axiomDeleter);
-
 				loader.process(change);
 				ElkLoadingException error = loader.getError();
 
@@ -116,12 +126,21 @@ synchronized boolean isLoadingFinished() {
 	synchronized void registerChange(OWLOntologyChange change) {
 		LOGGER_.trace("Registering change: {}", change);
 
-		pendingChanges_.add(change);
+		ElkAxiom axiom = change.getAxiom();
+		OWLOntologyChange pending = pendingChanges_.get(axiom);
+		if (pending == null) {
+			pendingChanges_.put(axiom, change);
+		} else if (pending.isAddAxiom() != change.isAddAxiom()) {
+			// the changes cancel each other
+			LOGGER_.trace("Cancelling change: {}", pending);
+			pendingChanges_.remove(axiom);
+		}
+		// else the same change is already pending
 	}
 
-	Set<ElkAxiom> getPendingAxiomAdditions() {
+	synchronized Set<ElkAxiom> getPendingAxiomAdditions() {
 		Set<ElkAxiom> added = new HashSet<ElkAxiom>();
-		for (OWLOntologyChange change : pendingChanges_) {
+		for (OWLOntologyChange change : pendingChanges_.values()) {
 			if (change.isAddAxiom()) {
 				added.add(change.getAxiom());
 			}
@@ -129,9 +148,9 @@ Set<ElkAxiom> getPendingAxiomAdditions() {
 		return added;
 	}
 
-	Set<ElkAxiom> getPendingAxiomRemovals() {
+	synchronized Set<ElkAxiom> getPendingAxiomRemovals() {
 		Set<ElkAxiom> removed = new HashSet<ElkAxiom>();
-		for (OWLOntologyChange change : pendingChanges_) {
+		for (OWLOntologyChange change : pendingChanges_.values()) {
 			if (change.isRemoveAxiom()) {
 				removed.add(change.getAxiom());
 			}
@@ -139,8 +158,8 @@ Set<ElkAxiom> getPendingAxiomRemovals() {
 		return removed;
 	}
 
-	List<OWLOntologyChange> getPendingChanges() {
-		return pendingChanges_;
+	synchronized List<OWLOntologyChange> getPendingChanges() {
+		return new ArrayList<OWLOntologyChange>(pendingChanges_.values());
 	}
 
 	private class Loader extends AbstractAxiomLoader {
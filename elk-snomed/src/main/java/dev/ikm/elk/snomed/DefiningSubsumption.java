@@ -20,9 +20,10 @@
  * #L%
  */
 
+import java.util.Arrays;
 import java.util.HashMap;
-import java.util.HashSet;
 import java.util.Set;
+import java.util.stream.LongStream;
 
 import dev.ikm.elk.snomed.model.Concept;
 import dev.ikm.elk.snomed.model.Definition;
@@ -52,11 +53,12 @@ public boolean isSubsumedByStructural(Concept con1, Concept con2) {
 		Definition def2 = necessaryNormalForm.get(con2);
 //		LOG.info("s1:" + def1.getSuperConcepts());
 //		LOG.info("s2:" + def2.getSuperConcepts());
-		HashSet<Long> ancestors2 = definingIsa.getAncestors(con2.getId());
-		ancestors2.add(con2.getId());
-		ancestors2.removeIf(anc2 -> anc2 != SnomedIds.root && ontology.getConcept(anc2).getDefinitions().getFirst()
-				.getDefinitionType() == DefinitionType.EquivalentConcept);
-		if (!ancestors2.stream().allMatch(anc2 -> definingIsa.hasAncestor(con1.getId(), anc2)))
+		LongStream ancestors2 = LongStream.concat(LongStream.of(con2.getId()),
+				Arrays.stream(definingIsa.getAncestorIds(con2.getId())));
+		if (!ancestors2
+				.filter(anc2 -> anc2 == SnomedIds.root || ontology.getConcept(anc2).getDefinitions().getFirst()
+						.getDefinitionType() != DefinitionType.EquivalentConcept)
+				.allMatch(anc2 -> definingIsa.hasAncestor(con1.getId(), anc2)))
 			return false;
 //		LOG.info("r1:" + def1.getUngroupedRoles());
 //		LOG.info("r2:" + def2.getUngroupedRoles());
@@ -20,12 +20,20 @@
  * #L%
  */
 
+import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Set;
 
+import org.semanticweb.elk.util.collections.Evictor;
+import org.semanticweb.elk.util.collections.RecencyEvictor;
+import org.semanticweb.elk.util.statistics.HasStats;
+import org.semanticweb.elk.util.statistics.NestedStats;
+import org.semanticweb.elk.util.statistics.ResetStats;
+import org.semanticweb.elk.util.statistics.Stat;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -35,38 +43,175 @@
 import dev.ikm.elk.snomed.model.RoleGroup;
 import dev.ikm.elk.snomed.model.RoleType;
 
-public class NNFSubsumption {
+public class NNFSubsumption implements HasStats {
 
 	@SuppressWarnings("unused")
 	private static final Logger LOG = LoggerFactory.getLogger(NNFSubsumption.class);
 
+	public static final int DEFAULT_CHAIN_CACHE_CAPACITY = 1 << 16;
+
 	private SnomedIsa isa;
 
 	private HashMap<RoleType, Set<RoleType>> superRoles;
 
 	protected HashMap<Concept, Definition> necessaryNormalForm;
 
+	/*
+	 * Expansions of (role type, filler) pairs, keyed by the Role of the pair. An
+	 * expansion depends on the NNFs of the fillers of its roles, see
+	 * invalidate(Concept). Guarded by itself, together with chainEvictor and
+	 * chainKeysByConcept.
+	 */
+	private final HashMap<Role, List<Role>> chainCache = new HashMap<>();
+
+	/*
+	 * For each concept, the keys of chainCache whose expansions contain a role
+	 * with this concept
+	 */
+	private final HashMap<Concept, Set<Role>> chainKeysByConcept = new HashMap<>();
+
+	/*
+	 * Each key added to chainCache must be added to this evictor
+	 */
+	private final Evictor<Role> chainEvictor;
+
+	public class Stats {
+		@Stat
+		public int nChainCacheHits = 0;
+		@Stat
+		public int nChainCacheMisses = 0;
+		@Stat
+		public int nChainCacheEvictions = 0;
+		@Stat
+		public int nChainCacheInvalidations = 0;
+
+		@ResetStats
+		public void resetStats() {
+			nChainCacheHits = 0;
+			nChainCacheMisses = 0;
+			nChainCacheEvictions = 0;
+			nChainCacheInvalidations = 0;
+		}
+
+		@NestedStats(name = "evictor")
+		public Object getChainEvictorStats() {
+			return chainEvictor.getStats();
+		}
+
+		@Override
+		public String toString() {
+			return "hits " + nChainCacheHits + " misses " + nChainCacheMisses + " evictions " + nChainCacheEvictions
+					+ " invalidations " + nChainCacheInvalidations;
+		}
+	}
+
+	private final Stats stats = new Stats();
+
+	@Override
+	public Stats getStats() {
+		return stats;
+	}
+
 	public NNFSubsumption(SnomedIsa isa, HashMap<RoleType, Set<RoleType>> superRoles,
 			HashMap<Concept, Definition> necessaryNormalForm) {
+		this(isa, superRoles, necessaryNormalForm,
+				new RecencyEvictor.Builder().capacity(DEFAULT_CHAIN_CACHE_CAPACITY));
+	}
+
+	public NNFSubsumption(SnomedIsa isa, HashMap<RoleType, Set<RoleType>> superRoles,
+			HashMap<Concept, Definition> necessaryNormalForm, Evictor.Builder chainEvictorBuilder) {
 		super();
 		this.isa = isa;
 		this.superRoles = superRoles;
 		this.necessaryNormalForm = necessaryNormalForm;
+		this.chainEvictor = chainEvictorBuilder.build();
 	}
 
-	private HashSet<Role> expandChain(RoleType role_type, Concept filler) {
+	/**
+	 * Must be called when the NNF of the concept has changed, removes the cached
+	 * expansions that were computed from the previous NNF.
+	 * 
+	 * @param con the concept whose NNF has changed
+	 */
+	public void invalidate(Concept con) {
+		synchronized (chainCache) {
+			Set<Role> keys = chainKeysByConcept.get(con);
+			if (keys == null)
+				return;
+			// uncacheChain modifies keys
+			for (Role key : List.copyOf(keys)) {
+				uncacheChain(key);
+				chainEvictor.remove(key);
+				stats.nChainCacheInvalidations++;
+			}
+		}
+	}
+
+	/*
+	 * Must be called with the lock on chainCache held
+	 */
+	private void cacheChain(Role key, List<Role> roles) {
+		uncacheChain(key);
+		chainCache.put(key, roles);
+		for (Role role : roles)
+			chainKeysByConcept.computeIfAbsent(role.getConcept(), x -> new HashSet<>()).add(key);
+	}
+
+	/*
+	 * Must be called with the lock on chainCache held
+	 */
+	private boolean uncacheChain(Role key) {
+		List<Role> roles = chainCache.remove(key);
+		if (roles == null)
+			return false;
+		for (Role role : roles) {
+			Set<Role> keys = chainKeysByConcept.get(role.getConcept());
+			if (keys != null && keys.remove(key) && keys.isEmpty())
+				chainKeysByConcept.remove(role.getConcept());
+		}
+		return true;
+	}
+
+	private List<Role> expandChain(RoleType role_type, Concept filler) {
+		Role key = new Role(role_type, filler);
+		synchronized (chainCache) {
+			List<Role> roles = chainCache.get(key);
+			if (roles != null) {
+				stats.nChainCacheHits++;
+				chainEvictor.add(key);
+				return roles;
+			}
+			stats.nChainCacheMisses++;
+		}
+		// computed outside of the lock, concurrent misses of the same key are
+		// harmless
+		List<Role> roles = List.copyOf(computeChain(key));
+		synchronized (chainCache) {
+			cacheChain(key, roles);
+			Iterator<Role> evicted = chainEvictor.addAndEvict(key);
+			while (evicted.hasNext()) {
+				if (uncacheChain(evicted.next()))
+					stats.nChainCacheEvictions++;
+			}
+		}
+		return roles;
+	}
+
+	private HashSet<Role> computeChain(Role role) {
 		HashSet<Role> roles = new HashSet<>();
-		roles.add(new Role(role_type, filler));
-		while (true) {
-			ArrayList<Role> roles_l = new ArrayList<>(roles);
-			for (Role role : roles_l) {
-				List<Role> chain_exps = expandChain1(role);
-				roles.addAll(chain_exps);
-				List<Role> sup_exps = expandSuperRoleTypes(role);
-				roles.addAll(sup_exps);
+		ArrayDeque<Role> todo = new ArrayDeque<>();
+		roles.add(role);
+		todo.add(role);
+		while (!todo.isEmpty()) {
+			Role next = todo.poll();
+			for (Role exp : expandChain1(next)) {
+				if (roles.add(exp))
+					todo.add(exp);
+			}
+			for (Role exp : expandSuperRoleTypes(next)) {
+				if (roles.add(exp))
+					todo.add(exp);
 			}
-			if (roles.size() == roles_l.size())
-				break;
 		}
 		return roles;
 	}
@@ -116,8 +261,8 @@ protected boolean isSubRoleOfEntailed(Role role1, Role role2) {
 				if (isSubsumedBy1(con1, con2))
 					return true;
 			}
-			HashSet<Role> chain1 = expandChain(role1.getRoleType(), role1.getConcept());
-			HashSet<Role> chain2 = expandChain(role2.getRoleType(), role2.getConcept());
+			List<Role> chain1 = expandChain(role1.getRoleType(), role1.getConcept());
+			List<Role> chain2 = expandChain(role2.getRoleType(), role2.getConcept());
 			boolean isSubsumedBy = chain2.stream().allMatch(
 					chain2_role -> chain1.stream().anyMatch(chain1_role -> isSubsumedBy(chain1_role, chain2_role)));
 			return isSubsumedBy;
@@ -21,11 +21,15 @@
  */
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map.Entry;
 import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.IntStream;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -48,6 +52,8 @@ public class NecessaryNormalFormBuilder {
 
 	private SnomedIsa isa;
 
+	private SnomedIsa dependencies;
+
 	private HashMap<RoleType, Set<RoleType>> superRolesTypes = new HashMap<>();
 
 	private HashMap<Concept, Definition> necessaryNormalForm = new HashMap<>();
@@ -66,6 +72,10 @@ public HashMap<RoleType, Set<RoleType>> getSuperRolesTypes() {
 		return superRolesTypes;
 	}
 
+	public NNFSubsumption getNNFSubsumption() {
+		return nnfSubsumption;
+	}
+
 	public HashMap<Concept, Definition> getNecessaryNormalForm() {
 		return necessaryNormalForm;
 	}
@@ -96,14 +106,14 @@ public static NecessaryNormalFormBuilder create(SnomedOntology snomedOntology,
 
 	private void initConcepts(HashMap<Long, Set<Long>> superConcepts) {
 		isa = SnomedIsa.init(superConcepts);
+		isa.initAncestorIndex();
 		HashMap<Long, Set<Long>> dependentOnConcepts = new HashMap<>();
 		for (Concept concept : snomedOntology.getConcepts()) {
 			dependentOnConcepts.put(concept.getId(), getDependentOnConcepts(concept));
 		}
-		{
-			SnomedIsa deps = SnomedIsa.init(dependentOnConcepts);
-			deps.getOrderedConcepts().stream().map(id -> snomedOntology.getConcept(id))
-					.forEach(con -> concepts.add(con));
+		dependencies = SnomedIsa.init(dependentOnConcepts);
+		for (long id : dependencies.getOrderedConceptIds()) {
+			concepts.add(snomedOntology.getConcept(id));
 		}
 		LOG.info("Concepts: " + concepts.size());
 	}
@@ -135,7 +145,9 @@ private void initRoles(HashMap<Long, Set<Long>> superRoles) {
 	private HashSet<Long> getDependentOnConcepts(Concept concept) {
 		HashSet<Long> deps = new HashSet<>();
 		long id = concept.getId();
-		deps.addAll(isa.getParents(id));
+		for (long parent : isa.getParentIds(id)) {
+			deps.add(parent);
+		}
 		deps.addAll(snomedOntology.getDependentOnConcepts(id, false, false));
 		return deps;
 	}
@@ -161,11 +173,74 @@ public void generate(ConceptComparer concept_comparer) {
 				concept_comparer.compare(concept, def);
 		}
 		LOG.info("Generate: " + cnt);
+		LOG.info("Chain cache: " + nnfSubsumption.getStats());
 		if (concept_comparer != null)
 			concept_comparer.logErrors();
 	}
 
+	public void generateParallel() {
+		generateParallel(null, Runtime.getRuntime().availableProcessors());
+	}
+
+	/*
+	 * The concepts are split into levels such that every concept depends only on
+	 * concepts of lower levels. The concepts of a level are generated
+	 * concurrently; necessaryNormalForm is only updated (and the concepts
+	 * compared) between levels, in the order of getConcepts, so it is never
+	 * modified while being read and the comparison is deterministic.
+	 */
+	public void generateParallel(ConceptComparer concept_comparer, int parallelism) {
+		this.conceptComparer = concept_comparer;
+		List<List<Concept>> levels = getLevels();
+		LOG.info("Levels: " + levels.size() + " Parallelism: " + parallelism);
+		int cnt = 0;
+		try (ForkJoinPool pool = new ForkJoinPool(parallelism)) {
+			for (List<Concept> level : levels) {
+				Definition[] defs = new Definition[level.size()];
+				pool.submit(() -> IntStream.range(0, defs.length).parallel()
+						.forEach(i -> defs[i] = computeNNF(level.get(i), false))).get();
+				for (int i = 0; i < defs.length; i++) {
+					Concept concept = level.get(i);
+					necessaryNormalForm.put(concept, defs[i]);
+					if (concept_comparer != null)
+						concept_comparer.compare(concept, defs[i]);
+					if (++cnt % 50000 == 0)
+						LOG.info("Generate: " + cnt);
+				}
+			}
+		} catch (InterruptedException | ExecutionException e) {
+			throw new RuntimeException(e);
+		}
+		LOG.info("Generate: " + cnt);
+		LOG.info("Chain cache: " + nnfSubsumption.getStats());
+		if (concept_comparer != null)
+			concept_comparer.logErrors();
+	}
+
+	private List<List<Concept>> getLevels() {
+		List<List<Concept>> levels = new ArrayList<>();
+		int[] conceptLevels = new int[dependencies.getConceptCount()];
+		for (long id : dependencies.getOrderedConceptIds()) {
+			int level = 0;
+			for (long dep : dependencies.getParentIds(id)) {
+				level = Math.max(level, conceptLevels[dependencies.getOrdinal(dep)] + 1);
+			}
+			conceptLevels[dependencies.getOrdinal(id)] = level;
+			if (level == levels.size())
+				levels.add(new ArrayList<>());
+			levels.get(level).add(snomedOntology.getConcept(id));
+		}
+		return levels;
+	}
+
 	public Definition generateNNF(Concept con, boolean useDefining) {
+		Definition def = computeNNF(con, useDefining);
+		if (necessaryNormalForm.put(con, def) != null)
+			nnfSubsumption.invalidate(con);
+		return def;
+	}
+
+	private Definition computeNNF(Concept con, boolean useDefining) {
 		Definition def = new Definition();
 		if (con.getDefinitions().stream().map(Definition::getDefinitionType)
 				.anyMatch(dt -> dt.equals(DefinitionType.EquivalentConcept))) {
@@ -177,7 +252,7 @@ public Definition generateNNF(Concept con, boolean useDefining) {
 		if (useDefining) {
 			sups = con.getDefinitions().stream().flatMap(x -> x.getSuperConcepts().stream()).distinct().toList();
 		} else {
-			sups = isa.getParents(con.getId()).stream().map(x -> snomedOntology.getConcept(x)).distinct().toList();
+			sups = Arrays.stream(isa.getParentIds(con.getId())).mapToObj(x -> snomedOntology.getConcept(x)).toList();
 		}
 		sups.forEach(sup -> def.addSuperConcept(sup));
 		for (Concept sup : sups) {
@@ -201,7 +276,6 @@ public Definition generateNNF(Concept con, boolean useDefining) {
 			});
 		});
 		simplify(def);
-		necessaryNormalForm.put(con, def);
 		return def;
 	}
 
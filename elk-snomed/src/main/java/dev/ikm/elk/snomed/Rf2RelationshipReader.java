@@ -0,0 +1,284 @@
+package dev.ikm.elk.snomed;
+
+/*-
+ * #%L
+ * ELK Integration with SNOMED
+ * %%
+ * Copyright (C) 2023 Integrated Knowledge Management
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.IntStream;
+
+/**
+ * Reads the active rows of an RF2 relationship or relationship concrete values
+ * file.
+ * 
+ * The file is memory mapped and split at line boundaries into chunks that are
+ * parsed in parallel straight from the mapped bytes. Only the fields needed
+ * are decoded, inactive rows are skipped after the active field, and no
+ * {@link String} is created per line. The rows are then passed to the sink in
+ * file order on the calling thread, so sinks need not be thread safe and one
+ * pass can fill several structures.
+ */
+public class Rf2RelationshipReader {
+
+	public interface RelationshipSink {
+
+		void accept(long sourceId, long destinationId, long relationshipGroup, long typeId);
+
+	}
+
+	public interface ConcreteValueSink {
+
+		void accept(long sourceId, String value, long relationshipGroup, long typeId);
+
+	}
+
+	private static final int MIN_CHUNK_SIZE = 1 << 23;
+
+	// mapped buffers are limited to Integer.MAX_VALUE, leave room for the line
+	// that crosses the boundary
+	private static final long MAX_CHUNK_SIZE = 1 << 30;
+
+	private final Path file;
+
+	private final int chunks;
+
+	public Rf2RelationshipReader(Path file) {
+		this(file, 0);
+	}
+
+	/**
+	 * @param file   the RF2 file
+	 * @param chunks the number of chunks parsed in parallel, if not positive it
+	 *               is derived from the file size and the available processors
+	 */
+	public Rf2RelationshipReader(Path file, int chunks) {
+		this.file = file;
+		this.chunks = chunks;
+	}
+
+	public void read(RelationshipSink sink) throws IOException {
+		// id effectiveTime active moduleId sourceId destinationId relationshipGroup
+		// typeId characteristicTypeId modifierId
+		for (Rows rows : parse(false)) {
+			for (int i = 0; i < rows.size; i++) {
+				sink.accept(rows.sources[i], rows.destinations[i], rows.groups[i], rows.types[i]);
+			}
+		}
+	}
+
+	public void readConcreteValues(ConcreteValueSink sink) throws IOException {
+		// id effectiveTime active moduleId sourceId value relationshipGroup
+		// typeId characteristicTypeId modifierId
+		for (Rows rows : parse(true)) {
+			for (int i = 0; i < rows.size; i++) {
+				sink.accept(rows.sources[i], rows.values[i], rows.groups[i], rows.types[i]);
+			}
+		}
+	}
+
+	private List<Rows> parse(boolean concrete) throws IOException {
+		List<ByteBuffer> buffers = new ArrayList<>();
+		try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+			long[] bounds = getChunkBounds(channel);
+			for (int i = 0; i < bounds.length - 1; i++) {
+				MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, bounds[i],
+						bounds[i + 1] - bounds[i]);
+				buffers.add(buffer);
+			}
+		}
+		try {
+			return IntStream.range(0, buffers.size()).parallel()
+					.mapToObj(i -> parse(buffers.get(i), i == 0, concrete)).toList();
+		} catch (UncheckedIOException e) {
+			throw e.getCause();
+		}
+	}
+
+	private long[] getChunkBounds(FileChannel channel) throws IOException {
+		long size = channel.size();
+		int count = chunks;
+		if (count <= 0)
+			count = (int) Math.min(size / MIN_CHUNK_SIZE, 4 * Runtime.getRuntime().availableProcessors());
+		count = (int) Math.max(count, (size + MAX_CHUNK_SIZE - 1) / MAX_CHUNK_SIZE);
+		count = (int) Math.max(1, Math.min(count, size));
+		long[] bounds = new long[count + 1];
+		ByteBuffer window = ByteBuffer.allocate(1 << 16);
+		for (int i = 1; i < count; i++) {
+			bounds[i] = nextLine(channel, window, Math.max(size / count * i, bounds[i - 1]));
+		}
+		bounds[count] = size;
+		return bounds;
+	}
+
+	private long nextLine(FileChannel channel, ByteBuffer window, long pos) throws IOException {
+		while (true) {
+			window.clear();
+			int read = channel.read(window, pos);
+			if (read <= 0)
+				return channel.size();
+			for (int i = 0; i < read; i++) {
+				if (window.get(i) == '\n')
+					return pos + i + 1;
+			}
+			pos += read;
+		}
+	}
+
+	private Rows parse(ByteBuffer buffer, boolean header, boolean concrete) {
+		Rows rows = new Rows(concrete);
+		int limit = buffer.limit();
+		int pos = 0;
+		boolean skip = header;
+		while (pos < limit) {
+			int end = pos;
+			while (end < limit && buffer.get(end) != '\n')
+				end++;
+			if (skip) {
+				skip = false;
+			} else {
+				parseLine(buffer, pos, end, rows);
+			}
+			pos = end + 1;
+		}
+		return rows;
+	}
+
+	private void parseLine(ByteBuffer buffer, int from, int to, Rows rows) {
+		if (to > from && buffer.get(to - 1) == '\r')
+			to--;
+		if (from == to)
+			return;
+		long source = 0;
+		long destination = 0;
+		String value = null;
+		long group = 0;
+		int field = 0;
+		int start = from;
+		for (int i = from; i <= to && field <= 7; i++) {
+			if (i < to && buffer.get(i) != '\t')
+				continue;
+			switch (field) {
+			case 2 -> { // active
+				if (i - start != 1 || buffer.get(start) != '1')
+					return;
+			}
+			case 4 -> source = parseLong(buffer, start, i); // sourceId
+			case 5 -> { // destinationId or value
+				if (rows.values != null) {
+					byte[] bytes = new byte[i - start];
+					buffer.get(start, bytes);
+					value = new String(bytes, StandardCharsets.UTF_8);
+				} else {
+					destination = parseLong(buffer, start, i);
+				}
+			}
+			case 6 -> group = parseLong(buffer, start, i); // relationshipGroup
+			case 7 -> { // typeId
+				rows.add(source, destination, value, group, parseLong(buffer, start, i));
+			}
+			}
+			field++;
+			start = i + 1;
+		}
+		if (field <= 7)
+			throw new UncheckedIOException(
+					new IOException("Malformed line in " + file + ": " + getLine(buffer, from, to)));
+	}
+
+	private long parseLong(ByteBuffer buffer, int from, int to) {
+		if (from == to || to - from > 18)
+			throw new UncheckedIOException(
+					new IOException("Malformed number in " + file + ": " + getLine(buffer, from, to)));
+		long ret = 0;
+		for (int i = from; i < to; i++) {
+			int digit = buffer.get(i) - '0';
+			if (digit < 0 || digit > 9)
+				throw new UncheckedIOException(
+						new IOException("Malformed number in " + file + ": " + getLine(buffer, from, to)));
+			ret = 10 * ret + digit;
+		}
+		return ret;
+	}
+
+	private static String getLine(ByteBuffer buffer, int from, int to) {
+		byte[] bytes = new byte[to - from];
+		buffer.get(from, bytes);
+		return new String(bytes, StandardCharsets.UTF_8);
+	}
+
+	/*
+	 * The active rows of one chunk
+	 */
+	private static class Rows {
+
+		long[] sources = new long[1024];
+
+		long[] destinations;
+
+		String[] values;
+
+		long[] groups = new long[1024];
+
+		long[] types = new long[1024];
+
+		int size;
+
+		Rows(boolean concrete) {
+			if (concrete) {
+				values = new String[1024];
+			} else {
+				destinations = new long[1024];
+			}
+		}
+
+		void add(long source, long destination, String value, long group, long type) {
+			if (size == sources.length) {
+				sources = Arrays.copyOf(sources, 2 * size);
+				groups = Arrays.copyOf(groups, 2 * size);
+				types = Arrays.copyOf(types, 2 * size);
+				if (values != null) {
+					values = Arrays.copyOf(values, 2 * size);
+				} else {
+					destinations = Arrays.copyOf(destinations, 2 * size);
+				}
+			}
+			sources[size] = source;
+			if (values != null) {
+				values[size] = value;
+			} else {
+				destinations[size] = destination;
+			}
+			groups[size] = group;
+			types[size] = type;
+			size++;
+		}
+
+	}
+
+}
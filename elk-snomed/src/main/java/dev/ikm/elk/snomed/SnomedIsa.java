@@ -21,184 +21,586 @@
  */
 
 import java.io.IOException;
-import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.AbstractSet;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.Iterator;
 import java.util.Map.Entry;
-import java.util.stream.Stream;
+import java.util.NoSuchElementException;
 import java.util.Set;
 
+/**
+ * The is-a hierarchy of SNOMED concepts.
+ * 
+ * Concepts are mapped to dense ordinals (their index in the sorted array of
+ * concept ids) and the parent and child relationships are stored as compressed
+ * adjacency arrays over those ordinals, so no boxed ids or hash sets are
+ * retained per concept. The {@code long[]} returning methods do not box and
+ * should be preferred in hot paths.
+ * 
+ * Ancestor and descendant checks traverse the hierarchy unless the transitive
+ * closure has been precomputed with {@link #initAncestorIndex()}.
+ */
 public class SnomedIsa {
 
 	public static long root = SnomedIds.root;
 
 	public static long isa = SnomedIds.isa;
 
-	private HashMap<Long, Set<Long>> parentsMap = new HashMap<>();
+	private static final long[] NO_IDS = new long[0];
+
+	// sorted concept ids, the index of an id is its ordinal
+	private long[] concepts = NO_IDS;
+
+	// the concepts that have an entry in the parents map (possibly empty)
+	private BitSet declared = new BitSet();
+
+	// the parents of ordinal i are parents[parentIndex[i]] .. parents[parentIndex[i + 1] - 1]
+	private int[] parentIndex = new int[1];
+
+	private int[] parents = new int[0];
+
+	// the children of ordinal i are children[childIndex[i]] .. children[childIndex[i + 1] - 1]
+	private int[] childIndex = new int[1];
+
+	private int[] children = new int[0];
 
-	private HashMap<Long, Set<Long>> childrenMap = new HashMap<>();
+	// ordinals in the order returned by getOrderedConcepts
+	private int[] orderedConcepts = new int[0];
 
-	private ArrayList<Long> orderedConcepts = new ArrayList<>();
+	// optional transitive closure, see initAncestorIndex: the ancestors of
+	// ordinal i are ancestors[ancestorStart[i]] .. ancestors[ancestorEnd[i] - 1]
+	// (sorted), or not indexed if ancestorStart[i] < 0
+	private int[] ancestorStart;
+
+	private int[] ancestorEnd;
+
+	private int[] ancestors;
 
 	public HashMap<Long, Set<Long>> getParentsMap() {
-		return parentsMap;
+		HashMap<Long, Set<Long>> ret = new HashMap<>();
+		for (int i = declared.nextSetBit(0); i >= 0; i = declared.nextSetBit(i + 1)) {
+			ret.put(concepts[i], new HashSet<>(new OrdinalSet(parents, parentIndex[i], parentIndex[i + 1])));
+		}
+		return ret;
 	}
 
 	public HashMap<Long, Set<Long>> getChildrenMap() {
-		return childrenMap;
+		HashMap<Long, Set<Long>> ret = new HashMap<>();
+		for (int i = 0; i < concepts.length; i++) {
+			if (childIndex[i] == childIndex[i + 1])
+				continue;
+			ret.put(concepts[i], new HashSet<>(new OrdinalSet(children, childIndex[i], childIndex[i + 1])));
+		}
+		return ret;
 	}
 
 	public ArrayList<Long> getOrderedConcepts() {
-		return orderedConcepts;
+		ArrayList<Long> ret = new ArrayList<>(orderedConcepts.length);
+		for (int ord : orderedConcepts) {
+			ret.add(concepts[ord]);
+		}
+		return ret;
+	}
+
+	public long[] getOrderedConceptIds() {
+		long[] ret = new long[orderedConcepts.length];
+		for (int i = 0; i < orderedConcepts.length; i++) {
+			ret[i] = concepts[orderedConcepts[i]];
+		}
+		return ret;
 	}
 
 	public static SnomedIsa init(Path file) throws IOException {
 		SnomedIsa ret = new SnomedIsa();
 		ret.load(file);
-		ret.init();
 		return ret;
 	}
 
 	public static SnomedIsa init(HashMap<Long, Set<Long>> isas) {
+		Edges edges = new Edges();
+		for (Entry<Long, Set<Long>> es : isas.entrySet()) {
+			long con = es.getKey();
+			edges.declare(con);
+			for (long parent : es.getValue()) {
+				edges.add(con, parent);
+			}
+		}
 		SnomedIsa ret = new SnomedIsa();
-		ret.parentsMap = isas;
-		ret.init();
+		ret.init(edges);
 		return ret;
 	}
 
-	private void init() {
-		initChildren();
-		initOrderedConcepts();
+	/**
+	 * @param conceptIds the concepts
+	 * @param parentIds  the parents of each concept, at the same index
+	 * @return the is-a hierarchy
+	 */
+	public static SnomedIsa init(long[] conceptIds, long[][] parentIds) {
+		Edges edges = new Edges();
+		for (int i = 0; i < conceptIds.length; i++) {
+			edges.declare(conceptIds[i]);
+			for (long parent : parentIds[i]) {
+				edges.add(conceptIds[i], parent);
+			}
+		}
+		SnomedIsa ret = new SnomedIsa();
+		ret.init(edges);
+		return ret;
 	}
 
-	private void initChildren() {
-		for (Entry<Long, Set<Long>> es : parentsMap.entrySet()) {
-			long con = es.getKey();
-			for (long parent : es.getValue()) {
-				childrenMap.computeIfAbsent(parent, x -> new HashSet<>());
-				childrenMap.get(parent).add(con);
+	/**
+	 * Loads the is-a hierarchy and the other relationships of an RF2
+	 * relationship file in a single pass.
+	 * 
+	 * @param file  the relationship file
+	 * @param roles filled with the active relationships other than is-a
+	 * @return the is-a hierarchy
+	 * @throws IOException if the file cannot be read
+	 */
+	public static SnomedIsa init(Path file, SnomedRoles roles) throws IOException {
+		Edges edges = new Edges();
+		new Rf2RelationshipReader(file).read((con, destination, relationshipGroup, typeId) -> {
+			if (typeId == isa) {
+				edges.declare(con);
+				edges.add(con, destination);
+			} else {
+				roles.add(con, destination, relationshipGroup, typeId);
+			}
+		});
+		SnomedIsa ret = new SnomedIsa();
+		ret.init(edges);
+		return ret;
+	}
+
+	public void load(Path file) throws IOException {
+		// 116680003 |Is a (attribute)|
+		Edges edges = new Edges();
+		new Rf2RelationshipReader(file).read((con, par, relationshipGroup, typeId) -> {
+			if (typeId == isa) {
+				edges.declare(con);
+				edges.add(con, par);
 			}
+		});
+		init(edges);
+	}
+
+	private void init(Edges edges) {
+		initConcepts(edges);
+		int[] sources = new int[edges.size];
+		int[] destinations = new int[edges.size];
+		for (int i = 0; i < edges.size; i++) {
+			sources[i] = getOrdinal(edges.sources[i]);
+			destinations[i] = getOrdinal(edges.destinations[i]);
+		}
+		for (int i = 0; i < edges.declaredSize; i++) {
+			declared.set(getOrdinal(edges.declared[i]));
+		}
+		parentIndex = new int[concepts.length + 1];
+		parents = initAdjacency(sources, destinations, parentIndex);
+		childIndex = new int[concepts.length + 1];
+		children = initAdjacency(destinations, sources, childIndex);
+		initOrderedConcepts();
+	}
+
+	private void initConcepts(Edges edges) {
+		long[] ids = new long[2 * edges.size + edges.declaredSize + 1];
+		System.arraycopy(edges.sources, 0, ids, 0, edges.size);
+		System.arraycopy(edges.destinations, 0, ids, edges.size, edges.size);
+		System.arraycopy(edges.declared, 0, ids, 2 * edges.size, edges.declaredSize);
+		ids[ids.length - 1] = root;
+		Arrays.sort(ids);
+		int size = 0;
+		for (int i = 0; i < ids.length; i++) {
+			if (size == 0 || ids[size - 1] != ids[i])
+				ids[size++] = ids[i];
+		}
+		concepts = Arrays.copyOf(ids, size);
+	}
+
+	/*
+	 * Builds the compressed adjacency from the given ordinal pairs, removing
+	 * duplicates. The targets of each source end up sorted, hence also sorted by
+	 * id.
+	 */
+	private int[] initAdjacency(int[] sources, int[] targets, int[] index) {
+		long[] pairs = new long[sources.length];
+		for (int i = 0; i < sources.length; i++) {
+			pairs[i] = ((long) sources[i] << 32) | targets[i];
 		}
+		Arrays.sort(pairs);
+		int size = 0;
+		for (int i = 0; i < pairs.length; i++) {
+			if (size == 0 || pairs[size - 1] != pairs[i])
+				pairs[size++] = pairs[i];
+		}
+		int[] ret = new int[size];
+		for (int i = 0; i < size; i++) {
+			index[(int) (pairs[i] >>> 32) + 1]++;
+			ret[i] = (int) pairs[i];
+		}
+		for (int i = 0; i < concepts.length; i++) {
+			index[i + 1] += index[i];
+		}
+		return ret;
 	}
 
+	/*
+	 * Topological order of the concepts reachable from the root: a concept is
+	 * added once all of its parents have been added.
+	 */
 	private void initOrderedConcepts() {
-		HashSet<Long> visited = new HashSet<>();
-		orderedConcepts.add(root);
-		visited.add(root);
-		initOrderedConcepts(root, visited);
-	}
-
-	private void initOrderedConcepts(long con, HashSet<Long> visited) {
-		for (long sub : getChildren(con)) {
-			boolean sups_visited = getParents(sub).stream().allMatch(x -> visited.contains(x));
-			if (sups_visited) {
-				if (!visited.contains(sub)) {
-					orderedConcepts.add(sub);
-					visited.add(sub);
-				}
-				initOrderedConcepts(sub, visited);
+		int[] pending = new int[concepts.length];
+		for (int i = 0; i < concepts.length; i++) {
+			pending[i] = parentIndex[i + 1] - parentIndex[i];
+		}
+		int[] ordered = new int[concepts.length];
+		int size = 0;
+		ordered[size++] = getOrdinal(root);
+		for (int next = 0; next < size; next++) {
+			int con = ordered[next];
+			for (int i = childIndex[con]; i < childIndex[con + 1]; i++) {
+				int sub = children[i];
+				if (--pending[sub] == 0)
+					ordered[size++] = sub;
 			}
 		}
+		orderedConcepts = Arrays.copyOf(ordered, size);
 	}
 
-	public void load(Path file) throws IOException {
-		// id effectiveTime active moduleId sourceId destinationId relationshipGroup
-		// typeId characteristicTypeId modifierId
-		//
-		// 116680003 |Is a (attribute)|
-		try (Stream<String> st = Files.lines(file)) {
-			st.skip(1).map(line -> line.split("\\t")) //
-					.filter(fields -> Integer.parseInt(fields[2]) == 1) // active
-					.filter(fields -> Long.parseLong(fields[7]) == isa) // typeId
-					.forEach(fields -> {
-						long con = Long.parseLong(fields[4]); // sourceId
-						long par = Long.parseLong(fields[5]); // destinationId
-						parentsMap.computeIfAbsent(con, x -> new HashSet<>());
-						parentsMap.get(con).add(par);
-					});
+	/**
+	 * Precomputes the ancestors of every concept so that
+	 * {@link #hasAncestor(long, long)}, {@link #hasDescendant(long, long)} and
+	 * the ancestor queries no longer traverse the hierarchy. Concepts on a cycle
+	 * are not indexed and fall back to the traversal.
+	 */
+	public void initAncestorIndex() {
+		int size = concepts.length;
+		int[] start = new int[size];
+		int[] end = new int[size];
+		Arrays.fill(start, -1);
+		int[] pending = new int[size];
+		int[] queue = new int[size];
+		int queueSize = 0;
+		for (int i = 0; i < size; i++) {
+			pending[i] = parentIndex[i + 1] - parentIndex[i];
+			if (pending[i] == 0)
+				queue[queueSize++] = i;
 		}
+		int[] closure = new int[size];
+		int closureSize = 0;
+		int[] scratch = new int[64];
+		for (int next = 0; next < queueSize; next++) {
+			int con = queue[next];
+			int scratchSize = 0;
+			for (int i = parentIndex[con]; i < parentIndex[con + 1]; i++) {
+				int par = parents[i];
+				int required = scratchSize + 1 + end[par] - start[par];
+				if (required > scratch.length)
+					scratch = Arrays.copyOf(scratch, Math.max(required, 2 * scratch.length));
+				scratch[scratchSize++] = par;
+				System.arraycopy(closure, start[par], scratch, scratchSize, end[par] - start[par]);
+				scratchSize += end[par] - start[par];
+			}
+			Arrays.sort(scratch, 0, scratchSize);
+			if (closureSize + scratchSize > closure.length)
+				closure = Arrays.copyOf(closure, Math.max(closureSize + scratchSize, 2 * closure.length));
+			start[con] = closureSize;
+			for (int i = 0; i < scratchSize; i++) {
+				if (i == 0 || scratch[i - 1] != scratch[i])
+					closure[closureSize++] = scratch[i];
+			}
+			end[con] = closureSize;
+			for (int i = childIndex[con]; i < childIndex[con + 1]; i++) {
+				int sub = children[i];
+				if (--pending[sub] == 0)
+					queue[queueSize++] = sub;
+			}
+		}
+		ancestorStart = start;
+		ancestorEnd = end;
+		ancestors = Arrays.copyOf(closure, closureSize);
+	}
+
+	public boolean hasAncestorIndex() {
+		return ancestors != null;
+	}
+
+	private boolean isIndexed(int ord) {
+		return ancestors != null && ancestorStart[ord] >= 0;
+	}
+
+	int getConceptCount() {
+		return concepts.length;
+	}
+
+	int getOrdinal(long con) {
+		int ord = Arrays.binarySearch(concepts, con);
+		return ord < 0 ? -1 : ord;
+	}
+
+	long getId(int ord) {
+		return concepts[ord];
+	}
+
+	private long[] getIds(int[] ords, int from, int to) {
+		if (from == to)
+			return NO_IDS;
+		long[] ret = new long[to - from];
+		for (int i = from; i < to; i++) {
+			ret[i - from] = concepts[ords[i]];
+		}
+		return ret;
+	}
+
+	private long[] getIds(BitSet ords) {
+		long[] ret = new long[ords.cardinality()];
+		int i = 0;
+		for (int ord = ords.nextSetBit(0); ord >= 0; ord = ords.nextSetBit(ord + 1)) {
+			ret[i++] = concepts[ord];
+		}
+		return ret;
+	}
+
+	private HashSet<Long> getIdSet(BitSet ords) {
+		HashSet<Long> ret = new HashSet<>();
+		for (int ord = ords.nextSetBit(0); ord >= 0; ord = ords.nextSetBit(ord + 1)) {
+			ret.add(concepts[ord]);
+		}
+		return ret;
 	}
 
 	public Set<Long> getParents(long con) {
-		return parentsMap.getOrDefault(con, Set.of());
+		int ord = getOrdinal(con);
+		if (ord < 0)
+			return Set.of();
+		return new OrdinalSet(parents, parentIndex[ord], parentIndex[ord + 1]);
 	}
 
-	public boolean hasParent(long con, long parent) {
-		return getParents(con).contains(parent);
+	public long[] getParentIds(long con) {
+		int ord = getOrdinal(con);
+		if (ord < 0)
+			return NO_IDS;
+		return getIds(parents, parentIndex[ord], parentIndex[ord + 1]);
 	}
 
-	public HashSet<Long> getAncestors(long con) {
-		HashSet<Long> visited = new HashSet<>();
-		this.getAncestors(con, visited);
-		return visited;
+	public boolean hasParent(long con, long parent) {
+		int ord = getOrdinal(con);
+		int par = getOrdinal(parent);
+		if (ord < 0 || par < 0)
+			return false;
+		return Arrays.binarySearch(parents, parentIndex[ord], parentIndex[ord + 1], par) >= 0;
 	}
 
-	private void getAncestors(long con, HashSet<Long> visited) {
-		for (long parent : this.getParents(con)) {
-			if (visited.contains(parent))
-				continue;
-			visited.add(parent);
-			getAncestors(parent, visited);
+	public HashSet<Long> getAncestors(long con) {
+		int ord = getOrdinal(con);
+		if (ord >= 0 && isIndexed(ord)) {
+			HashSet<Long> ret = new HashSet<>();
+			for (int i = ancestorStart[ord]; i < ancestorEnd[ord]; i++) {
+				ret.add(concepts[ancestors[i]]);
+			}
+			return ret;
 		}
+		return getIdSet(getClosure(con, parentIndex, parents));
 	}
 
-	public boolean hasAncestor(long con, long ancestor) {
-		return hasAncestor(con, ancestor, new HashSet<>());
+	public long[] getAncestorIds(long con) {
+		int ord = getOrdinal(con);
+		if (ord >= 0 && isIndexed(ord))
+			return getIds(ancestors, ancestorStart[ord], ancestorEnd[ord]);
+		return getIds(getClosure(con, parentIndex, parents));
 	}
 
-	private boolean hasAncestor(long con, long ancestor, HashSet<Long> visited) {
-		if (hasParent(con, ancestor))
-			return true;
-		for (long parent : getParents(con)) {
-			if (visited.contains(parent))
-				continue;
-			if (hasAncestor(parent, ancestor, visited))
-				return true;
-			visited.add(parent);
+	public boolean hasAncestor(long con, long ancestor) {
+		int ord = getOrdinal(con);
+		if (ord >= 0 && isIndexed(ord)) {
+			int anc = getOrdinal(ancestor);
+			return anc >= 0 && Arrays.binarySearch(ancestors, ancestorStart[ord], ancestorEnd[ord], anc) >= 0;
 		}
-		return false;
+		return isReachable(con, ancestor, parentIndex, parents);
 	}
 
 	public Set<Long> getChildren(long con) {
-		return childrenMap.getOrDefault(con, Set.of());
+		int ord = getOrdinal(con);
+		if (ord < 0)
+			return Set.of();
+		return new OrdinalSet(children, childIndex[ord], childIndex[ord + 1]);
+	}
+
+	public long[] getChildIds(long con) {
+		int ord = getOrdinal(con);
+		if (ord < 0)
+			return NO_IDS;
+		return getIds(children, childIndex[ord], childIndex[ord + 1]);
 	}
 
 	public boolean hasChild(long con, long child) {
-		return getChildren(con).contains(child);
+		int ord = getOrdinal(con);
+		int chd = getOrdinal(child);
+		if (ord < 0 || chd < 0)
+			return false;
+		return Arrays.binarySearch(children, childIndex[ord], childIndex[ord + 1], chd) >= 0;
 	}
-		
+
 	public HashSet<Long> getDescendants(long con) {
-		HashSet<Long> visited = new HashSet<>();
-		this.getDescendants(con, visited);
-		return visited;
+		return getIdSet(getClosure(con, childIndex, children));
 	}
 
-	private void getDescendants(long con, HashSet<Long> visited) {
-		for (long child : this.getChildren(con)) {
-			if (visited.contains(child))
-				continue;
-			visited.add(child);
-			getDescendants(child, visited);
-		}
+	public long[] getDescendantIds(long con) {
+		return getIds(getClosure(con, childIndex, children));
 	}
 
 	public boolean hasDescendant(long con, long descendant) {
-		return hasDescendant(con, descendant, new HashSet<>());
+		int desc = getOrdinal(descendant);
+		if (desc >= 0 && isIndexed(desc)) {
+			int ord = getOrdinal(con);
+			return ord >= 0 && Arrays.binarySearch(ancestors, ancestorStart[desc], ancestorEnd[desc], ord) >= 0;
+		}
+		return isReachable(con, descendant, childIndex, children);
 	}
 
-	private boolean hasDescendant(long con, long descendant, HashSet<Long> visited) {
-		if (hasChild(con, descendant))
-			return true;
-		for (long child : getChildren(con)) {
-			if (visited.contains(child))
-				continue;
-			if (hasDescendant(child, descendant, visited))
+	/*
+	 * The ordinals reachable from con in one or more steps
+	 */
+	private BitSet getClosure(long con, int[] index, int[] adjacency) {
+		BitSet visited = new BitSet();
+		int ord = getOrdinal(con);
+		if (ord < 0)
+			return visited;
+		int[] stack = new int[16];
+		int size = 0;
+		stack[size++] = ord;
+		while (size > 0) {
+			int next = stack[--size];
+			for (int i = index[next]; i < index[next + 1]; i++) {
+				int adj = adjacency[i];
+				if (visited.get(adj))
+					continue;
+				visited.set(adj);
+				if (size == stack.length)
+					stack = Arrays.copyOf(stack, 2 * size);
+				stack[size++] = adj;
+			}
+		}
+		return visited;
+	}
+
+	private boolean isReachable(long con, long target, int[] index, int[] adjacency) {
+		int ord = getOrdinal(con);
+		int tgt = getOrdinal(target);
+		if (ord < 0 || tgt < 0)
+			return false;
+		BitSet visited = new BitSet();
+		int[] stack = new int[16];
+		int size = 0;
+		stack[size++] = ord;
+		while (size > 0) {
+			int next = stack[--size];
+			int from = index[next];
+			int to = index[next + 1];
+			if (Arrays.binarySearch(adjacency, from, to, tgt) >= 0)
 				return true;
-			visited.add(child);
+			for (int i = from; i < to; i++) {
+				int adj = adjacency[i];
+				if (visited.get(adj))
+					continue;
+				visited.set(adj);
+				if (size == stack.length)
+					stack = Arrays.copyOf(stack, 2 * size);
+				stack[size++] = adj;
+			}
 		}
 		return false;
 	}
 
+	/*
+	 * Growable buffer of (source, destination) id pairs used while loading
+	 */
+	private static class Edges {
+
+		long[] sources = new long[1024];
+
+		long[] destinations = new long[1024];
+
+		int size;
+
+		long[] declared = new long[1024];
+
+		int declaredSize;
+
+		void add(long source, long destination) {
+			if (size == sources.length) {
+				sources = Arrays.copyOf(sources, 2 * size);
+				destinations = Arrays.copyOf(destinations, 2 * size);
+			}
+			sources[size] = source;
+			destinations[size] = destination;
+			size++;
+		}
+
+		void declare(long con) {
+			if (declaredSize == declared.length)
+				declared = Arrays.copyOf(declared, 2 * declaredSize);
+			declared[declaredSize++] = con;
+		}
+
+	}
+
+	/*
+	 * Read-only view of a sorted slice of ordinals as a set of ids
+	 */
+	private class OrdinalSet extends AbstractSet<Long> {
+
+		private final int[] ords;
+
+		private final int from;
+
+		private final int to;
+
+		OrdinalSet(int[] ords, int from, int to) {
+			this.ords = ords;
+			this.from = from;
+			this.to = to;
+		}
+
+		@Override
+		public boolean contains(Object o) {
+			if (!(o instanceof Long id))
+				return false;
+			int ord = getOrdinal(id);
+			return ord >= 0 && Arrays.binarySearch(ords, from, to, ord) >= 0;
+		}
+
+		@Override
+		public int size() {
+			return to - from;
+		}
+
+		@Override
+		public Iterator<Long> iterator() {
+			return new Iterator<>() {
+
+				int next = from;
+
+				@Override
+				public boolean hasNext() {
+					return next < to;
+				}
+
+				@Override
+				public Long next() {
+					if (next >= to)
+						throw new NoSuchElementException();
+					return concepts[ords[next++]];
+				}
+
+			};
+		}
+
+	}
+
 }
@@ -20,25 +20,38 @@
  * #L%
  */
 
+import java.io.IOException;
+import java.nio.file.Path;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Set;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
+import org.semanticweb.elk.loading.AbstractAxiomLoader;
 import org.semanticweb.elk.owl.interfaces.ElkAxiom;
 import org.semanticweb.elk.owl.interfaces.ElkClass;
 import org.semanticweb.elk.owl.interfaces.ElkClassExpression;
 import org.semanticweb.elk.owl.interfaces.ElkDataHasValue;
 import org.semanticweb.elk.owl.interfaces.ElkDatatype;
+import org.semanticweb.elk.owl.interfaces.ElkEntity;
 import org.semanticweb.elk.owl.interfaces.ElkLiteral;
 import org.semanticweb.elk.owl.interfaces.ElkObject.Factory;
 import org.semanticweb.elk.owl.interfaces.ElkObjectProperty;
 import org.semanticweb.elk.owl.interfaces.ElkObjectSomeValuesFrom;
 import org.semanticweb.elk.owl.interfaces.ElkReflexiveObjectPropertyAxiom;
 import org.semanticweb.elk.owl.interfaces.ElkTransitiveObjectPropertyAxiom;
+import org.semanticweb.elk.owl.visitors.ElkAxiomProcessor;
+import org.semanticweb.elk.reasoner.completeness.Incompleteness;
+import org.semanticweb.elk.reasoner.taxonomy.hashing.TaxonomyHasher;
 import org.semanticweb.elk.reasoner.taxonomy.model.Node;
+import org.semanticweb.elk.reasoner.taxonomy.model.Taxonomy;
+import org.semanticweb.elk.reasoner.taxonomy.model.TaxonomyNode;
+import org.semanticweb.elk.util.concurrent.computation.InterruptMonitor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -65,6 +78,12 @@ public class SnomedOntologyReasoner {
 
 	private HashMap<Long, List<ElkAxiom>> conceptIdAxiomMap;
 
+	// the initial role type axioms, the ontology only holds later changes
+	private List<ElkAxiom> roleTypeAxioms;
+
+	// restored taxonomy answering queries until the ontology changes
+	private SnomedTaxonomySnapshot taxonomy;
+
 	private SnomedOntologyReasoner() {
 		super();
 	}
@@ -75,24 +94,162 @@ public static SnomedOntologyReasoner create(SnomedOntology snomedOntology) {
 		return sor;
 	}
 
+	/**
+	 * Creates a reasoner that answers hierarchy queries from a taxonomy written
+	 * by {@link #writeTaxonomy(Path)} instead of classifying, if the taxonomy was
+	 * computed for the same ontology content. Otherwise the ontology is
+	 * classified as usual. The ontology is also classified once it is changed
+	 * or queried for ELK objects.
+	 * 
+	 * @param snomedOntology the ontology
+	 * @param taxonomyFile   the persisted taxonomy
+	 * @return the reasoner
+	 * @throws IOException if the taxonomy cannot be read
+	 */
+	public static SnomedOntologyReasoner create(SnomedOntology snomedOntology, Path taxonomyFile) throws IOException {
+		SnomedTaxonomySnapshot taxonomy = SnomedTaxonomySnapshot.read(taxonomyFile);
+		SnomedOntologyReasoner sor = new SnomedOntologyReasoner();
+		if (taxonomy.isFor(snomedOntology)) {
+			LOG.info("Restoring taxonomy from " + taxonomyFile);
+			sor.load(snomedOntology);
+			sor.taxonomy = taxonomy;
+		} else {
+			LOG.warn("Taxonomy " + taxonomyFile + " is for a different ontology, classifying");
+			sor.init(snomedOntology);
+		}
+		return sor;
+	}
+
+	/**
+	 * @return true if queries are answered from a restored taxonomy
+	 */
+	public boolean isTaxonomyRestored() {
+		return taxonomy != null;
+	}
+
+	/**
+	 * Persists the classified concept and role type hierarchies, see
+	 * {@link #create(SnomedOntology, Path)}.
+	 * 
+	 * @param file the file to write
+	 * @throws IOException if the file cannot be written
+	 */
+	public void writeTaxonomy(Path file) throws IOException {
+		(taxonomy != null ? taxonomy : createTaxonomy()).write(file);
+	}
+
+	/**
+	 * Classifies the ontology, which replaces a restored taxonomy, and checks
+	 * that the ELK taxonomy hashes recorded in the restored taxonomy match the
+	 * classification.
+	 * 
+	 * @return false if a taxonomy was restored and it does not match the
+	 *         classification
+	 */
+	public boolean verifyTaxonomy() {
+		if (taxonomy == null)
+			return true;
+		SnomedTaxonomySnapshot restored = taxonomy;
+		classify();
+		if (restored.getClassTaxonomyHash() == getClassTaxonomyHash()
+				&& restored.getObjectPropertyTaxonomyHash() == getObjectPropertyTaxonomyHash())
+			return true;
+		LOG.error("Restored taxonomy does not match the classification of the ontology");
+		return false;
+	}
+
+	private int getClassTaxonomyHash() {
+		try {
+			return TaxonomyHasher.hash(Incompleteness.getValue(getReasoner().getInternalReasoner().getTaxonomy()));
+			// TODO ElkException
+		} catch (Exception e) {
+			throw new RuntimeException(e);
+		}
+	}
+
+	private int getObjectPropertyTaxonomyHash() {
+		try {
+			return TaxonomyHasher
+					.hash(Incompleteness.getValue(getReasoner().getInternalReasoner().getObjectPropertyTaxonomy()));
+			// TODO ElkException
+		} catch (Exception e) {
+			throw new RuntimeException(e);
+		}
+	}
+
+	private SnomedTaxonomySnapshot createTaxonomy() {
+		HashMap<Long, Set<Long>> subConcepts = new HashMap<>();
+		HashMap<Long, Set<Long>> equivalentConcepts = new HashMap<>();
+		for (Concept concept : snomedOntology.getConcepts()) {
+			long id = concept.getId();
+			subConcepts.put(id, getSubConcepts(id));
+			equivalentConcepts.put(id, getEquivalentConcepts(id));
+		}
+		return new SnomedTaxonomySnapshot(SnomedTaxonomySnapshot.hash(snomedOntology), getClassTaxonomyHash(),
+				getObjectPropertyTaxonomyHash(), getSuperConcepts(), subConcepts, equivalentConcepts,
+				getSuperRoleTypes(true), getSuperRoleTypes(false));
+	}
+
 	public List<ElkAxiom> getConceptAxioms(long id) {
 		return conceptIdAxiomMap.get(id);
 	}
 
 	private void init(SnomedOntology snomedOntology) {
+		load(snomedOntology);
+		classify();
+	}
+
+	private void load(SnomedOntology snomedOntology) {
 		this.snomedOntology = snomedOntology;
 		ontology = new OwlxOntology();
 		conceptIdAxiomMap = new HashMap<>();
+		roleTypeAxioms = new ArrayList<>();
 		for (RoleType rt : this.snomedOntology.getRoleTypes()) {
-			process(rt);
+			roleTypeAxioms.addAll(getAxioms(rt));
 		}
 		for (ConcreteRoleType dt : this.snomedOntology.getConcreteRoleTypes()) {
-			process(dt);
+			roleTypeAxioms.addAll(getAxioms(dt));
 		}
 		for (Concept con : this.snomedOntology.getConcepts()) {
-			process(con);
+			conceptIdAxiomMap.put(con.getId(), getAxioms(con));
+		}
+	}
+
+	/**
+	 * Passes the axioms of the ontology straight to ELK when it is first
+	 * loaded, rather than adding them to the {@link OwlxOntology} first.
+	 */
+	private class OntologyLoader extends AbstractAxiomLoader {
+
+		// loading resumes here after an interrupt
+		private Iterator<List<ElkAxiom>> axiomsIterator;
+
+		OntologyLoader(InterruptMonitor interrupter) {
+			super(interrupter);
+		}
+
+		@Override
+		public void load(ElkAxiomProcessor axiomInserter, ElkAxiomProcessor axiomDeleter) {
+			if (axiomsIterator == null)
+				axiomsIterator = Stream.concat(Stream.of(roleTypeAxioms), conceptIdAxiomMap.values().stream())
+						.iterator();
+			while (axiomsIterator.hasNext()) {
+				if (isInterrupted())
+					return;
+				axiomsIterator.next().forEach(axiomInserter::visit);
+			}
+		}
+
+		@Override
+		public boolean isLoadingFinished() {
+			return axiomsIterator != null && !axiomsIterator.hasNext();
 		}
-		reasoner = ElkReasoner.createReasoner(ontology, ontology.getObjectFactory());
+
+	}
+
+	private void classify() {
+		taxonomy = null;
+		reasoner = ElkReasoner.createReasoner(ontology, ontology.getObjectFactory(), OntologyLoader::new);
 		reasoner.flush();
 		try {
 			reasoner.precomputeInferences(InferenceType.CLASS_HIERARCHY, InferenceType.OBJECT_PROPERTY_HIERARCHY);
@@ -102,7 +259,21 @@ private void init(SnomedOntology snomedOntology) {
 		}
 	}
 
+	private ElkReasoner getReasoner() {
+		// a restored taxonomy is checked once it is replaced
+		verifyTaxonomy();
+		if (reasoner == null)
+			classify();
+		return reasoner;
+	}
+
 	public void flush() {
+		if (reasoner == null) {
+			// the restored taxonomy is dropped once the ontology changes
+			if (taxonomy == null)
+				classify();
+			return;
+		}
 		reasoner.flush();
 		try {
 			reasoner.precomputeInferences(InferenceType.CLASS_HIERARCHY);
@@ -112,68 +283,53 @@ public void flush() {
 		}
 	}
 
-	private String getIri(RoleType rt) {
-		return "" + rt.getId();
-	}
-
 	public static long getId(ElkObjectProperty clazz) {
-		return Long.parseLong(clazz.getIri().toString().substring(1));
+		return OwlxOntology.getId(clazz);
 	}
 
 	public RoleType getRoleType(ElkObjectProperty clazz) {
 		return snomedOntology.getRoleType(getId(clazz));
 	}
 
-	private void process(RoleType rt) {
-		String iri = getIri(rt);
-		ontology.getElkObjectProperty(iri);
-		HashSet<String> rt_axioms = new HashSet<>();
+	private List<ElkAxiom> getAxioms(RoleType rt) {
+		long id = rt.getId();
+		ontology.getElkObjectProperty(id);
+		List<ElkAxiom> rt_axioms = new ArrayList<>();
 		for (RoleType sup : rt.getSuperRoleTypes()) {
-			ElkAxiom axiom = ontology.getElkSubObjectPropertyOfAxiom(iri, getIri(sup));
-			ontology.addAxiom(axiom);
-			rt_axioms.add(axiom.toString());
+			ElkAxiom axiom = ontology.getElkSubObjectPropertyOfAxiom(id, sup.getId());
+			rt_axioms.add(axiom);
 		}
 		if (rt.isTransitive()) {
-			ElkTransitiveObjectPropertyAxiom axiom = ontology.getElkTransitiveObjectPropertyAxiom(iri);
-			ontology.addAxiom(axiom);
+			ElkTransitiveObjectPropertyAxiom axiom = ontology.getElkTransitiveObjectPropertyAxiom(id);
 			LOG.info("Transitive: " + axiom);
-			rt_axioms.add(axiom.toString());
+			rt_axioms.add(axiom);
 		}
 		if (rt.getChained() != null) {
-			ElkAxiom axiom = ontology.getElkSubObjectPropertyChainOfAxiom(iri, getIri(rt.getChained()));
-			ontology.addAxiom(axiom);
+			ElkAxiom axiom = ontology.getElkSubObjectPropertyChainOfAxiom(id, rt.getChained().getId());
 			LOG.info("Chained: " + axiom);
-			rt_axioms.add(axiom.toString());
+			rt_axioms.add(axiom);
 		}
 		if (rt.isReflexive()) {
-			ElkReflexiveObjectPropertyAxiom axiom = ontology.getElkReflexiveObjectPropertyAxiom(iri);
-			ontology.addAxiom(axiom);
+			ElkReflexiveObjectPropertyAxiom axiom = ontology.getElkReflexiveObjectPropertyAxiom(id);
 			LOG.info("Reflexive: " + axiom);
-			rt_axioms.add(axiom.toString());
+			rt_axioms.add(axiom);
 		}
+		return rt_axioms;
 	}
 
-	private void process(ConcreteRoleType dt) {
-		String iri = getIri(dt);
-		ontology.getElkDataProperty(iri);
-		HashSet<String> dt_axioms = new HashSet<>();
+	private List<ElkAxiom> getAxioms(ConcreteRoleType dt) {
+		long id = dt.getId();
+		ontology.getElkDataProperty(id);
+		List<ElkAxiom> dt_axioms = new ArrayList<>();
 		for (ConcreteRoleType sup : dt.getSuperConcreteRoleTypes()) {
-			ElkAxiom axiom = ontology.getElkSubDataPropertyOfAxiom(iri, getIri(sup));
-			ontology.addAxiom(axiom);
-			dt_axioms.add(axiom.toString());
+			ElkAxiom axiom = ontology.getElkSubDataPropertyOfAxiom(id, sup.getId());
+			dt_axioms.add(axiom);
 		}
-	}
-
-	private String getIri(ConcreteRoleType dt) {
-		return "" + dt.getId();
-	}
-
-	private String getIri(Concept con) {
-		return "" + con.getId();
+		return dt_axioms;
 	}
 
 	public static long getId(ElkClass clazz) {
-		return Long.parseLong(clazz.getIri().toString().substring(1));
+		return OwlxOntology.getId(clazz);
 	}
 
 	public Concept getConcept(ElkClass clazz) {
@@ -181,20 +337,30 @@ public Concept getConcept(ElkClass clazz) {
 	}
 
 	public void process(Concept con) {
-		List<ElkAxiom> axioms = conceptIdAxiomMap.get(con.getId());
-		if (axioms != null)
-			axioms.forEach(ax -> ontology.removeAxiom(ax));
-		conceptIdAxiomMap.put(con.getId(), new ArrayList<>());
+		taxonomy = null;
+		List<ElkAxiom> axioms = getAxioms(con);
+		List<ElkAxiom> prev_axioms = conceptIdAxiomMap.put(con.getId(), axioms);
+		// before the reasoner is created the axioms are passed by the loader
+		if (reasoner == null)
+			return;
+		if (prev_axioms != null)
+			ontology.removeAxioms(prev_axioms);
+		ontology.addAxioms(axioms);
+	}
+
+	private List<ElkAxiom> getAxioms(Concept con) {
+		List<ElkAxiom> axioms = new ArrayList<>();
 		for (Definition def : con.getDefinitions()) {
-			process(con, def, false);
+			axioms.add(getAxiom(con, def, false));
 		}
 		for (Definition def : con.getGciDefinitions()) {
-			process(con, def, true);
+			axioms.add(getAxiom(con, def, true));
 		}
+		return axioms;
 	}
 
-	private void process(Concept con, Definition def, boolean isGci) {
-		List<ElkClass> sups = def.getSuperConcepts().stream().map(sup -> ontology.getElkClass(getIri(sup))).toList();
+	private ElkAxiom getAxiom(Concept con, Definition def, boolean isGci) {
+		List<ElkClass> sups = def.getSuperConcepts().stream().map(sup -> ontology.getElkClass(sup.getId())).toList();
 		List<ElkObjectSomeValuesFrom> roles = def.getUngroupedRoles().stream().map(x -> process(x)).toList();
 		List<ElkDataHasValue> props = def.getUngroupedConcreteRoles().stream().map(this::process).toList();
 		List<ElkObjectSomeValuesFrom> groups = def.getRoleGroups().stream().map(x -> process(x)).toList();
@@ -211,21 +377,20 @@ private void process(Concept con, Definition def, boolean isGci) {
 		}
 		ElkAxiom axiom = null;
 		switch (def.getDefinitionType()) {
-		case EquivalentConcept -> axiom = ontology.getEquivalentClassesAxiom(getIri(con), expr);
+		case EquivalentConcept -> axiom = ontology.getEquivalentClassesAxiom(con.getId(), expr);
 		case SubConcept -> {
 			if (isGci) {
-				axiom = ontology.getSubClassOfAxiom(expr, getIri(con));
+				axiom = ontology.getSubClassOfAxiom(expr, con.getId());
 			} else {
-				axiom = ontology.getSubClassOfAxiom(getIri(con), expr);
+				axiom = ontology.getSubClassOfAxiom(con.getId(), expr);
 			}
 		}
 		}
-		ontology.addAxiom(axiom);
-		conceptIdAxiomMap.get(con.getId()).add(axiom);
+		return axiom;
 	}
 
 	private ElkObjectSomeValuesFrom process(Role role) {
-		return ontology.getElkObjectSomeValuesFrom(getIri(role.getRoleType()), getIri(role.getConcept()));
+		return ontology.getElkObjectSomeValuesFrom(role.getRoleType().getId(), role.getConcept().getId());
 	}
 
 	private ElkObjectSomeValuesFrom process(RoleGroup rg) {
@@ -240,7 +405,7 @@ private ElkObjectSomeValuesFrom process(RoleGroup rg) {
 		} else {
 			expr = ontology.getObjectFactory().getObjectIntersectionOf(exprs);
 		}
-		return ontology.getElkObjectSomeValuesFrom("" + SnomedIds.role_group, expr);
+		return ontology.getElkObjectSomeValuesFrom(SnomedIds.role_group, expr);
 	}
 
 	private ElkDataHasValue process(ConcreteRole concreteRole) {
@@ -250,7 +415,7 @@ private ElkDataHasValue process(ConcreteRole concreteRole) {
 		case Integer -> f.getXsdInteger();
 		};
 		ElkLiteral literal = f.getLiteral(concreteRole.getValue(), datatype);
-		return ontology.getDataHasValue(getIri(concreteRole.getConcreteRoleType()), literal);
+		return ontology.getDataHasValue(concreteRole.getConcreteRoleType().getId(), literal);
 	}
 
 	private <T> List<T> flatten(Node<T> node) {
@@ -269,14 +434,33 @@ private <T> Set<T> flatten(Set<? extends Node<T>> nodes) {
 		return ret;
 	}
 
+	private Set<Concept> toConcepts(Set<Long> ids) {
+		return ids.stream().map(snomedOntology::getConcept).collect(Collectors.toCollection(HashSet::new));
+	}
+
+	private Set<RoleType> toRoleTypes(Set<Long> ids) {
+		return ids.stream().map(snomedOntology::getRoleType).collect(Collectors.toCollection(HashSet::new));
+	}
+
+	private Set<Long> getDescendants(long id) {
+		HashSet<Long> descendants = new HashSet<>();
+		ArrayList<Long> todo = new ArrayList<>(taxonomy.getSubConcepts().get(id));
+		while (!todo.isEmpty()) {
+			long sub = todo.removeLast();
+			if (descendants.add(sub))
+				todo.addAll(taxonomy.getSubConcepts().get(sub));
+		}
+		return descendants;
+	}
+
 	public Set<ElkObjectProperty> getSuperObjectProperties(RoleType rt) {
 		return getSuperObjectProperties(rt, true);
 	}
 
 	public Set<ElkObjectProperty> getSuperObjectProperties(RoleType rt, boolean direct) {
 		try {
-			Set<? extends Node<ElkObjectProperty>> sups = reasoner
-					.getSuperObjectProperties(ontology.getElkObjectProperty(getIri(rt)), direct);
+			Set<? extends Node<ElkObjectProperty>> sups = getReasoner()
+					.getSuperObjectProperties(ontology.getElkObjectProperty(rt.getId()), direct);
 			Set<ElkObjectProperty> ret = flatten(sups);
 			ret.remove(ontology.getOwlTopObjectProperty());
 			return ret;
@@ -291,6 +475,8 @@ public Set<RoleType> getSuperRoleTypes(RoleType rt) {
 	}
 
 	public Set<RoleType> getSuperRoleTypes(RoleType rt, boolean direct) {
+		if (taxonomy != null)
+			return toRoleTypes(taxonomy.getSuperRoleTypes(direct).get(rt.getId()));
 		return getSuperObjectProperties(rt, direct).stream().map(this::getRoleType)
 				.collect(Collectors.toCollection(HashSet::new));
 	}
@@ -305,16 +491,40 @@ public Set<Long> getSuperRoleTypes(long id, boolean direct) {
 
 	public HashMap<Long, Set<Long>> getSuperRoleTypes(boolean direct) {
 		HashMap<Long, Set<Long>> superRoleTypes = new HashMap<>();
+		if (taxonomy != null) {
+			taxonomy.getSuperRoleTypes(direct).forEach((id, sups) -> superRoleTypes.put(id, new HashSet<>(sups)));
+		} else {
+			Taxonomy<ElkObjectProperty> propertyTaxonomy;
+			try {
+				propertyTaxonomy = Incompleteness
+						.getValue(getReasoner().getInternalReasoner().getObjectPropertyTaxonomy());
+				// TODO ElkException
+			} catch (Exception e) {
+				throw new RuntimeException(e);
+			}
+			ElkObjectProperty top = ontology.getOwlTopObjectProperty();
+			ElkObjectProperty bottom = ontology.getOwlBottomObjectProperty();
+			for (TaxonomyNode<ElkObjectProperty> node : propertyTaxonomy.getNodes()) {
+				long[] sups = getIds(direct ? node.getDirectSuperNodes() : node.getAllSuperNodes(), top);
+				for (ElkObjectProperty member : node) {
+					if (member.equals(top) || member.equals(bottom))
+						continue;
+					long id = getId(member);
+					if (snomedOntology.getRoleType(id) != null)
+						superRoleTypes.put(id, toSet(sups));
+				}
+			}
+		}
+		// role types not in the taxonomy are queried one by one
 		for (RoleType rt : snomedOntology.getRoleTypes()) {
-			long id = rt.getId();
-			superRoleTypes.put(id, getSuperRoleTypes(id, direct));
+			superRoleTypes.computeIfAbsent(rt.getId(), id -> getSuperRoleTypes(id, direct));
 		}
 		return superRoleTypes;
 	}
 
 	public Set<ElkClass> getSuperClasses(Concept con) {
 		try {
-			Set<? extends Node<ElkClass>> sups = reasoner.getSuperClasses(ontology.getElkClass(getIri(con)), true);
+			Set<? extends Node<ElkClass>> sups = getReasoner().getSuperClasses(ontology.getElkClass(con.getId()), true);
 			Set<ElkClass> flat = flatten(sups);
 			flat.remove(ontology.getOwlThing());
 			return flat;
@@ -325,6 +535,8 @@ public Set<ElkClass> getSuperClasses(Concept con) {
 	}
 
 	public Set<Concept> getSuperConcepts(Concept con) {
+		if (taxonomy != null)
+			return toConcepts(taxonomy.getSuperConcepts().get(con.getId()));
 		return getSuperClasses(con).stream().map(this::getConcept).collect(Collectors.toCollection(HashSet::new));
 	}
 
@@ -337,20 +549,105 @@ public Set<Long> getSuperConcepts(long id) {
 
 	public HashMap<Long, Set<Long>> getSuperConcepts() {
 		HashMap<Long, Set<Long>> superConcepts = new HashMap<>();
+		forEachSuperConcepts((id, sups) -> {
+			if (snomedOntology.getConcept(id) != null)
+				superConcepts.put(id, toSet(sups));
+		});
+		// concepts not in the taxonomy are queried one by one
 		for (Concept concept : snomedOntology.getConcepts()) {
-			long id = concept.getId();
-			superConcepts.put(id, getSuperConcepts(id));
+			superConcepts.computeIfAbsent(concept.getId(), this::getSuperConcepts);
 		}
 		return superConcepts;
 	}
 
+	public interface SuperConceptsSink {
+
+		/**
+		 * @param id  the concept
+		 * @param sups the direct super concepts, must not be modified
+		 */
+		public void accept(long id, long[] sups);
+
+	}
+
+	/**
+	 * Passes the direct super concepts of every classified concept to the sink.
+	 * The class taxonomy is walked once, and the super concepts of its nodes are
+	 * collected in parallel. The sink is called from the calling thread.
+	 * 
+	 * @param sink receives each concept with its direct super concepts
+	 */
+	public void forEachSuperConcepts(SuperConceptsSink sink) {
+		for (long[][] ids : getSuperConceptIds()) {
+			for (long id : ids[0]) {
+				sink.accept(id, ids[1]);
+			}
+		}
+	}
+
+	/**
+	 * @return the classified is-a hierarchy, built from
+	 *         {@link #forEachSuperConcepts(SuperConceptsSink)}
+	 */
+	public SnomedIsa getSuperConceptsIsa() {
+		List<long[][]> nodes = getSuperConceptIds();
+		int size = nodes.stream().mapToInt(ids -> ids[0].length).sum();
+		long[] conceptIds = new long[size];
+		long[][] parentIds = new long[size][];
+		int i = 0;
+		for (long[][] ids : nodes) {
+			for (long id : ids[0]) {
+				conceptIds[i] = id;
+				parentIds[i] = ids[1];
+				i++;
+			}
+		}
+		return SnomedIsa.init(conceptIds, parentIds);
+	}
+
+	// for each node the pair of its concept ids and their direct super concept ids
+	private List<long[][]> getSuperConceptIds() {
+		if (taxonomy != null)
+			return taxonomy.getSuperConcepts().entrySet().parallelStream()
+					.map(entry -> new long[][] { { entry.getKey() },
+							entry.getValue().stream().mapToLong(Long::longValue).toArray() })
+					.toList();
+		Taxonomy<ElkClass> classTaxonomy;
+		try {
+			classTaxonomy = Incompleteness.getValue(getReasoner().getInternalReasoner().getTaxonomy());
+			// TODO ElkException
+		} catch (Exception e) {
+			throw new RuntimeException(e);
+		}
+		ElkClass top = ontology.getOwlThing();
+		ElkClass bottom = ontology.getOwlNothing();
+		return new ArrayList<>(classTaxonomy.getNodes()).parallelStream().map(node -> {
+			long[] members = new long[node.size()];
+			int size = 0;
+			for (ElkClass member : node) {
+				if (!member.equals(top) && !member.equals(bottom))
+					members[size++] = getId(member);
+			}
+			return new long[][] { Arrays.copyOf(members, size), getIds(node.getDirectSuperNodes(), top) };
+		}).toList();
+	}
+
+	private <T extends ElkEntity> long[] getIds(Set<? extends Node<T>> nodes, T exclude) {
+		return nodes.stream().flatMap(node -> flatten(node).stream()).filter(member -> !member.equals(exclude))
+				.mapToLong(OwlxOntology::getId).toArray();
+	}
+
+	private static Set<Long> toSet(long[] ids) {
+		return Arrays.stream(ids).boxed().collect(Collectors.toCollection(HashSet::new));
+	}
+
 	public Set<ElkClass> getSubClasses(Concept con) {
 		return getSubClasses(con, true);
 	}
 
 	public Set<ElkClass> getSubClasses(Concept con, boolean direct) {
 		try {
-			Set<? extends Node<ElkClass>> subs = reasoner.getSubClasses(ontology.getElkClass(getIri(con)), direct);
+			Set<? extends Node<ElkClass>> subs = getReasoner().getSubClasses(ontology.getElkClass(con.getId()), direct);
 			Set<ElkClass> flat = flatten(subs);
 			flat.remove(ontology.getOwlNothing());
 			return flat;
@@ -365,6 +662,8 @@ public Set<Concept> getSubConcepts(Concept con) {
 	}
 
 	public Set<Concept> getSubConcepts(Concept con, boolean direct) {
+		if (taxonomy != null)
+			return toConcepts(direct ? taxonomy.getSubConcepts().get(con.getId()) : getDescendants(con.getId()));
 		return getSubClasses(con, direct).stream().map(this::getConcept).collect(Collectors.toCollection(HashSet::new));
 	}
 
@@ -381,7 +680,7 @@ public Set<Long> getSubConcepts(long id, boolean direct) {
 
 	public Set<ElkClass> getEquivalentClasses(Concept con) {
 		try {
-			Node<ElkClass> eqs = reasoner.getEquivalentClasses(ontology.getElkClass(getIri(con)));
+			Node<ElkClass> eqs = getReasoner().getEquivalentClasses(ontology.getElkClass(con.getId()));
 			Set<ElkClass> flat = new HashSet<>(flatten(eqs));
 			flat.remove(ontology.getOwlThing());
 			flat.remove(ontology.getOwlNothing());
@@ -393,6 +692,8 @@ public Set<ElkClass> getEquivalentClasses(Concept con) {
 	}
 
 	public Set<Concept> getEquivalentConcepts(Concept con) {
+		if (taxonomy != null)
+			return toConcepts(taxonomy.getEquivalentConcepts().get(con.getId()));
 		return getEquivalentClasses(con).stream().map(this::getConcept).collect(Collectors.toCollection(HashSet::new));
 	}
 
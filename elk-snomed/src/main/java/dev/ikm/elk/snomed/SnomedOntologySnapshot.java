@@ -0,0 +1,317 @@
+package dev.ikm.elk.snomed;
+
+/*-
+ * #%L
+ * ELK Integration with SNOMED
+ * %%
+ * Copyright (C) 2023 Integrated Knowledge Management
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+
+import dev.ikm.elk.snomed.model.Concept;
+import dev.ikm.elk.snomed.model.ConcreteRole;
+import dev.ikm.elk.snomed.model.ConcreteRoleType;
+import dev.ikm.elk.snomed.model.Definition;
+import dev.ikm.elk.snomed.model.DefinitionType;
+import dev.ikm.elk.snomed.model.Role;
+import dev.ikm.elk.snomed.model.RoleGroup;
+import dev.ikm.elk.snomed.model.RoleType;
+
+/**
+ * A compact binary snapshot of a {@link SnomedOntology}, written once and then
+ * read back instead of transforming the OWL axioms again on restart.
+ * 
+ * The file holds a header with the role types, concrete role types and
+ * concepts followed by an offset table and the encoded definitions.
+ * Definitions refer to concepts and role types by their position in the
+ * header. Reading memory maps the file and only decodes the header, the
+ * definitions of a concept are decoded the first time they are accessed.
+ * Descriptions are not part of the snapshot.
+ */
+public class SnomedOntologySnapshot {
+
+	private static final int MAGIC = 0x534e4f53; // "SNOS"
+
+	public static final int VERSION = 1;
+
+	private static final int TRANSITIVE = 1;
+
+	private static final int REFLEXIVE = 2;
+
+	public static void write(SnomedOntology ontology, Path file) throws IOException {
+		new Writer(ontology).write(file);
+	}
+
+	public static SnomedOntology read(Path file) throws IOException {
+		try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+			if (channel.size() > Integer.MAX_VALUE)
+				throw new IOException("Snapshot too large to map: " + file);
+			// the mapping stays valid after the channel is closed
+			ByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+			if (buffer.remaining() < 8 || buffer.getInt() != MAGIC)
+				throw new IOException("Not a SNOMED ontology snapshot: " + file);
+			int version = buffer.getInt();
+			if (version != VERSION)
+				throw new IOException("Unsupported snapshot version " + version + ": " + file);
+			return new Reader(buffer).read();
+		}
+	}
+
+	private static class Writer {
+
+		private final SnomedOntology ontology;
+
+		private final HashMap<Concept, Integer> conceptIndex = new HashMap<>();
+
+		private final HashMap<RoleType, Integer> roleTypeIndex = new HashMap<>();
+
+		private final HashMap<ConcreteRoleType, Integer> concreteRoleTypeIndex = new HashMap<>();
+
+		Writer(SnomedOntology ontology) {
+			this.ontology = ontology;
+			for (Concept con : ontology.getConcepts())
+				conceptIndex.put(con, conceptIndex.size());
+			for (RoleType rt : ontology.getRoleTypes())
+				roleTypeIndex.put(rt, roleTypeIndex.size());
+			for (ConcreteRoleType crt : ontology.getConcreteRoleTypes())
+				concreteRoleTypeIndex.put(crt, concreteRoleTypeIndex.size());
+		}
+
+		void write(Path file) throws IOException {
+			List<Concept> concepts = ontology.getConcepts();
+			int[] offsets = new int[concepts.size()];
+			ByteArrayOutputStream definitions = new ByteArrayOutputStream();
+			DataOutputStream defs = new DataOutputStream(definitions);
+			for (int i = 0; i < concepts.size(); i++) {
+				offsets[i] = defs.size();
+				writeDefinitions(defs, concepts.get(i).getDefinitions());
+				writeDefinitions(defs, concepts.get(i).getGciDefinitions());
+			}
+			defs.flush();
+			try (DataOutputStream out = new DataOutputStream(
+					new BufferedOutputStream(Files.newOutputStream(file), 1 << 16))) {
+				out.writeInt(MAGIC);
+				out.writeInt(VERSION);
+				out.writeInt(ontology.getRoleTypes().size());
+				for (RoleType rt : ontology.getRoleTypes()) {
+					out.writeLong(rt.getId());
+					writeString(out, rt.getName());
+					out.writeByte((rt.isTransitive() ? TRANSITIVE : 0) | (rt.isReflexive() ? REFLEXIVE : 0));
+					out.writeInt(rt.getChained() == null ? -1 : index(roleTypeIndex, rt.getChained()));
+					out.writeInt(rt.getSuperRoleTypes().size());
+					for (RoleType sup : rt.getSuperRoleTypes())
+						out.writeInt(index(roleTypeIndex, sup));
+				}
+				out.writeInt(ontology.getConcreteRoleTypes().size());
+				for (ConcreteRoleType crt : ontology.getConcreteRoleTypes()) {
+					out.writeLong(crt.getId());
+					writeString(out, crt.getName());
+					out.writeInt(crt.getSuperConcreteRoleTypes().size());
+					for (ConcreteRoleType sup : crt.getSuperConcreteRoleTypes())
+						out.writeInt(index(concreteRoleTypeIndex, sup));
+				}
+				out.writeInt(concepts.size());
+				for (Concept con : concepts) {
+					out.writeLong(con.getId());
+					writeString(out, con.getName());
+				}
+				for (int offset : offsets)
+					out.writeInt(offset);
+				definitions.writeTo(out);
+			}
+		}
+
+		private void writeDefinitions(DataOutputStream out, List<Definition> definitions) throws IOException {
+			out.writeInt(definitions.size());
+			for (Definition def : definitions) {
+				out.writeByte(def.getDefinitionType().ordinal());
+				out.writeInt(def.getSuperConcepts().size());
+				for (Concept sup : def.getSuperConcepts())
+					out.writeInt(index(conceptIndex, sup));
+				writeRoles(out, def.getUngroupedRoles(), def.getUngroupedConcreteRoles());
+				out.writeInt(def.getRoleGroups().size());
+				for (RoleGroup rg : def.getRoleGroups())
+					writeRoles(out, rg.getRoles(), rg.getConcreteRoles());
+			}
+		}
+
+		private void writeRoles(DataOutputStream out, Collection<Role> roles, Collection<ConcreteRole> concreteRoles)
+				throws IOException {
+			out.writeInt(roles.size());
+			for (Role role : roles) {
+				out.writeInt(index(roleTypeIndex, role.getRoleType()));
+				out.writeInt(index(conceptIndex, role.getConcept()));
+			}
+			out.writeInt(concreteRoles.size());
+			for (ConcreteRole role : concreteRoles) {
+				out.writeInt(index(concreteRoleTypeIndex, role.getConcreteRoleType()));
+				writeString(out, role.getValue());
+				out.writeByte(role.getValueType().ordinal());
+			}
+		}
+
+		private static <T> int index(HashMap<T, Integer> indexes, T entity) {
+			Integer index = indexes.get(entity);
+			if (index == null)
+				throw new IllegalStateException("Not in the ontology: " + entity);
+			return index;
+		}
+
+		private static void writeString(DataOutputStream out, String str) throws IOException {
+			if (str == null) {
+				out.writeInt(-1);
+				return;
+			}
+			byte[] bytes = str.getBytes(StandardCharsets.UTF_8);
+			out.writeInt(bytes.length);
+			out.write(bytes);
+		}
+
+	}
+
+	private static class Reader {
+
+		private static final DefinitionType[] DEFINITION_TYPES = DefinitionType.values();
+
+		private static final ConcreteRole.ValueType[] VALUE_TYPES = ConcreteRole.ValueType.values();
+
+		private final ByteBuffer buffer;
+
+		private RoleType[] roleTypes;
+
+		private ConcreteRoleType[] concreteRoleTypes;
+
+		private Concept[] concepts;
+
+		Reader(ByteBuffer buffer) {
+			this.buffer = buffer;
+		}
+
+		SnomedOntology read() {
+			roleTypes = new RoleType[buffer.getInt()];
+			int[] chained = new int[roleTypes.length];
+			int[][] superRoleTypes = new int[roleTypes.length][];
+			for (int i = 0; i < roleTypes.length; i++) {
+				roleTypes[i] = new RoleType(buffer.getLong());
+				roleTypes[i].setName(readString(buffer));
+				int flags = buffer.get();
+				roleTypes[i].setTransitive((flags & TRANSITIVE) != 0);
+				roleTypes[i].setReflexive((flags & REFLEXIVE) != 0);
+				chained[i] = buffer.getInt();
+				superRoleTypes[i] = readInts(buffer);
+			}
+			for (int i = 0; i < roleTypes.length; i++) {
+				if (chained[i] != -1)
+					roleTypes[i].setChained(roleTypes[chained[i]]);
+				for (int sup : superRoleTypes[i])
+					roleTypes[i].addSuperRoleType(roleTypes[sup]);
+			}
+			concreteRoleTypes = new ConcreteRoleType[buffer.getInt()];
+			int[][] superConcreteRoleTypes = new int[concreteRoleTypes.length][];
+			for (int i = 0; i < concreteRoleTypes.length; i++) {
+				concreteRoleTypes[i] = new ConcreteRoleType(buffer.getLong());
+				concreteRoleTypes[i].setName(readString(buffer));
+				superConcreteRoleTypes[i] = readInts(buffer);
+			}
+			for (int i = 0; i < concreteRoleTypes.length; i++) {
+				for (int sup : superConcreteRoleTypes[i])
+					concreteRoleTypes[i].addSuperConcreteRoleType(concreteRoleTypes[sup]);
+			}
+			concepts = new Concept[buffer.getInt()];
+			for (int i = 0; i < concepts.length; i++) {
+				concepts[i] = new Concept(buffer.getLong());
+				concepts[i].setName(readString(buffer));
+			}
+			int definitionsStart = buffer.position() + 4 * concepts.length;
+			for (int i = 0; i < concepts.length; i++) {
+				int position = definitionsStart + buffer.getInt();
+				concepts[i].setDefinitionsLoader((defs, gciDefs) -> readDefinitions(defs, gciDefs, position));
+			}
+			return new SnomedOntology(List.of(concepts), List.of(roleTypes), List.of(concreteRoleTypes));
+		}
+
+		private void readDefinitions(List<Definition> defs, List<Definition> gciDefs, int position) {
+			// each concept decodes from its own view of the shared mapping
+			ByteBuffer in = buffer.duplicate().position(position);
+			for (int i = in.getInt(); i > 0; i--)
+				defs.add(readDefinition(in));
+			for (int i = in.getInt(); i > 0; i--)
+				gciDefs.add(readDefinition(in));
+		}
+
+		private Definition readDefinition(ByteBuffer in) {
+			Definition def = new Definition();
+			def.setDefinitionType(DEFINITION_TYPES[in.get()]);
+			for (int i = in.getInt(); i > 0; i--)
+				def.addSuperConcept(concepts[in.getInt()]);
+			for (int i = in.getInt(); i > 0; i--)
+				def.addUngroupedRole(readRole(in));
+			for (int i = in.getInt(); i > 0; i--)
+				def.addUngroupedConcreteRole(readConcreteRole(in));
+			for (int i = in.getInt(); i > 0; i--) {
+				RoleGroup rg = new RoleGroup();
+				for (int j = in.getInt(); j > 0; j--)
+					rg.addRole(readRole(in));
+				for (int j = in.getInt(); j > 0; j--)
+					rg.addConcreteRole(readConcreteRole(in));
+				def.addRoleGroup(rg);
+			}
+			return def;
+		}
+
+		private Role readRole(ByteBuffer in) {
+			RoleType roleType = roleTypes[in.getInt()];
+			return new Role(roleType, concepts[in.getInt()]);
+		}
+
+		private ConcreteRole readConcreteRole(ByteBuffer in) {
+			ConcreteRoleType concreteRoleType = concreteRoleTypes[in.getInt()];
+			String value = readString(in);
+			return new ConcreteRole(concreteRoleType, value, VALUE_TYPES[in.get()]);
+		}
+
+		private static int[] readInts(ByteBuffer in) {
+			int[] ret = new int[in.getInt()];
+			for (int i = 0; i < ret.length; i++)
+				ret[i] = in.getInt();
+			return ret;
+		}
+
+		private static String readString(ByteBuffer in) {
+			int length = in.getInt();
+			if (length == -1)
+				return null;
+			byte[] bytes = new byte[length];
+			in.get(bytes);
+			return new String(bytes, StandardCharsets.UTF_8);
+		}
+
+	}
+
+}
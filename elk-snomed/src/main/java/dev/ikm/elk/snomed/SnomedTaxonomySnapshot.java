@@ -0,0 +1,262 @@
+package dev.ikm.elk.snomed;
+
+/*-
+ * #%L
+ * ELK Integration with SNOMED
+ * %%
+ * Copyright (C) 2023 Integrated Knowledge Management
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import dev.ikm.elk.snomed.model.Concept;
+import dev.ikm.elk.snomed.model.ConcreteRole;
+import dev.ikm.elk.snomed.model.ConcreteRoleType;
+import dev.ikm.elk.snomed.model.Definition;
+import dev.ikm.elk.snomed.model.Role;
+import dev.ikm.elk.snomed.model.RoleType;
+
+/**
+ * The classified concept and role type hierarchies of a
+ * {@link SnomedOntologyReasoner}, persisted so that a reasoner over the same
+ * ontology can answer hierarchy queries without saturating.
+ * 
+ * The snapshot records a hash of the ontology content, which is checked
+ * before the snapshot is used, and the ELK taxonomy hashes of the classified
+ * class and object property taxonomies, which are checked against the
+ * classification once the ontology is classified, see
+ * {@link SnomedOntologyReasoner#verifyTaxonomy()}.
+ */
+public class SnomedTaxonomySnapshot {
+
+	private static final int MAGIC = 0x534e5458; // "SNTX"
+
+	public static final int VERSION = 1;
+
+	private byte[] ontologyHash;
+
+	private int classTaxonomyHash;
+
+	private int objectPropertyTaxonomyHash;
+
+	private HashMap<Long, Set<Long>> superConcepts;
+
+	private HashMap<Long, Set<Long>> subConcepts;
+
+	private HashMap<Long, Set<Long>> equivalentConcepts;
+
+	private HashMap<Long, Set<Long>> superRoleTypes;
+
+	private HashMap<Long, Set<Long>> ancestorRoleTypes;
+
+	private SnomedTaxonomySnapshot() {
+		super();
+	}
+
+	public SnomedTaxonomySnapshot(byte[] ontologyHash, int classTaxonomyHash, int objectPropertyTaxonomyHash,
+			HashMap<Long, Set<Long>> superConcepts, HashMap<Long, Set<Long>> subConcepts,
+			HashMap<Long, Set<Long>> equivalentConcepts, HashMap<Long, Set<Long>> superRoleTypes,
+			HashMap<Long, Set<Long>> ancestorRoleTypes) {
+		super();
+		this.ontologyHash = ontologyHash;
+		this.classTaxonomyHash = classTaxonomyHash;
+		this.objectPropertyTaxonomyHash = objectPropertyTaxonomyHash;
+		this.superConcepts = superConcepts;
+		this.subConcepts = subConcepts;
+		this.equivalentConcepts = equivalentConcepts;
+		this.superRoleTypes = superRoleTypes;
+		this.ancestorRoleTypes = ancestorRoleTypes;
+	}
+
+	public byte[] getOntologyHash() {
+		return ontologyHash;
+	}
+
+	public int getClassTaxonomyHash() {
+		return classTaxonomyHash;
+	}
+
+	public int getObjectPropertyTaxonomyHash() {
+		return objectPropertyTaxonomyHash;
+	}
+
+	public boolean isFor(SnomedOntology ontology) {
+		return Arrays.equals(ontologyHash, hash(ontology));
+	}
+
+	/**
+	 * @return the direct super concepts, keyed by concept id
+	 */
+	public HashMap<Long, Set<Long>> getSuperConcepts() {
+		return superConcepts;
+	}
+
+	/**
+	 * @return the direct sub concepts, keyed by concept id
+	 */
+	public HashMap<Long, Set<Long>> getSubConcepts() {
+		return subConcepts;
+	}
+
+	public HashMap<Long, Set<Long>> getEquivalentConcepts() {
+		return equivalentConcepts;
+	}
+
+	public HashMap<Long, Set<Long>> getSuperRoleTypes(boolean direct) {
+		return (direct ? superRoleTypes : ancestorRoleTypes);
+	}
+
+	/**
+	 * A hash of the ontology content that does not depend on the order of the
+	 * concepts, definitions, roles or role groups.
+	 * 
+	 * @param ontology the ontology
+	 * @return the SHA-256 digest
+	 */
+	public static byte[] hash(SnomedOntology ontology) {
+		MessageDigest digest;
+		try {
+			digest = MessageDigest.getInstance("SHA-256");
+		} catch (NoSuchAlgorithmException e) {
+			throw new RuntimeException(e);
+		}
+		ontology.getRoleTypes().stream().sorted(Comparator.comparingLong(RoleType::getId))
+				.map(SnomedTaxonomySnapshot::toCanonicalString).forEach(str -> update(digest, str));
+		ontology.getConcreteRoleTypes().stream().sorted(Comparator.comparingLong(ConcreteRoleType::getId))
+				.map(SnomedTaxonomySnapshot::toCanonicalString).forEach(str -> update(digest, str));
+		ontology.getConcepts().stream().sorted(Comparator.comparingLong(Concept::getId))
+				.map(SnomedTaxonomySnapshot::toCanonicalString).forEach(str -> update(digest, str));
+		return digest.digest();
+	}
+
+	private static void update(MessageDigest digest, String str) {
+		digest.update(str.getBytes(StandardCharsets.UTF_8));
+		digest.update((byte) '\n');
+	}
+
+	private static String toCanonicalString(RoleType rt) {
+		return "RT " + rt.getId() + " " + sorted(rt.getSuperRoleTypes().stream().map(RoleType::getId)) + " "
+				+ rt.isTransitive() + " " + rt.isReflexive() + " "
+				+ (rt.getChained() == null ? "" : rt.getChained().getId());
+	}
+
+	private static String toCanonicalString(ConcreteRoleType crt) {
+		return "CRT " + crt.getId() + " "
+				+ sorted(crt.getSuperConcreteRoleTypes().stream().map(ConcreteRoleType::getId));
+	}
+
+	private static String toCanonicalString(Concept con) {
+		return "C " + con.getId() + " " + sorted(con.getDefinitions().stream().map(x -> toCanonicalString(x)))
+				+ " GCI " + sorted(con.getGciDefinitions().stream().map(x -> toCanonicalString(x)));
+	}
+
+	private static String toCanonicalString(Definition def) {
+		return def.getDefinitionType() + " " + sorted(def.getSuperConcepts().stream().map(Concept::getId)) + " "
+				+ toCanonicalString(def.getUngroupedRoles(), def.getUngroupedConcreteRoles()) + " "
+				+ sorted(def.getRoleGroups().stream().map(x -> toCanonicalString(x.getRoles(), x.getConcreteRoles())));
+	}
+
+	private static String toCanonicalString(Collection<Role> roles, Collection<ConcreteRole> concreteRoles) {
+		return sorted(roles.stream().map(x -> x.getRoleType().getId() + ":" + x.getConcept().getId())) + " " + sorted(
+				concreteRoles.stream().map(x -> x.getConcreteRoleType().getId() + "=" + x.getValue() + "^^" + x.getValueType()));
+	}
+
+	private static String sorted(Stream<?> elements) {
+		return elements.map(Object::toString).sorted().collect(Collectors.joining(",", "[", "]"));
+	}
+
+	public void write(Path file) throws IOException {
+		try (DataOutputStream out = new DataOutputStream(
+				new BufferedOutputStream(Files.newOutputStream(file), 1 << 16))) {
+			out.writeInt(MAGIC);
+			out.writeInt(VERSION);
+			out.writeInt(ontologyHash.length);
+			out.write(ontologyHash);
+			out.writeInt(classTaxonomyHash);
+			out.writeInt(objectPropertyTaxonomyHash);
+			write(out, superConcepts);
+			write(out, subConcepts);
+			write(out, equivalentConcepts);
+			write(out, superRoleTypes);
+			write(out, ancestorRoleTypes);
+		}
+	}
+
+	private static void write(DataOutputStream out, HashMap<Long, Set<Long>> map) throws IOException {
+		out.writeInt(map.size());
+		for (Map.Entry<Long, Set<Long>> entry : map.entrySet()) {
+			out.writeLong(entry.getKey());
+			out.writeInt(entry.getValue().size());
+			for (long id : entry.getValue())
+				out.writeLong(id);
+		}
+	}
+
+	public static SnomedTaxonomySnapshot read(Path file) throws IOException {
+		try (DataInputStream in = new DataInputStream(
+				new BufferedInputStream(Files.newInputStream(file), 1 << 16))) {
+			if (in.readInt() != MAGIC)
+				throw new IOException("Not a SNOMED taxonomy snapshot: " + file);
+			int version = in.readInt();
+			if (version != VERSION)
+				throw new IOException("Unsupported snapshot version " + version + ": " + file);
+			SnomedTaxonomySnapshot ret = new SnomedTaxonomySnapshot();
+			ret.ontologyHash = new byte[in.readInt()];
+			in.readFully(ret.ontologyHash);
+			ret.classTaxonomyHash = in.readInt();
+			ret.objectPropertyTaxonomyHash = in.readInt();
+			ret.superConcepts = read(in);
+			ret.subConcepts = read(in);
+			ret.equivalentConcepts = read(in);
+			ret.superRoleTypes = read(in);
+			ret.ancestorRoleTypes = read(in);
+			return ret;
+		}
+	}
+
+	private static HashMap<Long, Set<Long>> read(DataInputStream in) throws IOException {
+		int size = in.readInt();
+		HashMap<Long, Set<Long>> map = HashMap.newHashMap(size);
+		for (int i = 0; i < size; i++) {
+			long key = in.readLong();
+			int n = in.readInt();
+			Set<Long> ids = HashSet.newHashSet(n);
+			for (int j = 0; j < n; j++)
+				ids.add(in.readLong());
+			map.put(key, ids);
+		}
+		return map;
+	}
+
+}
@@ -23,6 +23,7 @@
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Objects;
+import java.util.function.BiConsumer;
 
 public class Concept {
 
@@ -34,6 +35,15 @@ public class Concept {
 
 	private List<Definition> gciDefinitions = new ArrayList<>();
 
+	/*
+	 * Cleared only after the loaded definitions are assigned, so that a thread
+	 * that reads it as null also sees them
+	 */
+	private volatile BiConsumer<List<Definition>, List<Definition>> definitionsLoader;
+
+	// set while the definitions are loaded, guarded by this
+	private boolean loadingDefinitions;
+
 	public Concept(long id) {
 		super();
 		this.id = id;
@@ -47,27 +57,66 @@ public void setName(String name) {
 		this.name = name;
 	}
 
+	/**
+	 * Defers adding the definitions and GCI definitions of this concept until
+	 * they are first accessed, e.g. when decoding a {@code SnomedOntologySnapshot}
+	 * 
+	 * @param definitionsLoader called at most once with the lists to which the
+	 *                          definitions and the GCI definitions are added
+	 */
+	public void setDefinitionsLoader(BiConsumer<List<Definition>, List<Definition>> definitionsLoader) {
+		this.definitionsLoader = definitionsLoader;
+	}
+
+	private void loadDefinitions() {
+		if (definitionsLoader == null)
+			return;
+		synchronized (this) {
+			BiConsumer<List<Definition>, List<Definition>> loader = definitionsLoader;
+			// the loader may access this concept while loading
+			if (loader == null || loadingDefinitions)
+				return;
+			loadingDefinitions = true;
+			try {
+				List<Definition> loadedDefinitions = new ArrayList<>();
+				List<Definition> loadedGciDefinitions = new ArrayList<>();
+				loader.accept(loadedDefinitions, loadedGciDefinitions);
+				definitions = loadedDefinitions;
+				gciDefinitions = loadedGciDefinitions;
+				definitionsLoader = null;
+			} finally {
+				loadingDefinitions = false;
+			}
+		}
+	}
+
 	public List<Definition> getDefinitions() {
+		loadDefinitions();
 		return definitions;
 	}
 
 	public void addDefinition(Definition definition) {
+		loadDefinitions();
 		this.definitions.add(definition);
 	}
 	
 	public void removeAllDefinitions() {
+		loadDefinitions();
 		this.definitions = new ArrayList<>();
 	}
 
 	public List<Definition> getGciDefinitions() {
+		loadDefinitions();
 		return gciDefinitions;
 	}
 
 	public void addGciDefinition(Definition definition) {
+		loadDefinitions();
 		this.gciDefinitions.add(definition);
 	}
 	
 	public void removeAllGciDefinitions() {
+		loadDefinitions();
 		this.gciDefinitions = new ArrayList<>();
 	}
 
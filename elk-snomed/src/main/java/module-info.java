@@ -23,6 +23,8 @@
 
 	requires org.semanticweb.elk.owl.model;
 	requires org.semanticweb.elk.reasoner;
+	requires org.semanticweb.elk.util.collections;
+	requires org.semanticweb.elk.util.concurrent;
 
 	requires dev.ikm.elk.snomed.reasoner;
 
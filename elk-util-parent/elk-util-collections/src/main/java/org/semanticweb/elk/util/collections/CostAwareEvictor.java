@@ -0,0 +1,298 @@
+/*-
+ * #%L
+ * ELK Utilities Collections
+ * %%
+ * Copyright (C) 2023 Integrated Knowledge Management
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package org.semanticweb.elk.util.collections;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+
+import org.semanticweb.elk.util.statistics.Stat;
+
+import com.google.common.base.Preconditions;
+import com.google.common.base.Predicate;
+
+/**
+ * Evicts the elements that are cheapest to keep out after the
+ * <em>capacity</em> is exceeded, following the GreedyDual-Size-Frequency
+ * policy. Every element has a priority that is computed when it is added as
+ * the priority of the last evicted element plus the number of times it was
+ * added multiplied by its cost and divided by its size, which can be provided
+ * using {@link #setCost(Object, double, int)}. So elements that are expensive
+ * to recompute, small, or often added are retained longer, while the elements
+ * that are not added any more eventually get evicted. Elements with the same
+ * priority are evicted in the order in which they were added. Eviction is
+ * trying to reduce the number of elements in this evictor to capacity times
+ * <em>load factor</em>. However, it still does not evict the elements that
+ * should be retained.
+ * 
+ * @param <E>
+ *            The type of the elements.
+ */
+public class CostAwareEvictor<E> extends AbstractEvictor<E> {
+
+	/**
+	 * the cost of elements for which {@link #setCost(Object, double, int)}
+	 * was not called
+	 */
+	public static final double DEFAULT_COST = 1.0;
+
+	private final Map<E, ElementRecord<E>> records_ = new ArrayHashMap<E, ElementRecord<E>>();
+
+	/**
+	 * the records ordered by their priority
+	 */
+	private final TreeSet<ElementRecord<E>> queue_ = new TreeSet<ElementRecord<E>>();
+
+	private final double loadFactor_;
+
+	private int capacity_;
+
+	/**
+	 * the priority of the last evicted element
+	 */
+	private double inflation_ = 0;
+
+	/**
+	 * used to order the elements with the same priority
+	 */
+	private long timestamp_ = 0;
+
+	private long nHits_ = 0, nMisses_ = 0, nEvictions_ = 0;
+
+	CostAwareEvictor(final int capacity, final double loadFactor) {
+		this.capacity_ = capacity;
+		this.loadFactor_ = loadFactor;
+
+		this.stats = new Stats();
+	}
+
+	@Override
+	public void add(final E element) {
+		ElementRecord<E> record = records_.get(element);
+		if (record == null) {
+			nMisses_++;
+			record = new ElementRecord<E>(element);
+			records_.put(element, record);
+		} else {
+			nHits_++;
+			queue_.remove(record);
+		}
+		record.frequency++;
+		enqueue(record);
+	}
+
+	@Override
+	public void setCost(final E element, final double cost, final int size) {
+		Preconditions.checkArgument(cost >= 0, "Cost cannot be negative!");
+		Preconditions.checkArgument(size > 0, "Size must be positive!");
+		final ElementRecord<E> record = records_.get(element);
+		if (record == null) {
+			return;
+		}
+		// else
+		queue_.remove(record);
+		record.cost = cost;
+		record.size = size;
+		enqueue(record);
+	}
+
+	@Override
+	public boolean remove(final E element) {
+		final ElementRecord<E> record = records_.remove(element);
+		if (record == null) {
+			return false;
+		}
+		// else
+		queue_.remove(record);
+		return true;
+	}
+
+	private void enqueue(final ElementRecord<E> record) {
+		record.priority = inflation_
+				+ record.frequency * record.cost / record.size;
+		record.timestamp = timestamp_++;
+		queue_.add(record);
+	}
+
+	@Override
+	public Iterator<E> evict(final Predicate<E> retain) {
+		Preconditions.checkNotNull(retain);
+
+		if (records_.size() <= capacity_) {
+			// Evict nothing.
+			return Collections.<E> emptyList().iterator();
+		}
+		// else
+
+		final int goalCapacity = (int) (capacity_ * loadFactor_);
+		final List<E> evicted = new ArrayList<E>(records_.size() - goalCapacity);
+		final Iterator<ElementRecord<E>> iterator = queue_.iterator();
+		while (iterator.hasNext() && records_.size() > goalCapacity) {
+			final ElementRecord<E> record = iterator.next();
+			if (!retain.apply(record.element)) {
+				evicted.add(record.element);
+				iterator.remove();
+				records_.remove(record.element);
+				inflation_ = Math.max(inflation_, record.priority);
+			}
+		}
+		nEvictions_ += evicted.size();
+
+		return evicted.iterator();
+	}
+
+	public int getCapacity() {
+		return capacity_;
+	}
+
+	public void setCapacity(final int capacity) {
+		if (0 > capacity) {
+			throw new IllegalArgumentException("Capacity cannot be negative!");
+		}
+		this.capacity_ = capacity;
+	}
+
+	public int size() {
+		return records_.size();
+	}
+
+	/**
+	 * @return the proportion of additions of elements that were already in
+	 *         this evictor
+	 */
+	public double getHitRate() {
+		final long nAdditions = nHits_ + nMisses_;
+		return nAdditions == 0 ? 0 : (double) nHits_ / nAdditions;
+	}
+
+	private static class ElementRecord<E>
+			implements Comparable<ElementRecord<E>> {
+
+		final E element;
+
+		int frequency = 0;
+
+		double cost = DEFAULT_COST;
+
+		int size = 1;
+
+		double priority;
+
+		long timestamp;
+
+		ElementRecord(final E element) {
+			this.element = element;
+		}
+
+		@Override
+		public int compareTo(final ElementRecord<E> other) {
+			final int result = Double.compare(priority, other.priority);
+			return result != 0 ? result
+					: Long.compare(timestamp, other.timestamp);
+		}
+
+	}
+
+	protected static abstract class ProtectedBuilder<B extends ProtectedBuilder<B>>
+			extends RecencyEvictor.ProtectedBuilder<B> {
+
+		@Override
+		public <E> Evictor<E> build() {
+			return new CostAwareEvictor<E>(capacity_, loadFactor_);
+		}
+
+		@Override
+		protected abstract B convertThis();
+
+	}
+
+	public static class Builder extends ProtectedBuilder<Builder>
+			implements Evictor.Builder {
+
+		@Override
+		protected Builder convertThis() {
+			return this;
+		}
+
+		public static Builder valueOf(final String value) {
+			final String[] args = Evictors.parseArgs(value,
+					CostAwareEvictor.class, 2);
+			final String capacityArg = args[0].trim();
+			final String loadFactorArg = args[1].trim();
+			final int capacity = capacityArg.isEmpty() ? DEFAULT_CAPACITY
+					: Integer.valueOf(capacityArg);
+			final double loadFactor = loadFactorArg.isEmpty()
+					? DEFAULT_LOAD_FACTOR : Double.valueOf(loadFactorArg);
+			return new Builder()
+					.capacity(capacity < 0 ? Integer.MAX_VALUE : capacity)
+					.loadFactor(loadFactor);
+		}
+
+		@Override
+		public String toString() {
+			return String.format("%s(%d,%f)", CostAwareEvictor.class.getName(),
+					capacity_, loadFactor_);
+		}
+
+	}
+
+	public static Builder builder() {
+		return new Builder();
+	}
+
+	// Stats.
+	protected class Stats {
+
+		@Stat
+		public int capacity() {
+			return getCapacity();
+		}
+
+		@Stat
+		public int size() {
+			return CostAwareEvictor.this.size();
+		}
+
+		@Stat
+		public long nHits() {
+			return nHits_;
+		}
+
+		@Stat
+		public long nMisses() {
+			return nMisses_;
+		}
+
+		@Stat
+		public double hitRate() {
+			return getHitRate();
+		}
+
+		@Stat
+		public long nEvictions() {
+			return nEvictions_;
+		}
+
+	}
+
+}
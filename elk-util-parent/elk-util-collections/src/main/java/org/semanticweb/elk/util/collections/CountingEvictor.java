@@ -75,6 +75,13 @@ public void add(final E element) {
 		}
 	}
 
+	@Override
+	public boolean remove(final E element) {
+		// Both must be tried, the element may be in either of them.
+		final boolean removed = super.remove(element);
+		return immediatelyEvicted_.remove(element) || removed;
+	}
+
 	@Override
 	public Iterator<E> evict(final Predicate<E> retain) {
 		return Iterators.concat(super.evict(retain),
@@ -86,6 +86,35 @@
 	 */
 	Iterator<E> addAndEvict(E element, Predicate<E> retain);
 
+	/**
+	 * Forget the provided element without evicting it, e.g., because it was
+	 * discarded by the caller for some other reason. The element then no
+	 * longer counts towards the capacity of this evictor.
+	 * 
+	 * @param element
+	 *            The removed element.
+	 * @return {@code true} if the element was in this evictor.
+	 */
+	boolean remove(E element);
+
+	/**
+	 * Inform this evictor how expensive it is to get the provided element back
+	 * after it is evicted and how much memory it takes. Evictors that do not
+	 * take this into account ignore it, and so is the information about
+	 * elements that were not added or were already evicted.
+	 * 
+	 * @param element
+	 *            The element whose cost is provided.
+	 * @param cost
+	 *            A non-negative estimate of the cost of recomputing the
+	 *            element.
+	 * @param size
+	 *            A positive estimate of the size of the element.
+	 */
+	default void setCost(E element, double cost, int size) {
+		// Ignored by default.
+	}
+
 	public static interface Builder {
 		<E> Evictor<E> build();
 	}
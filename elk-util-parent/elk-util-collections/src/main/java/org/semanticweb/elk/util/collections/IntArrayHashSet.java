@@ -0,0 +1,366 @@
+/*-
+ * #%L
+ * ELK Utilities Collections
+ * %%
+ * Copyright (C) 2023 Integrated Knowledge Management
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package org.semanticweb.elk.util.collections;
+
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+import java.util.PrimitiveIterator;
+
+/**
+ * A set of non-negative {@code int}s, such as dense numbers assigned to
+ * objects. Elements are kept in an open addressing table with linear probing
+ * like in {@link ArrayHashSet}, which is converted to a bitmap when the
+ * elements are close enough for the bitmap to take less memory than the table.
+ * The bitmap is converted back to a table when an element far from the others
+ * is added.
+ * 
+ * @see ArrayHashSet
+ */
+public class IntArrayHashSet {
+
+	/**
+	 * the table of elements, each stored incremented by one so that {@code 0}
+	 * marks a free position, or {@code null} if the elements are in
+	 * {@link #bits_}
+	 */
+	private int[] table_;
+
+	/**
+	 * the bitmap of elements, starting with the element {@code 64 * offset_}
+	 */
+	private long[] bits_ = null;
+
+	private int offset_ = 0;
+
+	private int size_ = 0;
+
+	public IntArrayHashSet(int initialCapacity) {
+		this.table_ = new int[LinearProbing.getInitialCapacity(initialCapacity)];
+	}
+
+	public IntArrayHashSet() {
+		this(LinearProbing.DEFAULT_INITIAL_CAPACITY);
+	}
+
+	public int size() {
+		return size_;
+	}
+
+	public boolean isEmpty() {
+		return size_ == 0;
+	}
+
+	/**
+	 * @return {@code true} if the elements are currently stored in a bitmap
+	 */
+	public boolean isBitmap() {
+		return bits_ != null;
+	}
+
+	private static int getIndex(int e, int length) {
+		int h = e * 0x9E3779B9;
+		return (h ^ (h >>> 16)) & (length - 1);
+	}
+
+	// the position of the element or of the free slot where it should be
+	private static int getPosition(int[] table, int e) {
+		int i = getIndex(e, table.length);
+		for (;;) {
+			int probe = table[i];
+			if (probe == 0 || probe == e + 1)
+				return i;
+			if (++i == table.length)
+				i = 0;
+		}
+	}
+
+	private static boolean add(int[] table, int e) {
+		int pos = getPosition(table, e);
+		if (table[pos] != 0)
+			return false;
+		table[pos] = e + 1;
+		return true;
+	}
+
+	private static void remove(int[] table, int pos) {
+		for (;;) {
+			int next = pos;
+			int probe;
+			for (;;) {
+				if (++next == table.length)
+					next = 0;
+				probe = table[next];
+				if (probe == 0) {
+					table[pos] = 0;
+					return;
+				}
+				int k = getIndex(probe - 1, table.length);
+				// shift the probe unless k is in ]pos, next]
+				if ((pos < next) ? (pos >= k) || (k > next)
+						: (pos >= k) && (k > next))
+					break;
+			}
+			table[pos] = probe;
+			pos = next;
+		}
+	}
+
+	private static void checkElement(int e) {
+		if (e < 0)
+			throw new IllegalArgumentException(
+					"Elements cannot be negative: " + e);
+	}
+
+	public boolean contains(int e) {
+		if (e < 0)
+			return false;
+		if (bits_ != null) {
+			int word = (e >>> 6) - offset_;
+			return word >= 0 && word < bits_.length
+					&& (bits_[word] & (1L << e)) != 0;
+		}
+		return table_[getPosition(table_, e)] != 0;
+	}
+
+	public boolean add(int e) {
+		checkElement(e);
+		if (bits_ != null) {
+			int word = (e >>> 6) - offset_;
+			if (word < 0 || word >= bits_.length) {
+				int first = Math.min(offset_, e >>> 6);
+				int last = Math.max(offset_ + bits_.length - 1, e >>> 6);
+				if (isBitmapSmaller(last - first + 1, size_ + 1)) {
+					long[] bits = new long[last - first + 1];
+					System.arraycopy(bits_, 0, bits, offset_ - first,
+							bits_.length);
+					bits_ = bits;
+					offset_ = first;
+				} else {
+					toTable(getTableCapacity(size_ + 1));
+					return add(e);
+				}
+				word = (e >>> 6) - offset_;
+			}
+			long mask = 1L << e;
+			if ((bits_[word] & mask) != 0)
+				return false;
+			bits_[word] |= mask;
+			size_++;
+			return true;
+		}
+		if (!add(table_, e))
+			return false;
+		if (++size_ == LinearProbing.getUpperSize(table_.length))
+			enlarge();
+		return true;
+	}
+
+	public boolean remove(int e) {
+		if (e < 0)
+			return false;
+		if (bits_ != null) {
+			int word = (e >>> 6) - offset_;
+			long mask = 1L << e;
+			if (word < 0 || word >= bits_.length || (bits_[word] & mask) == 0)
+				return false;
+			bits_[word] &= ~mask;
+			if (--size_ == 0)
+				clear();
+			return true;
+		}
+		int pos = getPosition(table_, e);
+		if (table_[pos] == 0)
+			return false;
+		remove(table_, pos);
+		if (--size_ == LinearProbing.getLowerSize(table_.length)
+				&& table_.length > LinearProbing.DEFAULT_INITIAL_CAPACITY)
+			rehash(table_.length >> 1);
+		return true;
+	}
+
+	public void clear() {
+		table_ = new int[LinearProbing.DEFAULT_INITIAL_CAPACITY];
+		bits_ = null;
+		offset_ = 0;
+		size_ = 0;
+	}
+
+	// the capacity of a table with the given number of elements
+	private static int getTableCapacity(int size) {
+		int capacity = LinearProbing.DEFAULT_INITIAL_CAPACITY;
+		while (size >= LinearProbing.getUpperSize(capacity))
+			capacity <<= 1;
+		return capacity;
+	}
+
+	// a long takes the space of two ints
+	private static boolean isBitmapSmaller(int words, int size) {
+		return 2L * words <= getTableCapacity(size);
+	}
+
+	private void enlarge() {
+		int capacity = table_.length;
+		if (capacity == LinearProbing.MAXIMUM_CAPACITY)
+			throw new IllegalArgumentException(
+					"The set cannot grow beyond the capacity: "
+							+ LinearProbing.MAXIMUM_CAPACITY);
+		int min = Integer.MAX_VALUE, max = 0;
+		for (int probe : table_) {
+			if (probe != 0) {
+				min = Math.min(min, probe - 1);
+				max = Math.max(max, probe - 1);
+			}
+		}
+		int words = (max >>> 6) - (min >>> 6) + 1;
+		if (isBitmapSmaller(words, size_))
+			toBitmap(min >>> 6, words);
+		else
+			rehash(capacity << 1);
+	}
+
+	private void rehash(int capacity) {
+		int[] table = new int[capacity];
+		for (int probe : table_) {
+			if (probe != 0)
+				add(table, probe - 1);
+		}
+		table_ = table;
+	}
+
+	private void toBitmap(int offset, int words) {
+		long[] bits = new long[words];
+		for (int probe : table_) {
+			if (probe != 0) {
+				int e = probe - 1;
+				bits[(e >>> 6) - offset] |= 1L << e;
+			}
+		}
+		bits_ = bits;
+		offset_ = offset;
+		table_ = null;
+	}
+
+	private void toTable(int capacity) {
+		int[] table = new int[capacity];
+		for (PrimitiveIterator.OfInt i = iterator(); i.hasNext();) {
+			add(table, i.nextInt());
+		}
+		table_ = table;
+		bits_ = null;
+		offset_ = 0;
+	}
+
+	/**
+	 * @return the iterator over the elements of this set in no particular
+	 *         order; the set should not be modified during the iteration
+	 */
+	public PrimitiveIterator.OfInt iterator() {
+		return bits_ == null ? new TableIterator(table_)
+				: new BitmapIterator(bits_, offset_);
+	}
+
+	public int[] toArray() {
+		int[] result = new int[size_];
+		int i = 0;
+		for (PrimitiveIterator.OfInt iter = iterator(); iter.hasNext();) {
+			result[i++] = iter.nextInt();
+		}
+		return result;
+	}
+
+	@Override
+	public String toString() {
+		return Arrays.toString(toArray());
+	}
+
+	private static class TableIterator implements PrimitiveIterator.OfInt {
+
+		private final int[] table_;
+
+		private int pos_ = 0;
+
+		TableIterator(int[] table) {
+			this.table_ = table;
+			seek();
+		}
+
+		private void seek() {
+			while (pos_ < table_.length && table_[pos_] == 0)
+				pos_++;
+		}
+
+		@Override
+		public boolean hasNext() {
+			return pos_ < table_.length;
+		}
+
+		@Override
+		public int nextInt() {
+			if (!hasNext())
+				throw new NoSuchElementException();
+			int result = table_[pos_++] - 1;
+			seek();
+			return result;
+		}
+
+	}
+
+	private static class BitmapIterator implements PrimitiveIterator.OfInt {
+
+		private final long[] bits_;
+
+		private final int offset_;
+
+		private int word_ = 0;
+
+		// the bits of the current word not yet returned
+		private long remaining_;
+
+		BitmapIterator(long[] bits, int offset) {
+			this.bits_ = bits;
+			this.offset_ = offset;
+			this.remaining_ = bits.length == 0 ? 0 : bits[0];
+			seek();
+		}
+
+		private void seek() {
+			while (remaining_ == 0 && ++word_ < bits_.length)
+				remaining_ = bits_[word_];
+		}
+
+		@Override
+		public boolean hasNext() {
+			return remaining_ != 0;
+		}
+
+		@Override
+		public int nextInt() {
+			if (!hasNext())
+				throw new NoSuchElementException();
+			int result = ((word_ + offset_) << 6)
+					+ Long.numberOfTrailingZeros(remaining_);
+			remaining_ &= remaining_ - 1;
+			seek();
+			return result;
+		}
+
+	}
+
+}
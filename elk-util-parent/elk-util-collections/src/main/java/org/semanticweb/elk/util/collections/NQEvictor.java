@@ -90,6 +90,17 @@ public void add(final E element) {
 		elements_.get(0).put(element, true);
 	}
 
+	@Override
+	public boolean remove(final E element) {
+		// The element is in at most one queue.
+		for (final LinkedHashMap<E, Boolean> queue : elements_) {
+			if (queue.remove(element) != null) {
+				return true;
+			}
+		}
+		return false;
+	}
+
 	@Override
 	public Iterator<E> evict(final Predicate<E> retain) {
 		Preconditions.checkNotNull(retain);
@@ -66,6 +66,11 @@ public void add(final E element) {
 		elements_.put(element, true);
 	}
 
+	@Override
+	public boolean remove(final E element) {
+		return elements_.remove(element) != null;
+	}
+
 	@Override
 	public Iterator<E> evict(final Predicate<E> retain) {
 		Preconditions.checkNotNull(retain);
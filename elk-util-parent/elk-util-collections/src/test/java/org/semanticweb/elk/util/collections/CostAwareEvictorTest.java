@@ -0,0 +1,92 @@
+/*-
+ * #%L
+ * ELK Utilities Collections
+ * %%
+ * Copyright (C) 2023 Integrated Knowledge Management
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package org.semanticweb.elk.util.collections;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.Arrays;
+
+import org.junit.jupiter.api.Test;
+
+public class CostAwareEvictorTest {
+
+	private static final EvictorTestUtils.TestEvictorFactory<Integer> FACTORY_ = new EvictorTestUtils.TestEvictorFactory<Integer>() {
+		@Override
+		public Evictor<Integer> newEvictor(final int capacity,
+				final double loadFactor) {
+			final CostAwareEvictor.Builder b = new CostAwareEvictor.Builder();
+			return b.capacity(capacity).loadFactor(loadFactor).build();
+		}
+	};
+
+	@Test
+	public void testEviction() {
+		// Without costs, the least recent elements are evicted first.
+		EvictorTestUtils.testRecencyEviction(FACTORY_);
+	}
+
+	@Test
+	public void testRetainment() {
+		EvictorTestUtils.testRecencyRetainment(FACTORY_);
+	}
+
+	@Test
+	public void testRemoval() {
+		EvictorTestUtils.testRemoval(FACTORY_);
+	}
+
+	@Test
+	public void testCosts() {
+
+		final CostAwareEvictor<Integer> evictor = new CostAwareEvictor<Integer>(
+				4, 0.5);
+
+		for (int element = 0; element < 4; element++) {
+			EvictorTestUtils.checkNothingEvicted(evictor.addAndEvict(element));
+		}
+		// The oldest element is expensive, the next one is big.
+		evictor.setCost(0, 100, 1);
+		evictor.setCost(1, 100, 1000);
+
+		EvictorTestUtils.checkEvicted(Arrays.asList(1, 2, 3),
+				evictor.addAndEvict(4));
+
+		// Frequently added elements are retained.
+		evictor.add(4);
+		evictor.add(4);
+		evictor.add(5);
+		evictor.add(6);
+		EvictorTestUtils.checkEvicted(Arrays.asList(5, 6, 7),
+				evictor.addAndEvict(7));
+
+		assertEquals(2, evictor.size());
+		assertEquals(2.0 / 10, evictor.getHitRate(), 0.0);
+	}
+
+	@Test
+	public void testBuilderValueOf() {
+		final CostAwareEvictor.Builder builder = CostAwareEvictor.Builder
+				.valueOf("CostAwareEvictor(10,0.5)");
+		final CostAwareEvictor<Integer> evictor = (CostAwareEvictor<Integer>) builder
+				.<Integer> build();
+		assertEquals(10, evictor.getCapacity());
+	}
+
+}
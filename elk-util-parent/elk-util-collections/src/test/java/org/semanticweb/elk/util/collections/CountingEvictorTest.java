@@ -172,4 +172,17 @@ public boolean apply(final Integer e) {
 
 	}
 
+	@Test
+	public void testSimpleRemoval() {
+
+		EvictorTestUtils.testRemoval(new EvictorTestUtils.TestEvictorFactory<Integer>() {
+			@Override
+			public Evictor<Integer> newEvictor(final int capacity, final double loadFactor) {
+				final CountingEvictor.Builder b = new CountingEvictor.Builder();
+				return b.capacity(capacity).loadFactor(loadFactor).evictBeforeAddCount(EVICT_BEFORE_FIRST_ADD).build();
+			}
+		});
+
+	}
+
 }
@@ -22,6 +22,8 @@
 package org.semanticweb.elk.util.collections;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import java.util.Arrays;
 import java.util.Collection;
@@ -142,4 +144,34 @@ public boolean apply(final Integer element) {
 
 	}
 
+	public static void testRemoval(final TestEvictorFactory<Integer> factory) {
+
+		final Evictor<Integer> evictor = factory.newEvictor(10, RETAIN_FOUR_FIFTHS_LOAD_FACTOR);
+
+		Iterator<Integer> evicted;
+
+		// Fill up the capacity.
+		for (int element = 0; element < 10; element++) {
+			evicted = evictor.addAndEvict(element);
+			checkNothingEvicted(evicted);
+		}
+
+		// Only the elements that are in the evictor can be removed.
+		assertTrue(evictor.remove(0));
+		assertTrue(evictor.remove(5));
+		assertFalse(evictor.remove(5));
+		assertFalse(evictor.remove(10));
+
+		// Removed elements do not count towards the capacity.
+		evicted = evictor.addAndEvict(10);
+		checkNothingEvicted(evicted);
+		evicted = evictor.addAndEvict(11);
+		checkNothingEvicted(evicted);
+
+		// Removed elements are not evicted.
+		evicted = evictor.addAndEvict(12);
+		checkEvicted(Arrays.asList(1, 2, 3), evicted);
+
+	}
+
 }
@@ -0,0 +1,107 @@
+/*-
+ * #%L
+ * ELK Utilities Collections
+ * %%
+ * Copyright (C) 2023 Integrated Knowledge Management
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package org.semanticweb.elk.util.collections;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.HashSet;
+import java.util.PrimitiveIterator;
+import java.util.Random;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+
+public class IntArrayHashSetTest {
+
+	private static void assertSame(Set<Integer> expected, IntArrayHashSet actual) {
+		assertEquals(expected.size(), actual.size());
+		Set<Integer> elements = new HashSet<Integer>();
+		for (PrimitiveIterator.OfInt i = actual.iterator(); i.hasNext();) {
+			assertTrue(elements.add(i.nextInt()));
+		}
+		assertEquals(expected, elements);
+		for (int e : expected) {
+			assertTrue(actual.contains(e));
+		}
+	}
+
+	private static void test(int range, int seed) {
+		Random random = new Random(seed);
+		Set<Integer> expected = new HashSet<Integer>();
+		IntArrayHashSet actual = new IntArrayHashSet();
+		for (int round = 0; round < 5; round++) {
+			for (int i = 0; i < 2000; i++) {
+				int e = random.nextInt(range);
+				assertEquals(expected.add(e), actual.add(e));
+				assertTrue(actual.contains(e));
+			}
+			assertSame(expected, actual);
+			for (int i = 0; i < 1500; i++) {
+				int e = random.nextInt(range);
+				assertEquals(expected.remove(e), actual.remove(e));
+				assertFalse(actual.contains(e));
+			}
+			assertSame(expected, actual);
+		}
+	}
+
+	@Test
+	public void testSparse() {
+		test(Integer.MAX_VALUE, 1);
+	}
+
+	@Test
+	public void testDense() {
+		test(4000, 2);
+	}
+
+	@Test
+	public void testBitmapConversion() {
+		IntArrayHashSet set = new IntArrayHashSet();
+		for (int e = 1000; e < 2000; e++) {
+			set.add(e);
+		}
+		assertTrue(set.isBitmap());
+		assertFalse(set.contains(999));
+		assertFalse(set.contains(2000));
+		// close elements extend the bitmap
+		assertTrue(set.add(10));
+		assertTrue(set.isBitmap());
+		// a distant element converts it back to a table
+		assertTrue(set.add(100000000));
+		assertFalse(set.isBitmap());
+		assertEquals(1002, set.size());
+		assertTrue(set.contains(10));
+		assertTrue(set.contains(1500));
+		assertTrue(set.contains(100000000));
+	}
+
+	@Test
+	public void testNegative() {
+		IntArrayHashSet set = new IntArrayHashSet();
+		assertThrows(IllegalArgumentException.class, () -> set.add(-1));
+		assertFalse(set.contains(-1));
+		assertFalse(set.remove(-1));
+	}
+
+}
@@ -167,4 +167,17 @@ private static Iterator<Integer> add3Times(final Evictor<Integer> evictor, final
 		return evictor.addAndEvict(element);
 	}
 
+	@Test
+	public void testSingleLevelRemoval() {
+
+		EvictorTestUtils.testRemoval(new EvictorTestUtils.TestEvictorFactory<Integer>() {
+			@Override
+			public Evictor<Integer> newEvictor(final int capacity, final double loadFactor) {
+				final NQEvictor.Builder b = new NQEvictor.Builder();
+				return b.addLevel(capacity, loadFactor).build();
+			}
+		});
+
+	}
+
 }
@@ -51,4 +51,17 @@ public Evictor<Integer> newEvictor(final int capacity, final double loadFactor)
 
 	}
 
+	@Test
+	public void testRemoval() {
+
+		EvictorTestUtils.testRemoval(new EvictorTestUtils.TestEvictorFactory<Integer>() {
+			@Override
+			public Evictor<Integer> newEvictor(final int capacity, final double loadFactor) {
+				final RecencyEvictor.Builder b = new RecencyEvictor.Builder();
+				return b.capacity(capacity).loadFactor(loadFactor).build();
+			}
+		});
+
+	}
+
 }
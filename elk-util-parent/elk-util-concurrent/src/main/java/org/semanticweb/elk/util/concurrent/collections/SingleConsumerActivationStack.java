@@ -0,0 +1,124 @@
+package org.semanticweb.elk.util.concurrent.collections;
+
+/*
+ * #%L
+ * ELK Utilities for Concurrency
+ * $Id:$
+ * $HeadURL:$
+ * %%
+ * Copyright (C) 2011 - 2015 Department of Computer Science, University of Oxford
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * A lock-free {@link ActivationStack} for many producers and a single
+ * consumer. Elements can be pushed concurrently from any thread, but
+ * {@link #pop()} and {@link #peek()} must only be called by the thread that
+ * was given the stack after {@link #push(Object)} returned {@code true}, until
+ * {@link #pop()} returns {@code null}. This is how the stack is used for the
+ * unprocessed inferences of a context, which is processed by one worker at a
+ * time.
+ * <p>
+ * Pushing is a single compare-and-set as in
+ * {@link ConcurrentLinkedActivationStack}. The consumer takes all pushed
+ * elements with one swap and then pops them without synchronization, so
+ * producers and the consumer only contend once per batch.
+ * 
+ * @param <E>
+ *            the type of elements in the stack
+ */
+public class SingleConsumerActivationStack<E> implements ActivationStack<E> {
+
+	/**
+	 * a special node marking that the stack is activated but has no pushed
+	 * elements; the stack is cleared when the head is {@code null}
+	 */
+	@SuppressWarnings({ "unchecked", "rawtypes" })
+	private static final Node<?> EMPTY_ = new Node(null);
+
+	/**
+	 * the elements pushed since the consumer took the last batch
+	 */
+	private final AtomicReference<Node<E>> head_ = new AtomicReference<Node<E>>();
+
+	/**
+	 * the elements of the last batch not yet popped, accessed only by the
+	 * consumer
+	 */
+	private Node<E> batch_ = null;
+
+	@Override
+	@SuppressWarnings("unchecked")
+	public boolean push(E element) {
+		if (element == null)
+			throw new IllegalArgumentException(
+					"Elements in the stack cannot be null");
+		Node<E> newHead = new Node<E>(element);
+		for (;;) {
+			Node<E> oldHead = head_.get();
+			newHead.next = oldHead == EMPTY_ ? null : oldHead;
+			if (head_.compareAndSet(oldHead, newHead))
+				return oldHead == null;
+		}
+	}
+
+	@Override
+	public E pop() {
+		for (;;) {
+			if (batch_ != null) {
+				E result = batch_.item;
+				batch_ = batch_.next;
+				return result;
+			}
+			Node<E> head = head_.get();
+			if (head == null)
+				return null;
+			if (head == EMPTY_) {
+				if (head_.compareAndSet(head, null))
+					return null;
+				// else some element was pushed
+				continue;
+			}
+			batch_ = head_.getAndSet(emptyNode());
+		}
+	}
+
+	@Override
+	public E peek() {
+		if (batch_ != null)
+			return batch_.item;
+		Node<E> head = head_.get();
+		if (head == null || head == EMPTY_)
+			return null;
+		return head.item;
+	}
+
+	@SuppressWarnings("unchecked")
+	private static <E> Node<E> emptyNode() {
+		return (Node<E>) EMPTY_;
+	}
+
+	private static class Node<T> {
+		public final T item;
+		public Node<T> next;
+
+		public Node(T item) {
+			this.item = item;
+		}
+	}
+
+}
@@ -0,0 +1,183 @@
+package org.semanticweb.elk.util.concurrent.collections;
+
+/*
+ * #%L
+ * ELK Utilities for Concurrency
+ * $Id:$
+ * $HeadURL:$
+ * %%
+ * Copyright (C) 2011 - 2015 Department of Computer Science, University of Oxford
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import java.lang.ref.WeakReference;
+import java.util.AbstractQueue;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * A concurrent {@link java.util.Queue} in which every thread has its own
+ * deque. Elements are added to the deque of the calling thread and are taken
+ * from it in the reverse order, so a thread first processes the elements it
+ * has added most recently. When the deque of the calling thread is empty,
+ * {@link #poll()} steals the oldest element from the deque of another thread.
+ * <p>
+ * This reduces the contention compared to a single shared queue and keeps the
+ * related elements produced by a worker with this worker, while the work is
+ * still balanced between the workers. The order of elements is not FIFO.
+ * <p>
+ * The deque of a thread is registered when the thread first uses this queue.
+ * The deques of terminated threads are dropped once they are empty, which is
+ * checked whenever a new deque is registered; until then their elements can
+ * still be stolen. Thus, the number of deques stays bounded by the number of
+ * live threads using the queue plus the non-empty deques of terminated ones,
+ * even if the executor keeps replacing its threads.
+ * 
+ * @param <E>
+ *            the type of elements in the queue
+ */
+public class WorkStealingQueue<E> extends AbstractQueue<E> {
+
+	/**
+	 * the deques of all threads that have used this queue
+	 */
+	private final List<LocalDeque<E>> deques_ = new CopyOnWriteArrayList<LocalDeque<E>>();
+
+	/**
+	 * the deque of the current thread
+	 */
+	private final ThreadLocal<Deque<E>> localDeque_ = ThreadLocal
+			.withInitial(this::register);
+
+	private Deque<E> register() {
+		LocalDeque<E> deque = new LocalDeque<E>(Thread.currentThread());
+		// only the owner adds to a deque, so a deque of a terminated thread
+		// cannot become non-empty again
+		deques_.removeIf(LocalDeque::isAbandoned);
+		deques_.add(deque);
+		return deque;
+	}
+
+	/**
+	 * @return the number of deques currently registered with this queue
+	 */
+	int getDequeCount() {
+		return deques_.size();
+	}
+
+	@Override
+	public boolean offer(E element) {
+		localDeque_.get().addFirst(element);
+		return true;
+	}
+
+	@Override
+	public E poll() {
+		E result = localDeque_.get().pollFirst();
+		if (result != null)
+			return result;
+		// else try to steal; deques can be removed concurrently, so the
+		// indexes are only valid in a snapshot
+		Object[] deques = deques_.toArray();
+		int size = deques.length;
+		if (size <= 1)
+			return null;
+		// start from a random thread to spread the stealing threads
+		int start = ThreadLocalRandom.current().nextInt(size);
+		for (int i = 0; i < size; i++) {
+			@SuppressWarnings("unchecked")
+			Deque<E> deque = (Deque<E>) deques[(start + i) % size];
+			result = deque.pollLast();
+			if (result != null)
+				return result;
+		}
+		return null;
+	}
+
+	@Override
+	public E peek() {
+		E result = localDeque_.get().peekFirst();
+		if (result != null)
+			return result;
+		for (Deque<E> deque : deques_) {
+			result = deque.peekLast();
+			if (result != null)
+				return result;
+		}
+		return null;
+	}
+
+	@Override
+	public boolean isEmpty() {
+		for (Deque<E> deque : deques_) {
+			if (!deque.isEmpty())
+				return false;
+		}
+		return true;
+	}
+
+	@Override
+	public int size() {
+		int result = 0;
+		for (Deque<E> deque : deques_) {
+			result += deque.size();
+		}
+		return result;
+	}
+
+	@Override
+	public void clear() {
+		for (Deque<E> deque : deques_) {
+			deque.clear();
+		}
+	}
+
+	@Override
+	public Iterator<E> iterator() {
+		return deques_.stream().flatMap(Deque::stream).iterator();
+	}
+
+	/**
+	 * A deque remembering the thread it belongs to
+	 * 
+	 * @param <E>
+	 *            the type of elements in the deque
+	 */
+	private static class LocalDeque<E> extends ConcurrentLinkedDeque<E> {
+
+		private static final long serialVersionUID = 1L;
+
+		private final WeakReference<Thread> owner_;
+
+		LocalDeque(Thread owner) {
+			this.owner_ = new WeakReference<Thread>(owner);
+		}
+
+		/**
+		 * @return {@code true} if the owner of this deque has terminated and
+		 *         the deque is empty, so it can be dropped
+		 */
+		boolean isAbandoned() {
+			Thread owner = owner_.get();
+			return (owner == null || !owner.isAlive()) && isEmpty();
+		}
+
+	}
+
+}
@@ -24,6 +24,7 @@
 
 import java.util.concurrent.ArrayBlockingQueue;
 import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ForkJoinPool;
 
 /**
  * An class for concurrent processing of a number of tasks. The input for the
@@ -142,6 +143,53 @@ protected synchronized void waitWorkers() throws InterruptedException {
 		}
 	}
 
+	/**
+	 * Takes the next input from the buffer, waiting if necessary. The waiting
+	 * is done through {@link ForkJoinPool#managedBlock}, so that if the worker
+	 * runs in a {@link ForkJoinPool}, the pool can activate other threads while
+	 * this one is blocked.
+	 * 
+	 * @return the next input
+	 * @throws InterruptedException
+	 *             if interrupted while waiting
+	 */
+	private I takeInput() throws InterruptedException {
+		I result = buffer_.poll();
+		if (result != null) {
+			return result;
+		}
+		// else
+		InputBlocker blocker = new InputBlocker();
+		ForkJoinPool.managedBlock(blocker);
+		return blocker.input_;
+	}
+
+	/**
+	 * A {@link ForkJoinPool.ManagedBlocker} waiting for the next input in the
+	 * buffer
+	 */
+	private class InputBlocker implements ForkJoinPool.ManagedBlocker {
+
+		I input_ = null;
+
+		@Override
+		public boolean block() throws InterruptedException {
+			if (input_ == null) {
+				input_ = buffer_.take();
+			}
+			return true;
+		}
+
+		@Override
+		public boolean isReleasable() {
+			if (input_ == null) {
+				input_ = buffer_.poll();
+			}
+			return input_ != null;
+		}
+
+	}
+
 	@Override
 	Runnable getWorker() {
 		return new Worker();
@@ -175,7 +223,7 @@ public final void run() {
 						inputProcessor.process(); // can be interrupted
 						doneProcess = true;
 					}
-					I nextInput = buffer_.take();
+					I nextInput = takeInput();
 					if (nextInput != poison_pill_) {						
 						inputProcessor.submit(nextInput); // should not fail
 						inputProcessor.process(); // can be interrupted
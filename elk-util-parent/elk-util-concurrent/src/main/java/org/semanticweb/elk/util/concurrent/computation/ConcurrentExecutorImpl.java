@@ -22,11 +22,13 @@
  * #L%
  */
 
+import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.Executor;
 import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.ThreadFactory;
 import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * A simple implementation of {@link ConcurrentExecutor} that uses the standard
@@ -64,8 +66,17 @@ public synchronized JobMonitor submit(Runnable job, int noInstances) {
 	private static class ThisJobMonitor implements JobMonitor, Runnable {
 
 		private final Runnable job_;
-		private int runsNo_;
-		private Throwable exception_ = null;
+		/**
+		 * the number of copies of the job that did not terminate yet
+		 */
+		private final AtomicInteger runsNo_;
+		/**
+		 * released when all copies have terminated or one of them failed;
+		 * unlike a monitor, this does not pin the carrier thread when the
+		 * job runs on a virtual thread
+		 */
+		private final CountDownLatch done_ = new CountDownLatch(1);
+		private volatile Throwable exception_ = null;
 
 		ThisJobMonitor(Runnable job, int noInstances) {
 			this.job_ = job;
@@ -74,23 +85,17 @@ private static class ThisJobMonitor implements JobMonitor, Runnable {
 						"number of instances should be positive: "
 								+ noInstances);
 			}
-			this.runsNo_ = noInstances;
+			this.runsNo_ = new AtomicInteger(noInstances);
 		}
 
-		synchronized void setException(Throwable exception) {
+		void setException(Throwable exception) {
 			this.exception_ = exception;
-			notifyAll();
+			done_.countDown();
 		}
 
 		@Override
-		public synchronized void waitDone() throws InterruptedException {
-			for (;;) {
-				if (runsNo_ == 0 || exception_ != null) {
-					break;
-				}
-				// else
-				wait();
-			}
+		public void waitDone() throws InterruptedException {
+			done_.await();
 			if (exception_ != null) {
 				throw new ComputationRuntimeException(exception_);
 			}
@@ -103,10 +108,8 @@ public void run() {
 			} catch (Throwable e) {
 				setException(e);
 			}
-			synchronized (this) {
-				if (--runsNo_ == 0) {
-					notifyAll();
-				}
+			if (runsNo_.decrementAndGet() == 0) {
+				done_.countDown();
 			}
 		}
 
@@ -22,7 +22,11 @@
  * #L%
  */
 
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
 import java.util.concurrent.TimeUnit;
+import java.util.function.Predicate;
 
 /**
  * A collection of convenience methods for creating {@link ConcurrentExecutor}s
@@ -69,6 +73,69 @@ public static ConcurrentExecutor create(String name) {
 		return create(name, 1L, TimeUnit.SECONDS);
 	}
 
+	/**
+	 * the maximal number of threads that a {@link ForkJoinPool} created by
+	 * {@link #createForkJoin(String, int)} can start in addition to its
+	 * parallelism to replace the threads blocked while waiting for inputs
+	 */
+	private static final int FORK_JOIN_MAX_SPARES_ = 256;
+
+	/**
+	 * Creates a {@link ConcurrentExecutor} that runs jobs in a
+	 * {@link ForkJoinPool} with the given parallelism. Unlike the executors
+	 * created by {@link #create(String)}, the number of threads is bounded: if
+	 * more copies of jobs are submitted than the parallelism, the remaining
+	 * copies start when some running copies terminate.
+	 * <p>
+	 * The workers of {@link ConcurrentComputationWithInputs} wait for inputs
+	 * using {@link ForkJoinPool#managedBlock}, so while they are blocked, the
+	 * pool starts spare threads for the queued copies of other jobs, e.g., of
+	 * other reasoners sharing this executor. Other jobs that block the
+	 * threads, and copies that keep processing without blocking, still occupy
+	 * the threads until they terminate, so the processors are shared between
+	 * the jobs only at the granularity of job copies. If more than
+	 * {@value #FORK_JOIN_MAX_SPARES_} threads are blocked at the same time, no
+	 * further spare threads are started and the queued copies wait.
+	 * 
+	 * @param name
+	 *            the name of the created {@link ConcurrentExecutor} (used as a
+	 *            prefix for the names of the threads)
+	 * @param parallelism
+	 *            the maximal number of threads running the jobs
+	 * @return the {@link ConcurrentExecutor} associated with the given
+	 *         parameters
+	 */
+	public static ConcurrentExecutor createForkJoin(final String name,
+			int parallelism) {
+		// when no more spare threads can be started, keep blocking
+		Predicate<ForkJoinPool> saturate = pool -> true;
+		return new ConcurrentExecutorImpl(new ForkJoinPool(parallelism,
+				pool -> {
+					ForkJoinWorkerThread result = ForkJoinPool.defaultForkJoinWorkerThreadFactory
+							.newThread(pool);
+					result.setName(name + "-thread-" + result.getPoolIndex());
+					return result;
+				}, null, true, 0, parallelism + FORK_JOIN_MAX_SPARES_, 1,
+				saturate, 1L, TimeUnit.SECONDS));
+	}
+
+	/**
+	 * Creates a {@link ConcurrentExecutor} that runs every copy of a job in a
+	 * new virtual thread. This is suitable for jobs that spend most of the time
+	 * blocked, e.g., waiting for inputs, since blocked virtual threads do not
+	 * occupy the processors.
+	 * 
+	 * @param name
+	 *            the name of the created {@link ConcurrentExecutor} (used as a
+	 *            prefix for the names of the threads)
+	 * @return the {@link ConcurrentExecutor} associated with the given
+	 *         parameters
+	 */
+	public static ConcurrentExecutor createVirtual(String name) {
+		return new ConcurrentExecutorImpl(Executors.newThreadPerTaskExecutor(
+				Thread.ofVirtual().name(name + "-thread-", 1).factory()));
+	}
+
 	/**
 	 * @return the default {@link ConcurrentExecutor} with the timeout of 1
 	 *         second for running threads.
@@ -0,0 +1,147 @@
+package org.semanticweb.elk.util.concurrent.collections;
+
+/*
+ * #%L
+ * ELK Utilities for Concurrency
+ * $Id:$
+ * $HeadURL:$
+ * %%
+ * Copyright (C) 2011 - 2015 Department of Computer Science, University of Oxford
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.function.Supplier;
+
+import org.junit.jupiter.api.Test;
+
+public class SingleConsumerActivationStackTest {
+
+	/**
+	 * the number of stacks used in the concurrent test
+	 */
+	private static final int STACKS_COUNT_ = 100;
+	/**
+	 * the number of producer and of consumer threads
+	 */
+	private static final int WORKER_COUNT_ = 4;
+	/**
+	 * the number of elements pushed by each producer
+	 */
+	private static final int ELEMENTS_COUNT_ = 100000;
+
+	@Test
+	public void testActivation() {
+		ActivationStack<Integer> stack = new SingleConsumerActivationStack<Integer>();
+		assertNull(stack.peek());
+		assertTrue(stack.push(1));
+		assertFalse(stack.push(2));
+		assertEquals(2, stack.peek());
+		assertEquals(2, stack.pop());
+		assertFalse(stack.push(3));
+		assertEquals(1, stack.peek());
+		assertEquals(1, stack.pop());
+		assertEquals(3, stack.pop());
+		assertNull(stack.peek());
+		assertNull(stack.pop());
+		// cleared
+		assertTrue(stack.push(4));
+		assertEquals(4, stack.pop());
+		assertNull(stack.pop());
+		assertNull(stack.pop());
+		assertTrue(stack.push(5));
+	}
+
+	@Test
+	public void testSingleConsumer() throws InterruptedException {
+		test(SingleConsumerActivationStack::new);
+	}
+
+	@Test
+	public void testConcurrentLinked() throws InterruptedException {
+		test(ConcurrentLinkedActivationStack::new);
+	}
+
+	@Test
+	public void testSynchronizedArrayList() throws InterruptedException {
+		test(SynchronizedArrayListActivationStack::new);
+	}
+
+	/**
+	 * Producers push distinct elements to random stacks and activate a stack
+	 * when the push returns {@code true}; consumers take the activated stacks
+	 * and pop until they are cleared. Every element should be popped exactly
+	 * once.
+	 */
+	private void test(Supplier<ActivationStack<Integer>> factory)
+			throws InterruptedException {
+		List<ActivationStack<Integer>> stacks = new ArrayList<ActivationStack<Integer>>();
+		for (int i = 0; i < STACKS_COUNT_; i++) {
+			stacks.add(factory.get());
+		}
+		ConcurrentLinkedQueue<ActivationStack<Integer>> activeStacks = new ConcurrentLinkedQueue<ActivationStack<Integer>>();
+		int total = WORKER_COUNT_ * ELEMENTS_COUNT_;
+		AtomicIntegerArray popped = new AtomicIntegerArray(total);
+		AtomicInteger poppedCount = new AtomicInteger();
+		List<Thread> threads = new ArrayList<Thread>();
+		for (int w = 0; w < WORKER_COUNT_; w++) {
+			int first = w * ELEMENTS_COUNT_;
+			Random random = new Random(w);
+			threads.add(new Thread(() -> {
+				for (int i = first; i < first + ELEMENTS_COUNT_; i++) {
+					ActivationStack<Integer> stack = stacks
+							.get(random.nextInt(STACKS_COUNT_));
+					if (stack.push(i))
+						activeStacks.add(stack);
+				}
+			}));
+			threads.add(new Thread(() -> {
+				while (poppedCount.get() < total) {
+					ActivationStack<Integer> stack = activeStacks.poll();
+					if (stack == null) {
+						Thread.yield();
+						continue;
+					}
+					for (;;) {
+						Integer element = stack.pop();
+						if (element == null)
+							break;
+						popped.incrementAndGet(element);
+						poppedCount.incrementAndGet();
+					}
+				}
+			}));
+		}
+		threads.forEach(Thread::start);
+		for (Thread thread : threads) {
+			thread.join();
+		}
+		assertEquals(total, poppedCount.get());
+		for (int i = 0; i < total; i++) {
+			assertEquals(1, popped.get(i));
+		}
+	}
+
+}
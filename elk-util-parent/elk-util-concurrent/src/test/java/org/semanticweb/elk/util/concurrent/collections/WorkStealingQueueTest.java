@@ -0,0 +1,231 @@
+package org.semanticweb.elk.util.concurrent.collections;
+
+/*
+ * #%L
+ * ELK Utilities for Concurrency
+ * $Id:$
+ * $HeadURL:$
+ * %%
+ * Copyright (C) 2011 - 2015 Department of Computer Science, University of Oxford
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.jupiter.api.Test;
+
+public class WorkStealingQueueTest {
+
+	/**
+	 * the number of worker threads in the concurrent test
+	 */
+	private static final int WORKER_COUNT_ = 4;
+
+	/**
+	 * the elements 1, ..., {@code ELEMENTS_COUNT_ - 1} are added initially;
+	 * each element e from the second half of them produces 2e and 2e + 1
+	 */
+	private static final int ELEMENTS_COUNT_ = 1 << 16;
+
+	/**
+	 * the number of groups of short-lived threads registering deques while
+	 * other threads steal
+	 */
+	private static final int REGISTRATION_ROUNDS_ = 200;
+
+	/**
+	 * the number of threads in each such group
+	 */
+	private static final int REGISTRATIONS_PER_ROUND_ = 32;
+
+	@Test
+	public void testLocalOrder() {
+		WorkStealingQueue<Integer> queue = new WorkStealingQueue<Integer>();
+		assertTrue(queue.isEmpty());
+		assertNull(queue.poll());
+		queue.add(1);
+		queue.add(2);
+		queue.add(3);
+		assertEquals(3, queue.size());
+		assertEquals(3, queue.peek());
+		assertEquals(3, queue.poll());
+		assertEquals(2, queue.poll());
+		queue.add(4);
+		assertEquals(4, queue.poll());
+		assertEquals(1, queue.poll());
+		assertNull(queue.poll());
+		queue.add(5);
+		queue.clear();
+		assertTrue(queue.isEmpty());
+	}
+
+	@Test
+	public void testStealing() throws InterruptedException {
+		WorkStealingQueue<Integer> queue = new WorkStealingQueue<Integer>();
+		Thread producer = new Thread(() -> {
+			for (int i = 0; i < 3; i++) {
+				queue.add(i);
+			}
+		});
+		producer.start();
+		producer.join();
+		assertEquals(3, queue.size());
+		// the oldest elements of the other thread are stolen first
+		assertEquals(0, queue.poll());
+		queue.add(10);
+		assertEquals(10, queue.poll());
+		assertEquals(1, queue.poll());
+		assertEquals(2, queue.poll());
+		assertNull(queue.poll());
+	}
+
+	/**
+	 * The deques of terminated threads should not accumulate
+	 */
+	@Test
+	public void testTerminatedThreads() throws InterruptedException {
+		WorkStealingQueue<Integer> queue = new WorkStealingQueue<Integer>();
+		for (int i = 0; i < 100; i++) {
+			final int element = i;
+			Thread worker = new Thread(() -> {
+				queue.add(element);
+				assertEquals(element, queue.poll());
+			});
+			worker.start();
+			worker.join();
+		}
+		assertTrue(queue.getDequeCount() <= 1);
+		// a non-empty deque of a terminated thread is kept
+		Thread producer = new Thread(() -> queue.add(1));
+		producer.start();
+		producer.join();
+		queue.add(2);
+		assertEquals(2, queue.size());
+		assertEquals(2, queue.poll());
+		assertEquals(1, queue.poll());
+		assertNull(queue.poll());
+	}
+
+	/**
+	 * Groups of threads register their deques and terminate together, so that
+	 * the next registration removes many deques at once, while other threads
+	 * steal.
+	 */
+	@Test
+	public void testStealingWhileRegistering() throws InterruptedException {
+		WorkStealingQueue<Integer> queue = new WorkStealingQueue<Integer>();
+		AtomicReference<Throwable> failure = new AtomicReference<Throwable>();
+		AtomicBoolean done = new AtomicBoolean();
+		List<Thread> stealers = new ArrayList<Thread>();
+		for (int w = 0; w < WORKER_COUNT_; w++) {
+			stealers.add(new Thread(() -> {
+				try {
+					while (!done.get()) {
+						queue.poll();
+					}
+				} catch (Throwable e) {
+					failure.compareAndSet(null, e);
+				}
+			}));
+		}
+		stealers.forEach(Thread::start);
+		try {
+			for (int round = 0; round < REGISTRATION_ROUNDS_; round++) {
+				CountDownLatch registered = new CountDownLatch(
+						REGISTRATIONS_PER_ROUND_);
+				CountDownLatch terminate = new CountDownLatch(1);
+				List<Thread> workers = new ArrayList<Thread>();
+				for (int i = 0; i < REGISTRATIONS_PER_ROUND_; i++) {
+					workers.add(new Thread(() -> {
+						queue.poll();
+						registered.countDown();
+						try {
+							terminate.await();
+						} catch (InterruptedException e) {
+							Thread.currentThread().interrupt();
+						}
+					}));
+				}
+				workers.forEach(Thread::start);
+				registered.await();
+				terminate.countDown();
+				for (Thread worker : workers) {
+					worker.join();
+				}
+			}
+		} finally {
+			done.set(true);
+			for (Thread stealer : stealers) {
+				stealer.join();
+			}
+		}
+		assertNull(failure.get());
+	}
+
+	/**
+	 * Workers take elements and add new elements while processing them, as
+	 * during saturation. Every element should be taken exactly once.
+	 */
+	@Test
+	public void testConcurrent() throws InterruptedException {
+		WorkStealingQueue<Integer> queue = new WorkStealingQueue<Integer>();
+		int total = 2 * ELEMENTS_COUNT_;
+		AtomicIntegerArray taken = new AtomicIntegerArray(total);
+		AtomicInteger takenCount = new AtomicInteger();
+		// all elements are initially added by one thread
+		for (int i = 1; i < ELEMENTS_COUNT_; i++) {
+			queue.add(i);
+		}
+		List<Thread> threads = new ArrayList<Thread>();
+		for (int w = 0; w < WORKER_COUNT_; w++) {
+			threads.add(new Thread(() -> {
+				while (takenCount.get() < total - 1) {
+					Integer element = queue.poll();
+					if (element == null) {
+						Thread.yield();
+						continue;
+					}
+					taken.incrementAndGet(element);
+					takenCount.incrementAndGet();
+					if (element >= ELEMENTS_COUNT_ / 2
+							&& element < ELEMENTS_COUNT_) {
+						queue.add(2 * element);
+						queue.add(2 * element + 1);
+					}
+				}
+			}));
+		}
+		threads.forEach(Thread::start);
+		for (Thread thread : threads) {
+			thread.join();
+		}
+		assertEquals(total - 1, takenCount.get());
+		for (int i = 1; i < total; i++) {
+			assertEquals(1, taken.get(i), "element " + i);
+		}
+		assertTrue(queue.isEmpty());
+	}
+
+}
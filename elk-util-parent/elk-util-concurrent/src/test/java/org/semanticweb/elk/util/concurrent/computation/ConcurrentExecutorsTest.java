@@ -0,0 +1,123 @@
+package org.semanticweb.elk.util.concurrent.computation;
+
+/*
+ * #%L
+ * ELK Utilities for Concurrency
+ * $Id:$
+ * $HeadURL:$
+ * %%
+ * Copyright (C) 2011 - 2015 Department of Computer Science, University of Oxford
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+public class ConcurrentExecutorsTest {
+
+	/**
+	 * the number of copies of the submitted jobs
+	 */
+	private static final int INSTANCES_COUNT_ = 8;
+
+	private static void testRunsAllInstances(ConcurrentExecutor executor)
+			throws InterruptedException {
+		final AtomicInteger runs = new AtomicInteger();
+		JobMonitor monitor = executor.submit(runs::incrementAndGet,
+				INSTANCES_COUNT_);
+		monitor.waitDone();
+		assertEquals(INSTANCES_COUNT_, runs.get());
+	}
+
+	private static void testPropagatesException(ConcurrentExecutor executor) {
+		JobMonitor monitor = executor.submit(() -> {
+			throw new IllegalStateException();
+		}, INSTANCES_COUNT_);
+		ComputationRuntimeException e = assertThrows(
+				ComputationRuntimeException.class, monitor::waitDone);
+		assertTrue(e.getCause() instanceof IllegalStateException);
+	}
+
+	@Test
+	public void testThreadPool() throws InterruptedException {
+		ConcurrentExecutor executor = ConcurrentExecutors.create("test");
+		testRunsAllInstances(executor);
+		testPropagatesException(executor);
+	}
+
+	@Test
+	public void testForkJoin() throws InterruptedException {
+		ConcurrentExecutor executor = ConcurrentExecutors
+				.createForkJoin("test-fj", 2);
+		testRunsAllInstances(executor);
+		testPropagatesException(executor);
+	}
+
+	@Test
+	public void testVirtual() throws InterruptedException {
+		ConcurrentExecutor executor = ConcurrentExecutors
+				.createVirtual("test-virtual");
+		testRunsAllInstances(executor);
+		testPropagatesException(executor);
+	}
+
+	@Test
+	public void testForkJoinBounded() throws InterruptedException {
+		final int parallelism = 2;
+		ConcurrentExecutor executor = ConcurrentExecutors
+				.createForkJoin("test-fj-bounded", parallelism);
+		final AtomicInteger running = new AtomicInteger();
+		final AtomicInteger maxRunning = new AtomicInteger();
+		executor.submit(() -> {
+			maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+			try {
+				Thread.sleep(10);
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+			running.decrementAndGet();
+		}, INSTANCES_COUNT_).waitDone();
+		assertTrue(maxRunning.get() <= parallelism);
+	}
+
+	/**
+	 * Workers waiting for inputs should not prevent other jobs from running
+	 */
+	@Test
+	public void testForkJoinBlockedWorkers() throws InterruptedException {
+		final int parallelism = 2;
+		ConcurrentExecutor executor = ConcurrentExecutors
+				.createForkJoin("test-fj-blocked", parallelism);
+		TestInputProcessorFactory factory = new TestInputProcessorFactory(
+				DummyInterruptMonitor.INSTANCE);
+		ConcurrentComputationWithInputs<Integer, TestInputProcessorFactory> computation = new ConcurrentComputationWithInputs<Integer, TestInputProcessorFactory>(
+				factory, executor, parallelism);
+		computation.start();
+		// the workers of the computation wait for inputs
+		assertTimeoutPreemptively(Duration.ofSeconds(10),
+				() -> testRunsAllInstances(executor));
+		computation.submit(1);
+		computation.finish();
+		assertEquals(1, factory.getSum());
+	}
+
+}